@@ -0,0 +1,120 @@
+package com.tickx.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickx.config.JacksonConfig;
+import com.tickx.model.Event;
+import com.tickx.repository.EventDataCodec;
+import com.tickx.transformer.TicketmasterTransformer;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Recorded Ticketmaster Discovery API responses and the DynamoDB items derived from them.
+ */
+public final class Fixtures {
+
+    public static final ObjectMapper OBJECT_MAPPER = new JacksonConfig().objectMapper();
+
+    public static List<JsonNode> ticketmasterEvents() {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/ticketmaster-events.json")) {
+            JsonNode root = OBJECT_MAPPER.readTree(in);
+            List<JsonNode> events = new ArrayList<>();
+            root.get("_embedded").get("events").forEach(events::add);
+            return events;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static List<Event> events() {
+        TicketmasterTransformer transformer = new TicketmasterTransformer();
+        return ticketmasterEvents().stream()
+                .map(transformer::transformEvent)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /** A page of events, cycling the fixtures with distinct ids. */
+    public static List<Event> eventPage(int size) {
+        List<Event> fixtures = events();
+        List<Event> page = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Event event = OBJECT_MAPPER.convertValue(fixtures.get(i % fixtures.size()), Event.class);
+            event.setId(event.getId() + "-" + i);
+            page.add(event);
+        }
+        return page;
+    }
+
+    /** Item with {@code data} stored as a JSON string (Java writer format). */
+    public static Map<String, AttributeValue> jsonStringItem(Event event) {
+        try {
+            Map<String, AttributeValue> item = keyAttributes(event);
+            item.put("data", AttributeValue.builder().s(OBJECT_MAPPER.writeValueAsString(event)).build());
+            return item;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Item with {@code data} stored as a DynamoDB Map (legacy TypeScript writer format). */
+    public static Map<String, AttributeValue> mapItem(Event event) {
+        Map<String, AttributeValue> item = keyAttributes(event);
+        item.put("data", toAttributeValue(OBJECT_MAPPER.valueToTree(event)));
+        return item;
+    }
+
+    /** Item with the event in the binary {@code dataBin} attribute. */
+    public static Map<String, AttributeValue> binaryItem(Event event, EventDataCodec codec) {
+        try {
+            Map<String, AttributeValue> item = keyAttributes(event);
+            codec.write(event, item);
+            return item;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Map<String, AttributeValue> lastEvaluatedKey(Event event) {
+        return Map.of(
+                "PK", AttributeValue.builder().s("EVENT#" + event.getId()).build(),
+                "SK", AttributeValue.builder().s("EVENT#" + event.getId()).build(),
+                "GSI1PK", AttributeValue.builder().s("CITY#chicago").build(),
+                "GSI1SK", AttributeValue.builder().s("DATE#" + event.getLocalDate() + "#EVENT#" + event.getId()).build()
+        );
+    }
+
+    private static Map<String, AttributeValue> keyAttributes(Event event) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("PK", AttributeValue.builder().s("EVENT#" + event.getId()).build());
+        item.put("SK", AttributeValue.builder().s("EVENT#" + event.getId()).build());
+        item.put("entityType", AttributeValue.builder().s("EVENT").build());
+        return item;
+    }
+
+    private static AttributeValue toAttributeValue(JsonNode node) {
+        if (node.isObject()) {
+            Map<String, AttributeValue> map = new HashMap<>();
+            node.fields().forEachRemaining(field -> map.put(field.getKey(), toAttributeValue(field.getValue())));
+            return AttributeValue.builder().m(map).build();
+        }
+        if (node.isArray()) {
+            List<AttributeValue> list = new ArrayList<>();
+            node.forEach(element -> list.add(toAttributeValue(element)));
+            return AttributeValue.builder().l(list).build();
+        }
+        if (node.isNumber()) return AttributeValue.builder().n(node.asText()).build();
+        if (node.isBoolean()) return AttributeValue.builder().bool(node.asBoolean()).build();
+        if (node.isNull()) return AttributeValue.builder().nul(true).build();
+        return AttributeValue.builder().s(node.asText()).build();
+    }
+
+    private Fixtures() {
+        // Utility class - prevent instantiation
+    }
+}
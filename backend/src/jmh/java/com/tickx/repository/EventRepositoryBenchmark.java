@@ -0,0 +1,67 @@
+package com.tickx.repository;
+
+import com.tickx.benchmark.Fixtures;
+import com.tickx.cache.RequestCoalescer;
+import com.tickx.metrics.ConsumedCapacityTracker;
+import com.tickx.model.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EventRepositoryBenchmark {
+
+    private EventRepository repository;
+    private Map<String, AttributeValue> jsonStringItem;
+    private Map<String, AttributeValue> mapItem;
+    private Map<String, AttributeValue> binaryItem;
+    private Map<String, AttributeValue> lastEvaluatedKey;
+    private String cursor;
+
+    @Setup
+    public void setup() {
+        // Parsing and cursor handling never touch the DynamoDB clients
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        repository = new EventRepository(null, null, Fixtures.OBJECT_MAPPER,
+                new EventDataCodec(Fixtures.OBJECT_MAPPER, "json", 512), meterRegistry,
+                new ConsumedCapacityTracker(meterRegistry), new RequestCoalescer(meterRegistry, false));
+        EventDataCodec binaryCodec = new EventDataCodec(Fixtures.OBJECT_MAPPER, "binary", 512);
+
+        Event event = Fixtures.events().get(0);
+        jsonStringItem = Fixtures.jsonStringItem(event);
+        mapItem = Fixtures.mapItem(event);
+        binaryItem = Fixtures.binaryItem(event, binaryCodec);
+        lastEvaluatedKey = Fixtures.lastEvaluatedKey(event);
+        cursor = repository.encodeCursor(lastEvaluatedKey);
+    }
+
+    @Benchmark
+    public Event parseEventJsonString() {
+        return repository.parseEvent(jsonStringItem);
+    }
+
+    @Benchmark
+    public Event parseEventMap() {
+        return repository.parseEvent(mapItem);
+    }
+
+    @Benchmark
+    public Event parseEventBinary() {
+        return repository.parseEvent(binaryItem);
+    }
+
+    @Benchmark
+    public String encodeCursor() {
+        return repository.encodeCursor(lastEvaluatedKey);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> decodeCursor() {
+        return repository.decodeCursor(cursor);
+    }
+}
@@ -0,0 +1,31 @@
+package com.tickx.transformer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.tickx.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TicketmasterTransformerBenchmark {
+
+    private TicketmasterTransformer transformer;
+    private List<JsonNode> tmEvents;
+
+    @Setup
+    public void setup() {
+        transformer = new TicketmasterTransformer();
+        tmEvents = Fixtures.ticketmasterEvents();
+    }
+
+    @Benchmark
+    public void transformEvent(Blackhole blackhole) {
+        for (JsonNode tmEvent : tmEvents) {
+            blackhole.consume(transformer.transformEvent(tmEvent));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.tickx.util;
+
+import com.tickx.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AttributeValueConverterBenchmark {
+
+    private AttributeValue data;
+
+    @Setup
+    public void setup() {
+        data = Fixtures.mapItem(Fixtures.events().get(0)).get("data");
+    }
+
+    @Benchmark
+    public Object convertAttributeValue() {
+        return AttributeValueConverter.toJavaObject(data);
+    }
+}
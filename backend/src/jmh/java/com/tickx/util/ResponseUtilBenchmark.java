@@ -0,0 +1,31 @@
+package com.tickx.util;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.tickx.benchmark.Fixtures;
+import com.tickx.model.Event;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResponseUtilBenchmark {
+
+    // Default GET /events page size
+    @Param({"20"})
+    private int pageSize;
+
+    private List<Event> events;
+
+    @Setup
+    public void setup() {
+        events = Fixtures.eventPage(pageSize);
+    }
+
+    @Benchmark
+    public APIGatewayProxyResponseEvent createSuccessResponse() {
+        return ResponseUtil.createSuccessResponse(events);
+    }
+}
@@ -0,0 +1,65 @@
+package com.tickx.loadtest;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Per-thread RCU/WCU accounting for the in-memory DynamoDB stand-in, using DynamoDB's sizing rules
+ * (4 KB read units, halved for eventually consistent reads; 1 KB write units, plus one write per GSI).
+ */
+public final class CapacityMeter {
+
+    private static final ThreadLocal<double[]> CURRENT = ThreadLocal.withInitial(() -> new double[2]);
+
+    public static void reset() {
+        double[] units = CURRENT.get();
+        units[0] = 0;
+        units[1] = 0;
+    }
+
+    public static double readUnits() {
+        return CURRENT.get()[0];
+    }
+
+    public static double writeUnits() {
+        return CURRENT.get()[1];
+    }
+
+    static double recordRead(long bytes, boolean consistentRead) {
+        double units = Math.max(1, Math.ceil(bytes / 4096.0)) * (consistentRead ? 1.0 : 0.5);
+        CURRENT.get()[0] += units;
+        return units;
+    }
+
+    static double recordWrite(long bytes, int indexWrites) {
+        double units = Math.max(1, Math.ceil(bytes / 1024.0)) * (1 + indexWrites);
+        CURRENT.get()[1] += units;
+        return units;
+    }
+
+    static long itemSize(Map<String, AttributeValue> item) {
+        long size = 0;
+        for (Map.Entry<String, AttributeValue> entry : item.entrySet()) {
+            size += entry.getKey().getBytes(StandardCharsets.UTF_8).length + valueSize(entry.getValue());
+        }
+        return size;
+    }
+
+    private static long valueSize(AttributeValue value) {
+        if (value.s() != null) return value.s().getBytes(StandardCharsets.UTF_8).length;
+        if (value.n() != null) return (value.n().length() + 1) / 2 + 1;
+        if (value.b() != null) return value.b().asByteArrayUnsafe().length;
+        if (value.bool() != null || value.nul() != null) return 1;
+        if (value.hasM()) return 3 + itemSize(value.m());
+        if (value.hasL()) return 3 + value.l().stream().mapToLong(CapacityMeter::valueSize).map(s -> s + 1).sum();
+        if (value.hasSs()) return value.ss().stream().mapToLong(s -> s.getBytes(StandardCharsets.UTF_8).length).sum();
+        if (value.hasNs()) return value.ns().stream().mapToLong(n -> (n.length() + 1) / 2 + 1).sum();
+        return 0;
+    }
+
+    private CapacityMeter() {
+        // Utility class - prevent instantiation
+    }
+}
@@ -0,0 +1,150 @@
+package com.tickx.loadtest;
+
+import com.tickx.model.Event;
+import com.tickx.model.EventCategory;
+import com.tickx.model.EventStatus;
+import com.tickx.model.Listing;
+import com.tickx.model.Venue;
+import com.tickx.repository.EventRepository;
+import com.tickx.repository.ListingRepository;
+import com.tickx.repository.VenueRepository;
+import com.tickx.search.SearchService;
+import com.tickx.service.EventListingStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.tickx.constants.DynamoDbConstants.*;
+
+/**
+ * Seeds a deterministic catalog shaped like synced Ticketmaster data: venues spread over a handful of
+ * cities, upcoming events per venue and listings per event with their aggregates, plus the search index the sync
+ * would publish.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataSeeder {
+
+    static final String[] CITIES = {"Chicago", "New York", "Los Angeles", "Austin", "Denver"};
+    static final double[][] CITY_COORDINATES = {{41.88, -87.63}, {40.71, -74.01}, {34.05, -118.24},
+            {30.27, -97.74}, {39.74, -104.99}};
+    private static final String[] ARTISTS = {"Aurora", "Midnight Echo", "The Lanterns", "Blue Harbor", "Static Bloom",
+            "Northern Lights", "Velvet Road", "Copper Sky"};
+    private static final String[] LISTING_TYPES = {LISTING_TYPE_AUCTION, LISTING_TYPE_FIXED, LISTING_TYPE_HYBRID};
+
+    private final EventRepository eventRepository;
+    private final VenueRepository venueRepository;
+    private final ListingRepository listingRepository;
+    private final SearchService searchService;
+    private final EventListingStatsService statsService;
+
+    public record Catalog(List<String> venueIds, List<String> eventIds, List<String> listingIds,
+                          List<String> sellerIds) {}
+
+    public Catalog seed(int venues, int eventsPerVenue, int listingsPerEvent, long seed) {
+        Random random = new Random(seed);
+        String now = Instant.now().toString();
+        LocalDate today = LocalDate.now();
+
+        List<Venue> venueBatch = new ArrayList<>();
+        List<Event> eventBatch = new ArrayList<>();
+        List<String> listingIds = new ArrayList<>();
+        List<String> sellerIds = new ArrayList<>();
+        for (int s = 0; s < Math.max(1, venues); s++) {
+            sellerIds.add("seller-" + s);
+        }
+
+        for (int v = 0; v < venues; v++) {
+            String city = CITIES[v % CITIES.length];
+            double[] center = CITY_COORDINATES[v % CITIES.length];
+            Venue venue = Venue.builder()
+                    .id("venue-" + v)
+                    .name(city + " Arena " + v)
+                    .city(city)
+                    .state("State")
+                    .stateCode("ST")
+                    .country("United States Of America")
+                    .countryCode("US")
+                    // Scattered within ~30 km of downtown so radius queries span several geohash cells
+                    .latitude(center[0] + (random.nextDouble() - 0.5) * 0.5)
+                    .longitude(center[1] + (random.nextDouble() - 0.5) * 0.6)
+                    .capacity(5000 + random.nextInt(20000))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            venueBatch.add(venue);
+
+            for (int e = 0; e < eventsPerVenue; e++) {
+                String artist = ARTISTS[random.nextInt(ARTISTS.length)];
+                EventCategory category = EventCategory.values()[random.nextInt(EventCategory.values().length)];
+                LocalDate date = today.plusDays(1 + random.nextInt(180));
+                double minPrice = 25 + random.nextInt(100);
+                eventBatch.add(Event.builder()
+                        .id("event-" + v + "-" + e)
+                        .name(artist + " Live " + (e + 1))
+                        .description(artist + " performing at " + venue.getName())
+                        .category(category)
+                        .status(EventStatus.SCHEDULED)
+                        .eventDate(date + "T20:00:00Z")
+                        .localDate(date.toString())
+                        .localTime("20:00:00")
+                        .timezone("America/Chicago")
+                        .venueId(venue.getId())
+                        .venueName(venue.getName())
+                        .venueCity(city)
+                        .venueState(venue.getState())
+                        .venueStateCode(venue.getStateCode())
+                        .imageUrl("https://example.com/" + v + "-" + e + ".jpg")
+                        .minPrice(minPrice)
+                        .maxPrice(minPrice * 4)
+                        .currency("USD")
+                        .segment("Music")
+                        .genre("Rock")
+                        .isFeatured(random.nextInt(10) == 0)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .source("loadtest")
+                        .build());
+            }
+        }
+
+        venueRepository.saveBatch(venueBatch);
+        eventRepository.saveBatch(eventBatch);
+        searchService.publish(eventBatch);
+
+        for (Event event : eventBatch) {
+            for (int l = 0; l < listingsPerEvent; l++) {
+                double price = event.getMinPrice() + random.nextInt(200);
+                Listing listing = Listing.builder()
+                        .listingId(event.getId() + "-listing-" + l)
+                        .sellerId(sellerIds.get(random.nextInt(sellerIds.size())))
+                        .eventId(event.getId())
+                        .listingType(LISTING_TYPES[random.nextInt(LISTING_TYPES.length)])
+                        .status(STATUS_ACTIVE)
+                        .section(String.valueOf(100 + random.nextInt(30)))
+                        .row(String.valueOf((char) ('A' + random.nextInt(20))))
+                        .seats(List.of(String.valueOf(1 + random.nextInt(20))))
+                        .quantity(1)
+                        .startingPrice(price)
+                        .currentPrice(price)
+                        .buyNowPrice(price * 1.5)
+                        .bidCount(0)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build();
+                listingRepository.save(listing);
+                statsService.onListingChanged(null, listing);
+                listingIds.add(listing.getListingId());
+            }
+        }
+
+        log.info("Seeded {} venues, {} events, {} listings", venueBatch.size(), eventBatch.size(), listingIds.size());
+        return new Catalog(venueBatch.stream().map(Venue::getId).toList(),
+                eventBatch.stream().map(Event::getId).toList(), listingIds, sellerIds);
+    }
+}
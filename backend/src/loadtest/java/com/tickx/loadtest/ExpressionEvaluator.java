@@ -0,0 +1,261 @@
+package com.tickx.loadtest;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates the subset of DynamoDB condition/key/filter expression syntax the repositories use:
+ * comparisons, BETWEEN, IN, begins_with, contains, attribute_exists/attribute_not_exists, AND/OR/NOT
+ * and parentheses, with #name and :value placeholders.
+ */
+public final class ExpressionEvaluator {
+
+    private final List<String> tokens;
+    private final Map<String, String> names;
+    private final Map<String, AttributeValue> values;
+    private final Map<String, AttributeValue> item;
+    private int pos;
+
+    private ExpressionEvaluator(String expression, Map<String, String> names,
+                                Map<String, AttributeValue> values, Map<String, AttributeValue> item) {
+        this.tokens = tokenize(expression);
+        this.names = names != null ? names : Map.of();
+        this.values = values != null ? values : Map.of();
+        this.item = item;
+    }
+
+    public static boolean matches(String expression, Map<String, String> names,
+                                  Map<String, AttributeValue> values, Map<String, AttributeValue> item) {
+        if (expression == null || expression.isBlank()) {
+            return true;
+        }
+        ExpressionEvaluator evaluator = new ExpressionEvaluator(expression, names, values, item);
+        boolean result = evaluator.parseOr();
+        if (evaluator.pos != evaluator.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected token '" + evaluator.tokens.get(evaluator.pos)
+                    + "' in expression: " + expression);
+        }
+        return result;
+    }
+
+    /** Resolves a #name placeholder (or plain attribute name) to the attribute name. */
+    public static String resolveName(String token, Map<String, String> names) {
+        return token.startsWith("#") && names != null ? names.getOrDefault(token, token) : token;
+    }
+
+    public static int compare(AttributeValue a, AttributeValue b) {
+        if (a.n() != null && b.n() != null) {
+            return new BigDecimal(a.n()).compareTo(new BigDecimal(b.n()));
+        }
+        if (a.s() != null && b.s() != null) {
+            return a.s().compareTo(b.s());
+        }
+        if (a.b() != null && b.b() != null) {
+            return a.b().asByteBuffer().compareTo(b.b().asByteBuffer());
+        }
+        throw new IllegalArgumentException("Cannot compare " + a + " with " + b);
+    }
+
+    private boolean parseOr() {
+        boolean result = parseAnd();
+        while (peekKeyword("OR")) {
+            pos++;
+            boolean right = parseAnd();
+            result = result || right;
+        }
+        return result;
+    }
+
+    private boolean parseAnd() {
+        boolean result = parseNot();
+        while (peekKeyword("AND")) {
+            pos++;
+            boolean right = parseNot();
+            result = result && right;
+        }
+        return result;
+    }
+
+    private boolean parseNot() {
+        if (peekKeyword("NOT")) {
+            pos++;
+            return !parseNot();
+        }
+        return parsePrimary();
+    }
+
+    private boolean parsePrimary() {
+        String token = next();
+        if (token.equals("(")) {
+            boolean result = parseOr();
+            expect(")");
+            return result;
+        }
+
+        switch (token.toLowerCase()) {
+            case "attribute_exists" -> {
+                expect("(");
+                AttributeValue value = resolvePath(next());
+                expect(")");
+                return value != null;
+            }
+            case "attribute_not_exists" -> {
+                expect("(");
+                AttributeValue value = resolvePath(next());
+                expect(")");
+                return value == null;
+            }
+            case "begins_with" -> {
+                expect("(");
+                AttributeValue value = operand(next());
+                expect(",");
+                AttributeValue prefix = operand(next());
+                expect(")");
+                return value != null && value.s() != null && value.s().startsWith(prefix.s());
+            }
+            case "contains" -> {
+                expect("(");
+                AttributeValue value = operand(next());
+                expect(",");
+                AttributeValue needle = operand(next());
+                expect(")");
+                if (value == null) return false;
+                if (value.s() != null) return value.s().contains(needle.s());
+                if (value.hasSs()) return value.ss().contains(needle.s());
+                if (value.hasL()) return value.l().contains(needle);
+                return false;
+            }
+            default -> {
+                return parseComparison(operand(token));
+            }
+        }
+    }
+
+    private boolean parseComparison(AttributeValue left) {
+        String op = next();
+        if (op.equalsIgnoreCase("BETWEEN")) {
+            AttributeValue low = operand(next());
+            expect("AND");
+            AttributeValue high = operand(next());
+            return left != null && compare(left, low) >= 0 && compare(left, high) <= 0;
+        }
+        if (op.equalsIgnoreCase("IN")) {
+            expect("(");
+            boolean found = false;
+            do {
+                AttributeValue candidate = operand(next());
+                found |= left != null && equalValues(left, candidate);
+            } while (tryConsume(","));
+            expect(")");
+            return found;
+        }
+
+        AttributeValue right = operand(next());
+        if (left == null || right == null) {
+            return op.equals("<>") && (left != null || right != null);
+        }
+        return switch (op) {
+            case "=" -> equalValues(left, right);
+            case "<>" -> !equalValues(left, right);
+            case "<" -> compare(left, right) < 0;
+            case "<=" -> compare(left, right) <= 0;
+            case ">" -> compare(left, right) > 0;
+            case ">=" -> compare(left, right) >= 0;
+            default -> throw new IllegalArgumentException("Unsupported operator: " + op);
+        };
+    }
+
+    private boolean equalValues(AttributeValue a, AttributeValue b) {
+        if (a.n() != null && b.n() != null) {
+            return compare(a, b) == 0;
+        }
+        return a.equals(b);
+    }
+
+    private AttributeValue operand(String token) {
+        if (token.startsWith(":")) {
+            AttributeValue value = values.get(token);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing expression attribute value " + token);
+            }
+            return value;
+        }
+        return resolvePath(token);
+    }
+
+    private AttributeValue resolvePath(String token) {
+        AttributeValue current = item.get(resolveName(token, names));
+        // Nested map paths: a.b.c
+        while (current != null && tryConsume(".")) {
+            String child = resolveName(next(), names);
+            current = current.hasM() ? current.m().get(child) : null;
+        }
+        return current;
+    }
+
+    private boolean peekKeyword(String keyword) {
+        return pos < tokens.size() && tokens.get(pos).equalsIgnoreCase(keyword);
+    }
+
+    private boolean tryConsume(String token) {
+        if (pos < tokens.size() && tokens.get(pos).equals(token)) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        String actual = next();
+        if (!actual.equalsIgnoreCase(token)) {
+            throw new IllegalArgumentException("Expected '" + token + "' but found '" + actual + "'");
+        }
+    }
+
+    private String next() {
+        if (pos >= tokens.size()) {
+            throw new IllegalArgumentException("Unexpected end of expression");
+        }
+        return tokens.get(pos++);
+    }
+
+    static List<String> tokenize(String expression) {
+        List<String> result = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '<' || c == '>') {
+                if (i + 1 < expression.length() && (expression.charAt(i + 1) == '=' || expression.charAt(i + 1) == '>')) {
+                    result.add(expression.substring(i, i + 2));
+                    i += 2;
+                } else {
+                    result.add(String.valueOf(c));
+                    i++;
+                }
+            } else if ("()=,.[]+-".indexOf(c) >= 0) {
+                result.add(String.valueOf(c));
+                i++;
+            } else {
+                int start = i;
+                while (i < expression.length() && isNameChar(expression.charAt(i))) {
+                    i++;
+                }
+                if (start == i) {
+                    throw new IllegalArgumentException("Unexpected character '" + c + "' in: " + expression);
+                }
+                result.add(expression.substring(start, i));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '#' || c == ':';
+    }
+}
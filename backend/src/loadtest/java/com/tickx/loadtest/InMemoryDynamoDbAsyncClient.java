@@ -0,0 +1,78 @@
+package com.tickx.loadtest;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Async facade over {@link InMemoryDynamoDbClient}. Calls complete on the caller's thread so consumed
+ * capacity is attributed to the request that issued them.
+ */
+public class InMemoryDynamoDbAsyncClient implements DynamoDbAsyncClient {
+
+    private final InMemoryDynamoDbClient delegate;
+
+    public InMemoryDynamoDbAsyncClient(InMemoryDynamoDbClient delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<GetItemResponse> getItem(GetItemRequest request) {
+        return complete(() -> delegate.getItem(request));
+    }
+
+    @Override
+    public CompletableFuture<PutItemResponse> putItem(PutItemRequest request) {
+        return complete(() -> delegate.putItem(request));
+    }
+
+    @Override
+    public CompletableFuture<UpdateItemResponse> updateItem(UpdateItemRequest request) {
+        return complete(() -> delegate.updateItem(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteItemResponse> deleteItem(DeleteItemRequest request) {
+        return complete(() -> delegate.deleteItem(request));
+    }
+
+    @Override
+    public CompletableFuture<QueryResponse> query(QueryRequest request) {
+        return complete(() -> delegate.query(request));
+    }
+
+    @Override
+    public CompletableFuture<ScanResponse> scan(ScanRequest request) {
+        return complete(() -> delegate.scan(request));
+    }
+
+    @Override
+    public CompletableFuture<BatchGetItemResponse> batchGetItem(BatchGetItemRequest request) {
+        return complete(() -> delegate.batchGetItem(request));
+    }
+
+    @Override
+    public CompletableFuture<BatchWriteItemResponse> batchWriteItem(BatchWriteItemRequest request) {
+        return complete(() -> delegate.batchWriteItem(request));
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private static <T> CompletableFuture<T> complete(Supplier<T> call) {
+        try {
+            return CompletableFuture.completedFuture(call.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,590 @@
+package com.tickx.loadtest;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-process stand-in for DynamoDB used by the load-test harness. Implements the operations the
+ * repositories issue against tables/GSIs registered via {@link #createTable}, meters RCU/WCU per call
+ * and can inject a fixed per-call latency to approximate the network round trip.
+ */
+public class InMemoryDynamoDbClient implements DynamoDbClient {
+
+    // DynamoDB stops a Query/Scan page after 1 MB of evaluated data
+    private static final long MAX_PAGE_BYTES = 1024 * 1024;
+    private static final Pattern EQUALITY = Pattern.compile("([#\\w.]+)\\s*=\\s*(:\\w+)");
+    private static final String BASE_TABLE = "";
+    private static final Pattern UPDATE_CLAUSE = Pattern.compile("\\b(SET|REMOVE|ADD|DELETE)\\b");
+
+    private final Map<String, Table> tables = new ConcurrentHashMap<>();
+    private final long latencyMs;
+    private volatile InMemoryDynamoDbStreamsClient streams;
+
+    public record IndexDefinition(String partitionKey, String sortKey) {}
+
+    private record Table(String name, String partitionKey, String sortKey, Map<String, IndexDefinition> indexes,
+                         ConcurrentSkipListMap<String, Map<String, AttributeValue>> items,
+                         Map<String, Map<String, Set<String>>> partitions) {
+
+        // Writes are serialized per table so the item map and partition sets stay consistent
+        synchronized Map<String, AttributeValue> write(String key, Map<String, AttributeValue> item) {
+            Map<String, AttributeValue> previous = item != null ? items.put(key, item) : items.remove(key);
+            if (previous != null) {
+                forEachPartition(previous, (index, value) -> {
+                    Set<String> keys = partitions.get(index).get(value);
+                    if (keys != null) keys.remove(key);
+                });
+            }
+            if (item != null) {
+                forEachPartition(item, (index, value) -> partitions.get(index)
+                        .computeIfAbsent(value, v -> ConcurrentHashMap.newKeySet()).add(key));
+            }
+            return previous;
+        }
+
+        Collection<Map<String, AttributeValue>> partition(String index, AttributeValue value) {
+            Set<String> keys = partitions.get(index).getOrDefault(render(value), Set.of());
+            return keys.stream().map(items::get).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+
+        private void forEachPartition(Map<String, AttributeValue> item, BiConsumer<String, String> action) {
+            action.accept(BASE_TABLE, render(item.get(partitionKey)));
+            indexes.forEach((name, index) -> {
+                AttributeValue value = item.get(index.partitionKey());
+                if (value != null) action.accept(name, render(value));
+            });
+        }
+
+        String keyOf(Map<String, AttributeValue> keyOrItem) {
+            AttributeValue pk = keyOrItem.get(partitionKey);
+            if (pk == null) {
+                throw DynamoDbException.builder().message("Missing key attribute " + partitionKey).build();
+            }
+            String key = render(pk);
+            if (sortKey != null) {
+                AttributeValue sk = keyOrItem.get(sortKey);
+                if (sk == null) {
+                    throw DynamoDbException.builder().message("Missing key attribute " + sortKey).build();
+                }
+                key += "\u0000" + render(sk);
+            }
+            return key;
+        }
+
+        Map<String, AttributeValue> keyAttributes(Map<String, AttributeValue> item, IndexDefinition index) {
+            Map<String, AttributeValue> key = new HashMap<>();
+            key.put(partitionKey, item.get(partitionKey));
+            if (sortKey != null) key.put(sortKey, item.get(sortKey));
+            if (index != null) {
+                key.put(index.partitionKey(), item.get(index.partitionKey()));
+                if (index.sortKey() != null && item.containsKey(index.sortKey())) {
+                    key.put(index.sortKey(), item.get(index.sortKey()));
+                }
+            }
+            return key;
+        }
+
+        int indexWrites(Map<String, AttributeValue> item) {
+            return (int) indexes.values().stream().filter(index -> item.containsKey(index.partitionKey())).count();
+        }
+
+        private static String render(AttributeValue value) {
+            if (value.s() != null) return value.s();
+            if (value.n() != null) return value.n();
+            return Base64.getEncoder().encodeToString(value.b().asByteArrayUnsafe());
+        }
+    }
+
+    public InMemoryDynamoDbClient(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public void createTable(String name, String partitionKey, String sortKey, Map<String, IndexDefinition> indexes) {
+        Map<String, Map<String, Set<String>>> partitions = new HashMap<>();
+        partitions.put(BASE_TABLE, new ConcurrentHashMap<>());
+        indexes.keySet().forEach(index -> partitions.put(index, new ConcurrentHashMap<>()));
+        tables.put(name, new Table(name, partitionKey, sortKey, indexes, new ConcurrentSkipListMap<>(), partitions));
+    }
+
+    /** Records every later write to tables with a stream enabled on {@code streams}. */
+    public void attachStreams(InMemoryDynamoDbStreamsClient streams) {
+        this.streams = streams;
+    }
+
+    public int itemCount(String tableName) {
+        return table(tableName).items().size();
+    }
+
+    @Override
+    public GetItemResponse getItem(GetItemRequest request) {
+        simulateLatency();
+        Table table = table(request.tableName());
+        Map<String, AttributeValue> item = table.items().get(table.keyOf(request.key()));
+        double units = CapacityMeter.recordRead(item != null ? CapacityMeter.itemSize(item) : 0,
+                Boolean.TRUE.equals(request.consistentRead()));
+        return GetItemResponse.builder()
+                .item(item)
+                .consumedCapacity(capacity(request.returnConsumedCapacity(), table.name(), units, null))
+                .build();
+    }
+
+    @Override
+    public PutItemResponse putItem(PutItemRequest request) {
+        simulateLatency();
+        Table table = table(request.tableName());
+        String key = table.keyOf(request.item());
+        synchronized (table) {
+            Map<String, AttributeValue> existing = table.items().get(key);
+            checkCondition(request.conditionExpression(), request.expressionAttributeNames(),
+                    request.expressionAttributeValues(), existing);
+            write(table, key, Map.copyOf(request.item()));
+        }
+        double units = CapacityMeter.recordWrite(CapacityMeter.itemSize(request.item()), table.indexWrites(request.item()));
+        return PutItemResponse.builder()
+                .consumedCapacity(capacity(request.returnConsumedCapacity(), table.name(), units, null))
+                .build();
+    }
+
+    @Override
+    public UpdateItemResponse updateItem(UpdateItemRequest request) {
+        simulateLatency();
+        Table table = table(request.tableName());
+        String key = table.keyOf(request.key());
+        Map<String, AttributeValue> updated;
+        synchronized (table) {
+            Map<String, AttributeValue> existing = table.items().get(key);
+            checkCondition(request.conditionExpression(), request.expressionAttributeNames(),
+                    request.expressionAttributeValues(), existing);
+            updated = new HashMap<>(existing != null ? existing : request.key());
+            applyUpdate(request.updateExpression(), request.expressionAttributeNames(),
+                    request.expressionAttributeValues(), updated);
+            write(table, key, Map.copyOf(updated));
+        }
+        double units = CapacityMeter.recordWrite(CapacityMeter.itemSize(updated), table.indexWrites(updated));
+        return UpdateItemResponse.builder()
+                .consumedCapacity(capacity(request.returnConsumedCapacity(), table.name(), units, null))
+                .build();
+    }
+
+    @Override
+    public DeleteItemResponse deleteItem(DeleteItemRequest request) {
+        simulateLatency();
+        Table table = table(request.tableName());
+        Map<String, AttributeValue> removed;
+        synchronized (table) {
+            String key = table.keyOf(request.key());
+            checkCondition(request.conditionExpression(), request.expressionAttributeNames(),
+                    request.expressionAttributeValues(), table.items().get(key));
+            removed = write(table, key, null);
+        }
+        double units = CapacityMeter.recordWrite(removed != null ? CapacityMeter.itemSize(removed) : 0,
+                removed != null ? table.indexWrites(removed) : 0);
+        return DeleteItemResponse.builder()
+                .attributes(request.returnValues() == ReturnValue.ALL_OLD ? removed : null)
+                .consumedCapacity(capacity(request.returnConsumedCapacity(), table.name(), units, null))
+                .build();
+    }
+
+    @Override
+    public QueryResponse query(QueryRequest request) {
+        simulateLatency();
+        Table table = table(request.tableName());
+        IndexDefinition index = request.indexName() != null ? table.indexes().get(request.indexName()) : null;
+        if (request.indexName() != null && index == null) {
+            throw ResourceNotFoundException.builder().message("Index not found: " + request.indexName()).build();
+        }
+        String partitionAttr = index != null ? index.partitionKey() : table.partitionKey();
+        String sortAttr = index != null ? index.sortKey() : table.sortKey();
+
+        Comparator<Map<String, AttributeValue>> order = Comparator
+                .comparing((Map<String, AttributeValue> item) -> item.get(sortAttr),
+                        Comparator.nullsFirst(ExpressionEvaluator::compare))
+                .thenComparing(table::keyOf);
+        if (Boolean.FALSE.equals(request.scanIndexForward())) {
+            order = order.reversed();
+        }
+
+        List<Map<String, AttributeValue>> candidates = table.partition(
+                        request.indexName() != null ? request.indexName() : BASE_TABLE, partitionValue(request, partitionAttr))
+                .stream()
+                .filter(item -> sortAttr == null || item.containsKey(sortAttr))
+                .filter(item -> ExpressionEvaluator.matches(request.keyConditionExpression(),
+                        request.expressionAttributeNames(), request.expressionAttributeValues(), item))
+                .sorted(order)
+                .collect(Collectors.toList());
+
+        if (request.hasExclusiveStartKey()) {
+            String startKey = table.keyOf(request.exclusiveStartKey());
+            int startIndex = 0;
+            for (int i = 0; i < candidates.size(); i++) {
+                if (table.keyOf(candidates.get(i)).equals(startKey)) {
+                    startIndex = i + 1;
+                    break;
+                }
+            }
+            candidates = candidates.subList(startIndex, candidates.size());
+        }
+
+        Page page = paginate(candidates, request.limit(), request.filterExpression(),
+                request.expressionAttributeNames(), request.expressionAttributeValues());
+        double units = CapacityMeter.recordRead(page.evaluatedBytes, Boolean.TRUE.equals(request.consistentRead()));
+
+        return QueryResponse.builder()
+                .items(page.items)
+                .count(page.items.size())
+                .scannedCount(page.evaluated)
+                .lastEvaluatedKey(page.last != null ? table.keyAttributes(page.last, index) : null)
+                .consumedCapacity(capacity(request.returnConsumedCapacity(), table.name(), units, request.indexName()))
+                .build();
+    }
+
+    @Override
+    public ScanResponse scan(ScanRequest request) {
+        simulateLatency();
+        Table table = table(request.tableName());
+        Collection<Map<String, AttributeValue>> source = request.hasExclusiveStartKey()
+                ? table.items().tailMap(table.keyOf(request.exclusiveStartKey()), false).values()
+                : table.items().values();
+
+        List<Map<String, AttributeValue>> candidates = source.stream()
+                .filter(item -> request.totalSegments() == null
+                        || Math.floorMod(table.keyOf(item).hashCode(), request.totalSegments()) == request.segment())
+                .collect(Collectors.toList());
+
+        Page page = paginate(candidates, request.limit(), request.filterExpression(),
+                request.expressionAttributeNames(), request.expressionAttributeValues());
+        double units = CapacityMeter.recordRead(page.evaluatedBytes, Boolean.TRUE.equals(request.consistentRead()));
+
+        return ScanResponse.builder()
+                .items(page.items)
+                .count(page.items.size())
+                .scannedCount(page.evaluated)
+                .lastEvaluatedKey(page.last != null ? table.keyAttributes(page.last, null) : null)
+                .consumedCapacity(capacity(request.returnConsumedCapacity(), table.name(), units, null))
+                .build();
+    }
+
+    @Override
+    public BatchGetItemResponse batchGetItem(BatchGetItemRequest request) {
+        simulateLatency();
+        Map<String, List<Map<String, AttributeValue>>> responses = new HashMap<>();
+        List<ConsumedCapacity> consumed = new ArrayList<>();
+        request.requestItems().forEach((tableName, keysAndAttributes) -> {
+            Table table = table(tableName);
+            List<Map<String, AttributeValue>> found = new ArrayList<>();
+            double units = 0;
+            for (Map<String, AttributeValue> key : keysAndAttributes.keys()) {
+                Map<String, AttributeValue> item = table.items().get(table.keyOf(key));
+                units += CapacityMeter.recordRead(item != null ? CapacityMeter.itemSize(item) : 0,
+                        Boolean.TRUE.equals(keysAndAttributes.consistentRead()));
+                if (item != null) {
+                    found.add(item);
+                }
+            }
+            responses.put(tableName, found);
+            ConsumedCapacity capacity = capacity(request.returnConsumedCapacity(), tableName, units, null);
+            if (capacity != null) consumed.add(capacity);
+        });
+        return BatchGetItemResponse.builder()
+                .responses(responses)
+                .unprocessedKeys(Map.of())
+                .consumedCapacity(consumed.isEmpty() ? null : consumed)
+                .build();
+    }
+
+    @Override
+    public BatchWriteItemResponse batchWriteItem(BatchWriteItemRequest request) {
+        simulateLatency();
+        List<ConsumedCapacity> consumed = new ArrayList<>();
+        request.requestItems().forEach((tableName, writes) -> {
+            Table table = table(tableName);
+            double units = 0;
+            for (WriteRequest write : writes) {
+                if (write.putRequest() != null) {
+                    Map<String, AttributeValue> item = write.putRequest().item();
+                    write(table, table.keyOf(item), Map.copyOf(item));
+                    units += CapacityMeter.recordWrite(CapacityMeter.itemSize(item), table.indexWrites(item));
+                } else if (write.deleteRequest() != null) {
+                    Map<String, AttributeValue> removed = write(table, table.keyOf(write.deleteRequest().key()), null);
+                    units += CapacityMeter.recordWrite(removed != null ? CapacityMeter.itemSize(removed) : 0,
+                            removed != null ? table.indexWrites(removed) : 0);
+                }
+            }
+            ConsumedCapacity capacity = capacity(request.returnConsumedCapacity(), tableName, units, null);
+            if (capacity != null) consumed.add(capacity);
+        });
+        return BatchWriteItemResponse.builder()
+                .unprocessedItems(Map.of())
+                .consumedCapacity(consumed.isEmpty() ? null : consumed)
+                .build();
+    }
+
+    @Override
+    public TransactWriteItemsResponse transactWriteItems(TransactWriteItemsRequest request) {
+        simulateLatency();
+        List<TransactWriteItem> actions = request.transactItems();
+        // Lock every table involved, in name order, so the checks and writes apply as one step
+        List<Table> involved = actions.stream()
+                .map(action -> table(transactTableName(action)))
+                .distinct()
+                .sorted(Comparator.comparing(Table::name))
+                .toList();
+        Map<String, Double> units = new TreeMap<>();
+        withLocks(involved, 0, () -> {
+            List<CancellationReason> reasons = new ArrayList<>();
+            boolean failed = false;
+            for (TransactWriteItem action : actions) {
+                Table table = table(transactTableName(action));
+                Map<String, AttributeValue> existing = table.items().get(table.keyOf(transactKey(action)));
+                String condition = action.put() != null ? action.put().conditionExpression()
+                        : action.update() != null ? action.update().conditionExpression()
+                        : action.delete() != null ? action.delete().conditionExpression()
+                        : action.conditionCheck().conditionExpression();
+                Map<String, String> names = action.put() != null ? action.put().expressionAttributeNames()
+                        : action.update() != null ? action.update().expressionAttributeNames()
+                        : action.delete() != null ? action.delete().expressionAttributeNames()
+                        : action.conditionCheck().expressionAttributeNames();
+                Map<String, AttributeValue> values = action.put() != null ? action.put().expressionAttributeValues()
+                        : action.update() != null ? action.update().expressionAttributeValues()
+                        : action.delete() != null ? action.delete().expressionAttributeValues()
+                        : action.conditionCheck().expressionAttributeValues();
+                boolean passed = condition == null || ExpressionEvaluator.matches(condition, names, values,
+                        existing != null ? existing : Map.of());
+                failed |= !passed;
+                reasons.add(CancellationReason.builder()
+                        .code(passed ? "None" : "ConditionalCheckFailed")
+                        .message(passed ? null : "The conditional request failed")
+                        .build());
+            }
+            if (failed) {
+                throw TransactionCanceledException.builder()
+                        .message("Transaction cancelled, please refer cancellation reasons for specific reasons")
+                        .cancellationReasons(reasons)
+                        .build();
+            }
+            for (TransactWriteItem action : actions) {
+                Table table = table(transactTableName(action));
+                String key = table.keyOf(transactKey(action));
+                Map<String, AttributeValue> item;
+                if (action.put() != null) {
+                    item = Map.copyOf(action.put().item());
+                    write(table, key, item);
+                } else if (action.update() != null) {
+                    Map<String, AttributeValue> existing = table.items().get(key);
+                    Map<String, AttributeValue> updated = new HashMap<>(existing != null ? existing : action.update().key());
+                    applyUpdate(action.update().updateExpression(), action.update().expressionAttributeNames(),
+                            action.update().expressionAttributeValues(), updated);
+                    item = Map.copyOf(updated);
+                    write(table, key, item);
+                } else if (action.delete() != null) {
+                    item = write(table, key, null);
+                } else {
+                    continue;
+                }
+                if (item != null) {
+                    // Transactional writes cost twice a standard write
+                    for (int i = 0; i < 2; i++) {
+                        units.merge(table.name(), CapacityMeter.recordWrite(CapacityMeter.itemSize(item),
+                                table.indexWrites(item)), Double::sum);
+                    }
+                }
+            }
+        });
+        List<ConsumedCapacity> consumed = new ArrayList<>();
+        units.forEach((tableName, tableUnits) -> {
+            ConsumedCapacity capacity = capacity(request.returnConsumedCapacity(), tableName, tableUnits, null);
+            if (capacity != null) consumed.add(capacity);
+        });
+        return TransactWriteItemsResponse.builder()
+                .consumedCapacity(consumed.isEmpty() ? null : consumed)
+                .build();
+    }
+
+    private static String transactTableName(TransactWriteItem action) {
+        if (action.put() != null) return action.put().tableName();
+        if (action.update() != null) return action.update().tableName();
+        if (action.delete() != null) return action.delete().tableName();
+        return action.conditionCheck().tableName();
+    }
+
+    private static Map<String, AttributeValue> transactKey(TransactWriteItem action) {
+        if (action.put() != null) return action.put().item();
+        if (action.update() != null) return action.update().key();
+        if (action.delete() != null) return action.delete().key();
+        return action.conditionCheck().key();
+    }
+
+    private static void withLocks(List<Table> tables, int next, Runnable action) {
+        if (next == tables.size()) {
+            action.run();
+            return;
+        }
+        synchronized (tables.get(next)) {
+            withLocks(tables, next + 1, action);
+        }
+    }
+
+    @Override
+    public DescribeTableResponse describeTable(DescribeTableRequest request) {
+        Table table = table(request.tableName());
+        InMemoryDynamoDbStreamsClient current = streams;
+        // On-demand: no provisioned throughput
+        return DescribeTableResponse.builder()
+                .table(TableDescription.builder()
+                        .tableName(table.name())
+                        .tableStatus(TableStatus.ACTIVE)
+                        .itemCount((long) table.items().size())
+                        .latestStreamArn(current != null ? current.latestStreamArn(table.name()) : null)
+                        .build())
+                .build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    private record Page(List<Map<String, AttributeValue>> items, Map<String, AttributeValue> last,
+                        int evaluated, long evaluatedBytes) {}
+
+    private Page paginate(List<Map<String, AttributeValue>> candidates, Integer limit, String filterExpression,
+                          Map<String, String> names, Map<String, AttributeValue> values) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        long bytes = 0;
+        int evaluated = 0;
+        Map<String, AttributeValue> last = null;
+
+        for (Map<String, AttributeValue> candidate : candidates) {
+            // Limit and the 1 MB page cap apply to items evaluated, before the filter
+            if ((limit != null && evaluated >= limit) || bytes >= MAX_PAGE_BYTES) {
+                return new Page(items, last, evaluated, bytes);
+            }
+            evaluated++;
+            bytes += CapacityMeter.itemSize(candidate);
+            last = candidate;
+            if (ExpressionEvaluator.matches(filterExpression, names, values, candidate)) {
+                items.add(candidate);
+            }
+        }
+        return new Page(items, null, evaluated, bytes);
+    }
+
+    private AttributeValue partitionValue(QueryRequest request, String partitionAttr) {
+        Matcher matcher = EQUALITY.matcher(request.keyConditionExpression());
+        while (matcher.find()) {
+            if (partitionAttr.equals(ExpressionEvaluator.resolveName(matcher.group(1), request.expressionAttributeNames()))) {
+                return request.expressionAttributeValues().get(matcher.group(2));
+            }
+        }
+        throw DynamoDbException.builder()
+                .message("Query key condition missing equality on partition key " + partitionAttr).build();
+    }
+
+    // Update expressions as the repositories write them: SET a = :v, REMOVE a, ADD a :n (numbers only)
+    private static void applyUpdate(String expression, Map<String, String> names, Map<String, AttributeValue> values,
+                                    Map<String, AttributeValue> item) {
+        Matcher clause = UPDATE_CLAUSE.matcher(expression);
+        List<int[]> bounds = new ArrayList<>();
+        while (clause.find()) {
+            bounds.add(new int[]{clause.start(), clause.end()});
+        }
+        for (int i = 0; i < bounds.size(); i++) {
+            String action = expression.substring(bounds.get(i)[0], bounds.get(i)[1]);
+            int end = i + 1 < bounds.size() ? bounds.get(i + 1)[0] : expression.length();
+            for (String part : expression.substring(bounds.get(i)[1], end).split(",")) {
+                String[] operands = part.trim().split("\\s*=\\s*|\\s+");
+                String name = ExpressionEvaluator.resolveName(operands[0], names);
+                switch (action) {
+                    case "SET" -> item.put(name, value(values, operands[1]));
+                    case "REMOVE" -> item.remove(name);
+                    case "ADD" -> {
+                        AttributeValue current = item.get(name);
+                        BigDecimal sum = new BigDecimal(value(values, operands[1]).n())
+                                .add(current != null ? new BigDecimal(current.n()) : BigDecimal.ZERO);
+                        item.put(name, AttributeValue.builder().n(sum.toPlainString()).build());
+                    }
+                    default -> throw new IllegalArgumentException("Unsupported update action: " + action);
+                }
+            }
+        }
+    }
+
+    private static AttributeValue value(Map<String, AttributeValue> values, String placeholder) {
+        AttributeValue value = values != null ? values.get(placeholder) : null;
+        if (value == null) {
+            throw new IllegalArgumentException("Missing expression attribute value " + placeholder);
+        }
+        return value;
+    }
+
+    private void checkCondition(String expression, Map<String, String> names, Map<String, AttributeValue> values,
+                                Map<String, AttributeValue> existing) {
+        if (expression != null && !ExpressionEvaluator.matches(expression, names, values,
+                existing != null ? existing : Map.of())) {
+            throw ConditionalCheckFailedException.builder().message("The conditional request failed").build();
+        }
+    }
+
+    private ConsumedCapacity capacity(ReturnConsumedCapacity mode, String tableName, double units, String indexName) {
+        if (mode == null || mode == ReturnConsumedCapacity.NONE) {
+            return null;
+        }
+        ConsumedCapacity.Builder builder = ConsumedCapacity.builder()
+                .tableName(tableName)
+                .capacityUnits(units);
+        if (mode == ReturnConsumedCapacity.INDEXES) {
+            if (indexName != null) {
+                builder.globalSecondaryIndexes(Map.of(indexName, Capacity.builder().capacityUnits(units).build()));
+            } else {
+                builder.table(Capacity.builder().capacityUnits(units).build());
+            }
+        }
+        return builder.build();
+    }
+
+    private Table table(String name) {
+        Table table = tables.get(name);
+        if (table == null) {
+            throw ResourceNotFoundException.builder().message("Table not found: " + name).build();
+        }
+        return table;
+    }
+
+    private Map<String, AttributeValue> write(Table table, String key, Map<String, AttributeValue> item) {
+        synchronized (table) {
+            Map<String, AttributeValue> previous = table.write(key, item);
+            InMemoryDynamoDbStreamsClient current = streams;
+            if (current != null) {
+                Map<String, AttributeValue> image = item != null ? item : previous;
+                if (image != null) {
+                    current.append(table.name(), table.keyAttributes(image, null), previous, item);
+                }
+            }
+            return previous;
+        }
+    }
+
+    private void simulateLatency() {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.tickx.loadtest;
+
+import software.amazon.awssdk.services.dynamodb.model.DescribeStreamRequest;
+import software.amazon.awssdk.services.dynamodb.model.DescribeStreamResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetRecordsRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetRecordsResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetShardIteratorRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetShardIteratorResponse;
+import software.amazon.awssdk.services.dynamodb.model.OperationType;
+import software.amazon.awssdk.services.dynamodb.model.Record;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.SequenceNumberRange;
+import software.amazon.awssdk.services.dynamodb.model.Shard;
+import software.amazon.awssdk.services.dynamodb.model.StreamDescription;
+import software.amazon.awssdk.services.dynamodb.model.StreamRecord;
+import software.amazon.awssdk.services.dynamodb.model.StreamStatus;
+import software.amazon.awssdk.services.dynamodb.model.StreamViewType;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.streams.DynamoDbStreamsClient;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stream stand-in for {@link InMemoryDynamoDbClient}: every write to a table with a stream enabled is
+ * appended as a NEW_AND_OLD_IMAGES record to a single, never-closing shard. Records are kept for the
+ * life of the process.
+ */
+public class InMemoryDynamoDbStreamsClient implements DynamoDbStreamsClient {
+
+    private static final String SHARD_ID = "shardId-00000000000000000000-00000001";
+
+    private final Map<String, List<Record>> streams = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public String enableStream(String tableName) {
+        String streamArn = streamArn(tableName);
+        streams.putIfAbsent(streamArn, new ArrayList<>());
+        return streamArn;
+    }
+
+    public String latestStreamArn(String tableName) {
+        String streamArn = streamArn(tableName);
+        return streams.containsKey(streamArn) ? streamArn : null;
+    }
+
+    /** Called by the table client under its per-table write lock, so records are in write order. */
+    void append(String tableName, Map<String, AttributeValue> keys,
+                Map<String, AttributeValue> oldImage, Map<String, AttributeValue> newImage) {
+        List<Record> records = streams.get(streamArn(tableName));
+        if (records == null || (oldImage == null && newImage == null)) {
+            return;
+        }
+        OperationType type = oldImage == null ? OperationType.INSERT
+                : newImage == null ? OperationType.REMOVE : OperationType.MODIFY;
+        Record record = Record.builder()
+                .eventName(type)
+                .dynamodb(StreamRecord.builder()
+                        .keys(keys)
+                        .oldImage(oldImage)
+                        .newImage(newImage)
+                        .sequenceNumber(String.format("%021d", sequence.incrementAndGet()))
+                        .approximateCreationDateTime(Instant.now())
+                        .streamViewType(StreamViewType.NEW_AND_OLD_IMAGES)
+                        .build())
+                .build();
+        synchronized (records) {
+            records.add(record);
+        }
+    }
+
+    @Override
+    public DescribeStreamResponse describeStream(DescribeStreamRequest request) {
+        records(request.streamArn());
+        return DescribeStreamResponse.builder()
+                .streamDescription(StreamDescription.builder()
+                        .streamArn(request.streamArn())
+                        .streamStatus(StreamStatus.ENABLED)
+                        .streamViewType(StreamViewType.NEW_AND_OLD_IMAGES)
+                        .shards(Shard.builder()
+                                .shardId(SHARD_ID)
+                                .sequenceNumberRange(SequenceNumberRange.builder()
+                                        .startingSequenceNumber(String.format("%021d", 1))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+    }
+
+    @Override
+    public GetShardIteratorResponse getShardIterator(GetShardIteratorRequest request) {
+        List<Record> records = records(request.streamArn());
+        int position;
+        synchronized (records) {
+            position = switch (request.shardIteratorType()) {
+                case TRIM_HORIZON -> 0;
+                case LATEST -> records.size();
+                case AT_SEQUENCE_NUMBER -> indexOf(records, request.sequenceNumber());
+                case AFTER_SEQUENCE_NUMBER -> indexOf(records, request.sequenceNumber()) + 1;
+                default -> throw new IllegalArgumentException("Unsupported iterator type " + request.shardIteratorType());
+            };
+        }
+        return GetShardIteratorResponse.builder().shardIterator(request.streamArn() + "|" + position).build();
+    }
+
+    @Override
+    public GetRecordsResponse getRecords(GetRecordsRequest request) {
+        String iterator = request.shardIterator();
+        int separator = iterator.lastIndexOf('|');
+        String streamArn = iterator.substring(0, separator);
+        int position = Integer.parseInt(iterator.substring(separator + 1));
+        int limit = request.limit() != null ? request.limit() : 1000;
+
+        List<Record> records = records(streamArn);
+        List<Record> page;
+        synchronized (records) {
+            page = List.copyOf(records.subList(position, Math.min(records.size(), position + limit)));
+        }
+        return GetRecordsResponse.builder()
+                .records(page)
+                .nextShardIterator(streamArn + "|" + (position + page.size()))
+                .build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    private List<Record> records(String streamArn) {
+        List<Record> records = streams.get(streamArn);
+        if (records == null) {
+            throw ResourceNotFoundException.builder().message("Stream not found: " + streamArn).build();
+        }
+        return records;
+    }
+
+    private static int indexOf(List<Record> records, String sequenceNumber) {
+        for (int i = 0; i < records.size(); i++) {
+            if (records.get(i).dynamodb().sequenceNumber().equals(sequenceNumber)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sequence number " + sequenceNumber);
+    }
+
+    private static String streamArn(String tableName) {
+        return "arn:aws:dynamodb:local:000000000000:table/" + tableName + "/stream/local";
+    }
+}
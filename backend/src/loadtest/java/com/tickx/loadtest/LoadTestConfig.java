@@ -0,0 +1,66 @@
+package com.tickx.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.util.Map;
+
+import static com.tickx.constants.DynamoDbConstants.*;
+
+/**
+ * Swaps the DynamoDB clients for the in-process stand-in so handlers run end to end without AWS.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    @Bean
+    @Primary
+    public InMemoryDynamoDbClient inMemoryDynamoDbClient(@Value("${EVENTS_TABLE}") String eventsTable,
+                                                         @Value("${VENUES_TABLE}") String venuesTable,
+                                                         @Value("${loadtest.ddbLatencyMs:0}") long latencyMs,
+                                                         InMemoryDynamoDbStreamsClient streamsClient) {
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient(latencyMs);
+        client.createTable(eventsTable, "PK", "SK", Map.of(
+                "GSI1", new InMemoryDynamoDbClient.IndexDefinition("GSI1PK", "GSI1SK"),
+                "GSI2", new InMemoryDynamoDbClient.IndexDefinition("GSI2PK", "GSI2SK"),
+                "GSI3", new InMemoryDynamoDbClient.IndexDefinition("GSI3PK", "GSI3SK"),
+                "GSI4", new InMemoryDynamoDbClient.IndexDefinition("GSI4PK", "GSI4SK")));
+        client.createTable(venuesTable, "PK", "SK", Map.of(
+                "GSI1", new InMemoryDynamoDbClient.IndexDefinition("GSI1PK", "GSI1SK"),
+                "GSI2", new InMemoryDynamoDbClient.IndexDefinition("GSI2PK", "GSI2SK")));
+        client.createTable(LISTINGS_TABLE, "listingId", null, Map.of(
+                SELLER_CREATED_AT_INDEX, new InMemoryDynamoDbClient.IndexDefinition("sellerId", "createdAt"),
+                EVENT_CREATED_AT_INDEX, new InMemoryDynamoDbClient.IndexDefinition("eventId", "createdAt"),
+                STATUS_CREATED_AT_INDEX, new InMemoryDynamoDbClient.IndexDefinition("status", "createdAt")));
+        client.createTable(WATCHLIST_TABLE, "userId", "targetKey", Map.of(
+                TARGET_THRESHOLD_INDEX, new InMemoryDynamoDbClient.IndexDefinition("targetKey", "thresholdKey")));
+        client.createTable(NOTIFICATION_JOBS_TABLE, "jobId", null, Map.of());
+        client.createTable(PRICE_HISTORY_TABLE, "PK", "SK", Map.of());
+        client.createTable(SEAT_HOLDS_TABLE, "PK", "SK", Map.of());
+        client.createTable(TRANSACTIONS_TABLE, "transactionId", null, Map.of(
+                SELLER_CREATED_AT_INDEX, new InMemoryDynamoDbClient.IndexDefinition("sellerId", "createdAt"),
+                BUYER_CREATED_AT_INDEX, new InMemoryDynamoDbClient.IndexDefinition("buyerId", "createdAt")));
+        client.createTable(IDEMPOTENCY_KEYS_TABLE, "idempotencyKey", null, Map.of());
+        // Streams as deployed: Events and Listings feed the ECS poller
+        streamsClient.enableStream(eventsTable);
+        streamsClient.enableStream(LISTINGS_TABLE);
+        client.attachStreams(streamsClient);
+        return client;
+    }
+
+    @Bean
+    @Primary
+    public InMemoryDynamoDbStreamsClient inMemoryDynamoDbStreamsClient() {
+        return new InMemoryDynamoDbStreamsClient();
+    }
+
+    @Bean
+    @Primary
+    public InMemoryDynamoDbAsyncClient inMemoryDynamoDbAsyncClient(InMemoryDynamoDbClient inMemoryDynamoDbClient) {
+        return new InMemoryDynamoDbAsyncClient(inMemoryDynamoDbClient);
+    }
+}
@@ -0,0 +1,273 @@
+package com.tickx.loadtest;
+
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.tickx.config.ApplicationContextHolder;
+import com.tickx.constants.HttpConstants;
+import com.tickx.handler.EventsHandler;
+import com.tickx.handler.ListingsHandler;
+import com.tickx.handler.VenuesHandler;
+import com.tickx.model.EventCategory;
+import com.tickx.repository.EventRepository;
+import com.tickx.repository.ListingRepository;
+import com.tickx.repository.VenueRepository;
+import com.tickx.search.SearchService;
+import com.tickx.service.EventListingStatsService;
+import com.tickx.web.LocalLambdaContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Drives the API handlers in-process against the in-memory DynamoDB stand-in with a weighted request
+ * mix and reports latency percentiles, throughput and consumed capacity per request type.
+ *
+ * <p>Configured through system properties (see the Load testing section of the README), e.g.
+ * {@code ./gradlew loadTest -Ploadtest.threads=200 -Ploadtest.threadMode=virtual -Ploadtest.ddbLatencyMs=5}.
+ */
+public class LoadTestRunner {
+
+    private static final String DEFAULT_MIX = "eventById=30,eventDetail=10,eventsByCity=20,eventsByCategory=10,"
+            + "eventSearch=5,listingsByEvent=10,sellerListings=5,venueById=5,venuesByCity=5";
+
+    private record RequestType(String name, Function<DataSeeder.Catalog, APIGatewayProxyRequestEvent> request,
+                               RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> handler) {}
+
+    private static final class Samples {
+        long[] latencies = new long[1024];
+        int count;
+        int errors;
+        double readUnits;
+        double writeUnits;
+
+        void add(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void merge(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            errors += other.errors;
+            readUnits += other.readUnits;
+            writeUnits += other.writeUnits;
+        }
+
+        double percentileMillis(double p) {
+            if (count == 0) return 0;
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(p / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("loadtest.threads", 32);
+        String threadMode = System.getProperty("loadtest.threadMode", "platform");
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 5);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+        int venues = Integer.getInteger("loadtest.venues", 50);
+        int eventsPerVenue = Integer.getInteger("loadtest.eventsPerVenue", 20);
+        int listingsPerEvent = Integer.getInteger("loadtest.listingsPerEvent", 5);
+        String mix = System.getProperty("loadtest.mix", DEFAULT_MIX);
+
+        // Must be in place before the first handler class initializes the application context
+        System.setProperty("spring.profiles.active", "loadtest");
+        setIfAbsent("EVENTS_TABLE", "TickX-Events");
+        setIfAbsent("VENUES_TABLE", "TickX-Venues");
+        setIfAbsent("TM_API_KEY_PARAM", "/tickx/loadtest/tm-api-key");
+        setIfAbsent("SYNC_ENABLED", "false");
+        setIfAbsent("aws.region", "us-east-1");
+        setIfAbsent("aws.accessKeyId", "loadtest");
+        setIfAbsent("aws.secretAccessKey", "loadtest");
+
+        ConfigurableApplicationContext context = ApplicationContextHolder.getOrStart();
+        DataSeeder.Catalog catalog = new DataSeeder(context.getBean(EventRepository.class),
+                context.getBean(VenueRepository.class), context.getBean(ListingRepository.class),
+                context.getBean(SearchService.class), context.getBean(EventListingStatsService.class))
+                .seed(venues, eventsPerVenue, listingsPerEvent, 42L);
+
+        List<RequestType> weighted = buildMix(mix);
+        System.out.printf("Load test: %d %s threads, %ds warmup, %ds measured, mix=%s%n",
+                threads, threadMode, warmupSeconds, durationSeconds, mix);
+
+        run(weighted, catalog, threads, threadMode, TimeUnit.SECONDS.toNanos(warmupSeconds));
+        long start = System.nanoTime();
+        List<Map<String, Samples>> perWorker = run(weighted, catalog, threads, threadMode,
+                TimeUnit.SECONDS.toNanos(durationSeconds));
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        report(perWorker, elapsedSeconds);
+        context.close();
+        System.exit(0);
+    }
+
+    private static List<Map<String, Samples>> run(List<RequestType> weighted, DataSeeder.Catalog catalog,
+                                                  int threads, String threadMode, long durationNanos)
+            throws Exception {
+        List<Map<String, Samples>> results = Collections.synchronizedList(new ArrayList<>());
+        long deadline = System.nanoTime() + durationNanos;
+        LocalLambdaContext lambdaContext = new LocalLambdaContext();
+
+        ExecutorService executor = newExecutor(threadMode, threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                Map<String, Samples> samples = new HashMap<>();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    RequestType type = weighted.get(random.nextInt(weighted.size()));
+                    APIGatewayProxyRequestEvent request = type.request().apply(catalog);
+
+                    CapacityMeter.reset();
+                    long began = System.nanoTime();
+                    APIGatewayProxyResponseEvent response = type.handler().handleRequest(request, lambdaContext);
+                    long took = System.nanoTime() - began;
+
+                    Samples s = samples.computeIfAbsent(type.name(), k -> new Samples());
+                    s.add(took);
+                    s.readUnits += CapacityMeter.readUnits();
+                    s.writeUnits += CapacityMeter.writeUnits();
+                    if (response.getStatusCode() >= 500) {
+                        s.errors++;
+                    }
+                }
+                results.add(samples);
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(durationNanos + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+        return results;
+    }
+
+    private static ExecutorService newExecutor(String threadMode, int threads) throws Exception {
+        if ("virtual".equalsIgnoreCase(threadMode)) {
+            // Resolved reflectively so the harness still compiles for a Java 17 target
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("loadtest.threadMode=virtual requires running on Java 21+", e);
+            }
+        }
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    private static void report(List<Map<String, Samples>> perWorker, double elapsedSeconds) {
+        Map<String, Samples> merged = new TreeMap<>();
+        Samples total = new Samples();
+        for (Map<String, Samples> worker : perWorker) {
+            worker.forEach((name, samples) -> {
+                merged.computeIfAbsent(name, k -> new Samples()).merge(samples);
+                total.merge(samples);
+            });
+        }
+        merged.put("TOTAL", total);
+
+        System.out.printf("%n%-18s %9s %7s %9s %9s %9s %9s %9s %8s %8s%n",
+                "type", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "RCU/req", "WCU/req");
+        merged.forEach((name, s) -> System.out.printf("%-18s %9d %7d %9.1f %9.3f %9.3f %9.3f %9.3f %8.2f %8.2f%n",
+                name, s.count, s.errors, s.count / elapsedSeconds,
+                s.percentileMillis(50), s.percentileMillis(95), s.percentileMillis(99), s.percentileMillis(100),
+                s.count > 0 ? s.readUnits / s.count : 0, s.count > 0 ? s.writeUnits / s.count : 0));
+    }
+
+    private static List<RequestType> buildMix(String mix) {
+        EventsHandler eventsHandler = new EventsHandler();
+        ListingsHandler listingsHandler = new ListingsHandler();
+        VenuesHandler venuesHandler = new VenuesHandler();
+
+        Map<String, RequestType> types = new LinkedHashMap<>();
+        types.put("eventById", new RequestType("eventById",
+                c -> get("/events/{eventId}", Map.of(HttpConstants.EVENT_ID_PATH, pick(c.eventIds())), null),
+                eventsHandler));
+        types.put("eventDetail", new RequestType("eventDetail",
+                c -> get("/events/{eventId}", Map.of(HttpConstants.EVENT_ID_PATH, pick(c.eventIds())),
+                        Map.of(HttpConstants.EXPAND_PARAM, "venue,listings")),
+                eventsHandler));
+        types.put("eventsByCity", new RequestType("eventsByCity",
+                c -> get("/events", null, Map.of(HttpConstants.CITY_PARAM, pick(List.of(DataSeeder.CITIES)))),
+                eventsHandler));
+        types.put("eventsByCategory", new RequestType("eventsByCategory",
+                c -> get("/events", null, Map.of(HttpConstants.CATEGORY_PARAM,
+                        pick(Arrays.stream(EventCategory.values()).map(EventCategory::getValue).toList()))),
+                eventsHandler));
+        types.put("eventsByCityCategory", new RequestType("eventsByCityCategory",
+                c -> get("/events", null, Map.of(HttpConstants.CITY_PARAM, pick(List.of(DataSeeder.CITIES)),
+                        HttpConstants.CATEGORY_PARAM,
+                        pick(Arrays.stream(EventCategory.values()).map(EventCategory::getValue).toList()))),
+                eventsHandler));
+        types.put("eventsNearby", new RequestType("eventsNearby",
+                c -> {
+                    double[] center = DataSeeder.CITY_COORDINATES[ThreadLocalRandom.current().nextInt(DataSeeder.CITIES.length)];
+                    return get("/events", null, Map.of(HttpConstants.LAT_PARAM, String.valueOf(center[0]),
+                            HttpConstants.LNG_PARAM, String.valueOf(center[1]), HttpConstants.RADIUS_KM_PARAM, "15"));
+                },
+                eventsHandler));
+        types.put("eventSuggest", new RequestType("eventSuggest",
+                c -> get(HttpConstants.SUGGEST_RESOURCE, null, Map.of(HttpConstants.QUERY_PARAM,
+                        pick(List.of("a", "au", "auro", "midn", "lanter", "copper s", "northen")))),
+                eventsHandler));
+        types.put("eventSearch", new RequestType("eventSearch",
+                c -> get("/events", null, Map.of(HttpConstants.KEYWORD_PARAM, pick(List.of("live", "aurora", "arena")))),
+                eventsHandler));
+        types.put("listingsByEvent", new RequestType("listingsByEvent",
+                c -> get("/listings", null, Map.of(HttpConstants.EVENT_ID_PARAM, pick(c.eventIds()))),
+                listingsHandler));
+        types.put("sellerListings", new RequestType("sellerListings",
+                c -> get("/listings", null, Map.of(HttpConstants.SELLER_ID_PARAM, pick(c.sellerIds()),
+                        HttpConstants.EXPAND_PARAM, HttpConstants.EXPAND_EVENT)),
+                listingsHandler));
+        types.put("listingById", new RequestType("listingById",
+                c -> get("/listings/{listingId}", Map.of(HttpConstants.LISTING_ID_PATH, pick(c.listingIds())), null),
+                listingsHandler));
+        types.put("venueById", new RequestType("venueById",
+                c -> get("/venues/{venueId}", Map.of(HttpConstants.VENUE_ID_PATH, pick(c.venueIds())), null),
+                venuesHandler));
+        types.put("venuesByCity", new RequestType("venuesByCity",
+                c -> get("/venues", null, Map.of(HttpConstants.CITY_PARAM, pick(List.of(DataSeeder.CITIES)))),
+                venuesHandler));
+
+        List<RequestType> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            RequestType type = types.get(parts[0]);
+            if (type == null) {
+                throw new IllegalArgumentException("Unknown request type '" + parts[0] + "', expected one of " + types.keySet());
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            for (int i = 0; i < weight; i++) {
+                weighted.add(type);
+            }
+        }
+        return weighted;
+    }
+
+    private static APIGatewayProxyRequestEvent get(String resource, Map<String, String> pathParameters,
+                                                   Map<String, String> queryParameters) {
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setHttpMethod(HttpConstants.GET);
+        event.setResource(resource);
+        event.setPathParameters(pathParameters);
+        event.setQueryStringParameters(queryParameters);
+        return event;
+    }
+
+    private static String pick(List<String> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null && System.getenv(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
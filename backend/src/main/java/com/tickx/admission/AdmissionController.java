@@ -0,0 +1,166 @@
+package com.tickx.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.tickx.constants.HttpConstants.*;
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Decides whether a request may run, before it does any DynamoDB work.
+ *
+ * <p>Each client has a token bucket of {@code ADMISSION_CLIENT_BURST} tokens refilled at
+ * {@code ADMISSION_CLIENT_RATE} per second, and each endpoint costs tokens in proportion to the work behind it, so
+ * a client can make many lookups by ID but few keyword searches. When the instance is saturated (requests in
+ * flight against {@code ADMISSION_MAX_CONCURRENCY}, or DynamoDB throttled within the last
+ * {@code ADMISSION_THROTTLE_COOLDOWN_SECONDS}) requests are shed by priority: searches first, then reads, lists
+ * and edits, and holds and purchases last. Buckets live in the instance, so with several Lambda instances
+ * or ECS tasks a client's allowance is per instance.
+ */
+@Component
+public class AdmissionController {
+
+    /** Shed once pressure (load as a fraction of what the instance can take) reaches {@code shedAt}. */
+    public enum Priority {
+        LOW(0.6), NORMAL(0.85), CRITICAL(1.0);
+
+        private final double shedAt;
+
+        Priority(double shedAt) {
+            this.shedAt = shedAt;
+        }
+    }
+
+    /** What a request costs in tokens, and how readily it is shed. */
+    public record Endpoint(int cost, Priority priority) {}
+
+    public record Decision(boolean admitted, String reason, long retryAfterSeconds) {
+        static final Decision ADMITTED = new Decision(true, null, 0);
+    }
+
+    // Recent throttling means DynamoDB is the bottleneck: shed all but the critical requests
+    private static final double THROTTLED_PRESSURE = 0.9;
+
+    private final boolean enabled;
+    private final double clientRate;
+    private final double clientBurst;
+    private final int maxConcurrency;
+    private final long throttleCooldownNanos;
+    private final int maxClients;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong throttledAt = new AtomicLong();
+
+    public AdmissionController(MeterRegistry meterRegistry,
+                               @Value("${ADMISSION_ENABLED:true}") boolean enabled,
+                               @Value("${ADMISSION_CLIENT_RATE:20}") double clientRate,
+                               @Value("${ADMISSION_CLIENT_BURST:100}") double clientBurst,
+                               @Value("${ADMISSION_MAX_CONCURRENCY:200}") int maxConcurrency,
+                               @Value("${ADMISSION_THROTTLE_COOLDOWN_SECONDS:5}") long throttleCooldownSeconds,
+                               @Value("${ADMISSION_MAX_CLIENTS:10000}") int maxClients) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.clientRate = clientRate;
+        this.clientBurst = clientBurst;
+        this.maxConcurrency = maxConcurrency;
+        this.throttleCooldownNanos = TimeUnit.SECONDS.toNanos(throttleCooldownSeconds);
+        this.maxClients = maxClients;
+        meterRegistry.gauge(ADMISSION_IN_FLIGHT, inFlight);
+        meterRegistry.gauge(ADMISSION_CLIENTS, buckets, Map::size);
+    }
+
+    /**
+     * Admits or rejects a request from {@code clientId} (null for in-process callers, which are only subject to
+     * shedding). An admitted request must be paired with {@link #finish()}.
+     */
+    public Decision admit(String clientId, String method, String resource, Map<String, String> queryParameters) {
+        if (!enabled) {
+            return Decision.ADMITTED;
+        }
+        Endpoint endpoint = endpoint(method, resource, queryParameters);
+        long now = System.nanoTime();
+        if (pressure(now) >= endpoint.priority().shedAt) {
+            return reject(RESULT_SHED, endpoint, 1);
+        }
+        if (clientId != null) {
+            long waitNanos = bucket(clientId, now).tryTake(endpoint.cost(), now);
+            if (waitNanos > 0) {
+                return reject(RESULT_LIMITED, endpoint, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+            }
+        }
+        inFlight.incrementAndGet();
+        return Decision.ADMITTED;
+    }
+
+    public void finish() {
+        if (enabled) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /** Called when DynamoDB throttles a call, so the next requests are shed until it recovers. */
+    public void onThrottled() {
+        throttledAt.set(System.nanoTime());
+    }
+
+    /**
+     * Cost and priority by endpoint. Keyword searches are the most expensive thing a client can ask for; lookups
+     * by ID are the cheapest. Holds and purchases are what buyers are waiting on.
+     */
+    static Endpoint endpoint(String method, String resource, Map<String, String> queryParameters) {
+        if (resource.startsWith("/holds") || resource.startsWith("/transactions")) {
+            return new Endpoint(2, Priority.CRITICAL);
+        }
+        if (!GET.equals(method)) {
+            return new Endpoint(2, Priority.NORMAL);
+        }
+        if (resource.equals("/events") && queryParameters != null
+                && (queryParameters.containsKey(KEYWORD_PARAM) || queryParameters.containsKey(QUERY_PARAM))) {
+            return new Endpoint(10, Priority.LOW);
+        }
+        if (resource.equals(SUGGEST_RESOURCE)) {
+            return new Endpoint(1, Priority.LOW);
+        }
+        if (resource.endsWith("}") || resource.equals(FAIR_PRICE_RESOURCE)) {
+            return new Endpoint(1, Priority.NORMAL);
+        }
+        // Lists: events by city or category, listings, venues, watchlists
+        return new Endpoint(3, Priority.NORMAL);
+    }
+
+    private double pressure(long now) {
+        double pressure = (double) inFlight.get() / maxConcurrency;
+        long throttled = throttledAt.get();
+        return throttled != 0 && now - throttled < throttleCooldownNanos ? Math.max(pressure, THROTTLED_PRESSURE) : pressure;
+    }
+
+    private TokenBucket bucket(String clientId, long now) {
+        TokenBucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            // Idle clients' buckets are full again; dropping them loses nothing
+            buckets.values().removeIf(idle -> idle.isFull(now));
+            if (buckets.size() >= maxClients) {
+                // Too many distinct clients at once to track; shedding still protects the backend
+                buckets.clear();
+            }
+        }
+        return buckets.computeIfAbsent(clientId, id -> new TokenBucket(clientBurst, clientRate, now));
+    }
+
+    private Decision reject(String reason, Endpoint endpoint, long retryAfterSeconds) {
+        meterRegistry.counter(ADMISSION_REJECTED, TAG_RESULT, reason, TAG_PRIORITY, endpoint.priority().name().toLowerCase())
+                .increment();
+        return new Decision(false, reason, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,40 @@
+package com.tickx.admission;
+
+/**
+ * A client's request allowance: holds up to {@code capacity} tokens, refilled at {@code refillPerSecond}.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = nowNanos;
+    }
+
+    /** Takes {@code cost} tokens if there are enough; otherwise takes none and returns the nanos until there are. */
+    synchronized long tryTake(double cost, long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= cost) {
+            tokens -= cost;
+            return 0;
+        }
+        return (long) Math.ceil((Math.min(cost, capacity) - tokens) / refillPerNano);
+    }
+
+    /** True once the bucket has refilled completely, i.e. the client has been idle long enough to forget. */
+    synchronized boolean isFull(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= capacity;
+    }
+
+    private void refill(long nowNanos) {
+        tokens = Math.min(capacity, tokens + (nowNanos - refilledAt) * refillPerNano);
+        refilledAt = nowNanos;
+    }
+}
@@ -0,0 +1,25 @@
+package com.tickx.backfill;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A rewrite applied to every item of one table by {@link BackfillService}. Jobs must be idempotent: a
+ * resumed run replays the page it was interrupted in, and items the job returns unchanged are not written.
+ */
+public interface BackfillJob {
+
+    /** Name used to select the job and to key its checkpoints. */
+    String name();
+
+    String tableName();
+
+    /** The table's key attributes, which a rewrite must leave as they are. */
+    List<String> keyAttributes();
+
+    /** The item as it should now be stored, or empty to leave it alone. */
+    Optional<Map<String, AttributeValue>> rewrite(Map<String, AttributeValue> item) throws Exception;
+}
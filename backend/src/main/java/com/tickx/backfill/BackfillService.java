@@ -0,0 +1,334 @@
+package com.tickx.backfill;
+
+import com.tickx.metrics.ConsumedCapacityTracker;
+import com.tickx.repository.BackfillCheckpointRepository;
+import com.tickx.repository.BackfillCheckpointRepository.Checkpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Runs a {@link BackfillJob} over its table with a parallel Scan: one worker per segment reads a page,
+ * rewrites it, writes the changed items and checkpoints the page's last key before reading the next. Each
+ * write updates only the attributes the job changed, on condition that the item is still as scanned, so a
+ * concurrent write (a purchase, a sync, a stats update) is never reverted; such items are skipped. Reads and
+ * writes draw on shared RCU/WCU budgets so a backfill leaves the rest of the table's capacity to live traffic.
+ * A run stops at its time budget and resumes from the checkpoints on the next call.
+ */
+@Slf4j
+@Service
+public class BackfillService {
+
+    private final Map<String, BackfillJob> jobs;
+    private final DynamoDbClient dynamoDbClient;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final ConsumedCapacityTracker capacityTracker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${BACKFILL_SEGMENTS:4}")
+    private int defaultSegments;
+
+    @Value("${BACKFILL_PAGE_SIZE:100}")
+    private int pageSize;
+
+    // Share of a provisioned table's capacity; on-demand tables use the per-second ceilings below
+    @Value("${BACKFILL_CAPACITY_SHARE:0.25}")
+    private double capacityShare;
+
+    @Value("${BACKFILL_MAX_RCU_PER_SECOND:400}")
+    private double maxReadUnits;
+
+    @Value("${BACKFILL_MAX_WCU_PER_SECOND:200}")
+    private double maxWriteUnits;
+
+    public BackfillService(List<BackfillJob> jobs,
+                           DynamoDbClient dynamoDbClient,
+                           BackfillCheckpointRepository checkpointRepository,
+                           ConsumedCapacityTracker capacityTracker,
+                           MeterRegistry meterRegistry) {
+        this.jobs = jobs.stream().collect(Collectors.toMap(BackfillJob::name, Function.identity()));
+        this.dynamoDbClient = dynamoDbClient;
+        this.checkpointRepository = checkpointRepository;
+        this.capacityTracker = capacityTracker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Set<String> jobNames() {
+        return new TreeSet<>(jobs.keySet());
+    }
+
+    /**
+     * Continues the job's current run, or starts a new one with {@code segments} workers when there is none or
+     * {@code restart} is set. Segment count cannot change mid-run, since each segment's checkpoint only makes
+     * sense for the segmentation it was taken under.
+     */
+    public BackfillResult run(String jobName, Integer segments, boolean restart, long budgetMillis) {
+        BackfillJob job = jobs.get(jobName);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown backfill job '" + jobName + "', expected one of " + jobNames());
+        }
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + budgetMillis;
+
+        Optional<Integer> currentRun = restart ? Optional.empty() : checkpointRepository.findTotalSegments(job.name());
+        int totalSegments;
+        if (currentRun.isPresent()) {
+            totalSegments = currentRun.get();
+            if (segments != null && segments != totalSegments) {
+                log.warn("Backfill {} resumes with the run's {} segments, not {}", job.name(), totalSegments, segments);
+            }
+        } else {
+            totalSegments = segments != null ? segments : defaultSegments;
+            checkpointRepository.startRun(job.name(), totalSegments);
+        }
+
+        Map<Integer, Checkpoint> checkpoints = checkpointRepository.findSegments(job.name());
+        List<Checkpoint> pending = new ArrayList<>();
+        for (int segment = 0; segment < totalSegments; segment++) {
+            Checkpoint checkpoint = checkpoints.getOrDefault(segment, Checkpoint.start(segment));
+            checkpoints.put(segment, checkpoint);
+            if (!checkpoint.done()) {
+                pending.add(checkpoint);
+            }
+        }
+
+        CapacityLimiter reads = new CapacityLimiter(budget(job.tableName(), true));
+        CapacityLimiter writes = new CapacityLimiter(budget(job.tableName(), false));
+        log.info("Backfill {} on {}: {} of {} segments pending, {} RCU/s, {} WCU/s", job.name(), job.tableName(),
+                pending.size(), totalSegments, reads.unitsPerSecond(), writes.unitsPerSecond());
+
+        if (!pending.isEmpty()) {
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(pending.size(), runnable -> {
+                Thread thread = new Thread(runnable, "backfill-" + job.name() + "-" + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<Checkpoint>> futures = new ArrayList<>();
+                for (Checkpoint checkpoint : pending) {
+                    futures.add(workers.submit(() -> runSegment(job, totalSegments, checkpoint, reads, writes, deadline)));
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    try {
+                        Checkpoint finished = futures.get(i).get();
+                        checkpoints.put(finished.segment(), finished);
+                    } catch (Exception e) {
+                        log.error("Backfill {} segment {} failed: {}", job.name(), pending.get(i).segment(), e.getMessage());
+                    }
+                }
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+
+        BackfillResult result = new BackfillResult();
+        result.job = job.name();
+        result.totalSegments = totalSegments;
+        for (Checkpoint checkpoint : checkpoints.values()) {
+            result.segmentsDone += checkpoint.done() ? 1 : 0;
+            result.scanned += checkpoint.scanned();
+            result.rewritten += checkpoint.rewritten();
+            result.unchanged += checkpoint.unchanged();
+            result.skipped += checkpoint.skipped();
+            result.failed += checkpoint.failed();
+        }
+        result.complete = result.segmentsDone == totalSegments;
+        result.durationMs = System.currentTimeMillis() - startTime;
+        log.info("Backfill {}: {}/{} segments done, scanned {}, rewritten {}, unchanged {}, skipped {}, failed {} in {} ms",
+                job.name(), result.segmentsDone, totalSegments, result.scanned, result.rewritten, result.unchanged,
+                result.skipped, result.failed, result.durationMs);
+        return result;
+    }
+
+    private Checkpoint runSegment(BackfillJob job, int totalSegments, Checkpoint checkpoint,
+                                  CapacityLimiter reads, CapacityLimiter writes, long deadline) {
+        String operation = "backfill." + job.name();
+        Checkpoint current = checkpoint;
+
+        try {
+            while (!current.done() && System.currentTimeMillis() < deadline) {
+                reads.acquire();
+                ScanRequest.Builder requestBuilder = ScanRequest.builder()
+                        .tableName(job.tableName())
+                        .segment(current.segment())
+                        .totalSegments(totalSegments)
+                        .limit(pageSize)
+                        .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+                if (current.lastKey() != null) {
+                    requestBuilder.exclusiveStartKey(current.lastKey());
+                }
+
+                ScanResponse response = dynamoDbClient.scan(requestBuilder.build());
+                capacityTracker.record(operation, response.consumedCapacity());
+                reads.consume(units(response.consumedCapacity()));
+
+                long rewritten = 0;
+                long unchanged = 0;
+                long skipped = 0;
+                long failed = 0;
+                for (Map<String, AttributeValue> item : response.items()) {
+                    Optional<Map<String, AttributeValue>> rewrite;
+                    try {
+                        rewrite = job.rewrite(item);
+                    } catch (Exception e) {
+                        log.warn("Backfill {} could not rewrite an item in segment {}: {}", job.name(),
+                                current.segment(), e.getMessage());
+                        failed++;
+                        continue;
+                    }
+                    if (rewrite.isEmpty() || rewrite.get().equals(item)) {
+                        unchanged++;
+                        continue;
+                    }
+                    if (job.keyAttributes().stream().anyMatch(key -> !Objects.equals(item.get(key), rewrite.get().get(key)))) {
+                        log.warn("Backfill {} tried to change an item's key in segment {}", job.name(), current.segment());
+                        failed++;
+                        continue;
+                    }
+                    if (write(job, item, rewrite.get(), writes, operation)) {
+                        rewritten++;
+                    } else {
+                        skipped++;
+                    }
+                }
+
+                count(job, RESULT_REWRITTEN, rewritten);
+                count(job, RESULT_UNCHANGED, unchanged);
+                count(job, RESULT_SKIPPED, skipped);
+                count(job, RESULT_FAILED, failed);
+
+                Map<String, AttributeValue> lastKey = response.lastEvaluatedKey();
+                boolean done = lastKey == null || lastKey.isEmpty();
+                current = new Checkpoint(current.segment(), done ? null : lastKey, done,
+                        current.scanned() + response.scannedCount(), current.rewritten() + rewritten,
+                        current.unchanged() + unchanged, current.skipped() + skipped, current.failed() + failed);
+                checkpointRepository.save(job.name(), current);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // The checkpoint still points at the start of the failed page, so the next run retries it
+            log.error("Backfill {} segment {} stopped: {}", job.name(), current.segment(), e.getMessage(), e);
+        }
+        return current;
+    }
+
+    /**
+     * Sets the attributes {@code rewrite} changed and removes those it dropped, on condition that every attribute
+     * still has the value the Scan read. Returns false when the item changed (or was deleted) since.
+     */
+    private boolean write(BackfillJob job, Map<String, AttributeValue> scanned, Map<String, AttributeValue> rewrite,
+                          CapacityLimiter writes, String operation) throws InterruptedException {
+        Map<String, AttributeValue> key = new HashMap<>();
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        List<String> conditions = new ArrayList<>();
+        List<String> sets = new ArrayList<>();
+        List<String> removes = new ArrayList<>();
+
+        Set<String> attributes = new LinkedHashSet<>(scanned.keySet());
+        attributes.addAll(rewrite.keySet());
+        int n = 0;
+        for (String attribute : attributes) {
+            if (job.keyAttributes().contains(attribute)) {
+                key.put(attribute, scanned.get(attribute));
+                continue;
+            }
+            String name = "#a" + n;
+            AttributeValue before = scanned.get(attribute);
+            AttributeValue after = rewrite.get(attribute);
+            if (before != null) {
+                values.put(":o" + n, before);
+                conditions.add(name + " = :o" + n);
+            } else {
+                conditions.add("attribute_not_exists(" + name + ")");
+            }
+            if (after == null) {
+                removes.add(name);
+            } else if (!after.equals(before)) {
+                values.put(":n" + n, after);
+                sets.add(name + " = :n" + n);
+            }
+            names.put(name, attribute);
+            n++;
+        }
+        // Deleted since the Scan: do not bring it back
+        names.put("#key", job.keyAttributes().get(0));
+        conditions.add("attribute_exists(#key)");
+
+        String update = (sets.isEmpty() ? "" : "SET " + String.join(", ", sets))
+                + (removes.isEmpty() ? "" : (sets.isEmpty() ? "" : " ") + "REMOVE " + String.join(", ", removes));
+        writes.acquire();
+        try {
+            UpdateItemResponse response = dynamoDbClient.updateItem(UpdateItemRequest.builder()
+                    .tableName(job.tableName())
+                    .key(key)
+                    .updateExpression(update)
+                    .conditionExpression(String.join(" AND ", conditions))
+                    .expressionAttributeNames(names)
+                    .expressionAttributeValues(values.isEmpty() ? null : values)
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+            capacityTracker.record(operation, response.consumedCapacity());
+            writes.consume(units(response.consumedCapacity()));
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            // A failed condition still costs a write
+            writes.consume(1);
+            return false;
+        }
+    }
+
+    private double budget(String tableName, boolean reads) {
+        try {
+            ProvisionedThroughputDescription throughput = dynamoDbClient.describeTable(DescribeTableRequest.builder()
+                    .tableName(tableName)
+                    .build()).table().provisionedThroughput();
+            Long provisioned = throughput == null ? null
+                    : reads ? throughput.readCapacityUnits() : throughput.writeCapacityUnits();
+            if (provisioned != null && provisioned > 0) {
+                return Math.max(1, provisioned * capacityShare);
+            }
+        } catch (Exception e) {
+            log.debug("Could not describe {}: {}", tableName, e.getMessage());
+        }
+        return reads ? maxReadUnits : maxWriteUnits;
+    }
+
+    private void count(BackfillJob job, String result, long amount) {
+        if (amount > 0) {
+            meterRegistry.counter(BACKFILL_ITEMS, TAG_JOB, job.name(), TAG_RESULT, result).increment(amount);
+        }
+    }
+
+    private static double units(ConsumedCapacity capacity) {
+        return capacity != null && capacity.capacityUnits() != null ? capacity.capacityUnits() : 0;
+    }
+
+    public static class BackfillResult {
+        public String job;
+        public int totalSegments;
+        public int segmentsDone;
+        public boolean complete;
+        public long scanned;
+        public long rewritten;
+        public long unchanged;
+        public long skipped;
+        public long failed;
+        public long durationMs;
+    }
+}
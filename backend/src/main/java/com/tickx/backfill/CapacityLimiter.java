@@ -0,0 +1,48 @@
+package com.tickx.backfill;
+
+/**
+ * Token bucket shared by a backfill's segment workers. DynamoDB only reports what a request consumed after
+ * it completes, so callers {@link #acquire()} before a request and {@link #consume(double)} the reported units
+ * afterwards; the bucket may go into debt, and the next caller waits for it to refill.
+ */
+final class CapacityLimiter {
+
+    private final double unitsPerSecond;
+    private double available;
+    private long refilledAt = System.nanoTime();
+
+    CapacityLimiter(double unitsPerSecond) {
+        this.unitsPerSecond = unitsPerSecond;
+        this.available = unitsPerSecond;
+    }
+
+    double unitsPerSecond() {
+        return unitsPerSecond;
+    }
+
+    void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (available >= 0) {
+                    return;
+                }
+                waitNanos = (long) (-available / unitsPerSecond * 1_000_000_000L);
+            }
+            Thread.sleep(Math.max(1, waitNanos / 1_000_000));
+        }
+    }
+
+    synchronized void consume(double units) {
+        refill();
+        available -= units;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        // At most one second of burst, so an idle limiter cannot release a spike
+        available = Math.min(unitsPerSecond, available + (now - refilledAt) / 1_000_000_000.0 * unitsPerSecond);
+        refilledAt = now;
+    }
+}
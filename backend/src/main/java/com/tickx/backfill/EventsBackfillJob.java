@@ -0,0 +1,45 @@
+package com.tickx.backfill;
+
+import com.tickx.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Re-derives every event's index keys and re-encodes its data in the configured {@code EVENT_DATA_FORMAT}.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventsBackfillJob implements BackfillJob {
+
+    private final EventRepository eventRepository;
+
+    @Value("${EVENTS_TABLE}")
+    private String eventsTable;
+
+    @Override
+    public String name() {
+        return "events";
+    }
+
+    @Override
+    public String tableName() {
+        return eventsTable;
+    }
+
+    @Override
+    public List<String> keyAttributes() {
+        return List.of("PK", "SK");
+    }
+
+    @Override
+    public Optional<Map<String, AttributeValue>> rewrite(Map<String, AttributeValue> item) throws IOException {
+        return eventRepository.rewriteItem(item);
+    }
+}
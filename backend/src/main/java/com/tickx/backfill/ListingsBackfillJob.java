@@ -0,0 +1,42 @@
+package com.tickx.backfill;
+
+import com.tickx.repository.ListingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.tickx.constants.DynamoDbConstants.LISTINGS_TABLE;
+
+/**
+ * Rewrites every listing through the current {@code Listing} bean schema.
+ */
+@Component
+@RequiredArgsConstructor
+public class ListingsBackfillJob implements BackfillJob {
+
+    private final ListingRepository listingRepository;
+
+    @Override
+    public String name() {
+        return "listings";
+    }
+
+    @Override
+    public String tableName() {
+        return LISTINGS_TABLE;
+    }
+
+    @Override
+    public List<String> keyAttributes() {
+        return List.of("listingId");
+    }
+
+    @Override
+    public Optional<Map<String, AttributeValue>> rewrite(Map<String, AttributeValue> item) {
+        return listingRepository.rewriteItem(item);
+    }
+}
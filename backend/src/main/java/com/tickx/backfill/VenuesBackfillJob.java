@@ -0,0 +1,45 @@
+package com.tickx.backfill;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.tickx.repository.VenueRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Re-derives every venue's index keys, including the geohash keys of {@code GSI2}.
+ */
+@Component
+@RequiredArgsConstructor
+public class VenuesBackfillJob implements BackfillJob {
+
+    private final VenueRepository venueRepository;
+
+    @Value("${VENUES_TABLE}")
+    private String venuesTable;
+
+    @Override
+    public String name() {
+        return "venues";
+    }
+
+    @Override
+    public String tableName() {
+        return venuesTable;
+    }
+
+    @Override
+    public List<String> keyAttributes() {
+        return List.of("PK", "SK");
+    }
+
+    @Override
+    public Optional<Map<String, AttributeValue>> rewrite(Map<String, AttributeValue> item) throws JsonProcessingException {
+        return venueRepository.rewriteItem(item);
+    }
+}
@@ -0,0 +1,105 @@
+package com.tickx.cache;
+
+import com.tickx.model.Event;
+import com.tickx.model.EventQuery;
+import com.tickx.search.SearchDocument;
+import com.tickx.search.SearchIndex;
+import com.tickx.search.SearchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.tickx.constants.HttpConstants.DEFAULT_PAGE_SIZE;
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Loads what the first requests on an instance would otherwise read from DynamoDB: the search index, and the
+ * first page of upcoming events for the busiest cities and categories in it, kept in the {@link EventPageCache}
+ * that serves {@code GET /events?city=} and {@code ?category=}, with their events in the {@link EventCache} that
+ * serves {@code GET /events/{id}}. Runs when the application starts
+ * if {@code CACHE_WARMUP_ON_START} is set (in Lambda that is handler init, so under SnapStart it is part of the
+ * snapshot), and whenever an instance picks up the search index published by a newer sync.
+ */
+@Slf4j
+@Component
+public class CacheWarmer {
+
+    private final SearchService searchService;
+    private final EventPageCache eventPageCache;
+    private final MeterRegistry meterRegistry;
+    private final boolean warmOnStart;
+    private final int maxQueries;
+
+    public CacheWarmer(SearchService searchService,
+                       EventPageCache eventPageCache,
+                       MeterRegistry meterRegistry,
+                       @Value("${CACHE_WARMUP_ON_START:false}") boolean warmOnStart,
+                       @Value("${CACHE_WARMUP_MAX_QUERIES:50}") int maxQueries) {
+        this.searchService = searchService;
+        this.eventPageCache = eventPageCache;
+        this.meterRegistry = meterRegistry;
+        this.warmOnStart = warmOnStart;
+        this.maxQueries = maxQueries;
+        searchService.onIndexReplaced(index -> warm(index, TRIGGER_SYNC));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStart() {
+        if (warmOnStart) {
+            searchService.currentIndex().ifPresentOrElse(index -> warm(index, TRIGGER_START),
+                    () -> log.info("No search index published yet; nothing to warm"));
+        }
+    }
+
+    /** Reads the busiest cities' and categories' first pages into the page and event caches; returns the events cached. */
+    int warm(SearchIndex index, String trigger) {
+        long start = System.nanoTime();
+        String today = LocalDate.now().toString();
+        List<SearchDocument> upcoming = index.documents().stream()
+                .filter(document -> document.localDate() != null && document.localDate().compareTo(today) >= 0)
+                .toList();
+
+        List<EventQuery> queries = new ArrayList<>();
+        busiest(upcoming, SearchDocument::venueCity).forEach(city ->
+                queries.add(EventQuery.builder().city(city).pageSize(DEFAULT_PAGE_SIZE).build()));
+        busiest(upcoming, SearchDocument::category).forEach(category ->
+                queries.add(EventQuery.builder().category(category).pageSize(DEFAULT_PAGE_SIZE).build()));
+
+        Set<String> cached = new HashSet<>();
+        for (EventQuery query : queries.subList(0, Math.min(queries.size(), maxQueries))) {
+            try {
+                List<Event> events = eventPageCache.load(query);
+                events.forEach(event -> cached.add(event.getId()));
+            } catch (RuntimeException e) {
+                log.warn("Cache warm-up query {} failed: {}", query, e.getMessage());
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        meterRegistry.timer(CACHE_WARMUP, TAG_TRIGGER, trigger).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info("Warmed caches ({}) with {} events from {} queries in {} ms", trigger, cached.size(),
+                Math.min(queries.size(), maxQueries), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return cached.size();
+    }
+
+    /** Distinct values of {@code attribute}, most upcoming events first. */
+    private static List<String> busiest(List<SearchDocument> documents, Function<SearchDocument, String> attribute) {
+        return documents.stream()
+                .map(attribute)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
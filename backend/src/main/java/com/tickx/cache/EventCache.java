@@ -0,0 +1,142 @@
+package com.tickx.cache;
+
+import com.tickx.model.Event;
+import com.tickx.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Events by ID, fresh for {@code EVENT_CACHE_TTL_SECONDS}. For {@code EVENT_CACHE_STALE_SECONDS} after that an
+ * entry is still served (stale-while-revalidate) while one background batch read refreshes it, so a popular
+ * event expiring never sends its readers to DynamoDB together. Misses for the same IDs at the same moment share
+ * one read. Each read is stored with the invalidation generation its first caller took before reading, so an
+ * event invalidated after that read began is not put back as it was.
+ */
+@Slf4j
+@Component
+public class EventCache {
+
+    private record Load(long generation, Map<String, Event> events) {}
+
+    private final EventRepository eventRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final TtlCache<String, Event> cache;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleHits;
+
+    public EventCache(EventRepository eventRepository,
+                      RequestCoalescer requestCoalescer,
+                      MeterRegistry meterRegistry,
+                      @Value("${EVENT_CACHE_TTL_SECONDS:300}") long ttlSeconds,
+                      @Value("${EVENT_CACHE_STALE_SECONDS:60}") long staleSeconds,
+                      @Value("${EVENT_CACHE_MAX_SIZE:5000}") int maxSize) {
+        this.eventRepository = eventRepository;
+        this.requestCoalescer = requestCoalescer;
+        this.cache = new TtlCache<>(ttlSeconds * 1000, staleSeconds * 1000, maxSize);
+        this.hits = meterRegistry.counter(CACHE_REQUESTS, TAG_CACHE, "event", TAG_RESULT, RESULT_HIT);
+        this.misses = meterRegistry.counter(CACHE_REQUESTS, TAG_CACHE, "event", TAG_RESULT, RESULT_MISS);
+        this.staleHits = meterRegistry.counter(CACHE_REQUESTS, TAG_CACHE, "event", TAG_RESULT, RESULT_STALE);
+        meterRegistry.gauge(CACHE_SIZE, Tags.of(TAG_CACHE, "event"), cache, TtlCache::size);
+    }
+
+    public Optional<Event> get(String eventId) {
+        return Optional.ofNullable(getAll(List.of(eventId)).get(eventId));
+    }
+
+    public Map<String, Event> getAll(Collection<String> eventIds) {
+        Set<String> distinctIds = new LinkedHashSet<>(eventIds);
+        Map<String, Event> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        for (String id : distinctIds) {
+            cache.lookup(id).ifPresentOrElse(hit -> {
+                result.put(id, hit.value());
+                if (hit.stale()) {
+                    stale.add(id);
+                }
+            }, () -> missing.add(id));
+        }
+        hits.increment(distinctIds.size() - missing.size() - stale.size());
+        staleHits.increment(stale.size());
+        misses.increment(missing.size());
+        if (!stale.isEmpty()) {
+            refresh(stale);
+        }
+
+        if (!missing.isEmpty()) {
+            Load load = load(missing);
+            Map<String, Event> loaded = load.events();
+            loaded.forEach((id, event) -> cache.put(id, event, load.generation()));
+            result.putAll(loaded);
+            log.debug("Event cache: {} hits, {} misses, {} loaded",
+                    distinctIds.size() - missing.size(), missing.size(), loaded.size());
+        }
+
+        return result;
+    }
+
+    /** Take before reading events elsewhere to {@link #putAll} them. */
+    public long generation() {
+        return cache.generation();
+    }
+
+    /** Caches events read elsewhere, e.g. by the warmer, after {@code readGeneration}. */
+    public void putAll(Collection<Event> events, long readGeneration) {
+        events.forEach(event -> cache.put(event.getId(), event, readGeneration));
+    }
+
+    public void invalidate(String eventId) {
+        cache.invalidate(eventId);
+    }
+
+    /**
+     * Reads the events, or joins a read of the same IDs already in flight. The generation is taken by the caller
+     * that starts the read, so whoever joins it gets the generation from before it began.
+     */
+    private Load load(List<String> ids) {
+        return requestCoalescer.execute("event.cacheLoad", ids, () -> {
+            long generation = cache.generation();
+            return new Load(generation, eventRepository.findByIds(ids));
+        });
+    }
+
+    /** Re-reads stale entries in the background, once per ID however many readers find them stale. */
+    private void refresh(List<String> staleIds) {
+        List<String> ids = staleIds.stream().filter(refreshing::add).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    // An event missing from the result is left to expire: the read may have failed rather than found it deleted
+                    Load load = load(ids);
+                    load.events().forEach((id, event) -> cache.put(id, event, load.generation()));
+                } finally {
+                    ids.forEach(refreshing::remove);
+                }
+            });
+        } catch (RuntimeException e) {
+            ids.forEach(refreshing::remove);
+            log.warn("Could not schedule refresh of {} events: {}", ids.size(), e.getMessage());
+        }
+    }
+}
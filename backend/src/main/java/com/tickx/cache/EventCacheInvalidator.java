@@ -0,0 +1,59 @@
+package com.tickx.cache;
+
+import com.tickx.model.Event;
+import com.tickx.stream.ChangeConsumer;
+import com.tickx.stream.ChangeEvent;
+import com.tickx.stream.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Drops cached events as soon as they change or are removed, and the cached pages an event joins or leaves,
+ * instead of serving them until the TTL runs out.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventCacheInvalidator implements ChangeConsumer<Event> {
+
+    private final EventCache eventCache;
+    private final EventPageCache eventPageCache;
+
+    @Override
+    public Class<Event> entityType() {
+        return Event.class;
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    @Override
+    public void onChanges(List<ChangeEvent<Event>> changes) {
+        for (ChangeEvent<Event> change : changes) {
+            if (change.type() != ChangeType.INSERT) {
+                eventCache.invalidate(change.current().getId());
+            }
+            if (change.type() != ChangeType.MODIFY || moved(change.oldImage(), change.newImage())) {
+                if (change.oldImage() != null) {
+                    eventPageCache.invalidate(change.oldImage());
+                }
+                if (change.newImage() != null) {
+                    eventPageCache.invalidate(change.newImage());
+                }
+            }
+        }
+    }
+
+    /** Whether the event changed city, category or date, and so pages or its place on one. */
+    private static boolean moved(Event before, Event after) {
+        return before == null || after == null
+                || !Objects.equals(before.getVenueCity(), after.getVenueCity())
+                || !Objects.equals(before.getCategory(), after.getCategory())
+                || !Objects.equals(before.getEventDate(), after.getEventDate())
+                || !Objects.equals(before.getLocalDate(), after.getLocalDate());
+    }
+}
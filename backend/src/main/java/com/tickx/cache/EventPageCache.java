@@ -0,0 +1,107 @@
+package com.tickx.cache;
+
+import com.tickx.model.Event;
+import com.tickx.model.EventQuery;
+import com.tickx.repository.EventQueryPlanner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+import static com.tickx.constants.HttpConstants.DEFAULT_PAGE_SIZE;
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * First pages of {@code GET /events?city=} and {@code ?category=} (no keyword, venue or dates, default page size),
+ * kept as event IDs for {@code EVENT_PAGE_CACHE_TTL_SECONDS} and resolved through the {@link EventCache}, so a
+ * changed event shows as soon as its entry there is dropped. A page is dropped when an event joins or leaves it,
+ * and a read that began before that is not stored. Every other query goes to the {@link EventQueryPlanner}.
+ */
+@Component
+public class EventPageCache {
+
+    private record PageKey(String city, String category) {}
+
+    private record Load(long pageGeneration, long eventGeneration, List<Event> events) {}
+
+    private final EventQueryPlanner eventQueryPlanner;
+    private final EventCache eventCache;
+    private final RequestCoalescer requestCoalescer;
+    private final TtlCache<PageKey, List<String>> pages;
+    private final Counter hits;
+    private final Counter misses;
+
+    public EventPageCache(EventQueryPlanner eventQueryPlanner,
+                          EventCache eventCache,
+                          RequestCoalescer requestCoalescer,
+                          MeterRegistry meterRegistry,
+                          @Value("${EVENT_PAGE_CACHE_TTL_SECONDS:60}") long ttlSeconds,
+                          @Value("${EVENT_PAGE_CACHE_MAX_SIZE:500}") int maxSize) {
+        this.eventQueryPlanner = eventQueryPlanner;
+        this.eventCache = eventCache;
+        this.requestCoalescer = requestCoalescer;
+        this.pages = new TtlCache<>(ttlSeconds * 1000, maxSize);
+        this.hits = meterRegistry.counter(CACHE_REQUESTS, TAG_CACHE, "event_page", TAG_RESULT, RESULT_HIT);
+        this.misses = meterRegistry.counter(CACHE_REQUESTS, TAG_CACHE, "event_page", TAG_RESULT, RESULT_MISS);
+        meterRegistry.gauge(CACHE_SIZE, Tags.of(TAG_CACHE, "event_page"), pages, TtlCache::size);
+    }
+
+    public List<Event> execute(EventQuery query) {
+        Optional<PageKey> key = key(query);
+        if (key.isEmpty()) {
+            return eventQueryPlanner.execute(query);
+        }
+        Optional<List<String>> ids = pages.get(key.get());
+        if (ids.isEmpty()) {
+            misses.increment();
+            return load(query);
+        }
+        hits.increment();
+        Map<String, Event> events = eventCache.getAll(ids.get());
+        // Events deleted since the page was read are left out rather than re-reading the page
+        return ids.get().stream().map(events::get).filter(Objects::nonNull).toList();
+    }
+
+    /** Reads the page from the index and caches it, along with its events; also used by the warmer. */
+    public List<Event> load(EventQuery query) {
+        Optional<PageKey> key = key(query);
+        if (key.isEmpty()) {
+            return eventQueryPlanner.execute(query);
+        }
+        // Generations are taken by the caller that starts the read, and shared with any that join it
+        Load load = requestCoalescer.execute("event.pageLoad", key.get(), () -> {
+            long pageGeneration = pages.generation();
+            long eventGeneration = eventCache.generation();
+            return new Load(pageGeneration, eventGeneration, eventQueryPlanner.execute(query));
+        });
+        eventCache.putAll(load.events(), load.eventGeneration());
+        pages.put(key.get(), load.events().stream().map(Event::getId).toList(), load.pageGeneration());
+        return load.events();
+    }
+
+    /** Drops the pages {@code event} is, or would now be, on. */
+    public void invalidate(Event event) {
+        String city = event.getVenueCity() != null ? EventQueryPlanner.cityKey(event.getVenueCity()) : null;
+        String category = event.getCategory() != null ? event.getCategory().getValue() : null;
+        pages.invalidate(new PageKey(city, null));
+        pages.invalidate(new PageKey(null, category));
+        pages.invalidate(new PageKey(city, category));
+    }
+
+    private static Optional<PageKey> key(EventQuery query) {
+        boolean firstPage = isEmpty(query.getKeyword()) && isEmpty(query.getVenueId()) && isEmpty(query.getDateFrom())
+                && isEmpty(query.getDateTo()) && query.getPageSize() == DEFAULT_PAGE_SIZE;
+        if (!firstPage || (isEmpty(query.getCity()) && isEmpty(query.getCategory()))) {
+            return Optional.empty();
+        }
+        return Optional.of(new PageKey(isEmpty(query.getCity()) ? null : EventQueryPlanner.cityKey(query.getCity()),
+                isEmpty(query.getCategory()) ? null : query.getCategory()));
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
@@ -0,0 +1,156 @@
+package com.tickx.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Caches SSM parameters (secrets, feature flags, config lists) across invocations.
+ * Values are refreshed in the background; reads only block on the very first lookup of a name.
+ */
+@Slf4j
+@Component
+public class ParameterCache {
+
+    // SSM GetParameters accepts at most 10 names per call
+    private static final int GET_PARAMETERS_BATCH_SIZE = 10;
+
+    private final SsmClient ssmClient;
+    private final long ttlMillis;
+    private final List<String> preloadNames;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // When a name last failed to load; it is not retried until the TTL has passed
+    private final Map<String, Long> failedAt = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "parameter-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // value is null when the parameter does not exist, so misses are cached too
+    private record Entry(String value, long loadedAt) {}
+
+    public ParameterCache(SsmClient ssmClient,
+                          MeterRegistry meterRegistry,
+                          @Value("${SSM_CACHE_TTL_SECONDS:300}") long ttlSeconds,
+                          @Value("${SSM_PRELOAD_PARAMS:}") List<String> preloadNames) {
+        this.ssmClient = ssmClient;
+        this.hits = meterRegistry.counter(CACHE_REQUESTS, TAG_CACHE, "parameter", TAG_RESULT, RESULT_HIT);
+        this.misses = meterRegistry.counter(CACHE_REQUESTS, TAG_CACHE, "parameter", TAG_RESULT, RESULT_MISS);
+        // The refresher cannot be scheduled with a zero delay
+        this.ttlMillis = Math.max(1, ttlSeconds) * 1000;
+        this.preloadNames = preloadNames.stream().filter(name -> !name.isBlank()).toList();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!preloadNames.isEmpty()) {
+            try {
+                load(preloadNames);
+            } catch (Exception e) {
+                // SSM being unavailable must not fail startup; the names load on first use instead
+                log.warn("Failed to preload SSM parameters {}: {}", preloadNames, e.getMessage());
+            }
+        }
+        refresher.scheduleWithFixedDelay(this::refreshAll, ttlMillis, ttlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    public Optional<String> get(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            misses.increment();
+            Long failed = failedAt.get(name);
+            if (failed != null && System.currentTimeMillis() - failed < ttlMillis) {
+                return Optional.empty();
+            }
+            try {
+                load(List.of(name));
+                failedAt.remove(name);
+            } catch (Exception e) {
+                failedAt.put(name, System.currentTimeMillis());
+                log.error("Failed to load SSM parameter {}: {}", name, e.getMessage());
+                return Optional.empty();
+            }
+            entry = entries.get(name);
+        } else {
+            hits.increment();
+        }
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt > ttlMillis) {
+            // Lambda freezes the refresher between invocations, so refresh-ahead on read and serve the stale value
+            refresher.execute(this::refreshAll);
+        }
+        return entry != null ? Optional.ofNullable(entry.value) : Optional.empty();
+    }
+
+    public List<String> getList(String name) {
+        return get(name)
+                .map(value -> Arrays.stream(value.split(","))
+                        .map(String::trim)
+                        .filter(item -> !item.isEmpty())
+                        .toList())
+                .orElse(List.of());
+    }
+
+    public boolean getBoolean(String name, boolean defaultValue) {
+        return get(name).map(Boolean::parseBoolean).orElse(defaultValue);
+    }
+
+    private void refreshAll() {
+        if (entries.isEmpty() || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            load(new ArrayList<>(entries.keySet()));
+        } catch (Exception e) {
+            // Keep serving the previous values; the next refresh will retry
+            log.warn("Parameter refresh failed: {}", e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void load(List<String> names) {
+        for (int i = 0; i < names.size(); i += GET_PARAMETERS_BATCH_SIZE) {
+            List<String> batch = names.subList(i, Math.min(i + GET_PARAMETERS_BATCH_SIZE, names.size()));
+            long now = System.currentTimeMillis();
+
+            GetParametersResponse response = ssmClient.getParameters(GetParametersRequest.builder()
+                    .names(batch)
+                    .withDecryption(true)
+                    .build());
+
+            for (Parameter parameter : response.parameters()) {
+                entries.put(parameter.name(), new Entry(parameter.value(), now));
+            }
+            for (String invalid : response.invalidParameters()) {
+                log.warn("SSM parameter not found: {}", invalid);
+                entries.put(invalid, new Entry(null, now));
+            }
+        }
+    }
+}
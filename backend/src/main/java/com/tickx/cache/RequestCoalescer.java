@@ -0,0 +1,104 @@
+package com.tickx.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Folds concurrent identical reads into one call ("single flight"). The first caller for an operation and its
+ * arguments makes the call; callers arriving while it is in flight wait for it and share its result instead of
+ * going to DynamoDB themselves, so a burst of requests for the same page costs one read. Nothing is kept once the
+ * call completes: a caller never gets a result from a read that started before the previous one finished.
+ * Results are shared between requests, so callers must not modify them.
+ */
+@Component
+public class RequestCoalescer {
+
+    private record Key(String operation, Object arguments) {}
+
+    private final Map<Key, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${REQUEST_COALESCING_ENABLED:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        meterRegistry.gauge(COALESCER_IN_FLIGHT, inFlight, Map::size);
+    }
+
+    /** Runs {@code call}, or waits for the identical call already in flight. Arguments must have value equality. */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object arguments, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Key key = new Key(operation, arguments);
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        CompletableFuture<?> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            count(operation, RESULT_SHARED);
+            try {
+                return (T) leader.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        count(operation, RESULT_EXECUTED);
+        try {
+            T result = call.get();
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /** Async form of {@link #execute}; shares in-flight calls with it when the operation and arguments match. */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String operation, Object arguments, Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Key key = new Key(operation, arguments);
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        CompletableFuture<?> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            count(operation, RESULT_SHARED);
+            return leader.thenApply(result -> (T) result);
+        }
+
+        count(operation, RESULT_EXECUTED);
+        try {
+            call.get().whenComplete((result, error) -> {
+                // Leave before completing, so callers woken by the result cannot join a finished call
+                inFlight.remove(key, flight);
+                if (error != null) {
+                    flight.completeExceptionally(error);
+                } else {
+                    flight.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+        }
+        return flight.thenApply(result -> result);
+    }
+
+    private void count(String operation, String result) {
+        meterRegistry.counter(COALESCED_REQUESTS, TAG_OPERATION, operation, TAG_RESULT, result).increment();
+    }
+}
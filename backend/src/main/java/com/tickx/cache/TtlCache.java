@@ -0,0 +1,126 @@
+package com.tickx.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entries are fresh for {@code ttlMillis}, then stale for a further {@code staleMillis}: {@link #get} only returns
+ * fresh entries, while {@link #lookup} also returns stale ones so the caller can serve them while it refreshes.
+ * A value read from the source is stored with {@link #put(Object, Object, long)} and the {@link #generation}
+ * taken before the read, so a read that started before an {@link #invalidate} cannot put back what it dropped.
+ */
+public class TtlCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    // Generation and time of each key's last invalidation, kept for ttlMillis: no read takes longer than that
+    private final Map<K, Invalidation> invalidations = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final long staleMillis;
+    private final int maxSize;
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    private record Invalidation(long generation, long at) {}
+
+    /** A cached value, and whether it has outlived its TTL. */
+    public record Hit<V>(V value, boolean stale) {}
+
+    public TtlCache(long ttlMillis, int maxSize) {
+        this(ttlMillis, 0, maxSize);
+    }
+
+    public TtlCache(long ttlMillis, long staleMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.staleMillis = staleMillis;
+        this.maxSize = maxSize;
+    }
+
+    public Optional<V> get(K key) {
+        return lookup(key).filter(hit -> !hit.stale()).map(Hit::value);
+    }
+
+    public Optional<Hit<V>> lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        if (entry.expiresAt + staleMillis < now) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(new Hit<>(entry.value, entry.expiresAt < now));
+    }
+
+    public Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> result = new HashMap<>();
+        for (K key : keys) {
+            get(key).ifPresent(value -> result.put(key, value));
+        }
+        return result;
+    }
+
+    public void put(K key, V value) {
+        store(key, value);
+    }
+
+    /** Current invalidation generation; take it before reading a value to {@link #put(Object, Object, long)}. */
+    public long generation() {
+        return generation.get();
+    }
+
+    /** Stores a value read after {@code readGeneration}, unless the key was invalidated since; false if it was. */
+    public boolean put(K key, V value, long readGeneration) {
+        if (invalidatedSince(key, readGeneration)) {
+            return false;
+        }
+        Entry<V> entry = store(key, value);
+        // An invalidate between the check and the store records itself before removing, so it is seen here
+        if (invalidatedSince(key, readGeneration)) {
+            entries.remove(key, entry);
+            return false;
+        }
+        return true;
+    }
+
+    public void invalidate(K key) {
+        long now = System.currentTimeMillis();
+        if (invalidations.size() >= maxSize) {
+            invalidations.values().removeIf(invalidation -> invalidation.at() < now - ttlMillis);
+        }
+        invalidations.put(key, new Invalidation(generation.incrementAndGet(), now));
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean invalidatedSince(K key, long readGeneration) {
+        Invalidation invalidation = invalidations.get(key);
+        return invalidation != null && invalidation.generation() > readGeneration;
+    }
+
+    private Entry<V> store(K key, V value) {
+        if (entries.size() >= maxSize) {
+            evictExpired();
+        }
+        // Still full after eviction - drop an arbitrary entry rather than grow unbounded
+        if (entries.size() >= maxSize) {
+            entries.keySet().stream().findAny().ifPresent(entries::remove);
+        }
+        Entry<V> entry = new Entry<>(value, System.currentTimeMillis() + ttlMillis);
+        entries.put(key, entry);
+        return entry;
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(e -> e.getValue().expiresAt + staleMillis < now);
+    }
+}
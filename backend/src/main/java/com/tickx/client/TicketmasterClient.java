@@ -2,6 +2,8 @@ package com.tickx.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -17,6 +19,10 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.tickx.constants.MetricsConstants.*;
 
 @Slf4j
 @Component
@@ -27,24 +33,38 @@ public class TicketmasterClient {
 
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
-    private long lastRequestTime = 0;
+    private final MeterRegistry meterRegistry;
+    private final Timer rateLimitWait;
+    private final ReentrantLock rateLimitLock = new ReentrantLock();
+    private long nextRequestTime = 0;
 
-    public TicketmasterClient(ObjectMapper objectMapper) {
+    public TicketmasterClient(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.rateLimitWait = meterRegistry.timer(TICKETMASTER_RATE_LIMIT_WAIT);
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(30))
                 .build();
     }
 
     private void rateLimit() throws InterruptedException {
-        long now = System.currentTimeMillis();
-        long timeSinceLastRequest = now - lastRequestTime;
-
-        if (timeSinceLastRequest < RATE_LIMIT_DELAY_MS) {
-            Thread.sleep(RATE_LIMIT_DELAY_MS - timeSinceLastRequest);
+        // Reserve the next request slot under a short lock, then sleep outside it.
+        // ReentrantLock (not synchronized) keeps virtual threads from pinning their carrier.
+        long waitMs;
+        rateLimitLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            long slot = Math.max(now, nextRequestTime);
+            nextRequestTime = slot + RATE_LIMIT_DELAY_MS;
+            waitMs = slot - now;
+        } finally {
+            rateLimitLock.unlock();
         }
 
-        lastRequestTime = System.currentTimeMillis();
+        rateLimitWait.record(waitMs, TimeUnit.MILLISECONDS);
+        if (waitMs > 0) {
+            Thread.sleep(waitMs);
+        }
     }
 
     public JsonNode request(String endpoint, String apiKey, String... params) throws IOException, InterruptedException {
@@ -71,7 +91,15 @@ public class TicketmasterClient {
                 .GET()
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            sample.stop(meterRegistry.timer(TICKETMASTER_REQUESTS, TAG_STATUS, "io_error"));
+            throw e;
+        }
+        sample.stop(meterRegistry.timer(TICKETMASTER_REQUESTS, TAG_STATUS, String.valueOf(response.statusCode())));
 
         if (response.statusCode() != 200) {
             log.error("TM API error {}: {}", response.statusCode(), response.body());
@@ -0,0 +1,33 @@
+package com.tickx.config;
+
+import com.tickx.TickXApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ApplicationContextHolder implements ApplicationContextAware {
+
+    private static volatile ConfigurableApplicationContext context;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        context = (ConfigurableApplicationContext) applicationContext;
+    }
+
+    /**
+     * Returns the running context when handlers are hosted inside the ECS server,
+     * otherwise boots a non-web context (Lambda cold start).
+     */
+    public static synchronized ConfigurableApplicationContext getOrStart() {
+        if (context == null) {
+            System.setProperty("spring.main.web-application-type", "none");
+            // Lambda-tuned settings unless SPRING_PROFILES_ACTIVE says otherwise
+            System.setProperty("spring.profiles.default", "lambda");
+            context = SpringApplication.run(TickXApplication.class);
+        }
+        return context;
+    }
+}
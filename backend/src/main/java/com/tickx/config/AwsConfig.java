@@ -1,24 +1,104 @@
 package com.tickx.config;
 
+import com.tickx.admission.AdmissionController;
+import com.tickx.metrics.DynamoDbMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.streams.DynamoDbStreamsClient;
 import software.amazon.awssdk.services.ssm.SsmClient;
 
+import java.time.Duration;
+
 @Configuration
 public class AwsConfig {
 
     @Value("${AWS_REGION:us-east-1}")
     private String awsRegion;
 
+    @Value("${aws.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${aws.http.connection-timeout-ms:2000}")
+    private long connectionTimeoutMs;
+
+    @Value("${aws.http.socket-timeout-ms:5000}")
+    private long socketTimeoutMs;
+
+    @Value("${aws.http.connection-ttl-ms:60000}")
+    private long connectionTtlMs;
+
+    @Value("${aws.http.connection-max-idle-ms:30000}")
+    private long connectionMaxIdleMs;
+
+    @Value("${aws.http.tcp-keepalive:true}")
+    private boolean tcpKeepAlive;
+
+    @Value("${aws.http.api-call-timeout-ms:10000}")
+    private long apiCallTimeoutMs;
+
+    @Value("${aws.http.api-call-attempt-timeout-ms:3000}")
+    private long apiCallAttemptTimeoutMs;
+
     @Bean
-    public DynamoDbClient dynamoDbClient() {
+    public SdkHttpClient sdkHttpClient() {
+        // Shared by all sync clients; idle connections are reaped and recycled after their TTL
+        return ApacheHttpClient.builder()
+                .maxConnections(maxConnections)
+                .connectionTimeout(Duration.ofMillis(connectionTimeoutMs))
+                .socketTimeout(Duration.ofMillis(socketTimeoutMs))
+                .connectionTimeToLive(Duration.ofMillis(connectionTtlMs))
+                .connectionMaxIdleTime(Duration.ofMillis(connectionMaxIdleMs))
+                .useIdleConnectionReaper(true)
+                .tcpKeepAlive(tcpKeepAlive)
+                .build();
+    }
+
+    @Bean
+    public DynamoDbMetricsInterceptor dynamoDbMetricsInterceptor(MeterRegistry meterRegistry,
+                                                                 AdmissionController admissionController) {
+        return new DynamoDbMetricsInterceptor(meterRegistry, admissionController);
+    }
+
+    @Bean
+    public DynamoDbClient dynamoDbClient(SdkHttpClient sdkHttpClient, DynamoDbMetricsInterceptor metricsInterceptor) {
         // Let SDK auto-detect credentials (works for ECS task role, local AWS CLI, etc.)
         return DynamoDbClient.builder()
                 .region(Region.of(awsRegion))
+                .httpClient(sdkHttpClient)
+                .overrideConfiguration(clientOverrideConfiguration().toBuilder()
+                        .addExecutionInterceptor(metricsInterceptor)
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public DynamoDbAsyncClient dynamoDbAsyncClient(DynamoDbMetricsInterceptor metricsInterceptor) {
+        // Non-blocking client for fanning out independent reads without parking a thread per call
+        return DynamoDbAsyncClient.builder()
+                .region(Region.of(awsRegion))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(maxConnections)
+                        .connectionTimeout(Duration.ofMillis(connectionTimeoutMs))
+                        .readTimeout(Duration.ofMillis(socketTimeoutMs))
+                        .connectionTimeToLive(Duration.ofMillis(connectionTtlMs))
+                        .connectionMaxIdleTime(Duration.ofMillis(connectionMaxIdleMs))
+                        .useIdleConnectionReaper(true)
+                        .tcpKeepAlive(tcpKeepAlive))
+                .overrideConfiguration(clientOverrideConfiguration().toBuilder()
+                        .addExecutionInterceptor(metricsInterceptor)
+                        .build())
                 .build();
     }
 
@@ -30,9 +110,36 @@ public class AwsConfig {
     }
 
     @Bean
-    public SsmClient ssmClient() {
+    public DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient(DynamoDbAsyncClient dynamoDbAsyncClient) {
+        return DynamoDbEnhancedAsyncClient.builder()
+                .dynamoDbClient(dynamoDbAsyncClient)
+                .build();
+    }
+
+    @Bean
+    public DynamoDbStreamsClient dynamoDbStreamsClient(SdkHttpClient sdkHttpClient) {
+        return DynamoDbStreamsClient.builder()
+                .region(Region.of(awsRegion))
+                .httpClient(sdkHttpClient)
+                .overrideConfiguration(clientOverrideConfiguration())
+                .build();
+    }
+
+    @Bean
+    public SsmClient ssmClient(SdkHttpClient sdkHttpClient) {
         return SsmClient.builder()
                 .region(Region.of(awsRegion))
+                .httpClient(sdkHttpClient)
+                .overrideConfiguration(clientOverrideConfiguration())
+                .build();
+    }
+
+    private ClientOverrideConfiguration clientOverrideConfiguration() {
+        // Adaptive retries back off client-side under throttling instead of hammering the table
+        return ClientOverrideConfiguration.builder()
+                .retryPolicy(RetryMode.ADAPTIVE)
+                .apiCallTimeout(Duration.ofMillis(apiCallTimeoutMs))
+                .apiCallAttemptTimeout(Duration.ofMillis(apiCallAttemptTimeoutMs))
                 .build();
     }
 }
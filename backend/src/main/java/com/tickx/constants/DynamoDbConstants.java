@@ -9,6 +9,11 @@ public final class DynamoDbConstants {
     public static final String TRANSACTIONS_TABLE = "TickX-Transactions";
     public static final String EVENTS_TABLE = "TickX-Events";
     public static final String VENUES_TABLE = "TickX-Venues";
+    public static final String WATCHLIST_TABLE = "TickX-Watchlist";
+    public static final String NOTIFICATION_JOBS_TABLE = "TickX-NotificationJobs";
+    public static final String PRICE_HISTORY_TABLE = "TickX-PriceHistory";
+    public static final String SEAT_HOLDS_TABLE = "TickX-SeatHolds";
+    public static final String IDEMPOTENCY_KEYS_TABLE = "TickX-IdempotencyKeys";
     
     // GSI Index Names
     public static final String SELLER_CREATED_AT_INDEX = "sellerId-createdAt-index";
@@ -17,6 +22,7 @@ public final class DynamoDbConstants {
     public static final String LISTING_CREATED_AT_INDEX = "listingId-createdAt-index";
     public static final String BIDDER_CREATED_AT_INDEX = "bidderId-createdAt-index";
     public static final String BUYER_CREATED_AT_INDEX = "buyerId-createdAt-index";
+    public static final String TARGET_THRESHOLD_INDEX = "targetKey-thresholdKey-index";
     
     // Status Values
     public static final String STATUS_ACTIVE = "active";
@@ -30,6 +36,24 @@ public final class DynamoDbConstants {
     public static final String LISTING_TYPE_HYBRID = "hybrid";
     public static final String LISTING_TYPE_DECLINING = "declining";
     
+    // Watch Targets
+    public static final String WATCH_TARGET_EVENT = "event";
+    public static final String WATCH_TARGET_LISTING = "listing";
+    
+    // Price History Kinds
+    public static final String PRICE_KIND_ASK = "ask";
+    public static final String PRICE_KIND_BID = "bid";
+    public static final String PRICE_KIND_SALE = "sale";
+    
+    // Seat Hold Status
+    public static final String HOLD_STATUS_HELD = "held";
+    public static final String HOLD_STATUS_RELEASED = "released";
+    public static final String HOLD_STATUS_EXPIRED = "expired";
+    public static final String HOLD_STATUS_PURCHASED = "purchased";
+    
+    // Transaction Status
+    public static final String TRANSACTION_STATUS_PENDING_PAYMENT = "pending_payment";
+    
     // Bid Status
     public static final String BID_STATUS_ACTIVE = "active";
     public static final String BID_STATUS_OUTBID = "outbid";
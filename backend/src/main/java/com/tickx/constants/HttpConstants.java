@@ -12,8 +12,11 @@ public final class HttpConstants {
     public static final int OK = 200;
     public static final int BAD_REQUEST = 400;
     public static final int NOT_FOUND = 404;
+    public static final int CONFLICT = 409;
+    public static final int TOO_MANY_REQUESTS = 429;
     public static final int METHOD_NOT_ALLOWED = 405;
     public static final int INTERNAL_SERVER_ERROR = 500;
+    public static final int SERVICE_UNAVAILABLE = 503;
     
     // Headers
     public static final String CONTENT_TYPE = "Content-Type";
@@ -23,7 +26,12 @@ public final class HttpConstants {
     public static final String ACCESS_CONTROL_ALLOW_HEADERS = "Access-Control-Allow-Headers";
     public static final String CORS_ALL_ORIGINS = "*";
     public static final String CORS_ALLOWED_METHODS = "GET,POST,PUT,DELETE";
-    public static final String CORS_ALLOWED_HEADERS = "Content-Type,X-Amz-Date,Authorization,X-Api-Key,X-Amz-Security-Token";
+    public static final String CORS_ALLOWED_HEADERS = "Content-Type,X-Amz-Date,Authorization,X-Api-Key,X-Amz-Security-Token,Idempotency-Key";
+    public static final String CONSUMED_CAPACITY_HEADER = "X-Consumed-Capacity";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
     
     // Query Parameters
     public static final String CITY_PARAM = "city";
@@ -32,16 +40,49 @@ public final class HttpConstants {
     public static final String PAGE_SIZE_PARAM = "pageSize";
     public static final String SELLER_ID_PARAM = "sellerId";
     public static final String EVENT_ID_PARAM = "eventId";
+    public static final String VENUE_ID_PARAM = "venueId";
     public static final String STATUS_PARAM = "status";
+    public static final String EXPAND_PARAM = "expand";
+    public static final String LAT_PARAM = "lat";
+    public static final String LNG_PARAM = "lng";
+    public static final String RADIUS_KM_PARAM = "radiusKm";
+    public static final String DATE_FROM_PARAM = "dateFrom";
+    public static final String DATE_TO_PARAM = "dateTo";
+    public static final String QUERY_PARAM = "q";
+    public static final String LIMIT_PARAM = "limit";
+    public static final String USER_ID_PARAM = "userId";
+    public static final String TARGET_TYPE_PARAM = "targetType";
+    public static final String TARGET_ID_PARAM = "targetId";
+    public static final String BUYER_ID_PARAM = "buyerId";
     
+    // Expand Values
+    public static final String EXPAND_EVENT = "event";
+    public static final String EXPAND_VENUE = "venue";
+    public static final String EXPAND_LISTINGS = "listings";
+    
+    // Static sub-resources (take precedence over path parameters)
+    public static final String SUGGEST_RESOURCE = "/events/suggest";
+
+    // Sub-resources of a single item
+    public static final String FAIR_PRICE_RESOURCE = "/listings/{listingId}/fair-price";
+
+    // Server-sent event streams (ECS only; API Gateway buffers responses)
+    public static final String LISTING_STREAM_PATH = "/listings/{listingId}/stream";
+
     // Path Parameters
     public static final String EVENT_ID_PATH = "eventId";
     public static final String VENUE_ID_PATH = "venueId";
     public static final String LISTING_ID_PATH = "listingId";
+    public static final String HOLD_ID_PATH = "holdId";
+    public static final String TRANSACTION_ID_PATH = "transactionId";
     
     // Default Values
     public static final String DEFAULT_CITY = "chicago";
     public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final double DEFAULT_RADIUS_KM = 25;
+    public static final double MAX_RADIUS_KM = 100;
+    public static final int DEFAULT_SUGGEST_LIMIT = 8;
+    public static final int MAX_SUGGEST_LIMIT = 20;
     
     private HttpConstants() {
         // Utility class - prevent instantiation
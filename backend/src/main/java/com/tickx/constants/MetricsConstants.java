@@ -0,0 +1,86 @@
+package com.tickx.constants;
+
+public final class MetricsConstants {
+
+    // Meter names
+    public static final String HANDLER_REQUESTS = "tickx.handler.requests";
+    public static final String DYNAMODB_CALLS = "tickx.dynamodb.calls";
+    public static final String DYNAMODB_CONSUMED_CAPACITY = "tickx.dynamodb.consumed.capacity";
+    public static final String DYNAMODB_OPERATION_CAPACITY = "tickx.dynamodb.operation.capacity";
+    public static final String DYNAMODB_BUDGET_EXCEEDED = "tickx.dynamodb.budget.exceeded";
+    public static final String HANDLER_CONSUMED_CAPACITY = "tickx.handler.consumed.capacity";
+    public static final String CACHE_REQUESTS = "tickx.cache.requests";
+    public static final String CACHE_SIZE = "tickx.cache.size";
+    public static final String JSON_PARSE = "tickx.json.parse";
+    public static final String TICKETMASTER_REQUESTS = "tickx.ticketmaster.requests";
+    public static final String TICKETMASTER_RATE_LIMIT_WAIT = "tickx.ticketmaster.ratelimit.wait";
+    public static final String SYNC_DURATION = "tickx.sync.duration";
+    public static final String BACKFILL_ITEMS = "tickx.backfill.items";
+    public static final String PUSH_CONNECTIONS = "tickx.push.connections";
+    public static final String PUSH_TOPICS = "tickx.push.topics";
+    public static final String PUSH_FRAMES = "tickx.push.frames";
+    public static final String STREAM_RECORDS = "tickx.stream.records";
+    public static final String STREAM_LAG = "tickx.stream.lag";
+    public static final String EVENT_STATS_UPDATES = "tickx.event.stats.updates";
+    public static final String WATCHLIST_ALERTS = "tickx.watchlist.alerts";
+    public static final String PRICE_HISTORY_POINTS = "tickx.pricehistory.points";
+    public static final String PRICE_HISTORY_ROLLUPS = "tickx.pricehistory.rollups";
+    public static final String SEAT_HOLDS = "tickx.seat.holds";
+    public static final String PURCHASES = "tickx.purchases";
+    public static final String ADMISSION_REJECTED = "tickx.admission.rejected";
+    public static final String ADMISSION_IN_FLIGHT = "tickx.admission.inflight";
+    public static final String ADMISSION_CLIENTS = "tickx.admission.clients";
+    public static final String COALESCED_REQUESTS = "tickx.coalesced.requests";
+    public static final String COALESCER_IN_FLIGHT = "tickx.coalesced.inflight";
+    public static final String CACHE_WARMUP = "tickx.cache.warmup";
+
+    // Tag keys
+    public static final String TAG_HANDLER = "handler";
+    public static final String TAG_METHOD = "method";
+    public static final String TAG_RESOURCE = "resource";
+    public static final String TAG_STATUS = "status";
+    public static final String TAG_OPERATION = "operation";
+    public static final String TAG_TABLE = "table";
+    public static final String TAG_INDEX = "index";
+    public static final String TAG_OUTCOME = "outcome";
+    public static final String TAG_CACHE = "cache";
+    public static final String TAG_RESULT = "result";
+    public static final String TAG_ENTITY = "entity";
+    public static final String TAG_JOB = "job";
+    public static final String TAG_CONSUMER = "consumer";
+    public static final String TAG_KIND = "kind";
+    public static final String TAG_PRIORITY = "priority";
+    public static final String TAG_TRIGGER = "trigger";
+
+    // Tag values
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String TRIGGER_START = "start";
+    public static final String TRIGGER_SYNC = "sync";
+    public static final String RESULT_HIT = "hit";
+    public static final String RESULT_MISS = "miss";
+    public static final String RESULT_REWRITTEN = "rewritten";
+    public static final String RESULT_UNCHANGED = "unchanged";
+    public static final String RESULT_FAILED = "failed";
+    public static final String RESULT_SENT = "sent";
+    public static final String RESULT_DROPPED = "dropped";
+    public static final String RESULT_TIMED_OUT = "timed_out";
+    public static final String RESULT_DISPATCHED = "dispatched";
+    public static final String RESULT_SKIPPED = "skipped";
+    public static final String RESULT_APPLIED = "applied";
+    public static final String RESULT_RECOMPUTED = "recomputed";
+    public static final String RESULT_HELD = "held";
+    public static final String RESULT_CONFLICT = "conflict";
+    public static final String RESULT_RELEASED = "released";
+    public static final String RESULT_COMMITTED = "committed";
+    public static final String RESULT_REPLAYED = "replayed";
+    public static final String RESULT_SHED = "shed";
+    public static final String RESULT_LIMITED = "limited";
+    public static final String RESULT_EXECUTED = "executed";
+    public static final String RESULT_SHARED = "shared";
+    public static final String RESULT_STALE = "stale";
+
+    private MetricsConstants() {
+        // Utility class - prevent instantiation
+    }
+}
@@ -0,0 +1,71 @@
+package com.tickx.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.tickx.backfill.BackfillService;
+import com.tickx.config.ApplicationContextHolder;
+import com.tickx.logging.LogLevelUpdater;
+import com.tickx.metrics.EmfMetricsPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Invoked manually with {@code {"job": "events"}} (optionally {@code "segments"} and {@code "restart": true}).
+ * Each invocation works until shortly before the Lambda timeout; invoke again until {@code complete} is true.
+ */
+@Slf4j
+public class BackfillHandler implements RequestHandler<Map<String, Object>, Map<String, Object>> {
+
+    // Leave time for in-flight pages to finish and checkpoint before the Lambda timeout
+    private static final long RESERVED_MILLIS = 60_000;
+
+    private static ConfigurableApplicationContext applicationContext;
+    private static BackfillService backfillService;
+    private static EmfMetricsPublisher metricsPublisher;
+    private static LogLevelUpdater logLevelUpdater;
+
+    static {
+        applicationContext = ApplicationContextHolder.getOrStart();
+        backfillService = applicationContext.getBean(BackfillService.class);
+        metricsPublisher = applicationContext.getBeanProvider(EmfMetricsPublisher.class).getIfAvailable();
+        logLevelUpdater = applicationContext.getBean(LogLevelUpdater.class);
+    }
+
+    @Override
+    public Map<String, Object> handleRequest(Map<String, Object> input, Context context) {
+        logLevelUpdater.refresh();
+        try {
+            Map<String, Object> request = input != null ? input : Map.of();
+            Object job = request.get("job");
+            if (job == null) {
+                throw new IllegalArgumentException("Missing 'job', expected one of " + backfillService.jobNames());
+            }
+            Integer segments = request.get("segments") != null ? Integer.valueOf(request.get("segments").toString()) : null;
+            boolean restart = Boolean.parseBoolean(String.valueOf(request.get("restart")));
+            long budget = Math.max(context.getRemainingTimeInMillis() - RESERVED_MILLIS, 1_000);
+
+            var result = backfillService.run(job.toString(), segments, restart, budget);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("job", result.job);
+            response.put("complete", result.complete);
+            response.put("segmentsDone", result.segmentsDone);
+            response.put("totalSegments", result.totalSegments);
+            response.put("scanned", result.scanned);
+            response.put("rewritten", result.rewritten);
+            response.put("unchanged", result.unchanged);
+            response.put("failed", result.failed);
+            return response;
+        } catch (Exception e) {
+            log.error("Backfill failed: {}", e.getMessage(), e);
+            throw new RuntimeException("Backfill failed: " + e.getMessage(), e);
+        } finally {
+            if (metricsPublisher != null) {
+                metricsPublisher.publish();
+            }
+        }
+    }
+}
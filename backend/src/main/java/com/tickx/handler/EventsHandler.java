@@ -3,20 +3,35 @@ package com.tickx.handler;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.tickx.cache.EventCache;
+import com.tickx.cache.EventPageCache;
 import com.tickx.constants.HttpConstants;
 import com.tickx.handler.base.BaseLambdaHandler;
 import com.tickx.model.Event;
-import com.tickx.repository.EventRepository;
+import com.tickx.model.EventQuery;
+import com.tickx.search.SearchService;
+import com.tickx.service.EventDetailService;
+import com.tickx.service.NearbyEventService;
 import com.tickx.util.ResponseUtil;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public class EventsHandler extends BaseLambdaHandler {
 
-    private static EventRepository eventRepository;
+    private static EventCache eventCache;
+    private static EventDetailService eventDetailService;
+    private static NearbyEventService nearbyEventService;
+    private static EventPageCache eventPageCache;
+    private static SearchService searchService;
 
     static {
-        eventRepository = applicationContext.getBean(EventRepository.class);
+        eventCache = applicationContext.getBean(EventCache.class);
+        eventDetailService = applicationContext.getBean(EventDetailService.class);
+        nearbyEventService = applicationContext.getBean(NearbyEventService.class);
+        eventPageCache = applicationContext.getBean(EventPageCache.class);
+        searchService = applicationContext.getBean(SearchService.class);
     }
 
     @Override
@@ -24,35 +39,83 @@ public class EventsHandler extends BaseLambdaHandler {
         String httpMethod = input.getHttpMethod();
 
         if (HttpConstants.GET.equals(httpMethod)) {
+            if (HttpConstants.SUGGEST_RESOURCE.equals(input.getResource())) {
+                // GET /events/suggest?q=&city=&limit= - served entirely from the in-memory search index
+                String text = getQueryParameter(input, HttpConstants.QUERY_PARAM, "");
+                int limit = Math.min(getQueryParameterAsInt(input, HttpConstants.LIMIT_PARAM, HttpConstants.DEFAULT_SUGGEST_LIMIT),
+                        HttpConstants.MAX_SUGGEST_LIMIT);
+                return ResponseUtil.createSuccessResponse(
+                        searchService.suggest(text, getQueryParameter(input, HttpConstants.CITY_PARAM), limit));
+            }
+
             String eventId = getPathParameter(input, HttpConstants.EVENT_ID_PATH);
             
             if (eventId != null) {
+                Set<String> expand = getQueryParameterAsSet(input, HttpConstants.EXPAND_PARAM);
+                boolean includeVenue = expand.contains(HttpConstants.EXPAND_VENUE);
+                boolean includeListings = expand.contains(HttpConstants.EXPAND_LISTINGS);
+
+                if (includeVenue || includeListings) {
+                    // GET /events/{eventId}?expand=venue,listings - independent reads run concurrently
+                    return eventDetailService.getEventDetail(eventId, includeVenue, includeListings).join()
+                            .map(ResponseUtil::createSuccessResponse)
+                            .orElse(ResponseUtil.createNotFoundResponse("Event not found"));
+                }
+
                 // GET /events/{eventId}
-                return eventRepository.findById(eventId)
+                return eventCache.get(eventId)
                         .map(ResponseUtil::createSuccessResponse)
                         .orElse(ResponseUtil.createNotFoundResponse("Event not found"));
-            } else {
-                // GET /events
-                String city = getQueryParameter(input, HttpConstants.CITY_PARAM, HttpConstants.DEFAULT_CITY);
-                String category = getQueryParameter(input, HttpConstants.CATEGORY_PARAM);
-                String keyword = getQueryParameter(input, HttpConstants.KEYWORD_PARAM);
+            } else if (getQueryParameter(input, HttpConstants.LAT_PARAM) != null) {
+                // GET /events?lat=&lng=&radiusKm=&dateFrom=&dateTo=
+                Double lat = getQueryParameterAsDouble(input, HttpConstants.LAT_PARAM);
+                Double lng = getQueryParameterAsDouble(input, HttpConstants.LNG_PARAM);
+                Double radiusKm = getQueryParameterAsDouble(input, HttpConstants.RADIUS_KM_PARAM);
+                double radius = radiusKm != null ? radiusKm : HttpConstants.DEFAULT_RADIUS_KM;
+                if (lat == null || lng == null || Math.abs(lat) > 90 || Math.abs(lng) > 180
+                        || radius <= 0 || radius > HttpConstants.MAX_RADIUS_KM) {
+                    return ResponseUtil.createBadRequestResponse(
+                            "lat/lng must be valid coordinates and radiusKm between 0 and " + HttpConstants.MAX_RADIUS_KM);
+                }
                 int pageSize = getQueryParameterAsInt(input, HttpConstants.PAGE_SIZE_PARAM, HttpConstants.DEFAULT_PAGE_SIZE);
-                
-                List<Event> events = getEvents(keyword, category, city, pageSize);
+
+                List<Event> events = nearbyEventService.findNear(lat, lng, radius,
+                        getQueryParameter(input, HttpConstants.DATE_FROM_PARAM),
+                        getQueryParameter(input, HttpConstants.DATE_TO_PARAM),
+                        pageSize).join();
                 return ResponseUtil.createSuccessResponse(events);
+            } else {
+                // GET /events?city=&category=&venueId=&keyword=&dateFrom=&dateTo=
+                EventQuery query = EventQuery.builder()
+                        .city(getQueryParameter(input, HttpConstants.CITY_PARAM))
+                        .category(getQueryParameter(input, HttpConstants.CATEGORY_PARAM))
+                        .venueId(getQueryParameter(input, HttpConstants.VENUE_ID_PARAM))
+                        .keyword(getQueryParameter(input, HttpConstants.KEYWORD_PARAM))
+                        .dateFrom(getQueryParameter(input, HttpConstants.DATE_FROM_PARAM))
+                        .dateTo(getQueryParameter(input, HttpConstants.DATE_TO_PARAM))
+                        .pageSize(getQueryParameterAsInt(input, HttpConstants.PAGE_SIZE_PARAM, HttpConstants.DEFAULT_PAGE_SIZE))
+                        .build();
+
+                if (!isEmpty(query.getKeyword())) {
+                    // Ranked, typo-tolerant search across all cities unless one is given
+                    Optional<List<Event>> ranked = searchService.search(query);
+                    if (ranked.isPresent()) {
+                        return ResponseUtil.createSuccessResponse(ranked.get());
+                    }
+                }
+
+                // Until a search index is published, keyword queries fall back to in-memory matching
+                if (isEmpty(query.getCity()) && isEmpty(query.getCategory()) && isEmpty(query.getVenueId())) {
+                    query.setCity(HttpConstants.DEFAULT_CITY);
+                }
+                return ResponseUtil.createSuccessResponse(eventPageCache.execute(query));
             }
         }
         
         return ResponseUtil.createMethodNotAllowedResponse();
     }
 
-    private List<Event> getEvents(String keyword, String category, String city, int pageSize) {
-        if (keyword != null && !keyword.isEmpty()) {
-            return eventRepository.searchByKeyword(keyword, city, category, pageSize);
-        } else if (category != null && !category.isEmpty()) {
-            return eventRepository.findByCategory(category, null, null, pageSize, null);
-        } else {
-            return eventRepository.findByCity(city, null, null, pageSize, null);
-        }
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
     }
 }
\ No newline at end of file
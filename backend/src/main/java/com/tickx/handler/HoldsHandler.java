@@ -0,0 +1,78 @@
+package com.tickx.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.tickx.constants.HttpConstants;
+import com.tickx.handler.base.BaseLambdaHandler;
+import com.tickx.model.SeatHold;
+import com.tickx.service.SeatHoldService;
+import com.tickx.util.ResponseUtil;
+
+public class HoldsHandler extends BaseLambdaHandler {
+
+    private static SeatHoldService seatHoldService;
+
+    static {
+        seatHoldService = applicationContext.getBean(SeatHoldService.class);
+    }
+
+    @Override
+    protected APIGatewayProxyResponseEvent processRequest(APIGatewayProxyRequestEvent input, Context context) throws Exception {
+        String httpMethod = input.getHttpMethod();
+
+        return switch (httpMethod) {
+            case HttpConstants.GET -> handleGet(input);
+            case HttpConstants.POST -> handlePost(input);
+            case HttpConstants.DELETE -> handleDelete(input);
+            default -> ResponseUtil.createMethodNotAllowedResponse();
+        };
+    }
+
+    private APIGatewayProxyResponseEvent handleGet(APIGatewayProxyRequestEvent input) {
+        // GET /holds/{holdId}
+        String holdId = getPathParameter(input, HttpConstants.HOLD_ID_PATH);
+        if (holdId == null) {
+            return ResponseUtil.createBadRequestResponse("Hold ID is required");
+        }
+        return seatHoldService.getHold(holdId)
+                .map(ResponseUtil::createSuccessResponse)
+                .orElse(ResponseUtil.createNotFoundResponse("Hold not found"));
+    }
+
+    private APIGatewayProxyResponseEvent handlePost(APIGatewayProxyRequestEvent input) throws Exception {
+        // POST /holds {listingId, buyerId, seats | quantity}
+        String body = input.getBody();
+        if (body == null || body.isEmpty()) {
+            return ResponseUtil.createBadRequestResponse("Request body is required");
+        }
+
+        SeatHold request = objectMapper.readValue(body, SeatHold.class);
+        try {
+            return seatHoldService.hold(request)
+                    .map(ResponseUtil::createSuccessResponse)
+                    .orElse(ResponseUtil.createNotFoundResponse("Listing not found"));
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.createBadRequestResponse(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseUtil.createConflictResponse(e.getMessage());
+        }
+    }
+
+    private APIGatewayProxyResponseEvent handleDelete(APIGatewayProxyRequestEvent input) {
+        // DELETE /holds/{holdId}?buyerId=
+        String holdId = getPathParameter(input, HttpConstants.HOLD_ID_PATH);
+        String buyerId = getQueryParameter(input, HttpConstants.BUYER_ID_PARAM);
+        if (holdId == null || buyerId == null) {
+            return ResponseUtil.createBadRequestResponse("Hold ID and buyerId are required");
+        }
+
+        try {
+            return seatHoldService.release(holdId, buyerId)
+                    .map(ResponseUtil::createSuccessResponse)
+                    .orElse(ResponseUtil.createNotFoundResponse("Hold not found"));
+        } catch (IllegalStateException e) {
+            return ResponseUtil.createConflictResponse(e.getMessage());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent
 import com.tickx.constants.HttpConstants;
 import com.tickx.handler.base.BaseLambdaHandler;
 import com.tickx.model.Listing;
+import com.tickx.pricehistory.PriceHistoryService;
 import com.tickx.service.ListingService;
 import com.tickx.util.ResponseUtil;
 
@@ -15,9 +16,11 @@ import java.util.Map;
 public class ListingsHandler extends BaseLambdaHandler {
 
     private static ListingService listingService;
+    private static PriceHistoryService priceHistoryService;
 
     static {
         listingService = applicationContext.getBean(ListingService.class);
+        priceHistoryService = applicationContext.getBean(PriceHistoryService.class);
     }
 
     @Override
@@ -36,7 +39,12 @@ public class ListingsHandler extends BaseLambdaHandler {
     private APIGatewayProxyResponseEvent handleGet(APIGatewayProxyRequestEvent input) {
         String listingId = getPathParameter(input, HttpConstants.LISTING_ID_PATH);
         
-        if (listingId != null) {
+        if (HttpConstants.FAIR_PRICE_RESOURCE.equals(input.getResource())) {
+            // GET /listings/{listingId}/fair-price - quantiles of recent prices from the daily rollups
+            return priceHistoryService.getFairPrice(listingId)
+                    .map(ResponseUtil::createSuccessResponse)
+                    .orElse(ResponseUtil.createNotFoundResponse("Listing not found"));
+        } else if (listingId != null) {
             // GET /listings/{listingId}
             return listingService.getListingById(listingId)
                     .map(ResponseUtil::createSuccessResponse)
@@ -46,8 +54,13 @@ public class ListingsHandler extends BaseLambdaHandler {
             String sellerId = getQueryParameter(input, HttpConstants.SELLER_ID_PARAM);
             String eventId = getQueryParameter(input, HttpConstants.EVENT_ID_PARAM);
             String status = getQueryParameter(input, HttpConstants.STATUS_PARAM);
+            String expand = getQueryParameter(input, HttpConstants.EXPAND_PARAM);
             
             List<Listing> listings = getListings(sellerId, eventId, status);
+            if (HttpConstants.EXPAND_EVENT.equals(expand)) {
+                // GET /listings?expand=event - embed event summaries in one response
+                return ResponseUtil.createSuccessResponse(listingService.expandEvents(listings));
+            }
             return ResponseUtil.createSuccessResponse(listings);
         }
     }
@@ -80,6 +93,8 @@ public class ListingsHandler extends BaseLambdaHandler {
         try {
             Listing updated = listingService.updateListing(listingId, updateData);
             return ResponseUtil.createSuccessResponse(updated);
+        } catch (IllegalStateException e) {
+            return ResponseUtil.createConflictResponse(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseUtil.createNotFoundResponse("Listing not found");
         }
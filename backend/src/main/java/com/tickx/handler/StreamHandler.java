@@ -0,0 +1,90 @@
+package com.tickx.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.tickx.config.ApplicationContextHolder;
+import com.tickx.logging.LogLevelUpdater;
+import com.tickx.metrics.EmfMetricsPublisher;
+import com.tickx.stream.ChangeEventDispatcher;
+import com.tickx.util.AttributeValueConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+import software.amazon.awssdk.services.dynamodb.model.Record;
+import software.amazon.awssdk.services.dynamodb.model.StreamRecord;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Feeds the Events, Listings and Bids table streams to the {@link ChangeEventDispatcher}'s shared consumers.
+ * A failed batch is reported from its first record, so Lambda retries it rather than skipping ahead.
+ */
+@Slf4j
+public class StreamHandler implements RequestHandler<DynamodbEvent, StreamsEventResponse> {
+
+    private static ConfigurableApplicationContext applicationContext;
+    private static ChangeEventDispatcher dispatcher;
+    private static EmfMetricsPublisher metricsPublisher;
+    private static LogLevelUpdater logLevelUpdater;
+
+    static {
+        applicationContext = ApplicationContextHolder.getOrStart();
+        dispatcher = applicationContext.getBean(ChangeEventDispatcher.class);
+        metricsPublisher = applicationContext.getBeanProvider(EmfMetricsPublisher.class).getIfAvailable();
+        logLevelUpdater = applicationContext.getBean(LogLevelUpdater.class);
+    }
+
+    @Override
+    public StreamsEventResponse handleRequest(DynamodbEvent input, Context context) {
+        logLevelUpdater.refresh();
+        try {
+            // One mapping per table, so a batch normally comes from a single table
+            Map<String, List<Record>> recordsByTable = new LinkedHashMap<>();
+            for (DynamodbEvent.DynamodbStreamRecord record : input.getRecords()) {
+                recordsByTable.computeIfAbsent(tableName(record.getEventSourceARN()), table -> new ArrayList<>())
+                        .add(toRecord(record));
+            }
+
+            List<StreamsEventResponse.BatchItemFailure> failures = new ArrayList<>();
+            recordsByTable.forEach((table, records) -> {
+                if (!dispatcher.handles(table)) {
+                    log.warn("Ignoring {} stream records from unknown table {}", records.size(), table);
+                    return;
+                }
+                Optional<String> failedFrom = dispatcher.dispatch(table, records, false);
+                failedFrom.ifPresent(sequenceNumber -> failures.add(new StreamsEventResponse.BatchItemFailure(sequenceNumber)));
+            });
+            return new StreamsEventResponse(failures);
+        } finally {
+            if (metricsPublisher != null) {
+                metricsPublisher.publish();
+            }
+        }
+    }
+
+    private static Record toRecord(DynamodbEvent.DynamodbStreamRecord record) {
+        var stream = record.getDynamodb();
+        return Record.builder()
+                .eventName(record.getEventName())
+                .dynamodb(StreamRecord.builder()
+                        .keys(AttributeValueConverter.fromLambdaMap(stream.getKeys()))
+                        .oldImage(AttributeValueConverter.fromLambdaMap(stream.getOldImage()))
+                        .newImage(AttributeValueConverter.fromLambdaMap(stream.getNewImage()))
+                        .sequenceNumber(stream.getSequenceNumber())
+                        .approximateCreationDateTime(stream.getApproximateCreationDateTime() != null
+                                ? stream.getApproximateCreationDateTime().toInstant() : null)
+                        .build())
+                .build();
+    }
+
+    // arn:aws:dynamodb:<region>:<account>:table/<name>/stream/<label>
+    private static String tableName(String eventSourceArn) {
+        String[] parts = eventSourceArn.split("/");
+        return parts.length > 1 ? parts[1] : eventSourceArn;
+    }
+}
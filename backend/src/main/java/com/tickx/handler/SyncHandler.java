@@ -2,37 +2,49 @@ package com.tickx.handler;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.tickx.config.ApplicationContextHolder;
+import com.tickx.logging.LogLevelUpdater;
+import com.tickx.metrics.EmfMetricsPublisher;
 import com.tickx.service.TicketmasterSyncService;
-import org.springframework.boot.SpringApplication;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ConfigurableApplicationContext;
 
 import java.util.Map;
 
+@Slf4j
 public class SyncHandler implements RequestHandler<Map<String, Object>, String> {
 
     private static ConfigurableApplicationContext applicationContext;
     private static TicketmasterSyncService syncService;
+    private static EmfMetricsPublisher metricsPublisher;
+    private static LogLevelUpdater logLevelUpdater;
 
     static {
-        System.setProperty("spring.main.web-application-type", "none");
-        applicationContext = SpringApplication.run(com.tickx.TickXApplication.class);
+        applicationContext = ApplicationContextHolder.getOrStart();
         syncService = applicationContext.getBean(TicketmasterSyncService.class);
+        metricsPublisher = applicationContext.getBeanProvider(EmfMetricsPublisher.class).getIfAvailable();
+        logLevelUpdater = applicationContext.getBean(LogLevelUpdater.class);
     }
 
     @Override
     public String handleRequest(Map<String, Object> input, Context context) {
+        logLevelUpdater.refresh();
         try {
-            context.getLogger().log("Starting scheduled Ticketmaster sync...");
+            log.info("Starting scheduled Ticketmaster sync");
             
             var result = syncService.sync();
             
-            context.getLogger().log("Scheduled sync completed successfully");
+            log.info("Scheduled sync completed successfully");
             
             return "Sync completed: " + result.totalEventsSaved + " events, " + result.totalVenuesSaved + " venues";
 
         } catch (Exception e) {
-            context.getLogger().log("Scheduled sync error: " + e.getMessage());
+            log.error("Scheduled sync failed: {}", e.getMessage(), e);
             throw new RuntimeException("Sync failed: " + e.getMessage(), e);
+        } finally {
+            if (metricsPublisher != null) {
+                metricsPublisher.publish();
+            }
         }
     }
 }
\ No newline at end of file
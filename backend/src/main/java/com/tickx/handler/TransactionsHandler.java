@@ -0,0 +1,70 @@
+package com.tickx.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.tickx.constants.HttpConstants;
+import com.tickx.handler.base.BaseLambdaHandler;
+import com.tickx.model.Transaction;
+import com.tickx.service.CheckoutService;
+import com.tickx.service.CheckoutService.Checkout;
+import com.tickx.util.ResponseUtil;
+
+import java.util.Optional;
+
+public class TransactionsHandler extends BaseLambdaHandler {
+
+    private static CheckoutService checkoutService;
+
+    static {
+        checkoutService = applicationContext.getBean(CheckoutService.class);
+    }
+
+    @Override
+    protected APIGatewayProxyResponseEvent processRequest(APIGatewayProxyRequestEvent input, Context context) throws Exception {
+        String httpMethod = input.getHttpMethod();
+
+        return switch (httpMethod) {
+            case HttpConstants.GET -> handleGet(input);
+            case HttpConstants.POST -> handlePost(input);
+            default -> ResponseUtil.createMethodNotAllowedResponse();
+        };
+    }
+
+    private APIGatewayProxyResponseEvent handleGet(APIGatewayProxyRequestEvent input) {
+        // GET /transactions/{transactionId}
+        String transactionId = getPathParameter(input, HttpConstants.TRANSACTION_ID_PATH);
+        if (transactionId == null) {
+            return ResponseUtil.createBadRequestResponse("Transaction ID is required");
+        }
+        return checkoutService.getTransaction(transactionId)
+                .map(ResponseUtil::createSuccessResponse)
+                .orElse(ResponseUtil.createNotFoundResponse("Transaction not found"));
+    }
+
+    private APIGatewayProxyResponseEvent handlePost(APIGatewayProxyRequestEvent input) throws Exception {
+        // POST /transactions {listingId, buyerId, holdId | seats | quantity} with an Idempotency-Key header
+        String body = input.getBody();
+        if (body == null || body.isEmpty()) {
+            return ResponseUtil.createBadRequestResponse("Request body is required");
+        }
+
+        Transaction request = objectMapper.readValue(body, Transaction.class);
+        String idempotencyKey = getHeader(input, HttpConstants.IDEMPOTENCY_KEY_HEADER);
+        try {
+            Optional<Checkout> checkout = checkoutService.purchase(request, idempotencyKey);
+            if (checkout.isEmpty()) {
+                return ResponseUtil.createNotFoundResponse("Listing not found");
+            }
+            APIGatewayProxyResponseEvent response = ResponseUtil.createSuccessResponse(checkout.get().transaction());
+            if (checkout.get().replayed()) {
+                response.getHeaders().put(HttpConstants.IDEMPOTENT_REPLAYED_HEADER, "true");
+            }
+            return response;
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.createBadRequestResponse(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseUtil.createConflictResponse(e.getMessage());
+        }
+    }
+}
@@ -32,6 +32,21 @@ public class VenuesHandler extends BaseLambdaHandler {
                 return venueRepository.findById(venueId)
                         .map(ResponseUtil::createSuccessResponse)
                         .orElse(ResponseUtil.createNotFoundResponse("Venue not found"));
+            } else if (getQueryParameter(input, HttpConstants.LAT_PARAM) != null) {
+                // GET /venues?lat=&lng=&radiusKm= - nearest first
+                Double lat = getQueryParameterAsDouble(input, HttpConstants.LAT_PARAM);
+                Double lng = getQueryParameterAsDouble(input, HttpConstants.LNG_PARAM);
+                Double radiusKm = getQueryParameterAsDouble(input, HttpConstants.RADIUS_KM_PARAM);
+                double radius = radiusKm != null ? radiusKm : HttpConstants.DEFAULT_RADIUS_KM;
+                if (lat == null || lng == null || Math.abs(lat) > 90 || Math.abs(lng) > 180
+                        || radius <= 0 || radius > HttpConstants.MAX_RADIUS_KM) {
+                    return ResponseUtil.createBadRequestResponse(
+                            "lat/lng must be valid coordinates and radiusKm between 0 and " + HttpConstants.MAX_RADIUS_KM);
+                }
+                int pageSize = getQueryParameterAsInt(input, HttpConstants.PAGE_SIZE_PARAM, DEFAULT_VENUE_PAGE_SIZE);
+
+                List<Venue> venues = venueRepository.findNearAsync(lat, lng, radius, pageSize).join();
+                return ResponseUtil.createSuccessResponse(venues);
             } else {
                 // GET /venues
                 String city = getQueryParameter(input, HttpConstants.CITY_PARAM, HttpConstants.DEFAULT_CITY);
@@ -0,0 +1,74 @@
+package com.tickx.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.tickx.constants.HttpConstants;
+import com.tickx.handler.base.BaseLambdaHandler;
+import com.tickx.model.WatchlistEntry;
+import com.tickx.util.ResponseUtil;
+import com.tickx.watchlist.WatchlistService;
+
+import java.util.Map;
+
+public class WatchlistHandler extends BaseLambdaHandler {
+
+    private static WatchlistService watchlistService;
+
+    static {
+        watchlistService = applicationContext.getBean(WatchlistService.class);
+    }
+
+    @Override
+    protected APIGatewayProxyResponseEvent processRequest(APIGatewayProxyRequestEvent input, Context context) throws Exception {
+        String httpMethod = input.getHttpMethod();
+
+        return switch (httpMethod) {
+            case HttpConstants.GET -> handleGet(input);
+            case HttpConstants.POST -> handlePost(input);
+            case HttpConstants.DELETE -> handleDelete(input);
+            default -> ResponseUtil.createMethodNotAllowedResponse();
+        };
+    }
+
+    private APIGatewayProxyResponseEvent handleGet(APIGatewayProxyRequestEvent input) {
+        // GET /watchlist?userId=
+        String userId = getQueryParameter(input, HttpConstants.USER_ID_PARAM);
+        if (userId == null) {
+            return ResponseUtil.createBadRequestResponse("userId is required");
+        }
+        return ResponseUtil.createSuccessResponse(watchlistService.getWatchlist(userId));
+    }
+
+    private APIGatewayProxyResponseEvent handlePost(APIGatewayProxyRequestEvent input) throws Exception {
+        // POST /watchlist {userId, targetType, targetId, threshold?}
+        String body = input.getBody();
+        if (body == null || body.isEmpty()) {
+            return ResponseUtil.createBadRequestResponse("Request body is required");
+        }
+
+        WatchlistEntry request = objectMapper.readValue(body, WatchlistEntry.class);
+        try {
+            return watchlistService.watch(request)
+                    .map(ResponseUtil::createSuccessResponse)
+                    .orElse(ResponseUtil.createNotFoundResponse("Watch target not found"));
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.createBadRequestResponse(e.getMessage());
+        }
+    }
+
+    private APIGatewayProxyResponseEvent handleDelete(APIGatewayProxyRequestEvent input) {
+        // DELETE /watchlist?userId=&targetType=&targetId=
+        String userId = getQueryParameter(input, HttpConstants.USER_ID_PARAM);
+        String targetType = getQueryParameter(input, HttpConstants.TARGET_TYPE_PARAM);
+        String targetId = getQueryParameter(input, HttpConstants.TARGET_ID_PARAM);
+        if (userId == null || targetType == null || targetId == null) {
+            return ResponseUtil.createBadRequestResponse("userId, targetType and targetId are required");
+        }
+
+        if (!watchlistService.unwatch(userId, targetType, targetId)) {
+            return ResponseUtil.createNotFoundResponse("Watch not found");
+        }
+        return ResponseUtil.createSuccessResponse(Map.of("message", "Watch removed successfully"));
+    }
+}
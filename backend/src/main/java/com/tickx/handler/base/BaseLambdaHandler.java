@@ -5,31 +5,118 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.tickx.TickXApplication;
+import com.tickx.admission.AdmissionController;
+import com.tickx.config.ApplicationContextHolder;
+import com.tickx.constants.HttpConstants;
+import com.tickx.logging.LogLevelUpdater;
+import com.tickx.logging.RequestSamplingTurboFilter;
+import com.tickx.metrics.ConsumedCapacityTracker;
+import com.tickx.metrics.EmfMetricsPublisher;
 import com.tickx.util.ResponseUtil;
-import org.springframework.boot.SpringApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import static com.tickx.constants.MetricsConstants.*;
+
+@Slf4j
 public abstract class BaseLambdaHandler implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
+    private static final String REQUEST_ID_MDC_KEY = "requestId";
+
     protected static ConfigurableApplicationContext applicationContext;
     protected static ObjectMapper objectMapper = new ObjectMapper();
+    protected static MeterRegistry meterRegistry;
+    // Only present in Lambda; ECS exposes the same meters for Prometheus scraping
+    private static EmfMetricsPublisher metricsPublisher;
+    private static ConsumedCapacityTracker capacityTracker;
+    private static boolean capacityHeaderEnabled;
+    private static LogLevelUpdater logLevelUpdater;
+    private static AdmissionController admissionController;
 
     static {
-        System.setProperty("spring.main.web-application-type", "none");
-        applicationContext = SpringApplication.run(TickXApplication.class);
+        applicationContext = ApplicationContextHolder.getOrStart();
+        meterRegistry = applicationContext.getBean(MeterRegistry.class);
+        metricsPublisher = applicationContext.getBeanProvider(EmfMetricsPublisher.class).getIfAvailable();
+        capacityTracker = applicationContext.getBean(ConsumedCapacityTracker.class);
+        capacityHeaderEnabled = applicationContext.getEnvironment()
+                .getProperty("CONSUMED_CAPACITY_HEADER_ENABLED", Boolean.class, false);
+        logLevelUpdater = applicationContext.getBean(LogLevelUpdater.class);
+        admissionController = applicationContext.getBean(AdmissionController.class);
     }
 
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
+        long start = System.nanoTime();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        logLevelUpdater.refresh();
+        RequestSamplingTurboFilter.beginRequest();
+        MDC.put(REQUEST_ID_MDC_KEY, context.getAwsRequestId());
+        String handler = getClass().getSimpleName();
+        String method = String.valueOf(input.getHttpMethod());
+        String resource = input.getResource() != null ? input.getResource() : "unknown";
+        // Rejected before any DynamoDB work
+        AdmissionController.Decision admission = admissionController.admit(clientId(input), method, resource,
+                input.getQueryStringParameters());
+        ConsumedCapacityTracker.RequestCapacity capacity = capacityTracker.begin();
+        APIGatewayProxyResponseEvent response;
         try {
-            return processRequest(input, context);
+            response = admission.admitted()
+                    ? processRequest(input, context)
+                    : ResponseUtil.createTooManyRequestsResponse(admission.retryAfterSeconds());
         } catch (Exception e) {
-            context.getLogger().log("Error: " + e.getMessage());
-            return ResponseUtil.createErrorResponse(500, "Internal Server Error: " + e.getMessage());
+            log.error("Request failed: {}", e.getMessage(), e);
+            response = ResponseUtil.createErrorResponse(500, "Internal Server Error: " + e.getMessage());
+        } finally {
+            capacityTracker.end();
+            if (admission.admitted()) {
+                admissionController.finish();
+            }
         }
+
+        log.debug("{} {} -> {} in {} ms, {} RCU/WCU", method, resource, response.getStatusCode(),
+                (System.nanoTime() - start) / 1_000_000, capacity.total());
+        RequestSamplingTurboFilter.endRequest();
+        MDC.remove(REQUEST_ID_MDC_KEY);
+        sample.stop(Timer.builder(HANDLER_REQUESTS)
+                .tag(TAG_HANDLER, handler)
+                .tag(TAG_METHOD, method)
+                .tag(TAG_RESOURCE, resource)
+                .tag(TAG_STATUS, String.valueOf(response.getStatusCode()))
+                .register(meterRegistry));
+        // Per-endpoint DynamoDB cost, so endpoints can be ranked by what they burn
+        meterRegistry.summary(HANDLER_CONSUMED_CAPACITY, TAG_HANDLER, handler, TAG_METHOD, method, TAG_RESOURCE, resource)
+                .record(capacity.total());
+        if (capacityHeaderEnabled && response.getHeaders() != null) {
+            response.getHeaders().put(HttpConstants.CONSUMED_CAPACITY_HEADER, capacity.format());
+        }
+        if (metricsPublisher != null) {
+            metricsPublisher.publish();
+        }
+        return response;
+    }
+
+    /**
+     * Who the request is from, for rate limiting: the API key API Gateway validated, else the caller's IP. Null
+     * for in-process callers.
+     */
+    private static String clientId(APIGatewayProxyRequestEvent input) {
+        APIGatewayProxyRequestEvent.ProxyRequestContext requestContext = input.getRequestContext();
+        if (requestContext == null || requestContext.getIdentity() == null) {
+            return null;
+        }
+        APIGatewayProxyRequestEvent.RequestIdentity identity = requestContext.getIdentity();
+        if (identity.getApiKey() != null && !identity.getApiKey().isBlank()) {
+            return "key:" + identity.getApiKey();
+        }
+        return identity.getSourceIp() != null ? "ip:" + identity.getSourceIp() : null;
     }
 
     protected abstract APIGatewayProxyResponseEvent processRequest(APIGatewayProxyRequestEvent input, Context context) throws Exception;
@@ -39,6 +126,19 @@ public abstract class BaseLambdaHandler implements RequestHandler<APIGatewayProx
         return pathParameters != null ? pathParameters.get(paramName) : null;
     }
 
+    protected String getHeader(APIGatewayProxyRequestEvent input, String headerName) {
+        Map<String, String> headers = input.getHeaders();
+        if (headers == null) {
+            return null;
+        }
+        // Header names are case-insensitive and clients vary in how they send them
+        return headers.entrySet().stream()
+                .filter(header -> header.getKey().equalsIgnoreCase(headerName))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
     protected String getQueryParameter(APIGatewayProxyRequestEvent input, String paramName) {
         Map<String, String> queryParameters = input.getQueryStringParameters();
         return queryParameters != null ? queryParameters.get(paramName) : null;
@@ -60,4 +160,29 @@ public abstract class BaseLambdaHandler implements RequestHandler<APIGatewayProx
         }
         return defaultValue;
     }
-}
\ No newline at end of file
+
+    protected Double getQueryParameterAsDouble(APIGatewayProxyRequestEvent input, String paramName) {
+        String value = getQueryParameter(input, paramName);
+        if (value != null) {
+            try {
+                // parseDouble accepts "NaN" and "Infinity", which slip past range checks
+                double parsed = Double.parseDouble(value);
+                return Double.isFinite(parsed) ? parsed : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    protected Set<String> getQueryParameterAsSet(APIGatewayProxyRequestEvent input, String paramName) {
+        String value = getQueryParameter(input, paramName);
+        if (value == null || value.isEmpty()) {
+            return Set.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
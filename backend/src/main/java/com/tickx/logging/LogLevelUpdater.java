@@ -0,0 +1,75 @@
+package com.tickx.logging;
+
+import com.tickx.cache.ParameterCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies log levels from an SSM parameter so verbosity can be raised on a running deployment.
+ * The value is either a bare level for com.tickx ({@code DEBUG}) or a list of
+ * {@code logger=LEVEL} pairs ({@code com.tickx=DEBUG,software.amazon.awssdk=WARN}).
+ * Removing the parameter restores the configured levels.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogLevelUpdater {
+
+    private static final String DEFAULT_LOGGER = "com.tickx";
+
+    private final ParameterCache parameterCache;
+    private final LoggingSystem loggingSystem;
+
+    @Value("${LOG_LEVEL_PARAM:}")
+    private String logLevelParamName;
+
+    private final Set<String> overridden = new HashSet<>();
+    private volatile String applied;
+
+    /** Cheap enough to call per request: a cache lookup and a string compare unless the value changed. */
+    public void refresh() {
+        if (logLevelParamName.isEmpty()) {
+            return;
+        }
+        String spec = parameterCache.get(logLevelParamName).map(String::trim).orElse(null);
+        if (Objects.equals(spec, applied)) {
+            return;
+        }
+        synchronized (this) {
+            if (!Objects.equals(spec, applied)) {
+                apply(spec);
+                applied = spec;
+            }
+        }
+    }
+
+    private void apply(String spec) {
+        overridden.forEach(name -> loggingSystem.setLogLevel(name, null));
+        overridden.clear();
+        if (spec == null || spec.isEmpty()) {
+            log.info("Log level overrides cleared");
+            return;
+        }
+
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=", 2);
+            String name = parts.length == 2 ? parts[0].trim() : DEFAULT_LOGGER;
+            String level = parts[parts.length - 1].trim().toUpperCase();
+            try {
+                loggingSystem.setLogLevel(name, LogLevel.valueOf(level));
+                overridden.add(name);
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring invalid log level override '{}'", entry);
+            }
+        }
+        log.info("Applied log level overrides: {}", spec);
+    }
+}
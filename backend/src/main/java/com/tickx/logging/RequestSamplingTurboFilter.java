@@ -0,0 +1,46 @@
+package com.tickx.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Emits com.tickx DEBUG lines for a sampled fraction of requests instead of for all of them. The sampling
+ * decision is made once per request in {@link #beginRequest()}; unsampled requests are rejected here,
+ * before logback formats the message or allocates an event.
+ */
+public class RequestSamplingTurboFilter extends TurboFilter {
+
+    private static final String APPLICATION_LOGGER_PREFIX = "com.tickx";
+    private static final ThreadLocal<Boolean> SAMPLED = new ThreadLocal<>();
+
+    private static volatile double sampleRate = 0;
+
+    public void setSampleRate(double sampleRate) {
+        RequestSamplingTurboFilter.sampleRate = sampleRate;
+    }
+
+    public static void beginRequest() {
+        double rate = sampleRate;
+        SAMPLED.set(rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    public static void endRequest() {
+        SAMPLED.remove();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.INFO) || !logger.getName().startsWith(APPLICATION_LOGGER_PREFIX)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Unsampled requests and work outside a request fall back to the configured level
+        return Boolean.TRUE.equals(SAMPLED.get()) && level.isGreaterOrEqual(Level.DEBUG)
+                ? FilterReply.ACCEPT
+                : FilterReply.NEUTRAL;
+    }
+}
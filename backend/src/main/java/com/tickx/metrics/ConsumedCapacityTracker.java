@@ -0,0 +1,125 @@
+package com.tickx.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.Capacity;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Attributes DynamoDB consumed capacity to logical repository operations (findByCity, query...).
+ * Each record feeds a per-operation/per-index meter and, when a handler request is in scope, that
+ * request's running total so the cost of an endpoint can be reported alongside its response.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsumedCapacityTracker {
+
+    private static final ThreadLocal<RequestCapacity> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Capacity consumed on behalf of one handler request, keyed by operation. Async repository calls
+     * may complete on SDK threads, so totals are updated concurrently.
+     */
+    public static final class RequestCapacity {
+        private final Map<String, DoubleAdder> byOperation = new ConcurrentSkipListMap<>();
+
+        void add(String operation, double units) {
+            byOperation.computeIfAbsent(operation, key -> new DoubleAdder()).add(units);
+        }
+
+        public double total() {
+            return byOperation.values().stream().mapToDouble(DoubleAdder::sum).sum();
+        }
+
+        /** Compact form for a response header, e.g. {@code findByCity=3.0;findByIds=1.5;total=4.5}. */
+        public String format() {
+            String operations = byOperation.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + round(e.getValue().sum()))
+                    .collect(Collectors.joining(";"));
+            return (operations.isEmpty() ? "" : operations + ";") + "total=" + round(total());
+        }
+
+        private static double round(double units) {
+            return Math.round(units * 100) / 100.0;
+        }
+    }
+
+    public RequestCapacity begin() {
+        RequestCapacity capacity = new RequestCapacity();
+        CURRENT.set(capacity);
+        return capacity;
+    }
+
+    public void end() {
+        CURRENT.remove();
+    }
+
+    public void record(String operation, ConsumedCapacity capacity) {
+        recorder(operation).accept(capacity);
+    }
+
+    public void record(String operation, Collection<ConsumedCapacity> capacities) {
+        Consumer<ConsumedCapacity> recorder = recorder(operation);
+        capacities.forEach(recorder);
+    }
+
+    /**
+     * Binds the operation to the calling thread's request so the returned recorder can be invoked
+     * from an async completion.
+     */
+    public Consumer<ConsumedCapacity> recorder(String operation) {
+        RequestCapacity request = CURRENT.get();
+        return capacity -> {
+            if (capacity == null || capacity.capacityUnits() == null) {
+                return;
+            }
+            if (request != null) {
+                request.add(operation, capacity.capacityUnits());
+            }
+            recordIndexes(operation, capacity);
+        };
+    }
+
+    private void recordIndexes(String operation, ConsumedCapacity capacity) {
+        boolean hasBreakdown = capacity.table() != null || capacity.hasGlobalSecondaryIndexes();
+        if (!hasBreakdown) {
+            summary(operation, capacity.tableName(), "total").record(capacity.capacityUnits());
+            return;
+        }
+        if (capacity.table() != null) {
+            record(summary(operation, capacity.tableName(), "table"), capacity.table());
+        }
+        if (capacity.hasGlobalSecondaryIndexes()) {
+            capacity.globalSecondaryIndexes().forEach((index, units) ->
+                    record(summary(operation, capacity.tableName(), index), units));
+        }
+    }
+
+    private void record(DistributionSummary summary, Capacity capacity) {
+        if (capacity.capacityUnits() != null) {
+            summary.record(capacity.capacityUnits());
+        }
+    }
+
+    private DistributionSummary summary(String operation, String table, String index) {
+        return DistributionSummary.builder(DYNAMODB_OPERATION_CAPACITY)
+                .tag(TAG_OPERATION, operation)
+                .tag(TAG_TABLE, table != null ? table : "unknown")
+                .tag(TAG_INDEX, index)
+                .baseUnit("capacityUnits")
+                .register(meterRegistry);
+    }
+}
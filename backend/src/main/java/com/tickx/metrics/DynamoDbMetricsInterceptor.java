@@ -0,0 +1,121 @@
+package com.tickx.metrics;
+
+import com.tickx.admission.AdmissionController;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Times every DynamoDB call made through the SDK clients (including the enhanced client) and records
+ * the capacity it consumed. Requests that don't ask for consumed capacity are upgraded to INDEXES. Calls that
+ * still fail on throttling after the SDK's retries are reported to admission control, which sheds load.
+ */
+@RequiredArgsConstructor
+public class DynamoDbMetricsInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Long> START_NANOS = new ExecutionAttribute<>("tickx.dynamodb.startNanos");
+
+    private final MeterRegistry meterRegistry;
+    private final AdmissionController admissionController;
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        SdkRequest request = context.request();
+        if (request instanceof GetItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        } else if (request instanceof PutItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        } else if (request instanceof UpdateItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        } else if (request instanceof DeleteItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        } else if (request instanceof QueryRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        } else if (request instanceof ScanRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        } else if (request instanceof BatchGetItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        } else if (request instanceof BatchWriteItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        } else if (request instanceof TransactWriteItemsRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        } else if (request instanceof TransactGetItemsRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        }
+        return request;
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        String table = tableName(context.request());
+        recordLatency(operation, table, OUTCOME_SUCCESS, executionAttributes);
+
+        for (ConsumedCapacity capacity : consumedCapacity(context.response())) {
+            if (capacity.capacityUnits() != null) {
+                DistributionSummary.builder(DYNAMODB_CONSUMED_CAPACITY)
+                        .tag(TAG_OPERATION, operation)
+                        .tag(TAG_TABLE, capacity.tableName() != null ? capacity.tableName() : table)
+                        .baseUnit("capacityUnits")
+                        .register(meterRegistry)
+                        .record(capacity.capacityUnits());
+            }
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        recordLatency(operation, tableName(context.request()), OUTCOME_ERROR, executionAttributes);
+        if (context.exception() instanceof AwsServiceException e && e.isThrottlingException()) {
+            admissionController.onThrottled();
+        }
+    }
+
+    private void recordLatency(String operation, String table, String outcome, ExecutionAttributes executionAttributes) {
+        Long start = executionAttributes.getAttribute(START_NANOS);
+        if (start == null) {
+            return;
+        }
+        Timer.builder(DYNAMODB_CALLS)
+                .tag(TAG_OPERATION, operation)
+                .tag(TAG_TABLE, table)
+                .tag(TAG_OUTCOME, outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String tableName(SdkRequest request) {
+        // Batch and transact calls span tables; their per-table split comes from ConsumedCapacity
+        return request.getValueForField("TableName", String.class).orElse("multiple");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ConsumedCapacity> consumedCapacity(SdkResponse response) {
+        return response.getValueForField("ConsumedCapacity", Object.class)
+                .map(value -> value instanceof ConsumedCapacity single
+                        ? List.of(single)
+                        : (List<ConsumedCapacity>) value)
+                .orElse(List.of());
+    }
+}
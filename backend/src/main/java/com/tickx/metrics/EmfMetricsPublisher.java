@@ -0,0 +1,116 @@
+package com.tickx.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the application's meters to stdout in CloudWatch Embedded Metric Format at the end of each
+ * Lambda invocation. Only the delta since the previous flush is emitted, one document per tag set,
+ * so CloudWatch aggregates them into per-endpoint metrics without a PutMetricData call.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "metrics.emf.enabled", havingValue = "true")
+public class EmfMetricsPublisher {
+
+    private static final String METER_PREFIX = "tickx.";
+    // CloudWatch accepts at most 100 metrics per EMF document
+    private static final int MAX_METRICS_PER_DOCUMENT = 100;
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final String namespace;
+    private final Map<Meter.Id, double[]> published = new HashMap<>();
+
+    public EmfMetricsPublisher(MeterRegistry meterRegistry,
+                               ObjectMapper objectMapper,
+                               @Value("${METRICS_NAMESPACE:TickX}") String namespace) {
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.namespace = namespace;
+    }
+
+    public synchronized void publish() {
+        Map<List<Tag>, Map<String, Object[]>> byTags = new LinkedHashMap<>();
+
+        for (Meter meter : meterRegistry.getMeters()) {
+            Meter.Id id = meter.getId();
+            if (!id.getName().startsWith(METER_PREFIX)) {
+                continue;
+            }
+            Map<String, Object[]> metrics = byTags.computeIfAbsent(id.getTags(), tags -> new LinkedHashMap<>());
+
+            if (meter instanceof Timer timer) {
+                double[] delta = delta(id, timer.count(), timer.totalTime(TimeUnit.MILLISECONDS));
+                if (delta[0] > 0) {
+                    metrics.put(id.getName(), new Object[]{delta[1] / delta[0], "Milliseconds"});
+                    metrics.put(id.getName() + ".count", new Object[]{delta[0], "Count"});
+                }
+            } else if (meter instanceof DistributionSummary summary) {
+                double[] delta = delta(id, summary.count(), summary.totalAmount());
+                if (delta[0] > 0) {
+                    metrics.put(id.getName(), new Object[]{delta[1], "None"});
+                    metrics.put(id.getName() + ".count", new Object[]{delta[0], "Count"});
+                }
+            } else if (meter instanceof Counter counter) {
+                double[] delta = delta(id, counter.count(), 0);
+                if (delta[0] > 0) {
+                    metrics.put(id.getName(), new Object[]{delta[0], "Count"});
+                }
+            }
+        }
+
+        long timestamp = System.currentTimeMillis();
+        byTags.forEach((tags, metrics) -> {
+            if (metrics.isEmpty()) {
+                return;
+            }
+            List<Map.Entry<String, Object[]>> entries = new ArrayList<>(metrics.entrySet());
+            for (int i = 0; i < entries.size(); i += MAX_METRICS_PER_DOCUMENT) {
+                write(tags, entries.subList(i, Math.min(i + MAX_METRICS_PER_DOCUMENT, entries.size())), timestamp);
+            }
+        });
+    }
+
+    private double[] delta(Meter.Id id, double count, double total) {
+        double[] previous = published.getOrDefault(id, new double[2]);
+        published.put(id, new double[]{count, total});
+        return new double[]{count - previous[0], total - previous[1]};
+    }
+
+    private void write(List<Tag> tags, List<Map.Entry<String, Object[]>> metrics, long timestamp) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        List<Map<String, String>> definitions = new ArrayList<>();
+        for (Map.Entry<String, Object[]> metric : metrics) {
+            definitions.add(Map.of("Name", metric.getKey(), "Unit", (String) metric.getValue()[1]));
+            document.put(metric.getKey(), metric.getValue()[0]);
+        }
+        List<String> dimensions = tags.stream().map(Tag::getKey).toList();
+        tags.forEach(tag -> document.put(tag.getKey(), tag.getValue()));
+
+        document.put("_aws", Map.of(
+                "Timestamp", timestamp,
+                "CloudWatchMetrics", List.of(Map.of(
+                        "Namespace", namespace,
+                        "Dimensions", List.of(dimensions),
+                        "Metrics", definitions))));
+        try {
+            // EMF must be the whole log line, so bypass the logging pattern
+            System.out.println(objectMapper.writeValueAsString(document));
+        } catch (Exception e) {
+            log.warn("Failed to write EMF metrics: {}", e.getMessage());
+        }
+    }
+}
@@ -61,6 +61,8 @@ public class Event {
     // TickX specific
     private Boolean isFeatured;
     private Integer listingCount;
+    private Double lowestAsk;
+    private Double highestBid;
 
     // DynamoDB metadata
     private String createdAt;
@@ -0,0 +1,23 @@
+package com.tickx.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventDetail {
+    // Event fields are serialized at the top level, with the requested expansions alongside
+    @JsonUnwrapped
+    private Event event;
+    private Venue venue;
+    private List<Listing> listings;
+}
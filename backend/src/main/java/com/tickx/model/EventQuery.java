@@ -0,0 +1,24 @@
+package com.tickx.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filters accepted by GET /events. Any combination may be set; {@code EventQueryPlanner} decides which
+ * index serves it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventQuery {
+    private String city;
+    private String category;
+    private String venueId;
+    private String dateFrom;
+    private String dateTo;
+    private String keyword;
+    private int pageSize;
+}
@@ -0,0 +1,22 @@
+package com.tickx.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight type-ahead result, served straight from the search index without reading the event.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSuggestion {
+    private String id;
+    private String name;
+    private String localDate;
+    private String venueName;
+    private String venueCity;
+    private String category;
+}
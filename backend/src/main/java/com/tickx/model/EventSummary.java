@@ -0,0 +1,48 @@
+package com.tickx.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSummary {
+    private String id;
+    private String name;
+    private EventCategory category;
+    private EventStatus status;
+    private String eventDate;
+    private String localDate;
+    private String venueId;
+    private String venueName;
+    private String venueCity;
+    private String venueStateCode;
+    private String imageUrl;
+    private String thumbnailUrl;
+    private Integer listingCount;
+    private Double lowestAsk;
+    private Double highestBid;
+
+    public static EventSummary from(Event event) {
+        return EventSummary.builder()
+                .id(event.getId())
+                .name(event.getName())
+                .category(event.getCategory())
+                .status(event.getStatus())
+                .eventDate(event.getEventDate())
+                .localDate(event.getLocalDate())
+                .venueId(event.getVenueId())
+                .venueName(event.getVenueName())
+                .venueCity(event.getVenueCity())
+                .venueStateCode(event.getVenueStateCode())
+                .imageUrl(event.getImageUrl())
+                .thumbnailUrl(event.getThumbnailUrl())
+                .listingCount(event.getListingCount())
+                .lowestAsk(event.getLowestAsk())
+                .highestBid(event.getHighestBid())
+                .build();
+    }
+}
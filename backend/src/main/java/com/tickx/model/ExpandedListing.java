@@ -0,0 +1,16 @@
+package com.tickx.model;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpandedListing {
+    // Listing fields are serialized at the top level, with the event summary alongside
+    @JsonUnwrapped
+    private Listing listing;
+    private EventSummary event;
+}
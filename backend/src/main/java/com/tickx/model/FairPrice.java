@@ -0,0 +1,29 @@
+package com.tickx.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FairPrice {
+    private String listingId;
+    private String eventId;
+    private String section;
+    private String scope; // section, event
+    private String basis; // sale, ask, bid
+    private Integer windowDays;
+    private Long sampleCount;
+    private Double min;
+    private Double median;
+    private Double p90;
+    private Double listingAsk;
+
+    // Demand over the window, in the same scope
+    private Long askCount;
+    private Long bidCount;
+    private Long saleCount;
+}
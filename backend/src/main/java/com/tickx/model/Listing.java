@@ -14,7 +14,7 @@ import java.util.List;
 import static com.tickx.constants.DynamoDbConstants.*;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @DynamoDbBean
@@ -28,6 +28,7 @@ public class Listing {
     private String row;
     private List<String> seats;
     private Integer quantity;
+    private Integer quantitySold;
     
     // Pricing
     private Double startingPrice;
@@ -0,0 +1,35 @@
+package com.tickx.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The live-changing part of a listing, as pushed to watchers on {@code /listings/{id}/stream}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListingPriceUpdate {
+    private String listingId;
+    private String status;
+    private Double currentPrice;
+    private Integer bidCount;
+    private Boolean reserveMet;
+    private String auctionEndTime;
+    private String updatedAt;
+
+    public static ListingPriceUpdate from(Listing listing) {
+        return ListingPriceUpdate.builder()
+                .listingId(listing.getListingId())
+                .status(listing.getStatus())
+                .currentPrice(listing.getCurrentPrice())
+                .bidCount(listing.getBidCount())
+                .reserveMet(listing.getReserveMet())
+                .auctionEndTime(listing.getAuctionEndTime())
+                .updatedAt(listing.getUpdatedAt())
+                .build();
+    }
+}
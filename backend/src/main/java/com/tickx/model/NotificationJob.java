@@ -0,0 +1,33 @@
+package com.tickx.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+import java.util.List;
+
+/**
+ * A batch of alerts for the notification sender. The ID is derived from the change that raised the alerts,
+ * so a redelivered stream batch produces the same jobs instead of new ones.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class NotificationJob {
+    private String jobId;
+    private String type; // price_drop
+    private String status; // pending, sent
+    private List<PriceAlert> alerts;
+    private String createdAt;
+    private Long expiresAt; // TTL, epoch seconds
+
+    @DynamoDbPartitionKey
+    public String getJobId() {
+        return jobId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.tickx.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class PriceAlert {
+    private String userId;
+    private String targetType; // event, listing
+    private String targetId;
+    private String eventId;
+    private Double threshold;
+    private Double previousPrice;
+    private Double price;
+}
@@ -0,0 +1,20 @@
+package com.tickx.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricePoint {
+    private String eventId;
+    private String section;
+    private String kind; // ask, bid, sale
+    private Double price;
+    private String listingId;
+    private String sourceId; // stream sequence number of the change that produced it
+    private String recordedAt;
+}
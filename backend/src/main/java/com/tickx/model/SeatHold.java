@@ -0,0 +1,23 @@
+package com.tickx.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHold {
+    private String holdId;
+    private String listingId;
+    private String buyerId;
+    private List<String> seats;
+    private Integer quantity; // On requests: any this many seats, when seats are not named
+    private String status; // held, released, expired
+    private String createdAt;
+    private Long expiresAt; // Epoch seconds
+}
@@ -9,6 +9,8 @@ import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbParti
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
 
+import java.util.List;
+
 import static com.tickx.constants.DynamoDbConstants.*;
 
 @Data
@@ -21,6 +23,9 @@ public class Transaction {
     private String listingId;
     private String sellerId;
     private String buyerId;
+    private String holdId;
+    private List<String> seats;
+    private Integer quantity;
     private Double amount;
     private Double buyerFee;
     private Double sellerFee;
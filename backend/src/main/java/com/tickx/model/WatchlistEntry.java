@@ -0,0 +1,53 @@
+package com.tickx.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+
+import static com.tickx.constants.DynamoDbConstants.*;
+
+/**
+ * A user watching an event or a listing, optionally with a price-drop threshold. Entries with a threshold
+ * also appear in {@code targetKey-thresholdKey-index}, where each target's watchers are sorted by threshold.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class WatchlistEntry {
+    private String userId;
+    private String targetKey; // EVENT#<eventId> or LISTING#<listingId>
+    private String targetType; // event, listing
+    private String targetId;
+    private String eventId;
+    private Double threshold; // Alert when the price drops to or below this
+    private String thresholdKey; // Zero-padded cents then userId, so thresholds sort as strings
+    private String createdAt;
+
+    @DynamoDbPartitionKey
+    public String getUserId() {
+        return userId;
+    }
+
+    @DynamoDbSortKey
+    @DynamoDbSecondaryPartitionKey(indexNames = TARGET_THRESHOLD_INDEX)
+    public String getTargetKey() {
+        return targetKey;
+    }
+
+    @DynamoDbSecondarySortKey(indexNames = TARGET_THRESHOLD_INDEX)
+    public String getThresholdKey() {
+        return thresholdKey;
+    }
+
+    public static String targetKey(String targetType, String targetId) {
+        return targetType.toUpperCase() + "#" + targetId;
+    }
+}
@@ -0,0 +1,63 @@
+package com.tickx.pricehistory;
+
+import com.tickx.model.Bid;
+import com.tickx.model.Listing;
+import com.tickx.model.PricePoint;
+import com.tickx.repository.ListingRepository;
+import com.tickx.stream.ChangeConsumer;
+import com.tickx.stream.ChangeEvent;
+import com.tickx.stream.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.tickx.constants.DynamoDbConstants.PRICE_KIND_BID;
+
+/**
+ * Records every new bid against the event and section of the listing it was placed on.
+ */
+@Component
+@RequiredArgsConstructor
+public class BidPriceHistory implements ChangeConsumer<Bid> {
+
+    private final PriceHistoryService priceHistoryService;
+    private final ListingRepository listingRepository;
+
+    @Override
+    public Class<Bid> entityType() {
+        return Bid.class;
+    }
+
+    @Override
+    public void onChanges(List<ChangeEvent<Bid>> changes) {
+        Map<String, Optional<Listing>> listings = new HashMap<>();
+        List<PricePoint> points = new ArrayList<>();
+        for (ChangeEvent<Bid> change : changes) {
+            Bid bid = change.newImage();
+            if (change.type() != ChangeType.INSERT || bid.getAmount() == null || bid.getListingId() == null) {
+                continue;
+            }
+            Optional<Listing> listing = listings.computeIfAbsent(bid.getListingId(), listingRepository::findById);
+            if (listing.isEmpty()) {
+                continue;
+            }
+            Instant at = change.approximateCreationTime() != null ? change.approximateCreationTime() : Instant.now();
+            points.add(PricePoint.builder()
+                    .eventId(listing.get().getEventId())
+                    .section(listing.get().getSection())
+                    .kind(PRICE_KIND_BID)
+                    .price(bid.getAmount())
+                    .listingId(bid.getListingId())
+                    .sourceId(change.sequenceNumber())
+                    .recordedAt(at.toString())
+                    .build());
+        }
+        priceHistoryService.record(points);
+    }
+}
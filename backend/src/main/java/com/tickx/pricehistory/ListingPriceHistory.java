@@ -0,0 +1,72 @@
+package com.tickx.pricehistory;
+
+import com.tickx.model.Listing;
+import com.tickx.model.PricePoint;
+import com.tickx.service.EventListingStatsService;
+import com.tickx.stream.ChangeConsumer;
+import com.tickx.stream.ChangeEvent;
+import com.tickx.stream.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.tickx.constants.DynamoDbConstants.*;
+
+/**
+ * Records a listing's asking price whenever it is listed or repriced, and its price whenever seats of it sell.
+ */
+@Component
+@RequiredArgsConstructor
+public class ListingPriceHistory implements ChangeConsumer<Listing> {
+
+    private final PriceHistoryService priceHistoryService;
+
+    @Override
+    public Class<Listing> entityType() {
+        return Listing.class;
+    }
+
+    @Override
+    public void onChanges(List<ChangeEvent<Listing>> changes) {
+        List<PricePoint> points = new ArrayList<>();
+        for (ChangeEvent<Listing> change : changes) {
+            if (change.type() == ChangeType.REMOVE || change.newImage().getEventId() == null) {
+                continue;
+            }
+            Listing before = change.oldImage();
+            Listing listing = change.newImage();
+            Double ask = EventListingStatsService.ask(listing);
+            if (ask != null && !Objects.equals(ask, before != null ? EventListingStatsService.ask(before) : null)) {
+                points.add(point(change, listing, PRICE_KIND_ASK, ask));
+            }
+            // A purchase of some of its seats, or the listing marked sold outright
+            int soldBefore = before != null ? Objects.requireNonNullElse(before.getQuantitySold(), 0) : 0;
+            boolean sold = Objects.requireNonNullElse(listing.getQuantitySold(), 0) > soldBefore
+                    || STATUS_SOLD.equals(listing.getStatus()) && (before == null || !STATUS_SOLD.equals(before.getStatus()));
+            // An auction sells at its winning bid, anything else at its buy-now price when it has one
+            Double salePrice = LISTING_TYPE_AUCTION.equals(listing.getListingType()) || listing.getBuyNowPrice() == null
+                    ? listing.getCurrentPrice() : listing.getBuyNowPrice();
+            if (sold && salePrice != null) {
+                points.add(point(change, listing, PRICE_KIND_SALE, salePrice));
+            }
+        }
+        priceHistoryService.record(points);
+    }
+
+    private static PricePoint point(ChangeEvent<Listing> change, Listing listing, String kind, double price) {
+        Instant at = change.approximateCreationTime() != null ? change.approximateCreationTime() : Instant.now();
+        return PricePoint.builder()
+                .eventId(listing.getEventId())
+                .section(listing.getSection())
+                .kind(kind)
+                .price(price)
+                .listingId(listing.getListingId())
+                .sourceId(change.sequenceNumber())
+                .recordedAt(at.toString())
+                .build();
+    }
+}
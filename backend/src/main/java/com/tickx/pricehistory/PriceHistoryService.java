@@ -0,0 +1,197 @@
+package com.tickx.pricehistory;
+
+import com.tickx.model.FairPrice;
+import com.tickx.model.Listing;
+import com.tickx.model.PricePoint;
+import com.tickx.repository.ListingRepository;
+import com.tickx.repository.PriceHistoryRepository;
+import com.tickx.repository.PriceHistoryRepository.Rollup;
+import com.tickx.service.EventListingStatsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static com.tickx.constants.DynamoDbConstants.*;
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Records price points and keeps their rollups current, and answers fair-price queries from the rollups.
+ *
+ * <p>After appending a batch, each hour it touched is rebuilt from that hour's points (a small, strongly
+ * consistent query), and each day from its hourly sketches. Rollups are rebuilt rather than incremented, so
+ * a replayed batch rewrites the same values; the repository's count guard keeps a stale concurrent rebuild
+ * from overwriting a fuller one. Only the scopes and kinds in the batch are rewritten.
+ */
+@Service
+public class PriceHistoryService {
+
+    private static final List<String> BASIS_ORDER = List.of(PRICE_KIND_SALE, PRICE_KIND_ASK, PRICE_KIND_BID);
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final ListingRepository listingRepository;
+    private final MeterRegistry meterRegistry;
+    private final int windowDays;
+    private final int minSamples;
+
+    public PriceHistoryService(PriceHistoryRepository priceHistoryRepository,
+                               ListingRepository listingRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${FAIR_PRICE_WINDOW_DAYS:7}") int windowDays,
+                               @Value("${FAIR_PRICE_MIN_SAMPLES:5}") int minSamples) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.listingRepository = listingRepository;
+        this.meterRegistry = meterRegistry;
+        this.windowDays = windowDays;
+        this.minSamples = minSamples;
+    }
+
+    /** A rollup series: one kind of price, for a section or (when null) the whole event. */
+    private record Series(String section, String kind) {}
+
+    public void record(List<PricePoint> points) {
+        if (points.isEmpty()) {
+            return;
+        }
+        priceHistoryRepository.append(points);
+
+        // event -> hour -> series the batch added points to
+        Map<String, SortedMap<String, Set<Series>>> touched = new HashMap<>();
+        for (PricePoint point : points) {
+            meterRegistry.counter(PRICE_HISTORY_POINTS, TAG_KIND, point.getKind()).increment();
+            Set<Series> series = touched.computeIfAbsent(point.getEventId(), id -> new TreeMap<>())
+                    .computeIfAbsent(point.getRecordedAt().substring(0, 13), hour -> new HashSet<>());
+            series.add(new Series(null, point.getKind()));
+            if (point.getSection() != null) {
+                series.add(new Series(point.getSection(), point.getKind()));
+            }
+        }
+
+        touched.forEach((eventId, hours) -> {
+            Map<String, Set<Series>> days = new TreeMap<>();
+            hours.forEach((hour, series) -> {
+                rebuildHour(eventId, hour, series);
+                days.computeIfAbsent(hour.substring(0, 10), day -> new HashSet<>()).addAll(series);
+            });
+            days.forEach((day, series) -> rebuildDay(eventId, day, series));
+        });
+    }
+
+    /**
+     * Fair price for a listing: quantiles of recent prices for its section, or the whole event when the
+     * section has too few, from sales when there are enough of them and otherwise from asks, then bids.
+     * One query over the scope's daily rollups. Empty if the listing does not exist.
+     */
+    public Optional<FairPrice> getFairPrice(String listingId) {
+        Optional<Listing> listing = listingRepository.findById(listingId);
+        if (listing.isEmpty()) {
+            return Optional.empty();
+        }
+        String eventId = listing.get().getEventId();
+        String section = listing.get().getSection();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        String from = today.minusDays(windowDays - 1L).toString();
+
+        String scope = "section";
+        Map<String, PriceSketch> sketches = section != null
+                ? mergeByKind(priceHistoryRepository.findRollups(eventId, section, from, today.toString(), false))
+                : Map.of();
+        String basis = basis(sketches);
+        if (basis == null) {
+            scope = "event";
+            sketches = mergeByKind(priceHistoryRepository.findRollups(eventId, null, from, today.toString(), false));
+            basis = basis(sketches);
+        }
+        if (basis == null) {
+            // Too little history anywhere: report the kind with the most
+            basis = mostSampled(sketches);
+        }
+
+        PriceSketch sketch = sketches.getOrDefault(basis, new PriceSketch());
+        return Optional.of(FairPrice.builder()
+                .listingId(listingId)
+                .eventId(eventId)
+                .section(section)
+                .scope(scope)
+                .basis(basis)
+                .windowDays(windowDays)
+                .sampleCount(sketch.count())
+                .min(price(sketch.min()))
+                .median(price(sketch.quantile(0.5)))
+                .p90(price(sketch.quantile(0.9)))
+                .listingAsk(EventListingStatsService.ask(listing.get()))
+                .askCount(count(sketches.get(PRICE_KIND_ASK)))
+                .bidCount(count(sketches.get(PRICE_KIND_BID)))
+                .saleCount(count(sketches.get(PRICE_KIND_SALE)))
+                .build());
+    }
+
+    private void rebuildHour(String eventId, String hour, Set<Series> series) {
+        Map<Series, PriceSketch> sketches = new HashMap<>();
+        for (PricePoint point : priceHistoryRepository.findPoints(eventId, hour)) {
+            add(sketches, series, new Series(null, point.getKind()), point.getPrice());
+            if (point.getSection() != null) {
+                add(sketches, series, new Series(point.getSection(), point.getKind()), point.getPrice());
+            }
+        }
+        sketches.forEach((key, sketch) ->
+                put(new Rollup(eventId, key.section(), key.kind(), hour, sketch)));
+    }
+
+    private static void add(Map<Series, PriceSketch> sketches, Set<Series> series, Series key, double price) {
+        if (series.contains(key)) {
+            sketches.computeIfAbsent(key, k -> new PriceSketch()).add(price);
+        }
+    }
+
+    private void rebuildDay(String eventId, String day, Set<Series> series) {
+        Set<String> sections = new HashSet<>();
+        series.forEach(key -> sections.add(key.section()));
+        for (String section : sections) {
+            Map<String, PriceSketch> sketches = mergeByKind(
+                    priceHistoryRepository.findRollups(eventId, section, day + "T00", day + "T23", true));
+            sketches.forEach((kind, sketch) -> {
+                if (series.contains(new Series(section, kind))) {
+                    put(new Rollup(eventId, section, kind, day, sketch));
+                }
+            });
+        }
+    }
+
+    private void put(Rollup rollup) {
+        boolean applied = priceHistoryRepository.putRollup(rollup);
+        meterRegistry.counter(PRICE_HISTORY_ROLLUPS, TAG_RESULT, applied ? RESULT_APPLIED : RESULT_SKIPPED).increment();
+    }
+
+    private String basis(Map<String, PriceSketch> sketches) {
+        return BASIS_ORDER.stream()
+                .filter(kind -> count(sketches.get(kind)) >= minSamples)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static Map<String, PriceSketch> mergeByKind(List<Rollup> rollups) {
+        Map<String, PriceSketch> sketches = new HashMap<>();
+        for (Rollup rollup : rollups) {
+            sketches.computeIfAbsent(rollup.kind(), kind -> new PriceSketch()).merge(rollup.sketch());
+        }
+        return sketches;
+    }
+
+    private static String mostSampled(Map<String, PriceSketch> sketches) {
+        return BASIS_ORDER.stream()
+                .max(Comparator.comparingLong(kind -> count(sketches.get(kind))))
+                .orElseThrow();
+    }
+
+    private static long count(PriceSketch sketch) {
+        return sketch != null ? sketch.count() : 0;
+    }
+
+    private static Double price(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
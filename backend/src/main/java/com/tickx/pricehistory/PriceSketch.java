@@ -0,0 +1,142 @@
+package com.tickx.pricehistory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Streaming quantile sketch over prices: each price falls into a logarithmic bucket {@code ceil(log_γ(price))},
+ * so any quantile it reports is within {@link #RELATIVE_ACCURACY} of a real price in the stream. Prices between
+ * $1 and $10,000 span under 500 buckets however many are added. Two sketches merge exactly by adding bucket
+ * counts, which is what lets hourly rollups combine into days and days into a fair-price window. Adding the
+ * same prices in any order gives the same sketch and the same bytes.
+ */
+public final class PriceSketch {
+
+    static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final double MIN_PRICE = 0.01;
+    private static final byte FORMAT_VERSION = 1;
+
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public void add(double price) {
+        double value = Math.max(price, MIN_PRICE);
+        buckets.merge((int) Math.ceil(Math.log(value) / LOG_GAMMA), 1L, Long::sum);
+        count++;
+        min = count == 1 ? value : Math.min(min, value);
+        max = count == 1 ? value : Math.max(max, value);
+    }
+
+    public void merge(PriceSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        other.buckets.forEach((index, bucketCount) -> buckets.merge(index, bucketCount, Long::sum));
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /** Smallest price added, exact. NaN when empty. */
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /** The price at quantile {@code q} (0 to 1), rounded to cents. NaN when empty. */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = 0;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                double estimate = 2 * Math.pow(GAMMA, bucket.getKey()) / (GAMMA + 1);
+                return Math.round(Math.min(max, Math.max(min, estimate)) * 100) / 100.0;
+            }
+        }
+        return max;
+    }
+
+    /** Version byte, min and max, then each bucket as a delta-encoded index and count. */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(20 + buckets.size() * 3);
+        out.write(FORMAT_VERSION);
+        writeLong(out, Double.doubleToLongBits(count == 0 ? 0 : min));
+        writeLong(out, Double.doubleToLongBits(count == 0 ? 0 : max));
+        writeVarint(out, buckets.size());
+        int previous = 0;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            int delta = bucket.getKey() - previous;
+            writeVarint(out, (delta << 1) ^ (delta >> 31));
+            writeVarint(out, bucket.getValue());
+            previous = bucket.getKey();
+        }
+        return out.toByteArray();
+    }
+
+    public static PriceSketch fromBytes(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        byte version = in.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unknown price sketch format " + version);
+        }
+        PriceSketch sketch = new PriceSketch();
+        double min = Double.longBitsToDouble(in.getLong());
+        double max = Double.longBitsToDouble(in.getLong());
+        int size = (int) readVarint(in);
+        int index = 0;
+        for (int i = 0; i < size; i++) {
+            int zigzag = (int) readVarint(in);
+            index += (zigzag >>> 1) ^ -(zigzag & 1);
+            long bucketCount = readVarint(in);
+            sketch.buckets.put(index, bucketCount);
+            sketch.count += bucketCount;
+        }
+        if (sketch.count > 0) {
+            sketch.min = min;
+            sketch.max = max;
+        }
+        return sketch;
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
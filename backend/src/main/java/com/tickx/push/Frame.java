@@ -0,0 +1,13 @@
+package com.tickx.push;
+
+/**
+ * A rendered server-sent event, shared by every subscription it is queued on. {@code version} is the
+ * listing's {@code updatedAt} in epoch millis. Frames with a sequence of -1 are control frames (retry hint,
+ * heartbeat) and are never deduplicated; {@code last} ends the stream.
+ */
+record Frame(long sequence, byte[] bytes, long version, boolean last) {
+
+    static Frame control(byte[] bytes) {
+        return new Frame(-1, bytes, 0, false);
+    }
+}
@@ -0,0 +1,16 @@
+package com.tickx.push;
+
+import java.io.IOException;
+
+/**
+ * One watcher's connection. {@link #send} may block while the client's socket buffer is full.
+ */
+public interface FrameSink {
+
+    void send(byte[] frame) throws IOException;
+
+    void complete();
+
+    /** Ends the stream with an error, without waiting for a {@link #send} in progress. */
+    void abort();
+}
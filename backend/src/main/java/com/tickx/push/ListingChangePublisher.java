@@ -0,0 +1,42 @@
+package com.tickx.push;
+
+import com.tickx.model.Listing;
+import com.tickx.stream.ChangeConsumer;
+import com.tickx.stream.ChangeEvent;
+import com.tickx.stream.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Pushes listing writes made through any task to the watchers on this one. The task that handled a write
+ * has already published it; the registry ignores the repeat.
+ */
+@Component
+@RequiredArgsConstructor
+public class ListingChangePublisher implements ChangeConsumer<Listing> {
+
+    private final ListingTopicRegistry topicRegistry;
+
+    @Override
+    public Class<Listing> entityType() {
+        return Listing.class;
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    @Override
+    public void onChanges(List<ChangeEvent<Listing>> changes) {
+        for (ChangeEvent<Listing> change : changes) {
+            if (change.type() == ChangeType.REMOVE) {
+                topicRegistry.close(change.current().getListingId());
+            } else {
+                topicRegistry.publish(change.newImage());
+            }
+        }
+    }
+}
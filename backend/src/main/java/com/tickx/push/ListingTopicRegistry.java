@@ -0,0 +1,309 @@
+package com.tickx.push;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickx.model.Listing;
+import com.tickx.model.ListingPriceUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * In-process fan-out of listing price changes to server-sent event streams.
+ *
+ * <p>One topic per watched listing holds its subscriptions and the latest rendered update. A change is
+ * serialized once and the same bytes are queued on every subscription, so a listing with tens of thousands
+ * of watchers costs one JSON write and one queue insert per watcher; a small sender pool does the socket
+ * writes. A write blocked for {@code PUSH_SEND_TIMEOUT_MILLIS} (a client that stopped reading) closes that
+ * stream, and the pool gets a thread in place of the blocked one until the write returns. New watchers get the cached update, so a reconnect storm reads each listing at most once.
+ * Topics are dropped with their last subscriber.
+ */
+@Slf4j
+@Component
+public class ListingTopicRegistry {
+
+    static final Frame HEARTBEAT = Frame.control(": ping\n\n".getBytes(StandardCharsets.UTF_8));
+
+    private static final String PRICE_EVENT = "price";
+    private static final String DELETED_EVENT = "deleted";
+    // EventSource reconnects after this many ms; spread so a node restart doesn't bring everyone back at once
+    private static final int MIN_RETRY_MILLIS = 2000;
+    private static final int MAX_RETRY_MILLIS = 10000;
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter sentFrames;
+    private final Counter droppedFrames;
+    private final Counter timedOutFrames;
+    private final Set<Subscription> sending = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger blockedSenders = new AtomicInteger();
+    private final int queueCapacity;
+    private final int maxConnections;
+    private final int senderThreads;
+    private final long heartbeatMillis;
+    private final long sendTimeoutMillis;
+
+    // Started with the first subscription, so Lambda containers (which never serve streams) start no threads
+    private volatile ThreadPoolExecutor senders;
+
+    private static final class Topic {
+        final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+        final AtomicLong sequence;
+        final AtomicReference<Frame> latest;
+
+        Topic(Frame snapshot) {
+            this.sequence = new AtomicLong(snapshot.sequence());
+            this.latest = new AtomicReference<>(snapshot);
+        }
+    }
+
+    public ListingTopicRegistry(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${PUSH_QUEUE_CAPACITY:16}") int queueCapacity,
+                                @Value("${PUSH_MAX_CONNECTIONS:20000}") int maxConnections,
+                                @Value("${PUSH_SENDER_THREADS:8}") int senderThreads,
+                                @Value("${PUSH_HEARTBEAT_MILLIS:15000}") long heartbeatMillis,
+                                @Value("${PUSH_SEND_TIMEOUT_MILLIS:5000}") long sendTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.maxConnections = maxConnections;
+        this.senderThreads = senderThreads;
+        this.heartbeatMillis = heartbeatMillis;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.sentFrames = meterRegistry.counter(PUSH_FRAMES, TAG_RESULT, RESULT_SENT);
+        this.droppedFrames = meterRegistry.counter(PUSH_FRAMES, TAG_RESULT, RESULT_DROPPED);
+        this.timedOutFrames = meterRegistry.counter(PUSH_FRAMES, TAG_RESULT, RESULT_TIMED_OUT);
+        meterRegistry.gauge(PUSH_CONNECTIONS, connections);
+        meterRegistry.gauge(PUSH_TOPICS, topics, Map::size);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (senders != null) {
+            senders.shutdownNow();
+        }
+    }
+
+    /** True once this node holds {@code PUSH_MAX_CONNECTIONS} streams; callers should shed the request. */
+    public boolean isFull() {
+        return connections.get() >= maxConnections;
+    }
+
+    /**
+     * Subscribes {@code sink} to a listing's updates, starting with its current state. {@code loader} is only
+     * called when nobody on this node is watching the listing yet; empty if it finds no listing.
+     */
+    public Optional<Subscription> subscribe(String listingId, FrameSink sink, Supplier<Optional<Listing>> loader) {
+        Topic existing = topics.get(listingId);
+        Frame snapshot;
+        if (existing != null) {
+            snapshot = existing.latest.get();
+        } else {
+            Optional<Listing> listing = loader.get();
+            if (listing.isEmpty()) {
+                return Optional.empty();
+            }
+            byte[] bytes = render(PRICE_EVENT, ListingPriceUpdate.from(listing.get()));
+            if (bytes == null) {
+                return Optional.empty();
+            }
+            snapshot = new Frame(0, bytes, version(listing.get().getUpdatedAt()), false);
+        }
+
+        Subscription subscription = new Subscription(listingId, sink, this, queueCapacity);
+        Topic topic = topics.compute(listingId, (id, current) -> {
+            Topic target = current != null ? current : new Topic(snapshot);
+            target.subscribers.add(subscription);
+            return target;
+        });
+        connections.incrementAndGet();
+
+        subscription.enqueue(Frame.control(("retry: "
+                + ThreadLocalRandom.current().nextInt(MIN_RETRY_MILLIS, MAX_RETRY_MILLIS) + "\n\n")
+                .getBytes(StandardCharsets.UTF_8)));
+        // Read after joining the topic: any later update is also queued, and the sequence check drops repeats
+        subscription.enqueue(topic.latest.get());
+        return Optional.of(subscription);
+    }
+
+    public void unsubscribe(Subscription subscription) {
+        if (!subscription.close()) {
+            return;
+        }
+        topics.computeIfPresent(subscription.listingId(), (id, topic) -> {
+            topic.subscribers.remove(subscription);
+            return topic.subscribers.isEmpty() ? null : topic;
+        });
+        connections.decrementAndGet();
+    }
+
+    /**
+     * Pushes the listing's live fields to everyone watching it on this node. Updates older than the one
+     * last pushed, or identical to it (the same write arriving directly and from the table stream), are skipped.
+     */
+    public void publish(Listing listing) {
+        Topic topic = topics.get(listing.getListingId());
+        if (topic == null) {
+            return;
+        }
+        byte[] bytes = render(PRICE_EVENT, ListingPriceUpdate.from(listing));
+        if (bytes == null) {
+            return;
+        }
+        long version = version(listing.getUpdatedAt());
+        Frame latest = topic.latest.get();
+        if (version < latest.version() || (version == latest.version() && Arrays.equals(bytes, latest.bytes()))) {
+            return;
+        }
+        Frame frame = new Frame(topic.sequence.incrementAndGet(), bytes, version, false);
+        // Concurrent publishes can finish out of order; the cached snapshot keeps the highest sequence
+        topic.latest.accumulateAndGet(frame, (current, next) -> next.sequence() > current.sequence() ? next : current);
+        for (Subscription subscription : topic.subscribers) {
+            subscription.enqueue(frame);
+        }
+    }
+
+    /** Tells watchers the listing is gone and ends their streams. */
+    public void close(String listingId) {
+        Topic topic = topics.remove(listingId);
+        if (topic == null) {
+            return;
+        }
+        byte[] bytes = render(DELETED_EVENT, ListingPriceUpdate.builder().listingId(listingId).build());
+        Frame frame = bytes != null ? new Frame(topic.sequence.incrementAndGet(), bytes, Long.MAX_VALUE, true) : null;
+        for (Subscription subscription : topic.subscribers) {
+            if (frame != null) {
+                subscription.enqueue(frame);
+            } else {
+                unsubscribe(subscription);
+            }
+        }
+    }
+
+    /** Keeps idle streams from being cut by the load balancer's idle timeout. */
+    @Scheduled(fixedDelayString = "${PUSH_HEARTBEAT_MILLIS:15000}")
+    public void heartbeat() {
+        if (connections.get() == 0) {
+            return;
+        }
+        long idleSince = System.currentTimeMillis() - heartbeatMillis;
+        for (Topic topic : topics.values()) {
+            for (Subscription subscription : topic.subscribers) {
+                if (subscription.lastSentAt() <= idleSince) {
+                    subscription.enqueue(HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    /** Closes streams whose write has been blocked for longer than {@code PUSH_SEND_TIMEOUT_MILLIS}. */
+    @Scheduled(fixedDelayString = "${PUSH_SEND_CHECK_MILLIS:1000}")
+    public void expireBlockedSends() {
+        if (sending.isEmpty()) {
+            return;
+        }
+        long startedBefore = System.currentTimeMillis() - sendTimeoutMillis;
+        for (Subscription subscription : sending) {
+            if (subscription.abandonIfStuck(startedBefore)) {
+                timedOutFrames.increment();
+                blockedSenders.incrementAndGet();
+                resizeSenders();
+            }
+        }
+    }
+
+    void execute(Runnable drain) {
+        ThreadPoolExecutor executor = senders;
+        if (executor == null) {
+            synchronized (this) {
+                if (senders == null) {
+                    AtomicInteger threadCount = new AtomicInteger();
+                    senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                            new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "listing-push-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                executor = senders;
+            }
+        }
+        executor.execute(drain);
+    }
+
+    void sendStarted(Subscription subscription) {
+        sending.add(subscription);
+    }
+
+    void sendFinished(Subscription subscription) {
+        sending.remove(subscription);
+    }
+
+    /** An abandoned send returned, so its thread is back in the pool. */
+    void senderReleased() {
+        blockedSenders.decrementAndGet();
+        resizeSenders();
+    }
+
+    private synchronized void resizeSenders() {
+        // Sized from the current count, so a release overtaking its own timeout still nets out
+        int size = senderThreads + Math.max(0, blockedSenders.get());
+        if (size > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    void recordSent() {
+        sentFrames.increment();
+    }
+
+    void recordDropped() {
+        droppedFrames.increment();
+    }
+
+    private byte[] render(String event, ListingPriceUpdate update) {
+        try {
+            String data = objectMapper.writeValueAsString(update);
+            return ("event: " + event + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to render update for listing {}", update.getListingId(), e);
+            return null;
+        }
+    }
+
+    private static long version(String updatedAt) {
+        try {
+            return updatedAt != null ? Instant.parse(updatedAt).toEpochMilli() : 0;
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+}
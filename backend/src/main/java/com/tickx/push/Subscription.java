@@ -0,0 +1,159 @@
+package com.tickx.push;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A watcher of one listing. Frames wait in a bounded queue that drops its oldest entry when full: updates
+ * carry the whole live state, so a slow client only ever needs the newest ones. At most one sender thread
+ * drains a subscription at a time, which keeps frames in order without holding a thread per connection. A
+ * send that blocks past the registry's timeout closes the subscription (see {@link #abandonIfStuck}).
+ */
+public final class Subscription {
+
+    private final String listingId;
+    private final FrameSink sink;
+    private final ListingTopicRegistry registry;
+    private final int capacity;
+    private final ArrayDeque<Frame> queue;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final Object sendLock = new Object();
+
+    // Only read and written by the thread currently draining
+    private long lastSequence = -1;
+    private volatile long lastSentAt = System.currentTimeMillis();
+    // Guarded by sendLock: when the current send started (0 when none is running), and whether it was given up on
+    private long sendingSince;
+    private boolean abandoned;
+
+    Subscription(String listingId, FrameSink sink, ListingTopicRegistry registry, int capacity) {
+        this.listingId = listingId;
+        this.sink = sink;
+        this.registry = registry;
+        this.capacity = capacity;
+        this.queue = new ArrayDeque<>(capacity);
+    }
+
+    public String listingId() {
+        return listingId;
+    }
+
+    long lastSentAt() {
+        return lastSentAt;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /** Marks the subscription closed; true only for the first caller. */
+    boolean close() {
+        return closed.compareAndSet(false, true);
+    }
+
+    /**
+     * Closes the subscription if its current send started before {@code startedBefore}. True if it did, in which
+     * case the registry is told through {@code ListingTopicRegistry.senderReleased} once that send returns.
+     */
+    boolean abandonIfStuck(long startedBefore) {
+        synchronized (sendLock) {
+            if (sendingSince == 0 || sendingSince >= startedBefore || abandoned) {
+                return false;
+            }
+            abandoned = true;
+        }
+        registry.unsubscribe(this);
+        sink.abort();
+        return true;
+    }
+
+    void enqueue(Frame frame) {
+        if (closed.get()) {
+            return;
+        }
+        boolean dropped = false;
+        synchronized (queue) {
+            if (frame == ListingTopicRegistry.HEARTBEAT && !queue.isEmpty()) {
+                return;
+            }
+            if (queue.size() == capacity) {
+                queue.pollFirst();
+                dropped = true;
+            }
+            queue.addLast(frame);
+        }
+        if (dropped) {
+            registry.recordDropped();
+        }
+        if (draining.compareAndSet(false, true)) {
+            registry.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Frame frame;
+                synchronized (queue) {
+                    frame = queue.pollFirst();
+                }
+                if (frame == null) {
+                    draining.set(false);
+                    // A frame queued between the poll and the reset saw draining=true and did not schedule us
+                    synchronized (queue) {
+                        if (queue.isEmpty()) {
+                            return;
+                        }
+                    }
+                    if (!draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (closed.get()) {
+                    return;
+                }
+                if (frame.sequence() >= 0) {
+                    // The snapshot sent on subscribe can repeat, or trail, an update fanned out at the same time
+                    if (frame.sequence() <= lastSequence) {
+                        continue;
+                    }
+                    lastSequence = frame.sequence();
+                }
+                send(frame.bytes());
+                lastSentAt = System.currentTimeMillis();
+                registry.recordSent();
+                if (frame.last()) {
+                    registry.unsubscribe(this);
+                    sink.complete();
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            // Client went away mid-write; the container also reports it, unsubscribe is idempotent
+            registry.unsubscribe(this);
+        }
+    }
+
+    private void send(byte[] bytes) throws Exception {
+        synchronized (sendLock) {
+            sendingSince = System.currentTimeMillis();
+        }
+        registry.sendStarted(this);
+        boolean wasAbandoned;
+        try {
+            sink.send(bytes);
+        } finally {
+            registry.sendFinished(this);
+            synchronized (sendLock) {
+                sendingSince = 0;
+                wasAbandoned = abandoned;
+                abandoned = false;
+            }
+            if (wasAbandoned) {
+                registry.senderReleased();
+            }
+        }
+    }
+}
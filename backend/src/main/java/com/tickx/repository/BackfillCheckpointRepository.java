@@ -0,0 +1,159 @@
+package com.tickx.repository;
+
+import com.tickx.metrics.ConsumedCapacityTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Backfill progress, stored in the Events table under {@code PK = BACKFILL#<job>}: a {@code RUN} item with the
+ * segment count the run was started with, and one {@code SEGMENT#nnnn} item per Scan segment holding the last
+ * key processed and running counts. The last key is kept as a DynamoDB Map so any key schema round-trips.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BackfillCheckpointRepository {
+
+    private static final String RUN_KEY = "RUN";
+    private static final String SEGMENT_PREFIX = "SEGMENT#";
+
+    private final DynamoDbClient dynamoDbClient;
+    private final ConsumedCapacityTracker capacityTracker;
+
+    @Value("${EVENTS_TABLE}")
+    private String eventsTable;
+
+    public record Checkpoint(int segment, Map<String, AttributeValue> lastKey, boolean done,
+                             long scanned, long rewritten, long unchanged, long skipped, long failed) {
+
+        public static Checkpoint start(int segment) {
+            return new Checkpoint(segment, null, false, 0, 0, 0, 0, 0);
+        }
+    }
+
+    /** Segment count of the job's current run, if one has been started. */
+    public Optional<Integer> findTotalSegments(String job) {
+        GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
+                .tableName(eventsTable)
+                .key(key(job, RUN_KEY))
+                .consistentRead(true)
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build());
+        capacityTracker.record("backfill.checkpoint", response.consumedCapacity());
+        if (!response.hasItem() || response.item().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(Integer.parseInt(response.item().get("totalSegments").n()));
+    }
+
+    public Map<Integer, Checkpoint> findSegments(String job) {
+        Map<Integer, Checkpoint> checkpoints = new HashMap<>();
+        Map<String, AttributeValue> lastKey = null;
+        do {
+            QueryRequest.Builder requestBuilder = QueryRequest.builder()
+                    .tableName(eventsTable)
+                    .keyConditionExpression("PK = :pk AND begins_with(SK, :prefix)")
+                    .expressionAttributeValues(Map.of(
+                            ":pk", AttributeValue.builder().s(partitionKey(job)).build(),
+                            ":prefix", AttributeValue.builder().s(SEGMENT_PREFIX).build()
+                    ))
+                    .consistentRead(true)
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+            if (lastKey != null) {
+                requestBuilder.exclusiveStartKey(lastKey);
+            }
+
+            QueryResponse response = dynamoDbClient.query(requestBuilder.build());
+            capacityTracker.record("backfill.checkpoint", response.consumedCapacity());
+            for (Map<String, AttributeValue> item : response.items()) {
+                Checkpoint checkpoint = toCheckpoint(item);
+                checkpoints.put(checkpoint.segment(), checkpoint);
+            }
+            lastKey = response.lastEvaluatedKey();
+        } while (lastKey != null && !lastKey.isEmpty());
+        return checkpoints;
+    }
+
+    /** Starts a new run, discarding the segment checkpoints of any previous one. */
+    public void startRun(String job, int totalSegments) {
+        findSegments(job).keySet().forEach(segment -> {
+            DeleteItemResponse response = dynamoDbClient.deleteItem(DeleteItemRequest.builder()
+                    .tableName(eventsTable)
+                    .key(key(job, segmentKey(segment)))
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+            capacityTracker.record("backfill.checkpoint", response.consumedCapacity());
+        });
+
+        Map<String, AttributeValue> item = new HashMap<>(key(job, RUN_KEY));
+        item.put("entityType", AttributeValue.builder().s("BACKFILL_RUN").build());
+        item.put("totalSegments", AttributeValue.builder().n(String.valueOf(totalSegments)).build());
+        item.put("startedAt", AttributeValue.builder().s(Instant.now().toString()).build());
+        put(item);
+    }
+
+    public void save(String job, Checkpoint checkpoint) {
+        Map<String, AttributeValue> item = new HashMap<>(key(job, segmentKey(checkpoint.segment())));
+        item.put("entityType", AttributeValue.builder().s("BACKFILL_SEGMENT").build());
+        item.put("segment", number(checkpoint.segment()));
+        item.put("done", AttributeValue.builder().bool(checkpoint.done()).build());
+        item.put("scanned", number(checkpoint.scanned()));
+        item.put("rewritten", number(checkpoint.rewritten()));
+        item.put("unchanged", number(checkpoint.unchanged()));
+        item.put("skipped", number(checkpoint.skipped()));
+        item.put("failed", number(checkpoint.failed()));
+        if (checkpoint.lastKey() != null && !checkpoint.lastKey().isEmpty()) {
+            item.put("lastKey", AttributeValue.builder().m(checkpoint.lastKey()).build());
+        }
+        put(item);
+    }
+
+    private void put(Map<String, AttributeValue> item) {
+        PutItemResponse response = dynamoDbClient.putItem(PutItemRequest.builder()
+                .tableName(eventsTable)
+                .item(item)
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build());
+        capacityTracker.record("backfill.checkpoint", response.consumedCapacity());
+    }
+
+    private static Checkpoint toCheckpoint(Map<String, AttributeValue> item) {
+        AttributeValue lastKey = item.get("lastKey");
+        return new Checkpoint(
+                Integer.parseInt(item.get("segment").n()),
+                lastKey != null && lastKey.hasM() ? lastKey.m() : null,
+                Boolean.TRUE.equals(item.get("done").bool()),
+                Long.parseLong(item.get("scanned").n()),
+                Long.parseLong(item.get("rewritten").n()),
+                Long.parseLong(item.get("unchanged").n()),
+                // Checkpoints from before skips were counted have none
+                item.containsKey("skipped") ? Long.parseLong(item.get("skipped").n()) : 0,
+                Long.parseLong(item.get("failed").n()));
+    }
+
+    private static AttributeValue number(long value) {
+        return AttributeValue.builder().n(String.valueOf(value)).build();
+    }
+
+    private static String partitionKey(String job) {
+        return "BACKFILL#" + job;
+    }
+
+    private static String segmentKey(int segment) {
+        return SEGMENT_PREFIX + String.format("%04d", segment);
+    }
+
+    private static Map<String, AttributeValue> key(String job, String sortKey) {
+        return Map.of(
+                "PK", AttributeValue.builder().s(partitionKey(job)).build(),
+                "SK", AttributeValue.builder().s(sortKey).build()
+        );
+    }
+}
@@ -0,0 +1,180 @@
+package com.tickx.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.tickx.model.Event;
+import com.tickx.util.AttributeValueConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Reads and writes the serialized event on an Events item.
+ *
+ * <p>Three formats exist: {@code data} as a JSON string (original Java writer), {@code data} as a DynamoDB
+ * Map (legacy TypeScript writer), and {@code dataBin}, a binary attribute holding a one-byte format header
+ * followed by the event as Smile, or for larger events the Smile length and its raw deflate. All three are
+ * readable; which one is written is chosen by {@code EVENT_DATA_FORMAT} ({@code json} or {@code binary}) so
+ * readers can be rolled out before the first binary item appears.
+ */
+@Slf4j
+@Component
+public class EventDataCodec {
+
+    static final String JSON_ATTRIBUTE = "data";
+    static final String BINARY_ATTRIBUTE = "dataBin";
+
+    private static final byte FORMAT_SMILE = 1;
+    private static final byte FORMAT_SMILE_DEFLATE = 2;
+
+    // Creating a zlib stream per event costs more than the inflate itself, so a few are pooled. Not per thread:
+    // with virtual threads every request is a new thread, and each would leave a native stream for the GC.
+    // Streams beyond the pool's size are ended as soon as they are returned.
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+    private static final BlockingQueue<Deflater> DEFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final BlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
+    private final boolean writeBinary;
+    private final int compressMinBytes;
+
+    public EventDataCodec(ObjectMapper objectMapper,
+                          @Value("${EVENT_DATA_FORMAT:json}") String format,
+                          @Value("${EVENT_DATA_COMPRESS_MIN_BYTES:512}") int compressMinBytes) {
+        this.objectMapper = objectMapper;
+        // Same configuration as the JSON mapper; shared value strings dedupe repeated names and URLs
+        this.smileMapper = objectMapper.copyWith(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build());
+        this.writeBinary = "binary".equalsIgnoreCase(format);
+        this.compressMinBytes = compressMinBytes;
+    }
+
+    /** Adds the event's data attribute to {@code item} in the configured format. */
+    public void write(Event event, Map<String, AttributeValue> item) throws IOException {
+        if (writeBinary) {
+            item.put(BINARY_ATTRIBUTE, AttributeValue.builder().b(SdkBytes.fromByteArray(encode(event))).build());
+        } else {
+            item.put(JSON_ATTRIBUTE, AttributeValue.builder().s(objectMapper.writeValueAsString(event)).build());
+        }
+    }
+
+    /** The event stored on {@code item}, or null if it has no readable data attribute. */
+    public Event read(Map<String, AttributeValue> item) throws IOException {
+        AttributeValue binary = item.get(BINARY_ATTRIBUTE);
+        if (binary != null && binary.b() != null) {
+            return decode(binary.b().asByteArrayUnsafe());
+        }
+
+        AttributeValue dataAttr = item.get(JSON_ATTRIBUTE);
+        if (dataAttr == null) {
+            log.warn("Event item has no '{}' or '{}' attribute", JSON_ATTRIBUTE, BINARY_ATTRIBUTE);
+            return null;
+        }
+        // Handle both String type (new Java format) and Map type (TypeScript format)
+        if (dataAttr.s() != null) {
+            return objectMapper.readValue(dataAttr.s(), Event.class);
+        } else if (dataAttr.m() != null && !dataAttr.m().isEmpty()) {
+            // Data stored as DynamoDB Map (from TypeScript DynamoDBDocumentClient)
+            Map<String, Object> dataMap = AttributeValueConverter.toJavaMap(dataAttr.m());
+            return objectMapper.convertValue(dataMap, Event.class);
+        }
+        log.warn("Event 'data' attribute is neither String nor Map");
+        return null;
+    }
+
+    byte[] encode(Event event) throws IOException {
+        byte[] smile = smileMapper.writeValueAsBytes(event);
+        if (smile.length >= compressMinBytes) {
+            byte[] deflated = deflate(smile);
+            if (deflated.length + 4 < smile.length) {
+                ByteBuffer bytes = ByteBuffer.allocate(deflated.length + 5);
+                bytes.put(FORMAT_SMILE_DEFLATE).putInt(smile.length).put(deflated);
+                return bytes.array();
+            }
+        }
+        return ByteBuffer.allocate(smile.length + 1).put(FORMAT_SMILE).put(smile).array();
+    }
+
+    Event decode(byte[] bytes) throws IOException {
+        if (bytes.length == 0) {
+            throw new IOException("Empty event data");
+        }
+        return switch (bytes[0]) {
+            case FORMAT_SMILE -> smileMapper.readValue(bytes, 1, bytes.length - 1, Event.class);
+            case FORMAT_SMILE_DEFLATE -> smileMapper.readValue(inflate(bytes), Event.class);
+            default -> throw new IOException("Unsupported event data format " + bytes[0]);
+        };
+    }
+
+    private static byte[] deflate(byte[] input) {
+        // Raw deflate: the format header already identifies the payload, so no zlib/gzip framing
+        Deflater deflater = DEFLATERS.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] buffer = new byte[input.length];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.reset();
+            if (!DEFLATERS.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) throws IOException {
+        int length = ByteBuffer.wrap(bytes, 1, 4).getInt();
+        Inflater inflater = INFLATERS.poll();
+        if (inflater == null) {
+            inflater = new Inflater(true);
+        }
+        try {
+            inflater.setInput(bytes, 5, bytes.length - 5);
+            byte[] output = new byte[length];
+            int inflated = 0;
+            while (inflated < length && !inflater.finished()) {
+                int n = inflater.inflate(output, inflated, length - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != length) {
+                throw new IOException("Truncated event data");
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt event data", e);
+        } finally {
+            inflater.reset();
+            if (!INFLATERS.offer(inflater)) {
+                inflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.tickx.repository;
+
+import com.tickx.metrics.ConsumedCapacityTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Listing aggregates stored as top-level attributes on the event item, so every event read carries them at
+ * no extra cost. The count moves with atomic {@code ADD}s; the price bounds only tighten through conditional
+ * {@code SET}s, and are swapped for a recomputed value only while they still hold the value being replaced.
+ * Every update requires the event item to exist, so listings on unknown events never create stub items.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventListingStatsRepository {
+
+    static final String LISTING_COUNT = "listingCount";
+    static final String LOWEST_ASK = "lowestAsk";
+    static final String HIGHEST_BID = "highestBid";
+
+    private final DynamoDbClient dynamoDbClient;
+    private final ConsumedCapacityTracker capacityTracker;
+
+    @Value("${EVENTS_TABLE}")
+    private String eventsTable;
+
+    public record PriceBounds(Double lowestAsk, Double highestBid) {}
+
+    public void addListings(String eventId, int delta) {
+        update(UpdateItemRequest.builder()
+                .updateExpression("ADD #attr :delta")
+                .conditionExpression("attribute_exists(PK)")
+                .expressionAttributeNames(Map.of("#attr", LISTING_COUNT))
+                .expressionAttributeValues(Map.of(":delta", number(delta))), eventId);
+    }
+
+    /** Lowers {@code lowestAsk} to {@code ask} if it is unset or higher. False if nothing changed. */
+    public boolean offerLowestAsk(String eventId, double ask) {
+        return tighten(eventId, LOWEST_ASK, ">", ask);
+    }
+
+    /** Raises {@code highestBid} to {@code bid} if it is unset or lower. False if nothing changed. */
+    public boolean offerHighestBid(String eventId, double bid) {
+        return tighten(eventId, HIGHEST_BID, "<", bid);
+    }
+
+    /**
+     * Replaces {@code lowestAsk} with {@code replacement} (or removes it when null), but only while it still
+     * equals {@code expected}; a concurrent lower offer wins.
+     */
+    public boolean replaceLowestAsk(String eventId, double expected, Double replacement) {
+        return replace(eventId, LOWEST_ASK, expected, replacement);
+    }
+
+    public boolean replaceHighestBid(String eventId, double expected, Double replacement) {
+        return replace(eventId, HIGHEST_BID, expected, replacement);
+    }
+
+    public Optional<PriceBounds> findPriceBounds(String eventId) {
+        GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
+                .tableName(eventsTable)
+                .key(key(eventId))
+                .projectionExpression("#ask, #bid")
+                .expressionAttributeNames(Map.of("#ask", LOWEST_ASK, "#bid", HIGHEST_BID))
+                .consistentRead(true)
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build());
+        capacityTracker.record("event.stats", response.consumedCapacity());
+        if (!response.hasItem() || response.item().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new PriceBounds(decimal(response.item().get(LOWEST_ASK)),
+                decimal(response.item().get(HIGHEST_BID))));
+    }
+
+    private boolean tighten(String eventId, String attribute, String comparison, double value) {
+        return update(UpdateItemRequest.builder()
+                .updateExpression("SET #attr = :value")
+                .conditionExpression("attribute_exists(PK) AND (attribute_not_exists(#attr) OR #attr "
+                        + comparison + " :value)")
+                .expressionAttributeNames(Map.of("#attr", attribute))
+                .expressionAttributeValues(Map.of(":value", number(value))), eventId);
+    }
+
+    private boolean replace(String eventId, String attribute, double expected, Double replacement) {
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":expected", number(expected));
+        if (replacement != null) {
+            values.put(":value", number(replacement));
+        }
+        return update(UpdateItemRequest.builder()
+                .updateExpression(replacement != null ? "SET #attr = :value" : "REMOVE #attr")
+                .conditionExpression("#attr = :expected")
+                .expressionAttributeNames(Map.of("#attr", attribute))
+                .expressionAttributeValues(values), eventId);
+    }
+
+    private boolean update(UpdateItemRequest.Builder requestBuilder, String eventId) {
+        try {
+            UpdateItemResponse response = dynamoDbClient.updateItem(requestBuilder
+                    .tableName(eventsTable)
+                    .key(key(eventId))
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+            capacityTracker.record("event.stats", response.consumedCapacity());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /** Copies the aggregates from {@code source} onto {@code target}, for writers that replace the whole item. */
+    static void copy(Map<String, AttributeValue> source, Map<String, AttributeValue> target) {
+        for (String attribute : new String[]{LISTING_COUNT, LOWEST_ASK, HIGHEST_BID}) {
+            AttributeValue value = source.get(attribute);
+            if (value != null) {
+                target.put(attribute, value);
+            }
+        }
+    }
+
+    static Double decimal(AttributeValue value) {
+        return value != null && value.n() != null ? Double.valueOf(value.n()) : null;
+    }
+
+    private static AttributeValue number(double value) {
+        return AttributeValue.builder().n(String.valueOf(value)).build();
+    }
+
+    private static AttributeValue number(int value) {
+        return AttributeValue.builder().n(String.valueOf(value)).build();
+    }
+
+    private static Map<String, AttributeValue> key(String eventId) {
+        return Map.of(
+                "PK", AttributeValue.builder().s("EVENT#" + eventId).build(),
+                "SK", AttributeValue.builder().s("EVENT#" + eventId).build()
+        );
+    }
+}
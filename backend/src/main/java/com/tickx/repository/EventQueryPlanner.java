@@ -0,0 +1,90 @@
+package com.tickx.repository;
+
+import com.tickx.cache.RequestCoalescer;
+import com.tickx.model.Event;
+import com.tickx.model.EventQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Serves any combination of /events filters from a single index query. The most selective index for the
+ * supplied filters is chosen (venue, then city+category, then city, then category); the date range is
+ * always part of the key condition and the remaining filters are applied to the results.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventQueryPlanner {
+
+    private final EventRepository eventRepository;
+    private final RequestCoalescer requestCoalescer;
+
+    // GSI4 (CITY#city#CATEGORY#category) must be added to the Events table before enabling
+    @Value("${EVENTS_CITY_CATEGORY_INDEX_ENABLED:false}")
+    private boolean cityCategoryIndexEnabled;
+
+    record Plan(String indexName, String partitionKey, Predicate<Event> filter) {}
+
+    public List<Event> execute(EventQuery query) {
+        Plan plan = plan(query);
+        log.debug("Serving {} from {} {} ({} filter)", query, plan.indexName(), plan.partitionKey(),
+                plan.filter() != null ? "with" : "no");
+        // The plan's filter has no value equality, so identical queries are recognised by their parameters
+        List<Object> arguments = Arrays.asList(plan.indexName(), plan.partitionKey(), query.getCity(), query.getCategory(),
+                query.getKeyword(), query.getDateFrom(), query.getDateTo(), query.getPageSize());
+        return requestCoalescer.execute("event.query", arguments, () -> eventRepository.queryIndex(plan.indexName(),
+                plan.partitionKey(), query.getDateFrom(), query.getDateTo(), plan.filter(), query.getPageSize(), "event.query"));
+    }
+
+    Plan plan(EventQuery query) {
+        String city = hasText(query.getCity()) ? cityKey(query.getCity()) : null;
+        String category = hasText(query.getCategory()) ? query.getCategory() : null;
+        String keyword = hasText(query.getKeyword()) ? query.getKeyword().toLowerCase() : null;
+
+        if (hasText(query.getVenueId())) {
+            return new Plan("GSI3", "VENUE#" + query.getVenueId(), filter(city, category, keyword));
+        }
+        if (city != null && category != null && cityCategoryIndexEnabled) {
+            return new Plan("GSI4", "CITY#" + city + "#CATEGORY#" + category, filter(null, null, keyword));
+        }
+        if (city != null) {
+            return new Plan("GSI1", "CITY#" + city, filter(null, category, keyword));
+        }
+        if (category != null) {
+            return new Plan("GSI2", "CATEGORY#" + category, filter(null, null, keyword));
+        }
+        throw new IllegalArgumentException("An event query needs a city, category or venue");
+    }
+
+    private Predicate<Event> filter(String city, String category, String keyword) {
+        Predicate<Event> filter = null;
+        if (city != null) {
+            filter = event -> event.getVenueCity() != null && cityKey(event.getVenueCity()).equals(city);
+        }
+        if (category != null) {
+            filter = and(filter, event -> event.getCategory() != null && event.getCategory().getValue().equals(category));
+        }
+        if (keyword != null) {
+            filter = and(filter, event -> EventRepository.matchesKeyword(event, keyword));
+        }
+        return filter;
+    }
+
+    private static Predicate<Event> and(Predicate<Event> first, Predicate<Event> second) {
+        return first != null ? first.and(second) : second;
+    }
+
+    public static String cityKey(String city) {
+        return city.toLowerCase().replace(" ", "_");
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -2,230 +2,329 @@ package com.tickx.repository;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickx.cache.RequestCoalescer;
+import com.tickx.metrics.ConsumedCapacityTracker;
 import com.tickx.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static com.tickx.constants.MetricsConstants.*;
+
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class EventRepository {
 
+    // Page size and page cap for index reads whose results are filtered in memory
+    private static final int FILTERED_QUERY_LIMIT = 100;
+    private static final int MAX_FILTERED_PAGES = 10;
+    private static final int MAX_BATCH_ATTEMPTS = 4;
+
     private final DynamoDbClient dynamoDbClient;
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
     private final ObjectMapper objectMapper;
+    private final EventDataCodec dataCodec;
+    private final MeterRegistry meterRegistry;
+    private final ConsumedCapacityTracker capacityTracker;
+    private final RequestCoalescer requestCoalescer;
 
     @Value("${EVENTS_TABLE}")
     private String eventsTable;
 
     public Optional<Event> findById(String eventId) {
-        try {
-            GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
-                    .tableName(eventsTable)
-                    .key(Map.of(
-                            "PK", AttributeValue.builder().s("EVENT#" + eventId).build(),
-                            "SK", AttributeValue.builder().s("EVENT#" + eventId).build()
-                    ))
-                    .build());
-
-            if (!response.hasItem() || response.item().isEmpty()) {
+        return requestCoalescer.execute("event.findById", eventId, () -> {
+            try {
+                GetItemResponse response = dynamoDbClient.getItem(buildGetItemRequest(eventId));
+                capacityTracker.record("event.findById", response.consumedCapacity());
+                return toEvent(response);
+            } catch (Exception e) {
+                log.error("Error fetching event {}: {}", eventId, e.getMessage());
                 return Optional.empty();
             }
+        });
+    }
 
-            return Optional.of(parseEvent(response.item()));
-        } catch (Exception e) {
-            log.error("Error fetching event {}: {}", eventId, e.getMessage());
+    public CompletableFuture<Optional<Event>> findByIdAsync(String eventId) {
+        Consumer<ConsumedCapacity> recordCapacity = capacityTracker.recorder("event.findById");
+        return requestCoalescer.executeAsync("event.findById", eventId,
+                () -> dynamoDbAsyncClient.getItem(buildGetItemRequest(eventId))
+                        .thenApply(response -> {
+                            recordCapacity.accept(response.consumedCapacity());
+                            return toEvent(response);
+                        })
+                        .exceptionally(e -> {
+                            log.error("Error fetching event {}: {}", eventId, e.getMessage());
+                            return Optional.empty();
+                        }));
+    }
+
+    private GetItemRequest buildGetItemRequest(String eventId) {
+        return GetItemRequest.builder()
+                .tableName(eventsTable)
+                .key(Map.of(
+                        "PK", AttributeValue.builder().s("EVENT#" + eventId).build(),
+                        "SK", AttributeValue.builder().s("EVENT#" + eventId).build()
+                ))
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build();
+    }
+
+    private Optional<Event> toEvent(GetItemResponse response) {
+        if (!response.hasItem() || response.item().isEmpty()) {
             return Optional.empty();
         }
+        return Optional.ofNullable(parseEvent(response.item()));
     }
 
-    public List<Event> findByCity(String city, String dateFrom, String dateTo,
-                                   int pageSize, String cursor) {
-        String cityKey = city.toLowerCase().replace(" ", "_");
-        String today = LocalDate.now().toString();
-        String from = dateFrom != null ? dateFrom : today;
-        String to = dateTo != null ? dateTo : "2099-12-31";
+    public Map<String, Event> findByIds(Collection<String> eventIds) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(eventIds));
+        return requestCoalescer.execute("event.findByIds", ids, () -> batchGet(ids));
+    }
 
-        try {
-            QueryRequest.Builder requestBuilder = QueryRequest.builder()
-                    .tableName(eventsTable)
-                    .indexName("GSI1")
-                    .keyConditionExpression("GSI1PK = :pk AND GSI1SK BETWEEN :skStart AND :skEnd")
-                    .expressionAttributeValues(Map.of(
-                            ":pk", AttributeValue.builder().s("CITY#" + cityKey).build(),
-                            ":skStart", AttributeValue.builder().s("DATE#" + from).build(),
-                            ":skEnd", AttributeValue.builder().s("DATE#" + to + "#EVENT#zzz").build()
+    private Map<String, Event> batchGet(List<String> ids) {
+        Map<String, Event> events = new HashMap<>();
+
+        // DynamoDB batch get limit is 100
+        for (int i = 0; i < ids.size(); i += 100) {
+            List<Map<String, AttributeValue>> keys = ids.subList(i, Math.min(i + 100, ids.size())).stream()
+                    .map(id -> Map.of(
+                            "PK", AttributeValue.builder().s("EVENT#" + id).build(),
+                            "SK", AttributeValue.builder().s("EVENT#" + id).build()
                     ))
-                    .limit(pageSize);
+                    .collect(Collectors.toList());
 
-            if (cursor != null && !cursor.isEmpty()) {
-                requestBuilder.exclusiveStartKey(decodeCursor(cursor));
+            Map<String, KeysAndAttributes> requestItems = Map.of(eventsTable,
+                    KeysAndAttributes.builder().keys(keys).build());
+
+            try {
+                // Retry unprocessed keys (throttling) a bounded number of times, backing off with jitter
+                for (int attempt = 0; attempt < MAX_BATCH_ATTEMPTS && !requestItems.isEmpty(); attempt++) {
+                    if (attempt > 0) {
+                        Thread.sleep(ThreadLocalRandom.current().nextLong(1, Math.min(1000, 25L << attempt)));
+                    }
+                    BatchGetItemResponse response = dynamoDbClient.batchGetItem(BatchGetItemRequest.builder()
+                            .requestItems(requestItems)
+                            .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                            .build());
+                    capacityTracker.record("event.findByIds", response.consumedCapacity());
+
+                    response.responses().getOrDefault(eventsTable, List.of()).stream()
+                            .map(this::parseEvent)
+                            .filter(Objects::nonNull)
+                            .forEach(event -> events.put(event.getId(), event));
+
+                    requestItems = response.unprocessedKeys();
+                }
+                if (!requestItems.isEmpty()) {
+                    log.warn("Dropped {} unprocessed event keys after {} attempts",
+                            requestItems.get(eventsTable).keys().size(), MAX_BATCH_ATTEMPTS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted batch fetching {} events", keys.size());
+                break;
+            } catch (Exception e) {
+                log.error("Error batch fetching {} events: {}", keys.size(), e.getMessage());
             }
+        }
 
-            QueryResponse response = dynamoDbClient.query(requestBuilder.build());
-            List<Event> events = response.items().stream()
-                    .map(this::parseEvent)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+        return events;
+    }
 
-            String nextCursor = response.lastEvaluatedKey() != null && !response.lastEvaluatedKey().isEmpty()
-                    ? encodeCursor(response.lastEvaluatedKey())
-                    : null;
+    public List<Event> findByCity(String city, String dateFrom, String dateTo,
+                                   int pageSize, String cursor) {
+        return requestCoalescer.execute("event.findByCity", Arrays.asList(city, dateFrom, dateTo, pageSize, cursor), () -> {
+            try {
+                QueryResponse response = dynamoDbClient.query(buildCityQuery(city, dateFrom, dateTo, pageSize, cursor));
+                capacityTracker.record("event.findByCity", response.consumedCapacity());
+                return parseEvents(response);
+            } catch (Exception e) {
+                log.error("Error querying events by city {}: {}", city, e.getMessage());
+                return List.of();
+            }
+        });
+    }
 
-            return events;
-        } catch (Exception e) {
-            log.error("Error querying events by city {}: {}", city, e.getMessage());
-            return List.of();
-        }
+    public CompletableFuture<List<Event>> findByCityAsync(String city, String dateFrom, String dateTo,
+                                                          int pageSize, String cursor) {
+        Consumer<ConsumedCapacity> recordCapacity = capacityTracker.recorder("event.findByCity");
+        return requestCoalescer.executeAsync("event.findByCity", Arrays.asList(city, dateFrom, dateTo, pageSize, cursor),
+                () -> dynamoDbAsyncClient.query(buildCityQuery(city, dateFrom, dateTo, pageSize, cursor))
+                        .thenApply(response -> {
+                            recordCapacity.accept(response.consumedCapacity());
+                            return parseEvents(response);
+                        })
+                        .exceptionally(e -> {
+                            log.error("Error querying events by city {}: {}", city, e.getMessage());
+                            return List.of();
+                        }));
     }
 
     public List<Event> findByCategory(String category, String dateFrom, String dateTo,
                                        int pageSize, String cursor) {
-        String today = LocalDate.now().toString();
-        String from = dateFrom != null ? dateFrom : today;
-        String to = dateTo != null ? dateTo : "2099-12-31";
+        return requestCoalescer.execute("event.findByCategory", Arrays.asList(category, dateFrom, dateTo, pageSize, cursor), () -> {
+            try {
+                QueryResponse response = dynamoDbClient.query(buildCategoryQuery(category, dateFrom, dateTo, pageSize, cursor));
+                capacityTracker.record("event.findByCategory", response.consumedCapacity());
+                return parseEvents(response);
+            } catch (Exception e) {
+                log.error("Error querying events by category {}: {}", category, e.getMessage());
+                return List.of();
+            }
+        });
+    }
 
-        try {
-            QueryRequest.Builder requestBuilder = QueryRequest.builder()
-                    .tableName(eventsTable)
-                    .indexName("GSI2")
-                    .keyConditionExpression("GSI2PK = :pk AND GSI2SK BETWEEN :skStart AND :skEnd")
-                    .expressionAttributeValues(Map.of(
-                            ":pk", AttributeValue.builder().s("CATEGORY#" + category).build(),
-                            ":skStart", AttributeValue.builder().s("DATE#" + from).build(),
-                            ":skEnd", AttributeValue.builder().s("DATE#" + to + "#EVENT#zzz").build()
-                    ))
-                    .limit(pageSize);
+    public CompletableFuture<List<Event>> findByCategoryAsync(String category, String dateFrom, String dateTo,
+                                                              int pageSize, String cursor) {
+        Consumer<ConsumedCapacity> recordCapacity = capacityTracker.recorder("event.findByCategory");
+        return requestCoalescer.executeAsync("event.findByCategory", Arrays.asList(category, dateFrom, dateTo, pageSize, cursor),
+                () -> dynamoDbAsyncClient.query(buildCategoryQuery(category, dateFrom, dateTo, pageSize, cursor))
+                        .thenApply(response -> {
+                            recordCapacity.accept(response.consumedCapacity());
+                            return parseEvents(response);
+                        })
+                        .exceptionally(e -> {
+                            log.error("Error querying events by category {}: {}", category, e.getMessage());
+                            return List.of();
+                        }));
+    }
 
-            if (cursor != null && !cursor.isEmpty()) {
-                requestBuilder.exclusiveStartKey(decodeCursor(cursor));
+    public List<Event> findByVenue(String venueId, String dateFrom, String dateTo,
+                                    int pageSize, String cursor) {
+        return requestCoalescer.execute("event.findByVenue", Arrays.asList(venueId, dateFrom, dateTo, pageSize, cursor), () -> {
+            try {
+                QueryResponse response = dynamoDbClient.query(buildVenueQuery(venueId, dateFrom, dateTo, pageSize, cursor));
+                capacityTracker.record("event.findByVenue", response.consumedCapacity());
+                return parseEvents(response);
+            } catch (Exception e) {
+                log.error("Error querying events by venue {}: {}", venueId, e.getMessage());
+                return List.of();
             }
+        });
+    }
 
-            QueryResponse response = dynamoDbClient.query(requestBuilder.build());
-            List<Event> events = response.items().stream()
-                    .map(this::parseEvent)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+    public CompletableFuture<List<Event>> findByVenueAsync(String venueId, String dateFrom, String dateTo,
+                                                           int pageSize, String cursor) {
+        Consumer<ConsumedCapacity> recordCapacity = capacityTracker.recorder("event.findByVenue");
+        return requestCoalescer.executeAsync("event.findByVenue", Arrays.asList(venueId, dateFrom, dateTo, pageSize, cursor),
+                () -> dynamoDbAsyncClient.query(buildVenueQuery(venueId, dateFrom, dateTo, pageSize, cursor))
+                        .thenApply(response -> {
+                            recordCapacity.accept(response.consumedCapacity());
+                            return parseEvents(response);
+                        })
+                        .exceptionally(e -> {
+                            log.error("Error querying events by venue {}: {}", venueId, e.getMessage());
+                            return List.of();
+                        }));
+    }
 
-            String nextCursor = response.lastEvaluatedKey() != null && !response.lastEvaluatedKey().isEmpty()
-                    ? encodeCursor(response.lastEvaluatedKey())
-                    : null;
+    private QueryRequest buildCityQuery(String city, String dateFrom, String dateTo, int pageSize, String cursor) {
+        String cityKey = city.toLowerCase().replace(" ", "_");
+        return buildDateRangeQuery("GSI1", "CITY#" + cityKey, dateFrom, dateTo, pageSize, cursor);
+    }
 
-            return events;
-        } catch (Exception e) {
-            log.error("Error querying events by category {}: {}", category, e.getMessage());
-            return List.of();
-        }
+    private QueryRequest buildCategoryQuery(String category, String dateFrom, String dateTo, int pageSize, String cursor) {
+        return buildDateRangeQuery("GSI2", "CATEGORY#" + category, dateFrom, dateTo, pageSize, cursor);
     }
 
-    public List<Event> findByVenue(String venueId, String dateFrom, String dateTo,
-                                    int pageSize, String cursor) {
+    private QueryRequest buildVenueQuery(String venueId, String dateFrom, String dateTo, int pageSize, String cursor) {
+        return buildDateRangeQuery("GSI3", "VENUE#" + venueId, dateFrom, dateTo, pageSize, cursor);
+    }
+
+    private QueryRequest buildDateRangeQuery(String indexName, String partitionKey, String dateFrom, String dateTo,
+                                             int pageSize, String cursor) {
         String today = LocalDate.now().toString();
         String from = dateFrom != null ? dateFrom : today;
         String to = dateTo != null ? dateTo : "2099-12-31";
 
-        try {
-            QueryRequest.Builder requestBuilder = QueryRequest.builder()
-                    .tableName(eventsTable)
-                    .indexName("GSI3")
-                    .keyConditionExpression("GSI3PK = :pk AND GSI3SK BETWEEN :skStart AND :skEnd")
-                    .expressionAttributeValues(Map.of(
-                            ":pk", AttributeValue.builder().s("VENUE#" + venueId).build(),
-                            ":skStart", AttributeValue.builder().s("DATE#" + from).build(),
-                            ":skEnd", AttributeValue.builder().s("DATE#" + to + "#EVENT#zzz").build()
-                    ))
-                    .limit(pageSize);
-
-            if (cursor != null && !cursor.isEmpty()) {
-                requestBuilder.exclusiveStartKey(decodeCursor(cursor));
-            }
-
-            QueryResponse response = dynamoDbClient.query(requestBuilder.build());
-            List<Event> events = response.items().stream()
-                    .map(this::parseEvent)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-
-            String nextCursor = response.lastEvaluatedKey() != null && !response.lastEvaluatedKey().isEmpty()
-                    ? encodeCursor(response.lastEvaluatedKey())
-                    : null;
-
-            return events;
-        } catch (Exception e) {
-            log.error("Error querying events by venue {}: {}", venueId, e.getMessage());
-            return List.of();
+        QueryRequest.Builder requestBuilder = QueryRequest.builder()
+                .tableName(eventsTable)
+                .indexName(indexName)
+                .keyConditionExpression(indexName + "PK = :pk AND " + indexName + "SK BETWEEN :skStart AND :skEnd")
+                .expressionAttributeValues(Map.of(
+                        ":pk", AttributeValue.builder().s(partitionKey).build(),
+                        ":skStart", AttributeValue.builder().s("DATE#" + from).build(),
+                        ":skEnd", AttributeValue.builder().s("DATE#" + to + "#EVENT#zzz").build()
+                ))
+                .limit(pageSize)
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+
+        if (cursor != null && !cursor.isEmpty()) {
+            requestBuilder.exclusiveStartKey(decodeCursor(cursor));
         }
+
+        return requestBuilder.build();
     }
 
-    public List<Event> searchByKeyword(String keyword, String city, String category, int pageSize) {
-        String keywordLower = keyword.toLowerCase();
-        String today = LocalDate.now().toString();
+    /**
+     * Reads one index partition in date order until {@code pageSize} events pass {@code filter}. Unfiltered
+     * reads are a single query; filtered ones read larger pages until the result fills or the page cap is hit.
+     */
+    List<Event> queryIndex(String indexName, String partitionKey, String dateFrom, String dateTo,
+                           Predicate<Event> filter, int pageSize, String operation) {
+        int limit = filter != null ? Math.max(pageSize, FILTERED_QUERY_LIMIT) : pageSize;
+        List<Event> events = new ArrayList<>();
+        Map<String, AttributeValue> lastKey = null;
+        int pages = 0;
 
         try {
-            // Scan all events (MVP approach - will migrate to OpenSearch for production)
-            List<Event> allEvents = new ArrayList<>();
-            Map<String, AttributeValue> lastKey = null;
-
             do {
-                ScanRequest.Builder requestBuilder = ScanRequest.builder()
-                        .tableName(eventsTable)
-                        .filterExpression("entityType = :entityType")
-                        .expressionAttributeValues(Map.of(
-                                ":entityType", AttributeValue.builder().s("EVENT").build()
-                        ));
-
+                QueryRequest.Builder requestBuilder = buildDateRangeQuery(indexName, partitionKey, dateFrom, dateTo, limit, null)
+                        .toBuilder();
                 if (lastKey != null) {
                     requestBuilder.exclusiveStartKey(lastKey);
                 }
 
-                ScanResponse response = dynamoDbClient.scan(requestBuilder.build());
-                response.items().stream()
-                        .map(this::parseEvent)
-                        .filter(Objects::nonNull)
-                        .forEach(allEvents::add);
-
-                lastKey = response.lastEvaluatedKey();
-            } while (lastKey != null && !lastKey.isEmpty());
-
-            // Filter in memory
-            List<Event> filtered = allEvents.stream()
-                    .filter(event -> event.getLocalDate() != null && event.getLocalDate().compareTo(today) >= 0)
-                    .filter(event -> {
-                        if (city != null && !city.isEmpty()) {
-                            String venueCity = event.getVenueCity();
-                            if (venueCity == null) return false;
-                            if (city.equals("chicago") && !venueCity.equals("Chicago")) return false;
-                            if (city.equals("new_york") && !venueCity.equals("New York")) return false;
-                        }
-                        return true;
-                    })
-                    .filter(event -> {
-                        if (category != null && !category.isEmpty()) {
-                            return event.getCategory() != null &&
-                                   event.getCategory().getValue().equals(category);
+                QueryResponse response = dynamoDbClient.query(requestBuilder.build());
+                capacityTracker.record(operation, response.consumedCapacity());
+                for (Map<String, AttributeValue> item : response.items()) {
+                    Event event = parseEvent(item);
+                    if (event != null && (filter == null || filter.test(event))) {
+                        events.add(event);
+                        if (events.size() == pageSize) {
+                            break;
                         }
-                        return true;
-                    })
-                    .filter(event -> matchesKeyword(event, keywordLower))
-                    .sorted(Comparator.comparing(Event::getLocalDate))
-                    .limit(pageSize)
-                    .collect(Collectors.toList());
-
-            return filtered;
+                    }
+                }
+                lastKey = response.lastEvaluatedKey();
+                if (++pages == MAX_FILTERED_PAGES && events.size() < pageSize && lastKey != null && !lastKey.isEmpty()) {
+                    // The filters are too selective for this index; worth a composite index if it shows up often
+                    log.warn("Stopped {} query on {} after {} pages with {} of {} events", operation, indexName,
+                            pages, events.size(), pageSize);
+                    meterRegistry.counter(DYNAMODB_BUDGET_EXCEEDED, TAG_OPERATION, operation, TAG_INDEX, indexName).increment();
+                    break;
+                }
+            } while (events.size() < pageSize && lastKey != null && !lastKey.isEmpty());
         } catch (Exception e) {
-            log.error("Error searching events: {}", e.getMessage());
+            log.error("Error querying events on {} for {}: {}", indexName, partitionKey, e.getMessage());
             return List.of();
         }
+        return events;
+    }
+
+    private List<Event> parseEvents(QueryResponse response) {
+        return response.items().stream()
+                .map(this::parseEvent)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
-    private boolean matchesKeyword(Event event, String keyword) {
+    static boolean matchesKeyword(Event event, String keyword) {
         if (event.getName() != null && event.getName().toLowerCase().contains(keyword)) {
             return true;
         }
@@ -250,130 +349,144 @@ public class EventRepository {
 
     public void save(Event event) {
         try {
-            String dataJson = objectMapper.writeValueAsString(event);
-            String cityKey = event.getVenueCity().toLowerCase().replace(" ", "_");
-
-            Map<String, AttributeValue> item = new HashMap<>();
-            item.put("PK", AttributeValue.builder().s("EVENT#" + event.getId()).build());
-            item.put("SK", AttributeValue.builder().s("EVENT#" + event.getId()).build());
-            item.put("GSI1PK", AttributeValue.builder().s("CITY#" + cityKey).build());
-            item.put("GSI1SK", AttributeValue.builder().s("DATE#" + event.getLocalDate() + "#EVENT#" + event.getId()).build());
-            item.put("GSI2PK", AttributeValue.builder().s("CATEGORY#" + event.getCategory().getValue()).build());
-            item.put("GSI2SK", AttributeValue.builder().s("DATE#" + event.getLocalDate() + "#EVENT#" + event.getId()).build());
-            item.put("GSI3PK", AttributeValue.builder().s("VENUE#" + event.getVenueId()).build());
-            item.put("GSI3SK", AttributeValue.builder().s("DATE#" + event.getLocalDate() + "#EVENT#" + event.getId()).build());
-            item.put("entityType", AttributeValue.builder().s("EVENT").build());
-            item.put("data", AttributeValue.builder().s(dataJson).build());
-
-            dynamoDbClient.putItem(PutItemRequest.builder()
-                    .tableName(eventsTable)
-                    .item(item)
-                    .build());
-        } catch (JsonProcessingException e) {
+            UpdateItemResponse response = dynamoDbClient.updateItem(buildUpsertRequest(event));
+            capacityTracker.record("event.save", response.consumedCapacity());
+        } catch (IOException e) {
             log.error("Error serializing event {}: {}", event.getId(), e.getMessage());
             throw new RuntimeException("Failed to serialize event", e);
         }
     }
 
     public void saveBatch(List<Event> events) {
-        // DynamoDB batch limit is 25
+        // One UpdateItem per event rather than BatchWriteItem puts, which would wipe the listing aggregates;
+        // issued concurrently, 25 in flight at a time
+        Consumer<ConsumedCapacity> recordCapacity = capacityTracker.recorder("event.saveBatch");
         for (int i = 0; i < events.size(); i += 25) {
-            List<Event> batch = events.subList(i, Math.min(i + 25, events.size()));
-            List<WriteRequest> writeRequests = batch.stream()
-                    .map(this::createWriteRequest)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-
-            if (!writeRequests.isEmpty()) {
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (Event event : events.subList(i, Math.min(i + 25, events.size()))) {
+                UpdateItemRequest request;
                 try {
-                    dynamoDbClient.batchWriteItem(BatchWriteItemRequest.builder()
-                            .requestItems(Map.of(eventsTable, writeRequests))
-                            .build());
-                } catch (Exception e) {
-                    log.error("Error batch writing events: {}", e.getMessage());
+                    request = buildUpsertRequest(event);
+                } catch (IOException e) {
+                    log.error("Error creating write request for event {}: {}", event.getId(), e.getMessage());
+                    continue;
                 }
+                writes.add(dynamoDbAsyncClient.updateItem(request)
+                        .thenAccept(response -> recordCapacity.accept(response.consumedCapacity()))
+                        .exceptionally(e -> {
+                            log.error("Error writing event {}: {}", event.getId(), e.getMessage());
+                            return null;
+                        }));
             }
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
         }
     }
 
-    private WriteRequest createWriteRequest(Event event) {
-        try {
-            String dataJson = objectMapper.writeValueAsString(event);
-            String cityKey = event.getVenueCity().toLowerCase().replace(" ", "_");
-
-            Map<String, AttributeValue> item = new HashMap<>();
-            item.put("PK", AttributeValue.builder().s("EVENT#" + event.getId()).build());
-            item.put("SK", AttributeValue.builder().s("EVENT#" + event.getId()).build());
-            item.put("GSI1PK", AttributeValue.builder().s("CITY#" + cityKey).build());
-            item.put("GSI1SK", AttributeValue.builder().s("DATE#" + event.getLocalDate() + "#EVENT#" + event.getId()).build());
-            item.put("GSI2PK", AttributeValue.builder().s("CATEGORY#" + event.getCategory().getValue()).build());
-            item.put("GSI2SK", AttributeValue.builder().s("DATE#" + event.getLocalDate() + "#EVENT#" + event.getId()).build());
-            item.put("GSI3PK", AttributeValue.builder().s("VENUE#" + event.getVenueId()).build());
-            item.put("GSI3SK", AttributeValue.builder().s("DATE#" + event.getLocalDate() + "#EVENT#" + event.getId()).build());
-            item.put("entityType", AttributeValue.builder().s("EVENT").build());
-            item.put("data", AttributeValue.builder().s(dataJson).build());
-
-            return WriteRequest.builder()
-                    .putRequest(PutRequest.builder().item(item).build())
-                    .build();
-        } catch (JsonProcessingException e) {
-            log.error("Error creating write request for event {}: {}", event.getId(), e.getMessage());
-            return null;
+    /**
+     * Writes every attribute {@link #toItem} produces and leaves the rest of the item alone, so the listing
+     * aggregates maintained by {@link EventListingStatsRepository} survive a re-sync.
+     */
+    private UpdateItemRequest buildUpsertRequest(Event event) throws IOException {
+        Map<String, AttributeValue> item = toItem(event);
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        List<String> assignments = new ArrayList<>();
+        item.forEach((name, value) -> {
+            if (!name.equals("PK") && !name.equals("SK")) {
+                int n = assignments.size();
+                names.put("#a" + n, name);
+                values.put(":v" + n, value);
+                assignments.add("#a" + n + " = :v" + n);
+            }
+        });
+        // Drop the data attribute of the other format so readers never see both
+        names.put("#stale", item.containsKey(EventDataCodec.BINARY_ATTRIBUTE)
+                ? EventDataCodec.JSON_ATTRIBUTE : EventDataCodec.BINARY_ATTRIBUTE);
+
+        return UpdateItemRequest.builder()
+                .tableName(eventsTable)
+                .key(Map.of("PK", item.get("PK"), "SK", item.get("SK")))
+                .updateExpression("SET " + String.join(", ", assignments) + " REMOVE #stale")
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build();
+    }
+
+    private Map<String, AttributeValue> toItem(Event event) throws IOException {
+        String cityKey = event.getVenueCity().toLowerCase().replace(" ", "_");
+
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("PK", AttributeValue.builder().s("EVENT#" + event.getId()).build());
+        item.put("SK", AttributeValue.builder().s("EVENT#" + event.getId()).build());
+        item.put("GSI1PK", AttributeValue.builder().s("CITY#" + cityKey).build());
+        item.put("GSI1SK", AttributeValue.builder().s("DATE#" + event.getLocalDate() + "#EVENT#" + event.getId()).build());
+        item.put("GSI2PK", AttributeValue.builder().s("CATEGORY#" + event.getCategory().getValue()).build());
+        item.put("GSI2SK", AttributeValue.builder().s("DATE#" + event.getLocalDate() + "#EVENT#" + event.getId()).build());
+        item.put("GSI3PK", AttributeValue.builder().s("VENUE#" + event.getVenueId()).build());
+        item.put("GSI3SK", AttributeValue.builder().s("DATE#" + event.getLocalDate() + "#EVENT#" + event.getId()).build());
+        item.put("GSI4PK", AttributeValue.builder().s("CITY#" + cityKey + "#CATEGORY#" + event.getCategory().getValue()).build());
+        item.put("GSI4SK", AttributeValue.builder().s("DATE#" + event.getLocalDate() + "#EVENT#" + event.getId()).build());
+        item.put("entityType", AttributeValue.builder().s("EVENT").build());
+        dataCodec.write(event, item);
+        return item;
+    }
+
+    /**
+     * The item as the current writer would store it: keys re-derived and data re-encoded in the configured
+     * format. Empty for items that are not events or whose data cannot be read.
+     */
+    public Optional<Map<String, AttributeValue>> rewriteItem(Map<String, AttributeValue> item) throws IOException {
+        AttributeValue entityType = item.get("entityType");
+        if (entityType == null || !"EVENT".equals(entityType.s())) {
+            return Optional.empty();
         }
+        Event event = dataCodec.read(item);
+        if (event == null) {
+            return Optional.empty();
+        }
+        Map<String, AttributeValue> rewritten = toItem(event);
+        EventListingStatsRepository.copy(item, rewritten);
+        return Optional.of(rewritten);
     }
 
-    private Event parseEvent(Map<String, AttributeValue> item) {
-        try {
-            AttributeValue dataAttr = item.get("data");
-            if (dataAttr == null) {
-                log.warn("Event item has no 'data' attribute");
-                return null;
-            }
+    /** The event stored on an Events table item; empty for other item types (search snapshots, checkpoints). */
+    public Optional<Event> fromItem(Map<String, AttributeValue> item) {
+        AttributeValue entityType = item.get("entityType");
+        if (entityType == null || !"EVENT".equals(entityType.s())) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(parseEvent(item));
+    }
 
-            // Handle both String type (new Java format) and Map type (TypeScript format)
-            if (dataAttr.s() != null) {
-                // Data stored as JSON string
-                String json = dataAttr.s();
-                return objectMapper.readValue(json, Event.class);
-            } else if (dataAttr.m() != null && !dataAttr.m().isEmpty()) {
-                // Data stored as DynamoDB Map (from TypeScript DynamoDBDocumentClient)
-                Map<String, Object> dataMap = convertAttributeMapToJavaMap(dataAttr.m());
-                return objectMapper.convertValue(dataMap, Event.class);
-            } else {
-                log.warn("Event 'data' attribute is neither String nor Map");
-                return null;
+    Event parseEvent(Map<String, AttributeValue> item) {
+        return meterRegistry.timer(JSON_PARSE, TAG_ENTITY, "event").record(() -> readEvent(item));
+    }
+
+    private Event readEvent(Map<String, AttributeValue> item) {
+        try {
+            Event event = dataCodec.read(item);
+            if (event != null) {
+                applyListingStats(event, item);
             }
+            return event;
         } catch (Exception e) {
             log.error("Error parsing event: {} - {}", e.getMessage(), e.getClass().getSimpleName());
             return null;
         }
     }
 
-    private Map<String, Object> convertAttributeMapToJavaMap(Map<String, AttributeValue> attrMap) {
-        Map<String, Object> result = new HashMap<>();
-        for (Map.Entry<String, AttributeValue> entry : attrMap.entrySet()) {
-            result.put(entry.getKey(), convertAttributeValue(entry.getValue()));
-        }
-        return result;
-    }
-
-    private Object convertAttributeValue(AttributeValue av) {
-        if (av.s() != null) return av.s();
-        if (av.n() != null) {
-            String num = av.n();
-            if (num.contains(".")) return Double.parseDouble(num);
-            return Long.parseLong(num);
-        }
-        if (av.bool() != null) return av.bool();
-        if (av.m() != null && !av.m().isEmpty()) return convertAttributeMapToJavaMap(av.m());
-        if (av.l() != null && !av.l().isEmpty()) {
-            return av.l().stream().map(this::convertAttributeValue).collect(Collectors.toList());
+    // The aggregates live outside the serialized data so listing writes can update them in place
+    private static void applyListingStats(Event event, Map<String, AttributeValue> item) {
+        AttributeValue count = item.get(EventListingStatsRepository.LISTING_COUNT);
+        if (count != null && count.n() != null) {
+            event.setListingCount(Math.max(0, Integer.parseInt(count.n())));
         }
-        if (av.nul() != null && av.nul()) return null;
-        return null;
+        event.setLowestAsk(EventListingStatsRepository.decimal(item.get(EventListingStatsRepository.LOWEST_ASK)));
+        event.setHighestBid(EventListingStatsRepository.decimal(item.get(EventListingStatsRepository.HIGHEST_BID)));
     }
 
-    private String encodeCursor(Map<String, AttributeValue> lastKey) {
+    String encodeCursor(Map<String, AttributeValue> lastKey) {
         try {
             Map<String, String> simplified = lastKey.entrySet().stream()
                     .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().s()));
@@ -384,7 +497,7 @@ public class EventRepository {
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, AttributeValue> decodeCursor(String cursor) {
+    Map<String, AttributeValue> decodeCursor(String cursor) {
         try {
             byte[] decoded = Base64.getDecoder().decode(cursor);
             Map<String, String> simplified = objectMapper.readValue(decoded, Map.class);
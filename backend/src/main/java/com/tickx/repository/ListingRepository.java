@@ -1,16 +1,41 @@
 package com.tickx.repository;
 
+import com.tickx.cache.RequestCoalescer;
+import com.tickx.metrics.ConsumedCapacityTracker;
 import com.tickx.model.Listing;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncIndex;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedResponse;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedResponse;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedResponse;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static com.tickx.constants.DynamoDbConstants.*;
 
@@ -19,53 +44,153 @@ import static com.tickx.constants.DynamoDbConstants.*;
 public class ListingRepository {
 
     private final DynamoDbEnhancedClient dynamoDbClient;
+    private final DynamoDbEnhancedAsyncClient dynamoDbAsyncClient;
+    private final ConsumedCapacityTracker capacityTracker;
+    private final RequestCoalescer requestCoalescer;
 
     private DynamoDbTable<Listing> getTable() {
         return dynamoDbClient.table(LISTINGS_TABLE, software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(Listing.class));
     }
 
+    private DynamoDbAsyncTable<Listing> getAsyncTable() {
+        return dynamoDbAsyncClient.table(LISTINGS_TABLE, software.amazon.awssdk.enhanced.dynamodb.TableSchema.fromBean(Listing.class));
+    }
+
     public Listing save(Listing listing) {
-        getTable().putItem(listing);
+        PutItemEnhancedResponse<Listing> response = getTable().putItemWithResponse(PutItemEnhancedRequest.builder(Listing.class)
+                .item(listing)
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build());
+        capacityTracker.record("listing.save", response.consumedCapacity());
         return listing;
     }
 
+    /**
+     * Replaces the listing on condition that its sales are still {@code quantitySold} and {@code status} (null for
+     * absent), so an edit never reverts a purchase that committed after it was read. False if one did.
+     */
+    public boolean saveIfSalesUnchanged(Listing listing, Integer quantitySold, String status) {
+        Map<String, String> names = new HashMap<>(Map.of("#status", "status"));
+        Map<String, AttributeValue> values = new HashMap<>();
+        String condition;
+        if (quantitySold == null) {
+            condition = "attribute_not_exists(quantitySold)";
+        } else {
+            condition = "quantitySold = :sold";
+            values.put(":sold", AttributeValue.builder().n(String.valueOf(quantitySold)).build());
+        }
+        if (status == null) {
+            condition += " AND attribute_not_exists(#status)";
+        } else {
+            condition += " AND #status = :status";
+            values.put(":status", AttributeValue.builder().s(status).build());
+        }
+        try {
+            PutItemEnhancedResponse<Listing> response = getTable().putItemWithResponse(PutItemEnhancedRequest.builder(Listing.class)
+                    .item(listing)
+                    .conditionExpression(Expression.builder()
+                            .expression(condition)
+                            .expressionNames(names)
+                            .expressionValues(values)
+                            .build())
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+            capacityTracker.record("listing.save", response.consumedCapacity());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
     public Optional<Listing> findById(String listingId) {
-        Key key = Key.builder().partitionValue(listingId).build();
-        return Optional.ofNullable(getTable().getItem(key));
+        GetItemEnhancedResponse<Listing> response = getTable().getItemWithResponse(buildGetItemRequest(listingId));
+        capacityTracker.record("listing.findById", response.consumedCapacity());
+        return Optional.ofNullable(response.attributes());
+    }
+
+    public CompletableFuture<Optional<Listing>> findByIdAsync(String listingId) {
+        Consumer<ConsumedCapacity> recordCapacity = capacityTracker.recorder("listing.findById");
+        return getAsyncTable().getItemWithResponse(buildGetItemRequest(listingId))
+            .thenApply(response -> {
+                recordCapacity.accept(response.consumedCapacity());
+                return Optional.ofNullable(response.attributes());
+            });
+    }
+
+    private GetItemEnhancedRequest buildGetItemRequest(String listingId) {
+        return GetItemEnhancedRequest.builder()
+            .key(Key.builder().partitionValue(listingId).build())
+            .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+            .build();
+    }
+
+    private QueryEnhancedRequest buildIndexQuery(String partitionValue) {
+        return QueryEnhancedRequest.builder()
+            .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(partitionValue).build()))
+            .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+            .build();
+    }
+
+    private List<Listing> collectPages(Iterable<Page<Listing>> pages, String operation) {
+        List<Listing> listings = new ArrayList<>();
+        for (Page<Listing> page : pages) {
+            capacityTracker.record(operation, page.consumedCapacity());
+            listings.addAll(page.items());
+        }
+        return listings;
     }
 
     public List<Listing> findBySellerId(String sellerId) {
         DynamoDbIndex<Listing> index = getTable().index(SELLER_CREATED_AT_INDEX);
-        QueryConditional queryConditional = QueryConditional.keyEqualTo(
-            Key.builder().partitionValue(sellerId).build()
-        );
-        return index.query(queryConditional).stream()
-            .flatMap(page -> page.items().stream())
-            .toList();
+        return collectPages(index.query(buildIndexQuery(sellerId)), "listing.findBySellerId");
     }
 
     public List<Listing> findByEventId(String eventId) {
         DynamoDbIndex<Listing> index = getTable().index(EVENT_CREATED_AT_INDEX);
-        QueryConditional queryConditional = QueryConditional.keyEqualTo(
-            Key.builder().partitionValue(eventId).build()
-        );
-        return index.query(queryConditional).stream()
-            .flatMap(page -> page.items().stream())
-            .toList();
+        return collectPages(index.query(buildIndexQuery(eventId)), "listing.findByEventId");
+    }
+
+    /** Listings for an event page; concurrent reads for the same event share one query. */
+    public CompletableFuture<List<Listing>> findByEventIdAsync(String eventId) {
+        return requestCoalescer.executeAsync("listing.findByEventId", eventId, () -> {
+            DynamoDbAsyncIndex<Listing> index = getAsyncTable().index(EVENT_CREATED_AT_INDEX);
+            Consumer<ConsumedCapacity> recordCapacity = capacityTracker.recorder("listing.findByEventId");
+            List<Listing> listings = Collections.synchronizedList(new ArrayList<>());
+            return index.query(buildIndexQuery(eventId))
+                .subscribe(page -> {
+                    recordCapacity.accept(page.consumedCapacity());
+                    listings.addAll(page.items());
+                })
+                .thenApply(ignored -> List.copyOf(listings));
+        });
     }
 
     public List<Listing> findByStatus(String status) {
         DynamoDbIndex<Listing> index = getTable().index(STATUS_CREATED_AT_INDEX);
-        QueryConditional queryConditional = QueryConditional.keyEqualTo(
-            Key.builder().partitionValue(status).build()
-        );
-        return index.query(queryConditional).stream()
-            .flatMap(page -> page.items().stream())
-            .toList();
+        return collectPages(index.query(buildIndexQuery(status)), "listing.findByStatus");
+    }
+
+    /** Deletes the listing, returning what was stored. */
+    public Optional<Listing> deleteById(String listingId) {
+        DeleteItemEnhancedResponse<Listing> response = getTable().deleteItemWithResponse(DeleteItemEnhancedRequest.builder()
+            .key(Key.builder().partitionValue(listingId).build())
+            .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+            .build());
+        capacityTracker.record("listing.deleteById", response.consumedCapacity());
+        return Optional.ofNullable(response.attributes());
+    }
+
+    public Listing fromItem(Map<String, AttributeValue> item) {
+        return getTable().tableSchema().mapToItem(item);
     }
 
-    public void deleteById(String listingId) {
-        Key key = Key.builder().partitionValue(listingId).build();
-        getTable().deleteItem(key);
+    /**
+     * The item round-tripped through the current {@code Listing} schema, so renamed, added or retyped
+     * attributes take their current form.
+     */
+    public Optional<Map<String, AttributeValue>> rewriteItem(Map<String, AttributeValue> item) {
+        TableSchema<Listing> schema = getTable().tableSchema();
+        Listing listing = schema.mapToItem(item);
+        return listing != null ? Optional.of(schema.itemToMap(listing, true)) : Optional.empty();
     }
-}
\ No newline at end of file
+}
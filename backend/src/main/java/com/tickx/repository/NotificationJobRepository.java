@@ -0,0 +1,51 @@
+package com.tickx.repository;
+
+import com.tickx.metrics.ConsumedCapacityTracker;
+import com.tickx.model.NotificationJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+
+import static com.tickx.constants.DynamoDbConstants.NOTIFICATION_JOBS_TABLE;
+
+@Repository
+@RequiredArgsConstructor
+public class NotificationJobRepository {
+
+    private static final TableSchema<NotificationJob> SCHEMA = TableSchema.fromBean(NotificationJob.class);
+
+    private final DynamoDbEnhancedClient dynamoDbClient;
+    private final ConsumedCapacityTracker capacityTracker;
+
+    private DynamoDbTable<NotificationJob> getTable() {
+        return dynamoDbClient.table(NOTIFICATION_JOBS_TABLE, SCHEMA);
+    }
+
+    /**
+     * Stores the job unless one with the same ID exists, so a replayed job never resets one the sender has
+     * already picked up. False if it existed.
+     */
+    public boolean create(NotificationJob job) {
+        try {
+            PutItemEnhancedResponse<NotificationJob> response = getTable().putItemWithResponse(
+                    PutItemEnhancedRequest.builder(NotificationJob.class)
+                            .item(job)
+                            .conditionExpression(Expression.builder()
+                                    .expression("attribute_not_exists(jobId)")
+                                    .build())
+                            .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                            .build());
+            capacityTracker.record("notificationJob.create", response.consumedCapacity());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.tickx.repository;
+
+import com.tickx.metrics.ConsumedCapacityTracker;
+import com.tickx.model.PricePoint;
+import com.tickx.pricehistory.PriceSketch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.tickx.constants.DynamoDbConstants.PRICE_HISTORY_TABLE;
+
+/**
+ * Append-only price history. Raw points are bucketed into one partition per event and day
+ * ({@code EVENT#<eventId>#<yyyy-MM-dd>}, sorted by time) and expire after {@code PRICE_HISTORY_RETENTION_DAYS}.
+ * Rollups live in one partition per event ({@code ROLLUP#<eventId>}), sorted by granularity, scope (the whole
+ * event or one section) and period, so a scope's daily rollups for a date range are one query.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PriceHistoryRepository {
+
+    private static final String POINT_PREFIX = "EVENT#";
+    private static final String ROLLUP_PREFIX = "ROLLUP#";
+    private static final String SCOPE_EVENT = "ALL";
+    private static final String SCOPE_SECTION = "SEC#";
+    private static final int MAX_BATCH_ATTEMPTS = 5;
+
+    private final DynamoDbClient dynamoDbClient;
+    private final ConsumedCapacityTracker capacityTracker;
+
+    @Value("${PRICE_HISTORY_RETENTION_DAYS:90}")
+    private int retentionDays;
+
+    /**
+     * One sketch over a period: an hour ({@code yyyy-MM-ddTHH}) or a day ({@code yyyy-MM-dd}), for the whole
+     * event when {@code section} is null.
+     */
+    public record Rollup(String eventId, String section, String kind, String period, PriceSketch sketch) {}
+
+    /** Stores the points; a point written again (a replayed change) overwrites itself. */
+    public void append(List<PricePoint> points) {
+        long expiresAt = Instant.now().plus(Duration.ofDays(retentionDays)).getEpochSecond();
+        for (int i = 0; i < points.size(); i += 25) {
+            List<WriteRequest> pending = points.subList(i, Math.min(i + 25, points.size())).stream()
+                    .map(point -> WriteRequest.builder()
+                            .putRequest(PutRequest.builder().item(toItem(point, expiresAt)).build())
+                            .build())
+                    .toList();
+            for (int attempt = 0; attempt < MAX_BATCH_ATTEMPTS && !pending.isEmpty(); attempt++) {
+                if (attempt > 0) {
+                    sleep(Math.min(1000, 25L << attempt));
+                }
+                BatchWriteItemResponse response = dynamoDbClient.batchWriteItem(BatchWriteItemRequest.builder()
+                        .requestItems(Map.of(PRICE_HISTORY_TABLE, pending))
+                        .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                        .build());
+                capacityTracker.record("priceHistory.append", response.consumedCapacity());
+                pending = response.hasUnprocessedItems()
+                        ? response.unprocessedItems().getOrDefault(PRICE_HISTORY_TABLE, List.of())
+                        : List.of();
+            }
+            if (!pending.isEmpty()) {
+                throw new IllegalStateException(pending.size() + " price points left unprocessed");
+            }
+        }
+    }
+
+    /** Points recorded for the event in {@code hour} ({@code yyyy-MM-ddTHH}), strongly consistent. */
+    public List<PricePoint> findPoints(String eventId, String hour) {
+        List<PricePoint> points = new ArrayList<>();
+        Map<String, AttributeValue> startKey = null;
+        do {
+            QueryResponse response = dynamoDbClient.query(QueryRequest.builder()
+                    .tableName(PRICE_HISTORY_TABLE)
+                    .keyConditionExpression("PK = :pk AND begins_with(SK, :hour)")
+                    .expressionAttributeValues(Map.of(
+                            ":pk", string(POINT_PREFIX + eventId + "#" + hour.substring(0, 10)),
+                            ":hour", string(hour)))
+                    .exclusiveStartKey(startKey)
+                    .consistentRead(true)
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+            capacityTracker.record("priceHistory.findPoints", response.consumedCapacity());
+            response.items().forEach(item -> points.add(toPoint(eventId, item)));
+            startKey = response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+                    ? response.lastEvaluatedKey() : null;
+        } while (startKey != null);
+        return points;
+    }
+
+    /**
+     * Stores the rollup unless the stored one already covers at least as many points. Points are only ever
+     * added to a period, so a rebuild that saw fewer is stale and a concurrent, fuller rebuild wins.
+     * False if the stored rollup was kept.
+     */
+    public boolean putRollup(Rollup rollup) {
+        PriceSketch sketch = rollup.sketch();
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("PK", string(ROLLUP_PREFIX + rollup.eventId()));
+        item.put("SK", string(rollupSortKey(rollup.section(), rollup.period()) + "#" + rollup.kind()));
+        item.put("eventId", string(rollup.eventId()));
+        if (rollup.section() != null) {
+            item.put("section", string(rollup.section()));
+        }
+        item.put("kind", string(rollup.kind()));
+        item.put("period", string(rollup.period()));
+        item.put("pointCount", number(sketch.count()));
+        item.put("minPrice", number(sketch.min()));
+        item.put("maxPrice", number(sketch.max()));
+        item.put("p50", number(sketch.quantile(0.5)));
+        item.put("p90", number(sketch.quantile(0.9)));
+        item.put("sketch", AttributeValue.builder().b(SdkBytes.fromByteArray(sketch.toBytes())).build());
+        item.put("updatedAt", string(Instant.now().toString()));
+        if (isHourly(rollup.period())) {
+            item.put("expiresAt", number(Instant.now().plus(Duration.ofDays(retentionDays)).getEpochSecond()));
+        }
+        try {
+            PutItemResponse response = dynamoDbClient.putItem(PutItemRequest.builder()
+                    .tableName(PRICE_HISTORY_TABLE)
+                    .item(item)
+                    .conditionExpression("attribute_not_exists(PK) OR pointCount <= :count")
+                    .expressionAttributeValues(Map.of(":count", number(sketch.count())))
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+            capacityTracker.record("priceHistory.putRollup", response.consumedCapacity());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rollups of every kind for one scope over {@code fromPeriod..toPeriod} inclusive; both hours or both days.
+     */
+    public List<Rollup> findRollups(String eventId, String section, String fromPeriod, String toPeriod,
+                                    boolean consistentRead) {
+        List<Rollup> rollups = new ArrayList<>();
+        Map<String, AttributeValue> startKey = null;
+        do {
+            QueryResponse response = dynamoDbClient.query(QueryRequest.builder()
+                    .tableName(PRICE_HISTORY_TABLE)
+                    .keyConditionExpression("PK = :pk AND SK BETWEEN :from AND :to")
+                    .expressionAttributeValues(Map.of(
+                            ":pk", string(ROLLUP_PREFIX + eventId),
+                            ":from", string(rollupSortKey(section, fromPeriod)),
+                            // '~' sorts after every kind suffix of the last period
+                            ":to", string(rollupSortKey(section, toPeriod) + "#~")))
+                    .projectionExpression("#kind, #period, sketch")
+                    .expressionAttributeNames(Map.of("#kind", "kind", "#period", "period"))
+                    .exclusiveStartKey(startKey)
+                    .consistentRead(consistentRead)
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+            capacityTracker.record("priceHistory.findRollups", response.consumedCapacity());
+            for (Map<String, AttributeValue> item : response.items()) {
+                rollups.add(new Rollup(eventId, section, item.get("kind").s(), item.get("period").s(),
+                        PriceSketch.fromBytes(item.get("sketch").b().asByteArray())));
+            }
+            startKey = response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+                    ? response.lastEvaluatedKey() : null;
+        } while (startKey != null);
+        return rollups;
+    }
+
+    private static Map<String, AttributeValue> toItem(PricePoint point, long expiresAt) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("PK", string(POINT_PREFIX + point.getEventId() + "#" + point.getRecordedAt().substring(0, 10)));
+        item.put("SK", string(point.getRecordedAt() + "#" + point.getKind() + "#" + point.getSourceId()));
+        item.put("kind", string(point.getKind()));
+        item.put("price", number(point.getPrice()));
+        if (point.getSection() != null) {
+            item.put("section", string(point.getSection()));
+        }
+        if (point.getListingId() != null) {
+            item.put("listingId", string(point.getListingId()));
+        }
+        item.put("expiresAt", number(expiresAt));
+        return item;
+    }
+
+    private static PricePoint toPoint(String eventId, Map<String, AttributeValue> item) {
+        String[] sortKey = item.get("SK").s().split("#", 3);
+        return PricePoint.builder()
+                .eventId(eventId)
+                .recordedAt(sortKey[0])
+                .kind(item.get("kind").s())
+                .sourceId(sortKey[2])
+                .price(Double.valueOf(item.get("price").n()))
+                .section(item.containsKey("section") ? item.get("section").s() : null)
+                .listingId(item.containsKey("listingId") ? item.get("listingId").s() : null)
+                .build();
+    }
+
+    private static String rollupSortKey(String section, String period) {
+        return (isHourly(period) ? "H#" : "D#") + (section == null ? SCOPE_EVENT : SCOPE_SECTION + section)
+                + "#" + period;
+    }
+
+    private static boolean isHourly(String period) {
+        return period.indexOf('T') > 0;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while appending price points", e);
+        }
+    }
+
+    private static AttributeValue string(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+
+    private static AttributeValue number(double value) {
+        return AttributeValue.builder().n(String.valueOf(value)).build();
+    }
+
+    private static AttributeValue number(long value) {
+        return AttributeValue.builder().n(String.valueOf(value)).build();
+    }
+}
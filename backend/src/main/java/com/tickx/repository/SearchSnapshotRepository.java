@@ -0,0 +1,143 @@
+package com.tickx.repository;
+
+import com.tickx.metrics.ConsumedCapacityTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+/**
+ * Stores the search index snapshot in the Events table under {@code PK = SEARCH#events}, split into chunks
+ * that fit DynamoDB's 400 KB item limit. Chunks are written first under a new version and the manifest is
+ * switched last, so readers never see a partially written snapshot.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class SearchSnapshotRepository {
+
+    private static final String PARTITION_KEY = "SEARCH#events";
+    private static final String MANIFEST_KEY = "MANIFEST";
+    private static final int CHUNK_SIZE = 350 * 1024;
+
+    private final DynamoDbClient dynamoDbClient;
+    private final ConsumedCapacityTracker capacityTracker;
+
+    @Value("${EVENTS_TABLE}")
+    private String eventsTable;
+
+    public record Manifest(long version, int chunks, int documents) {}
+
+    public Optional<Manifest> findManifest() {
+        GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
+                .tableName(eventsTable)
+                .key(key(MANIFEST_KEY))
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build());
+        capacityTracker.record("search.findManifest", response.consumedCapacity());
+        if (!response.hasItem() || response.item().isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, AttributeValue> item = response.item();
+        return Optional.of(new Manifest(
+                Long.parseLong(item.get("version").n()),
+                Integer.parseInt(item.get("chunks").n()),
+                Integer.parseInt(item.get("documents").n())));
+    }
+
+    public byte[] read(Manifest manifest) {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        Map<String, AttributeValue> lastKey = null;
+        int chunks = 0;
+        do {
+            QueryRequest.Builder requestBuilder = QueryRequest.builder()
+                    .tableName(eventsTable)
+                    .keyConditionExpression("PK = :pk AND begins_with(SK, :prefix)")
+                    .expressionAttributeValues(Map.of(
+                            ":pk", AttributeValue.builder().s(PARTITION_KEY).build(),
+                            ":prefix", AttributeValue.builder().s(chunkPrefix(manifest.version())).build()
+                    ))
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+            if (lastKey != null) {
+                requestBuilder.exclusiveStartKey(lastKey);
+            }
+
+            QueryResponse response = dynamoDbClient.query(requestBuilder.build());
+            capacityTracker.record("search.read", response.consumedCapacity());
+            for (Map<String, AttributeValue> item : response.items()) {
+                snapshot.writeBytes(item.get("bytes").b().asByteArray());
+                chunks++;
+            }
+            lastKey = response.lastEvaluatedKey();
+        } while (lastKey != null && !lastKey.isEmpty());
+
+        if (chunks != manifest.chunks()) {
+            throw new IllegalStateException("Search snapshot " + manifest.version() + " has " + chunks
+                    + " chunks, expected " + manifest.chunks());
+        }
+        return snapshot.toByteArray();
+    }
+
+    public Manifest write(byte[] snapshot, int documents) {
+        Optional<Manifest> previous = findManifest();
+        long version = System.currentTimeMillis();
+        int chunks = 0;
+
+        for (int offset = 0; offset < snapshot.length; offset += CHUNK_SIZE) {
+            byte[] chunk = Arrays.copyOfRange(snapshot, offset, Math.min(offset + CHUNK_SIZE, snapshot.length));
+            Map<String, AttributeValue> item = new HashMap<>(key(chunkPrefix(version) + String.format("%04d", chunks++)));
+            item.put("entityType", AttributeValue.builder().s("SEARCH_CHUNK").build());
+            item.put("bytes", AttributeValue.builder().b(SdkBytes.fromByteArray(chunk)).build());
+            put(item, "search.write");
+        }
+
+        Map<String, AttributeValue> manifest = new HashMap<>(key(MANIFEST_KEY));
+        manifest.put("entityType", AttributeValue.builder().s("SEARCH_MANIFEST").build());
+        manifest.put("version", AttributeValue.builder().n(String.valueOf(version)).build());
+        manifest.put("chunks", AttributeValue.builder().n(String.valueOf(chunks)).build());
+        manifest.put("documents", AttributeValue.builder().n(String.valueOf(documents)).build());
+        put(manifest, "search.write");
+
+        // Instances still loading the previous version may fail once and retry on the next refresh
+        previous.ifPresent(this::deleteChunks);
+        log.info("Wrote search snapshot {}: {} documents, {} bytes in {} chunks", version, documents, snapshot.length, chunks);
+        return new Manifest(version, chunks, documents);
+    }
+
+    private void deleteChunks(Manifest manifest) {
+        for (int i = 0; i < manifest.chunks(); i++) {
+            DeleteItemResponse response = dynamoDbClient.deleteItem(DeleteItemRequest.builder()
+                    .tableName(eventsTable)
+                    .key(key(chunkPrefix(manifest.version()) + String.format("%04d", i)))
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+            capacityTracker.record("search.write", response.consumedCapacity());
+        }
+    }
+
+    private void put(Map<String, AttributeValue> item, String operation) {
+        PutItemResponse response = dynamoDbClient.putItem(PutItemRequest.builder()
+                .tableName(eventsTable)
+                .item(item)
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build());
+        capacityTracker.record(operation, response.consumedCapacity());
+    }
+
+    private static String chunkPrefix(long version) {
+        return "CHUNK#" + version + "#";
+    }
+
+    private static Map<String, AttributeValue> key(String sortKey) {
+        return Map.of(
+                "PK", AttributeValue.builder().s(PARTITION_KEY).build(),
+                "SK", AttributeValue.builder().s(sortKey).build()
+        );
+    }
+}
@@ -0,0 +1,203 @@
+package com.tickx.repository;
+
+import com.tickx.metrics.ConsumedCapacityTracker;
+import com.tickx.model.SeatHold;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.*;
+
+import static com.tickx.constants.DynamoDbConstants.*;
+
+/**
+ * Seat holds, stored as one claim item per held seat ({@code LISTING#<listingId>} / {@code SEAT#<seat>}) plus
+ * one item per hold ({@code HOLD#<holdId>}). A hold is written in a single transaction that puts each seat's
+ * claim on condition that the seat is free or its hold has lapsed, so it takes all of its seats or none.
+ * Claims for different seats are different items, so holds on disjoint seats never contend, even on the same
+ * listing. Both kinds of item carry {@code expiresAt} for TTL; a lapsed claim can be taken over before TTL
+ * removes it. Claims on purchased seats drop {@code expiresAt} and are kept.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SeatHoldRepository {
+
+    private static final String LISTING_PREFIX = "LISTING#";
+    private static final String SEAT_PREFIX = "SEAT#";
+    private static final String HOLD_PREFIX = "HOLD#";
+    private static final String HOLD_SORT_KEY = "HOLD";
+
+    private final DynamoDbClient dynamoDbClient;
+    private final ConsumedCapacityTracker capacityTracker;
+    private final TransactWriter transactWriter;
+
+    public Optional<SeatHold> findById(String holdId) {
+        GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
+                .tableName(SEAT_HOLDS_TABLE)
+                .key(key(HOLD_PREFIX + holdId, HOLD_SORT_KEY))
+                .consistentRead(true)
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build());
+        capacityTracker.record("seatHold.findById", response.consumedCapacity());
+        if (!response.hasItem() || response.item().isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, AttributeValue> item = response.item();
+        return Optional.of(SeatHold.builder()
+                .holdId(holdId)
+                .listingId(item.get("listingId").s())
+                .buyerId(item.get("buyerId").s())
+                .seats(item.get("seats").l().stream().map(AttributeValue::s).toList())
+                .status(item.get("status").s())
+                .createdAt(item.get("createdAt").s())
+                .expiresAt(Long.valueOf(item.get("expiresAt").n()))
+                .build());
+    }
+
+    /** Seats of the listing that are claimed at {@code nowEpochSeconds}: under an unexpired hold, or without expiry. */
+    public Set<String> findHeldSeats(String listingId, long nowEpochSeconds) {
+        Set<String> held = new HashSet<>();
+        Map<String, AttributeValue> startKey = null;
+        do {
+            QueryResponse response = dynamoDbClient.query(QueryRequest.builder()
+                    .tableName(SEAT_HOLDS_TABLE)
+                    .keyConditionExpression("PK = :pk AND begins_with(SK, :seat)")
+                    .filterExpression("attribute_not_exists(expiresAt) OR expiresAt > :now")
+                    .expressionAttributeValues(Map.of(
+                            ":pk", string(LISTING_PREFIX + listingId),
+                            ":seat", string(SEAT_PREFIX),
+                            ":now", number(nowEpochSeconds)))
+                    .exclusiveStartKey(startKey)
+                    .consistentRead(true)
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+            capacityTracker.record("seatHold.findHeldSeats", response.consumedCapacity());
+            response.items().forEach(item -> held.add(item.get("SK").s().substring(SEAT_PREFIX.length())));
+            startKey = response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+                    ? response.lastEvaluatedKey() : null;
+        } while (startKey != null);
+        return held;
+    }
+
+    /**
+     * Claims every seat of {@code hold} and stores it, or nothing. Returns the seats that were already held,
+     * or still contended after retries (empty when the hold was stored).
+     */
+    public List<String> create(SeatHold hold, long nowEpochSeconds) {
+        List<TransactWriteItem> actions = new ArrayList<>();
+        for (String seat : hold.getSeats()) {
+            Map<String, AttributeValue> claim = new HashMap<>(key(LISTING_PREFIX + hold.getListingId(), SEAT_PREFIX + seat));
+            claim.put("holdId", string(hold.getHoldId()));
+            claim.put("buyerId", string(hold.getBuyerId()));
+            claim.put("status", string(HOLD_STATUS_HELD));
+            claim.put("expiresAt", number(hold.getExpiresAt()));
+            actions.add(TransactWriteItem.builder().put(Put.builder()
+                    .tableName(SEAT_HOLDS_TABLE)
+                    .item(claim)
+                    .conditionExpression("attribute_not_exists(PK) OR expiresAt <= :now")
+                    .expressionAttributeValues(Map.of(":now", number(nowEpochSeconds)))
+                    .build()).build());
+        }
+        Map<String, AttributeValue> item = new HashMap<>(key(HOLD_PREFIX + hold.getHoldId(), HOLD_SORT_KEY));
+        item.put("listingId", string(hold.getListingId()));
+        item.put("buyerId", string(hold.getBuyerId()));
+        item.put("seats", AttributeValue.builder().l(hold.getSeats().stream().map(SeatHoldRepository::string).toList()).build());
+        item.put("status", string(hold.getStatus()));
+        item.put("createdAt", string(hold.getCreatedAt()));
+        item.put("expiresAt", number(hold.getExpiresAt()));
+        actions.add(TransactWriteItem.builder().put(Put.builder()
+                .tableName(SEAT_HOLDS_TABLE)
+                .item(item)
+                .conditionExpression("attribute_not_exists(PK)")
+                .build()).build());
+
+        List<CancellationReason> reasons = transactWriter.write("seatHold.create", actions);
+        List<String> unavailable = new ArrayList<>();
+        for (int i = 0; i < hold.getSeats().size(); i++) {
+            if (TransactWriter.failed(reasons, i)) {
+                unavailable.add(hold.getSeats().get(i));
+            }
+        }
+        if (!reasons.isEmpty() && unavailable.isEmpty()) {
+            throw TransactWriter.unexplained("Seat hold " + hold.getHoldId(), reasons);
+        }
+        return unavailable;
+    }
+
+    /**
+     * Frees the hold's seats and marks it released, provided it is still held by {@code hold}. False if it
+     * was released already or its seats were taken over after it lapsed.
+     */
+    public boolean release(SeatHold hold) {
+        List<TransactWriteItem> actions = new ArrayList<>();
+        for (String seat : hold.getSeats()) {
+            actions.add(TransactWriteItem.builder().delete(Delete.builder()
+                    .tableName(SEAT_HOLDS_TABLE)
+                    .key(key(LISTING_PREFIX + hold.getListingId(), SEAT_PREFIX + seat))
+                    .conditionExpression("holdId = :holdId")
+                    .expressionAttributeValues(Map.of(":holdId", string(hold.getHoldId())))
+                    .build()).build());
+        }
+        actions.add(TransactWriteItem.builder().update(Update.builder()
+                .tableName(SEAT_HOLDS_TABLE)
+                .key(key(HOLD_PREFIX + hold.getHoldId(), HOLD_SORT_KEY))
+                .updateExpression("SET #status = :released")
+                .conditionExpression("#status = :held")
+                .expressionAttributeNames(Map.of("#status", "status"))
+                .expressionAttributeValues(Map.of(
+                        ":released", string(HOLD_STATUS_RELEASED),
+                        ":held", string(HOLD_STATUS_HELD)))
+                .build()).build());
+        return transactWriter.write("seatHold.release", actions).isEmpty();
+    }
+
+    /**
+     * Actions that turn the hold's claims into permanent ones sold under {@code transactionId}, and mark the hold
+     * purchased, on condition that it is still held and has not lapsed. Claims lose {@code expiresAt}, so TTL
+     * never frees a sold seat. One action per seat, in the hold's seat order, then one for the hold; for a
+     * caller to add to its purchase transaction.
+     */
+    public List<TransactWriteItem> purchaseActions(SeatHold hold, String transactionId, long nowEpochSeconds) {
+        List<TransactWriteItem> actions = new ArrayList<>();
+        for (String seat : hold.getSeats()) {
+            actions.add(TransactWriteItem.builder().update(Update.builder()
+                    .tableName(SEAT_HOLDS_TABLE)
+                    .key(key(LISTING_PREFIX + hold.getListingId(), SEAT_PREFIX + seat))
+                    .updateExpression("SET #status = :purchased, transactionId = :transactionId REMOVE expiresAt")
+                    .conditionExpression("holdId = :holdId AND expiresAt > :now")
+                    .expressionAttributeNames(Map.of("#status", "status"))
+                    .expressionAttributeValues(Map.of(
+                            ":purchased", string(HOLD_STATUS_PURCHASED),
+                            ":transactionId", string(transactionId),
+                            ":holdId", string(hold.getHoldId()),
+                            ":now", number(nowEpochSeconds)))
+                    .build()).build());
+        }
+        actions.add(TransactWriteItem.builder().update(Update.builder()
+                .tableName(SEAT_HOLDS_TABLE)
+                .key(key(HOLD_PREFIX + hold.getHoldId(), HOLD_SORT_KEY))
+                .updateExpression("SET #status = :purchased, transactionId = :transactionId")
+                .conditionExpression("#status = :held AND expiresAt > :now")
+                .expressionAttributeNames(Map.of("#status", "status"))
+                .expressionAttributeValues(Map.of(
+                        ":purchased", string(HOLD_STATUS_PURCHASED),
+                        ":transactionId", string(transactionId),
+                        ":held", string(HOLD_STATUS_HELD),
+                        ":now", number(nowEpochSeconds)))
+                .build()).build());
+        return actions;
+    }
+
+    private static Map<String, AttributeValue> key(String partitionKey, String sortKey) {
+        return Map.of("PK", string(partitionKey), "SK", string(sortKey));
+    }
+
+    private static AttributeValue string(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+
+    private static AttributeValue number(long value) {
+        return AttributeValue.builder().n(String.valueOf(value)).build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.tickx.repository;
+
+import com.tickx.metrics.ConsumedCapacityTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs {@code TransactWriteItems} for the repositories. A transaction cancelled only because another one was in
+ * flight on the same items is retried after a short jittered pause, so a burst of buyers on one listing spreads
+ * out instead of colliding again in lockstep.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactWriter {
+
+    static final String CONDITION_FAILED = "ConditionalCheckFailed";
+    static final String TRANSACTION_CONFLICT = "TransactionConflict";
+    private static final int MAX_CONFLICT_ATTEMPTS = 4;
+    private static final long BASE_BACKOFF_MILLIS = 10;
+
+    private final DynamoDbClient dynamoDbClient;
+    private final ConsumedCapacityTracker capacityTracker;
+
+    /** Returns the cancellation reasons, one per action, or an empty list when the transaction committed. */
+    public List<CancellationReason> write(String operation, List<TransactWriteItem> actions) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                TransactWriteItemsResponse response = dynamoDbClient.transactWriteItems(TransactWriteItemsRequest.builder()
+                        .transactItems(actions)
+                        .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                        .build());
+                capacityTracker.record(operation, response.consumedCapacity());
+                return List.of();
+            } catch (TransactionCanceledException e) {
+                List<CancellationReason> reasons = e.hasCancellationReasons() ? e.cancellationReasons() : List.of();
+                if (!isConflictOnly(reasons) || attempt == MAX_CONFLICT_ATTEMPTS) {
+                    if (reasons.isEmpty()) {
+                        throw e;
+                    }
+                    return reasons;
+                }
+                sleep(ThreadLocalRandom.current().nextLong(BASE_BACKOFF_MILLIS << attempt));
+            }
+        }
+    }
+
+    /** True if the action at {@code index} failed its condition or lost to a concurrent transaction. */
+    public static boolean failed(List<CancellationReason> reasons, int index) {
+        if (index >= reasons.size()) {
+            return false;
+        }
+        String code = reasons.get(index).code();
+        return CONDITION_FAILED.equals(code) || TRANSACTION_CONFLICT.equals(code);
+    }
+
+    /**
+     * For a cancellation none of the caller's own conditions account for, such as throttling: thrown as is, it
+     * fails the request with a 5xx so the client retries instead of being told the purchase or hold conflicted.
+     */
+    public static TransactionCanceledException unexplained(String operation, List<CancellationReason> reasons) {
+        return TransactionCanceledException.builder()
+                .message(operation + " was cancelled: " + reasons)
+                .cancellationReasons(reasons)
+                .build();
+    }
+
+    private static boolean isConflictOnly(List<CancellationReason> reasons) {
+        return reasons.stream().noneMatch(reason -> CONDITION_FAILED.equals(reason.code()))
+                && reasons.stream().anyMatch(reason -> TRANSACTION_CONFLICT.equals(reason.code()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a transaction", e);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.tickx.repository;
+
+import com.tickx.metrics.ConsumedCapacityTracker;
+import com.tickx.model.Listing;
+import com.tickx.model.SeatHold;
+import com.tickx.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.time.Duration;
+import java.util.*;
+
+import static com.tickx.constants.DynamoDbConstants.*;
+
+/**
+ * Purchase transactions and the idempotency keys they were made under. A purchase first claims its key for
+ * {@code IDEMPOTENCY_CLAIM_SECONDS}, then commits one {@code TransactWriteItems} over four tables: the
+ * idempotency key (on condition that the claim is still its own, with a copy of the transaction so a retry is
+ * answered from that one item), the transaction row with its fees, the listing (sold quantity, and
+ * the flip to sold when the last seats go, on condition that it is still active at the quoted price) and the
+ * buyer's seat hold (claims made permanent). Idempotency keys expire after {@code IDEMPOTENCY_KEY_TTL_HOURS}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionRepository {
+
+    private static final TableSchema<Transaction> TRANSACTION_SCHEMA = TableSchema.fromBean(Transaction.class);
+    // Positions of the actions in a purchase transaction; the hold's actions follow
+    private static final int IDEMPOTENCY_KEY_ACTION = 0;
+    private static final int TRANSACTION_ACTION = 1;
+    private static final int LISTING_ACTION = 2;
+
+    private final DynamoDbClient dynamoDbClient;
+    private final ConsumedCapacityTracker capacityTracker;
+    private final TransactWriter transactWriter;
+    private final SeatHoldRepository seatHoldRepository;
+
+    @Value("${IDEMPOTENCY_KEY_TTL_HOURS:24}")
+    private int idempotencyKeyTtlHours;
+
+    @Value("${IDEMPOTENCY_CLAIM_SECONDS:30}")
+    private int idempotencyClaimSeconds;
+
+    /** What a purchase transaction did. */
+    public enum PurchaseOutcome {
+        COMMITTED,
+        /** The key's claim was lost to another attempt; nothing was written. */
+        DUPLICATE,
+        /** The listing was sold, withdrawn, repriced or bought from concurrently. */
+        LISTING_CHANGED,
+        /** The hold lapsed, was released or was already bought. */
+        HOLD_LOST
+    }
+
+    /**
+     * A stored idempotency key: the request it was first used for, and the transaction that request created, or
+     * null while that purchase is still being made.
+     */
+    public record IdempotentPurchase(String request, Transaction transaction) {}
+
+    public Optional<Transaction> findById(String transactionId) {
+        GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
+                .tableName(TRANSACTIONS_TABLE)
+                .key(Map.of("transactionId", string(transactionId)))
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build());
+        capacityTracker.record("transaction.findById", response.consumedCapacity());
+        return response.hasItem() && !response.item().isEmpty()
+                ? Optional.of(TRANSACTION_SCHEMA.mapToItem(response.item()))
+                : Optional.empty();
+    }
+
+    /** The purchase stored under {@code idempotencyKey}, strongly consistent so a quick retry sees it. */
+    public Optional<IdempotentPurchase> findByIdempotencyKey(String idempotencyKey) {
+        GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
+                .tableName(IDEMPOTENCY_KEYS_TABLE)
+                .key(Map.of("idempotencyKey", string(idempotencyKey)))
+                .consistentRead(true)
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build());
+        capacityTracker.record("transaction.findByIdempotencyKey", response.consumedCapacity());
+        if (!response.hasItem() || response.item().isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, AttributeValue> item = response.item();
+        return Optional.of(new IdempotentPurchase(item.get("request").s(),
+                item.containsKey("transaction") ? TRANSACTION_SCHEMA.mapToItem(item.get("transaction").m()) : null));
+    }
+
+    /**
+     * Claims {@code idempotencyKey} for one attempt at {@code request}, before it places any hold. False if the key
+     * was already used, or another attempt holds a claim that has not expired.
+     */
+    public boolean claim(String idempotencyKey, String request, String claimId, long nowEpochSeconds) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("idempotencyKey", string(idempotencyKey));
+        item.put("request", string(request));
+        item.put("claimId", string(claimId));
+        item.put("expiresAt", number(nowEpochSeconds + idempotencyClaimSeconds));
+        try {
+            PutItemResponse response = dynamoDbClient.putItem(PutItemRequest.builder()
+                    .tableName(IDEMPOTENCY_KEYS_TABLE)
+                    .item(item)
+                    // An attempt that died leaves its claim behind until it expires
+                    .conditionExpression("attribute_not_exists(idempotencyKey) "
+                            + "OR (attribute_not_exists(#transaction) AND expiresAt <= :now)")
+                    .expressionAttributeNames(Map.of("#transaction", "transaction"))
+                    .expressionAttributeValues(Map.of(":now", number(nowEpochSeconds)))
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+            capacityTracker.record("transaction.claim", response.consumedCapacity());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /** Gives up a claim that did not lead to a purchase, so a retry with the same key can start right away. */
+    public void releaseClaim(String idempotencyKey, String claimId) {
+        try {
+            DeleteItemResponse response = dynamoDbClient.deleteItem(DeleteItemRequest.builder()
+                    .tableName(IDEMPOTENCY_KEYS_TABLE)
+                    .key(Map.of("idempotencyKey", string(idempotencyKey)))
+                    .conditionExpression("claimId = :claimId AND attribute_not_exists(#transaction)")
+                    .expressionAttributeNames(Map.of("#transaction", "transaction"))
+                    .expressionAttributeValues(Map.of(":claimId", string(claimId)))
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+            capacityTracker.record("transaction.releaseClaim", response.consumedCapacity());
+        } catch (ConditionalCheckFailedException e) {
+            // Taken over after it expired, or the purchase committed after all
+        }
+    }
+
+    /**
+     * Commits {@code transaction} for the seats of {@code hold}, bought from {@code listing} as it was read, out
+     * of its {@code totalSeats}. When the hold takes the last unsold seats the listing is marked sold, on condition
+     * that exactly those were still unsold; otherwise on condition that some remain. Concurrent buyers of a
+     * listing's last seats therefore cannot leave it active.
+     */
+    public PurchaseOutcome purchase(String idempotencyKey, String claimId, String request, Transaction transaction,
+                                    Listing listing, int totalSeats, SeatHold hold, long nowEpochSeconds) {
+        List<TransactWriteItem> actions = new ArrayList<>();
+
+        Map<String, AttributeValue> transactionItem = TRANSACTION_SCHEMA.itemToMap(transaction, true);
+        Map<String, AttributeValue> keyItem = new HashMap<>();
+        keyItem.put("idempotencyKey", string(idempotencyKey));
+        keyItem.put("request", string(request));
+        keyItem.put("transaction", AttributeValue.builder().m(transactionItem).build());
+        keyItem.put("expiresAt", number(nowEpochSeconds + Duration.ofHours(idempotencyKeyTtlHours).toSeconds()));
+        actions.add(TransactWriteItem.builder().put(Put.builder()
+                .tableName(IDEMPOTENCY_KEYS_TABLE)
+                .item(keyItem)
+                .conditionExpression("claimId = :claimId AND attribute_not_exists(#transaction)")
+                .expressionAttributeNames(Map.of("#transaction", "transaction"))
+                .expressionAttributeValues(Map.of(":claimId", string(claimId)))
+                .build()).build());
+
+        actions.add(TransactWriteItem.builder().put(Put.builder()
+                .tableName(TRANSACTIONS_TABLE)
+                .item(transactionItem)
+                .conditionExpression("attribute_not_exists(transactionId)")
+                .build()).build());
+
+        actions.add(TransactWriteItem.builder().update(listingUpdate(transaction, listing, totalSeats)).build());
+        actions.addAll(seatHoldRepository.purchaseActions(hold, transaction.getTransactionId(), nowEpochSeconds));
+
+        List<CancellationReason> reasons = transactWriter.write("transaction.purchase", actions);
+        if (reasons.isEmpty()) {
+            return PurchaseOutcome.COMMITTED;
+        }
+        if (TransactWriter.failed(reasons, IDEMPOTENCY_KEY_ACTION)) {
+            return PurchaseOutcome.DUPLICATE;
+        }
+        if (TransactWriter.failed(reasons, TRANSACTION_ACTION)) {
+            throw new IllegalStateException("Transaction " + transaction.getTransactionId() + " already exists");
+        }
+        if (TransactWriter.failed(reasons, LISTING_ACTION)) {
+            return PurchaseOutcome.LISTING_CHANGED;
+        }
+        for (int i = LISTING_ACTION + 1; i < reasons.size(); i++) {
+            if (TransactWriter.failed(reasons, i)) {
+                return PurchaseOutcome.HOLD_LOST;
+            }
+        }
+        throw TransactWriter.unexplained("Purchase " + transaction.getTransactionId(), reasons);
+    }
+
+    private static Update listingUpdate(Transaction transaction, Listing listing, int totalSeats) {
+        int sold = Objects.requireNonNullElse(listing.getQuantitySold(), 0);
+        boolean soldOut = sold + transaction.getQuantity() >= totalSeats;
+        Map<String, String> names = new HashMap<>(Map.of("#status", "status"));
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":active", string(STATUS_ACTIVE));
+        values.put(":now", string(transaction.getCreatedAt()));
+        values.put(":quantity", number(transaction.getQuantity()));
+
+        // The ask the buyer is charged must still be the listing's ask
+        String priceAttribute = listing.getBuyNowPrice() != null ? "buyNowPrice" : "currentPrice";
+        names.put("#price", priceAttribute);
+        values.put(":price", number(listing.getBuyNowPrice() != null ? listing.getBuyNowPrice() : listing.getCurrentPrice()));
+        String condition = "#status = :active AND #price = :price AND ";
+
+        String update = "SET updatedAt = :now";
+        if (soldOut) {
+            update += ", #status = :sold";
+            values.put(":sold", string(STATUS_SOLD));
+            values.put(":before", number(sold));
+            condition += sold == 0
+                    ? "(attribute_not_exists(quantitySold) OR quantitySold = :before)"
+                    : "quantitySold = :before";
+        } else {
+            // Seats must remain afterwards, or this purchase would have to mark the listing sold
+            values.put(":limit", number(totalSeats - transaction.getQuantity()));
+            condition += "(attribute_not_exists(quantitySold) OR quantitySold < :limit)";
+        }
+
+        return Update.builder()
+                .tableName(LISTINGS_TABLE)
+                .key(Map.of("listingId", string(listing.getListingId())))
+                .updateExpression(update + " ADD quantitySold :quantity")
+                .conditionExpression(condition)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .build();
+    }
+
+    private static AttributeValue string(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+
+    private static AttributeValue number(double value) {
+        return AttributeValue.builder().n(String.valueOf(value)).build();
+    }
+
+    private static AttributeValue number(long value) {
+        return AttributeValue.builder().n(String.valueOf(value)).build();
+    }
+}
@@ -2,50 +2,97 @@ package com.tickx.repository;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickx.cache.RequestCoalescer;
+import com.tickx.metrics.ConsumedCapacityTracker;
 import com.tickx.model.Venue;
+import com.tickx.util.AttributeValueConverter;
+import com.tickx.util.GeoHash;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.*;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static com.tickx.constants.MetricsConstants.*;
+
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class VenueRepository {
 
+    // GSI2 partitions venues by ~39x20km geohash cell; the sort key carries the full-precision hash
+    private static final int GEO_PARTITION_PRECISION = 4;
+    private static final int GEO_SORT_PRECISION = 9;
+
     private final DynamoDbClient dynamoDbClient;
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ConsumedCapacityTracker capacityTracker;
+    private final RequestCoalescer requestCoalescer;
 
     @Value("${VENUES_TABLE}")
     private String venuesTable;
 
     public Optional<Venue> findById(String venueId) {
-        try {
-            GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
-                    .tableName(venuesTable)
-                    .key(Map.of(
-                            "PK", AttributeValue.builder().s("VENUE#" + venueId).build(),
-                            "SK", AttributeValue.builder().s("VENUE#" + venueId).build()
-                    ))
-                    .build());
-
-            if (!response.hasItem() || response.item().isEmpty()) {
+        return requestCoalescer.execute("venue.findById", venueId, () -> {
+            try {
+                GetItemResponse response = dynamoDbClient.getItem(buildGetItemRequest(venueId));
+                capacityTracker.record("venue.findById", response.consumedCapacity());
+                return toVenue(response);
+            } catch (Exception e) {
+                log.error("Error fetching venue {}: {}", venueId, e.getMessage());
                 return Optional.empty();
             }
+        });
+    }
 
-            return Optional.of(parseVenue(response.item()));
-        } catch (Exception e) {
-            log.error("Error fetching venue {}: {}", venueId, e.getMessage());
+    public CompletableFuture<Optional<Venue>> findByIdAsync(String venueId) {
+        Consumer<ConsumedCapacity> recordCapacity = capacityTracker.recorder("venue.findById");
+        return requestCoalescer.executeAsync("venue.findById", venueId,
+                () -> dynamoDbAsyncClient.getItem(buildGetItemRequest(venueId))
+                        .thenApply(response -> {
+                            recordCapacity.accept(response.consumedCapacity());
+                            return toVenue(response);
+                        })
+                        .exceptionally(e -> {
+                            log.error("Error fetching venue {}: {}", venueId, e.getMessage());
+                            return Optional.empty();
+                        }));
+    }
+
+    private GetItemRequest buildGetItemRequest(String venueId) {
+        return GetItemRequest.builder()
+                .tableName(venuesTable)
+                .key(Map.of(
+                        "PK", AttributeValue.builder().s("VENUE#" + venueId).build(),
+                        "SK", AttributeValue.builder().s("VENUE#" + venueId).build()
+                ))
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build();
+    }
+
+    private Optional<Venue> toVenue(GetItemResponse response) {
+        if (!response.hasItem() || response.item().isEmpty()) {
             return Optional.empty();
         }
+        return Optional.ofNullable(parseVenue(response.item()));
     }
 
     public List<Venue> findByCity(String city, int pageSize, String cursor) {
+        return requestCoalescer.execute("venue.findByCity", Arrays.asList(city, pageSize, cursor),
+                () -> queryCity(city, pageSize, cursor));
+    }
+
+    private List<Venue> queryCity(String city, int pageSize, String cursor) {
         String cityKey = city.toLowerCase().replace(" ", "_");
 
         try {
@@ -56,13 +103,15 @@ public class VenueRepository {
                     .expressionAttributeValues(Map.of(
                             ":pk", AttributeValue.builder().s("CITY#" + cityKey).build()
                     ))
-                    .limit(pageSize);
+                    .limit(pageSize)
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
 
             if (cursor != null && !cursor.isEmpty()) {
                 requestBuilder.exclusiveStartKey(decodeCursor(cursor));
             }
 
             QueryResponse response = dynamoDbClient.query(requestBuilder.build());
+            capacityTracker.record("venue.findByCity", response.consumedCapacity());
             List<Venue> venues = response.items().stream()
                     .map(this::parseVenue)
                     .filter(Objects::nonNull)
@@ -79,23 +128,79 @@ public class VenueRepository {
         }
     }
 
+    /**
+     * Venues within {@code radiusKm}, nearest first. Queries the covering geohash cells of GSI2 concurrently
+     * and filters on the sort-key geohash, so only venues inside the radius are deserialized.
+     */
+    public CompletableFuture<List<Venue>> findNearAsync(double latitude, double longitude, double radiusKm, int limit) {
+        Consumer<ConsumedCapacity> recordCapacity = capacityTracker.recorder("venue.findNear");
+        List<CompletableFuture<List<Map<String, AttributeValue>>>> cellQueries =
+                GeoHash.coveringCells(latitude, longitude, radiusKm, GEO_PARTITION_PRECISION).stream()
+                        .map(cell -> queryGeoCell(cell, null, new ArrayList<>(), recordCapacity))
+                        .toList();
+
+        return CompletableFuture.allOf(cellQueries.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    List<Map.Entry<Venue, Double>> nearby = new ArrayList<>();
+                    for (CompletableFuture<List<Map<String, AttributeValue>>> query : cellQueries) {
+                        for (Map<String, AttributeValue> item : query.join()) {
+                            double[] point = GeoHash.decode(item.get("GSI2SK").s().split("#")[1]);
+                            double distance = GeoHash.distanceKm(latitude, longitude, point[0], point[1]);
+                            if (distance <= radiusKm) {
+                                Venue venue = parseVenue(item);
+                                if (venue != null) {
+                                    nearby.add(Map.entry(venue, distance));
+                                }
+                            }
+                        }
+                    }
+                    return nearby.stream()
+                            .sorted(Map.Entry.comparingByValue())
+                            .limit(limit)
+                            .map(Map.Entry::getKey)
+                            .collect(Collectors.toList());
+                })
+                .exceptionally(e -> {
+                    log.error("Error querying venues near {},{}: {}", latitude, longitude, e.getMessage());
+                    return List.of();
+                });
+    }
+
+    private CompletableFuture<List<Map<String, AttributeValue>>> queryGeoCell(
+            String cell, Map<String, AttributeValue> startKey, List<Map<String, AttributeValue>> items,
+            Consumer<ConsumedCapacity> recordCapacity) {
+        QueryRequest.Builder requestBuilder = QueryRequest.builder()
+                .tableName(venuesTable)
+                .indexName("GSI2")
+                .keyConditionExpression("GSI2PK = :pk")
+                .expressionAttributeValues(Map.of(
+                        ":pk", AttributeValue.builder().s("GEO#" + cell).build()
+                ))
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+        if (startKey != null) {
+            requestBuilder.exclusiveStartKey(startKey);
+        }
+
+        return dynamoDbAsyncClient.query(requestBuilder.build())
+                .thenCompose(response -> {
+                    recordCapacity.accept(response.consumedCapacity());
+                    items.addAll(response.items());
+                    return response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+                            ? queryGeoCell(cell, response.lastEvaluatedKey(), items, recordCapacity)
+                            : CompletableFuture.completedFuture(items);
+                });
+    }
+
     public void save(Venue venue) {
         try {
-            String dataJson = objectMapper.writeValueAsString(venue);
-            String cityKey = venue.getCity().toLowerCase().replace(" ", "_");
-
-            Map<String, AttributeValue> item = new HashMap<>();
-            item.put("PK", AttributeValue.builder().s("VENUE#" + venue.getId()).build());
-            item.put("SK", AttributeValue.builder().s("VENUE#" + venue.getId()).build());
-            item.put("GSI1PK", AttributeValue.builder().s("CITY#" + cityKey).build());
-            item.put("GSI1SK", AttributeValue.builder().s("VENUE#" + venue.getId()).build());
-            item.put("entityType", AttributeValue.builder().s("VENUE").build());
-            item.put("data", AttributeValue.builder().s(dataJson).build());
-
-            dynamoDbClient.putItem(PutItemRequest.builder()
+            Map<String, AttributeValue> item = toItem(venue);
+
+            PutItemResponse response = dynamoDbClient.putItem(PutItemRequest.builder()
                     .tableName(venuesTable)
                     .item(item)
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
                     .build());
+            capacityTracker.record("venue.save", response.consumedCapacity());
         } catch (JsonProcessingException e) {
             log.error("Error serializing venue {}: {}", venue.getId(), e.getMessage());
             throw new RuntimeException("Failed to serialize venue", e);
@@ -113,9 +218,11 @@ public class VenueRepository {
 
             if (!writeRequests.isEmpty()) {
                 try {
-                    dynamoDbClient.batchWriteItem(BatchWriteItemRequest.builder()
+                    BatchWriteItemResponse response = dynamoDbClient.batchWriteItem(BatchWriteItemRequest.builder()
                             .requestItems(Map.of(venuesTable, writeRequests))
+                            .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
                             .build());
+                    capacityTracker.record("venue.saveBatch", response.consumedCapacity());
                 } catch (Exception e) {
                     log.error("Error batch writing venues: {}", e.getMessage());
                 }
@@ -125,16 +232,7 @@ public class VenueRepository {
 
     private WriteRequest createWriteRequest(Venue venue) {
         try {
-            String dataJson = objectMapper.writeValueAsString(venue);
-            String cityKey = venue.getCity().toLowerCase().replace(" ", "_");
-
-            Map<String, AttributeValue> item = new HashMap<>();
-            item.put("PK", AttributeValue.builder().s("VENUE#" + venue.getId()).build());
-            item.put("SK", AttributeValue.builder().s("VENUE#" + venue.getId()).build());
-            item.put("GSI1PK", AttributeValue.builder().s("CITY#" + cityKey).build());
-            item.put("GSI1SK", AttributeValue.builder().s("VENUE#" + venue.getId()).build());
-            item.put("entityType", AttributeValue.builder().s("VENUE").build());
-            item.put("data", AttributeValue.builder().s(dataJson).build());
+            Map<String, AttributeValue> item = toItem(venue);
 
             return WriteRequest.builder()
                     .putRequest(PutRequest.builder().item(item).build())
@@ -145,7 +243,45 @@ public class VenueRepository {
         }
     }
 
+    private Map<String, AttributeValue> toItem(Venue venue) throws JsonProcessingException {
+        String dataJson = objectMapper.writeValueAsString(venue);
+        String cityKey = venue.getCity().toLowerCase().replace(" ", "_");
+
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("PK", AttributeValue.builder().s("VENUE#" + venue.getId()).build());
+        item.put("SK", AttributeValue.builder().s("VENUE#" + venue.getId()).build());
+        item.put("GSI1PK", AttributeValue.builder().s("CITY#" + cityKey).build());
+        item.put("GSI1SK", AttributeValue.builder().s("VENUE#" + venue.getId()).build());
+        putGeoKeys(item, venue);
+        item.put("entityType", AttributeValue.builder().s("VENUE").build());
+        item.put("data", AttributeValue.builder().s(dataJson).build());
+        return item;
+    }
+
+    /** The item as the current writer would store it, or empty if it is not a readable venue. */
+    public Optional<Map<String, AttributeValue>> rewriteItem(Map<String, AttributeValue> item) throws JsonProcessingException {
+        AttributeValue entityType = item.get("entityType");
+        if (entityType == null || !"VENUE".equals(entityType.s())) {
+            return Optional.empty();
+        }
+        Venue venue = readVenue(item);
+        return venue != null ? Optional.of(toItem(venue)) : Optional.empty();
+    }
+
+    private void putGeoKeys(Map<String, AttributeValue> item, Venue venue) {
+        if (venue.getLatitude() == null || venue.getLongitude() == null) {
+            return;
+        }
+        String geohash = GeoHash.encode(venue.getLatitude(), venue.getLongitude(), GEO_SORT_PRECISION);
+        item.put("GSI2PK", AttributeValue.builder().s("GEO#" + geohash.substring(0, GEO_PARTITION_PRECISION)).build());
+        item.put("GSI2SK", AttributeValue.builder().s("GEOHASH#" + geohash + "#VENUE#" + venue.getId()).build());
+    }
+
     private Venue parseVenue(Map<String, AttributeValue> item) {
+        return meterRegistry.timer(JSON_PARSE, TAG_ENTITY, "venue").record(() -> readVenue(item));
+    }
+
+    private Venue readVenue(Map<String, AttributeValue> item) {
         try {
             AttributeValue dataAttr = item.get("data");
             if (dataAttr == null) {
@@ -156,7 +292,7 @@ public class VenueRepository {
             if (dataAttr.s() != null) {
                 return objectMapper.readValue(dataAttr.s(), Venue.class);
             } else if (dataAttr.m() != null && !dataAttr.m().isEmpty()) {
-                Map<String, Object> dataMap = convertAttributeMapToJavaMap(dataAttr.m());
+                Map<String, Object> dataMap = AttributeValueConverter.toJavaMap(dataAttr.m());
                 return objectMapper.convertValue(dataMap, Venue.class);
             }
             return null;
@@ -166,30 +302,6 @@ public class VenueRepository {
         }
     }
 
-    private Map<String, Object> convertAttributeMapToJavaMap(Map<String, AttributeValue> attrMap) {
-        Map<String, Object> result = new HashMap<>();
-        for (Map.Entry<String, AttributeValue> entry : attrMap.entrySet()) {
-            result.put(entry.getKey(), convertAttributeValue(entry.getValue()));
-        }
-        return result;
-    }
-
-    private Object convertAttributeValue(AttributeValue av) {
-        if (av.s() != null) return av.s();
-        if (av.n() != null) {
-            String num = av.n();
-            if (num.contains(".")) return Double.parseDouble(num);
-            return Long.parseLong(num);
-        }
-        if (av.bool() != null) return av.bool();
-        if (av.m() != null && !av.m().isEmpty()) return convertAttributeMapToJavaMap(av.m());
-        if (av.l() != null && !av.l().isEmpty()) {
-            return av.l().stream().map(this::convertAttributeValue).collect(Collectors.toList());
-        }
-        if (av.nul() != null && av.nul()) return null;
-        return null;
-    }
-
     private String encodeCursor(Map<String, AttributeValue> lastKey) {
         try {
             Map<String, String> simplified = lastKey.entrySet().stream()
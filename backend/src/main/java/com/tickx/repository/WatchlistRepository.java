@@ -0,0 +1,109 @@
+package com.tickx.repository;
+
+import com.tickx.metrics.ConsumedCapacityTracker;
+import com.tickx.model.WatchlistEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedResponse;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedResponse;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.tickx.constants.DynamoDbConstants.*;
+
+@Repository
+@RequiredArgsConstructor
+public class WatchlistRepository {
+
+    private static final TableSchema<WatchlistEntry> SCHEMA = TableSchema.fromBean(WatchlistEntry.class);
+
+    private final DynamoDbEnhancedClient dynamoDbClient;
+    private final ConsumedCapacityTracker capacityTracker;
+
+    private DynamoDbTable<WatchlistEntry> getTable() {
+        return dynamoDbClient.table(WATCHLIST_TABLE, SCHEMA);
+    }
+
+    public WatchlistEntry save(WatchlistEntry entry) {
+        entry.setThresholdKey(entry.getThreshold() != null ? thresholdKey(entry.getThreshold(), entry.getUserId()) : null);
+        PutItemEnhancedResponse<WatchlistEntry> response = getTable().putItemWithResponse(
+                PutItemEnhancedRequest.builder(WatchlistEntry.class)
+                        .item(entry)
+                        .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                        .build());
+        capacityTracker.record("watchlist.save", response.consumedCapacity());
+        return entry;
+    }
+
+    public Optional<WatchlistEntry> delete(String userId, String targetKey) {
+        DeleteItemEnhancedResponse<WatchlistEntry> response = getTable().deleteItemWithResponse(
+                DeleteItemEnhancedRequest.builder()
+                        .key(Key.builder().partitionValue(userId).sortValue(targetKey).build())
+                        .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                        .build());
+        capacityTracker.record("watchlist.delete", response.consumedCapacity());
+        return Optional.ofNullable(response.attributes());
+    }
+
+    public List<WatchlistEntry> findByUserId(String userId) {
+        return collectPages(getTable().query(QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(userId).build()))
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build()), "watchlist.findByUserId");
+    }
+
+    /**
+     * Watchers of {@code targetKey} whose threshold a drop from {@code previousPrice} to {@code price} crossed:
+     * {@code price <= threshold < previousPrice}, or every threshold at or above {@code price} when there was
+     * no previous price. One range read over the target's thresholds, sized by the matches rather than the
+     * number of watchers.
+     */
+    public List<WatchlistEntry> findCrossedThresholds(String targetKey, double price, Double previousPrice) {
+        if (previousPrice != null && cents(price) >= cents(previousPrice)) {
+            return List.of();
+        }
+        Key lower = Key.builder().partitionValue(targetKey).sortValue(thresholdPrefix(cents(price))).build();
+        QueryConditional condition = previousPrice != null
+                // '$' sorts right after the '#' separator, so this bound takes every user at previousPrice - 1c
+                ? QueryConditional.sortBetween(lower, Key.builder().partitionValue(targetKey)
+                        .sortValue(thresholdPrefix(cents(previousPrice) - 1) + "$").build())
+                : QueryConditional.sortGreaterThanOrEqualTo(lower);
+        return collectPages(getTable().index(TARGET_THRESHOLD_INDEX).query(QueryEnhancedRequest.builder()
+                .queryConditional(condition)
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build()), "watchlist.findCrossedThresholds");
+    }
+
+    private List<WatchlistEntry> collectPages(Iterable<Page<WatchlistEntry>> pages, String operation) {
+        List<WatchlistEntry> entries = new ArrayList<>();
+        for (Page<WatchlistEntry> page : pages) {
+            capacityTracker.record(operation, page.consumedCapacity());
+            entries.addAll(page.items());
+        }
+        return entries;
+    }
+
+    static String thresholdKey(double threshold, String userId) {
+        return thresholdPrefix(cents(threshold)) + "#" + userId;
+    }
+
+    private static String thresholdPrefix(long cents) {
+        return String.format("%012d", Math.max(0, cents));
+    }
+
+    private static long cents(double price) {
+        return Math.round(price * 100);
+    }
+}
@@ -0,0 +1,25 @@
+package com.tickx.search;
+
+import com.tickx.model.Attraction;
+import com.tickx.model.Event;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The slice of an event the search index needs: the text fields it ranks on and the fields it filters on.
+ */
+public record SearchDocument(String id, String name, List<String> attractions, String venueId, String venueName,
+                             String venueCity, String category, String genre, String subGenre,
+                             String localDate, String localTime) {
+
+    public static SearchDocument from(Event event) {
+        List<String> attractions = event.getAttractions() == null ? List.of() : event.getAttractions().stream()
+                .map(Attraction::getName)
+                .filter(Objects::nonNull)
+                .toList();
+        return new SearchDocument(event.getId(), event.getName(), attractions, event.getVenueId(), event.getVenueName(),
+                event.getVenueCity(), event.getCategory() != null ? event.getCategory().getValue() : null,
+                event.getGenre(), event.getSubGenre(), event.getLocalDate(), event.getLocalTime());
+    }
+}
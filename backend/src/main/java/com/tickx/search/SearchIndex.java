@@ -0,0 +1,279 @@
+package com.tickx.search;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Immutable in-memory inverted index over upcoming events.
+ *
+ * <p>Terms are kept in one sorted array, so exact lookups are a binary search and all terms sharing a prefix
+ * are a contiguous range. Ranking is BM25 over a field-weighted term frequency (name, then attractions, then
+ * venue, then genre). Query terms missing from the dictionary are matched within edit distance 1, or 2 for
+ * terms of 8+ characters, at a reduced weight. Every query term has to match for an event to be returned.
+ */
+public final class SearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float ATTRACTION_WEIGHT = 2f;
+    private static final float VENUE_WEIGHT = 1f;
+    private static final float GENRE_WEIGHT = 0.5f;
+
+    private static final float PREFIX_MATCH_WEIGHT = 0.8f;
+    private static final float ONE_EDIT_WEIGHT = 0.6f;
+    private static final float TWO_EDIT_WEIGHT = 0.4f;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int TWO_EDIT_MIN_LENGTH = 8;
+    // Short prefixes match thousands of terms; only the most common ones are scored
+    private static final int MAX_EXPANSIONS = 32;
+
+    private final List<SearchDocument> documents;
+    private final String[] terms;
+    private final int[][] postings;
+    private final float[][] frequencies;
+    private final float[] lengthNorms;
+    private final int[][] termsByLength;
+
+    private SearchIndex(List<SearchDocument> documents, String[] terms, int[][] postings, float[][] frequencies,
+                        float[] lengthNorms, int[][] termsByLength) {
+        this.documents = documents;
+        this.terms = terms;
+        this.postings = postings;
+        this.frequencies = frequencies;
+        this.lengthNorms = lengthNorms;
+        this.termsByLength = termsByLength;
+    }
+
+    public static SearchIndex build(List<SearchDocument> documents) {
+        Map<String, Map<Integer, Float>> termDocuments = new HashMap<>();
+        float[] lengths = new float[documents.size()];
+        float totalLength = 0;
+
+        for (int doc = 0; doc < documents.size(); doc++) {
+            SearchDocument document = documents.get(doc);
+            Map<String, Float> weighted = new HashMap<>();
+            addField(weighted, document.name(), NAME_WEIGHT);
+            for (String attraction : document.attractions()) {
+                addField(weighted, attraction, ATTRACTION_WEIGHT);
+            }
+            addField(weighted, document.venueName(), VENUE_WEIGHT);
+            addField(weighted, document.genre(), GENRE_WEIGHT);
+            addField(weighted, document.subGenre(), GENRE_WEIGHT);
+
+            for (Map.Entry<String, Float> entry : weighted.entrySet()) {
+                termDocuments.computeIfAbsent(entry.getKey(), key -> new LinkedHashMap<>()).put(doc, entry.getValue());
+                lengths[doc] += entry.getValue();
+            }
+            totalLength += lengths[doc];
+        }
+
+        String[] terms = termDocuments.keySet().toArray(String[]::new);
+        Arrays.sort(terms);
+        int[][] postings = new int[terms.length][];
+        float[][] frequencies = new float[terms.length][];
+        int maxLength = 0;
+        for (int t = 0; t < terms.length; t++) {
+            Map<Integer, Float> docs = termDocuments.get(terms[t]);
+            postings[t] = new int[docs.size()];
+            frequencies[t] = new float[docs.size()];
+            int i = 0;
+            // Documents were added in id order, so postings are already sorted
+            for (Map.Entry<Integer, Float> entry : docs.entrySet()) {
+                postings[t][i] = entry.getKey();
+                frequencies[t][i++] = entry.getValue();
+            }
+            maxLength = Math.max(maxLength, terms[t].length());
+        }
+
+        float averageLength = documents.isEmpty() ? 1 : totalLength / documents.size();
+        float[] lengthNorms = new float[documents.size()];
+        for (int doc = 0; doc < lengthNorms.length; doc++) {
+            lengthNorms[doc] = K1 * (1 - B + B * lengths[doc] / averageLength);
+        }
+
+        List<List<Integer>> byLength = new ArrayList<>();
+        for (int len = 0; len <= maxLength; len++) {
+            byLength.add(new ArrayList<>());
+        }
+        for (int t = 0; t < terms.length; t++) {
+            byLength.get(terms[t].length()).add(t);
+        }
+        int[][] termsByLength = byLength.stream()
+                .map(ids -> ids.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+
+        return new SearchIndex(List.copyOf(documents), terms, postings, frequencies, lengthNorms, termsByLength);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public List<SearchDocument> documents() {
+        return documents;
+    }
+
+    /** Ranked full-text search; every term must match exactly or within the fuzzy edit distance. */
+    public List<SearchDocument> search(String query, Predicate<SearchDocument> filter, int limit) {
+        return run(query, filter, limit, false);
+    }
+
+    /** Type-ahead: like {@link #search} but the last, possibly incomplete, term also matches as a prefix. */
+    public List<SearchDocument> suggest(String text, Predicate<SearchDocument> filter, int limit) {
+        return run(text, filter, limit, true);
+    }
+
+    private List<SearchDocument> run(String text, Predicate<SearchDocument> filter, int limit, boolean prefixLast) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        if (tokens.isEmpty() || documents.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        float[] scores = new float[documents.size()];
+        int[] matchedTokens = new int[documents.size()];
+        Map<Integer, Float> tokenScores = Map.of();
+
+        for (int t = 0; t < tokens.size(); t++) {
+            Map<Integer, Float> expansions = expand(tokens.get(t), prefixLast && t == tokens.size() - 1);
+            tokenScores = new HashMap<>();
+            for (Map.Entry<Integer, Float> expansion : expansions.entrySet()) {
+                int term = expansion.getKey();
+                float idf = idf(postings[term].length);
+                for (int i = 0; i < postings[term].length; i++) {
+                    int doc = postings[term][i];
+                    if (matchedTokens[doc] != t) {
+                        continue;
+                    }
+                    float tf = frequencies[term][i];
+                    float score = expansion.getValue() * idf * tf * (K1 + 1) / (tf + lengthNorms[doc]);
+                    tokenScores.merge(doc, score, Math::max);
+                }
+            }
+            if (tokenScores.isEmpty()) {
+                return List.of();
+            }
+            for (Map.Entry<Integer, Float> entry : tokenScores.entrySet()) {
+                scores[entry.getKey()] += entry.getValue();
+                matchedTokens[entry.getKey()]++;
+            }
+        }
+
+        // Only documents that matched the last token can have matched every token
+        Comparator<Integer> ranking = Comparator.<Integer>comparingDouble(doc -> scores[doc]).reversed()
+                .thenComparing(doc -> documents.get(doc).localDate(), Comparator.nullsLast(Comparator.naturalOrder()));
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (int doc : tokenScores.keySet()) {
+            if (filter != null && !filter.test(documents.get(doc))) {
+                continue;
+            }
+            top.add(doc);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(top);
+        ranked.sort(ranking);
+        return ranked.stream().map(documents::get).toList();
+    }
+
+    private Map<Integer, Float> expand(String token, boolean prefix) {
+        Map<Integer, Float> expansions = new HashMap<>();
+        int exact = Arrays.binarySearch(terms, token);
+        if (exact >= 0) {
+            expansions.put(exact, 1f);
+        }
+
+        if (prefix) {
+            List<Integer> matches = new ArrayList<>();
+            for (int t = exact >= 0 ? exact + 1 : -exact - 1; t < terms.length && terms[t].startsWith(token); t++) {
+                matches.add(t);
+            }
+            if (matches.size() > MAX_EXPANSIONS) {
+                matches.sort(Comparator.comparingInt((Integer t) -> postings[t].length).reversed());
+                matches = matches.subList(0, MAX_EXPANSIONS);
+            }
+            matches.forEach(t -> expansions.put(t, PREFIX_MATCH_WEIGHT));
+        }
+
+        if (expansions.isEmpty() && token.length() >= MIN_FUZZY_LENGTH) {
+            if (prefix) {
+                // A typo inside a partial word: compare against the same-length prefix of longer terms
+                for (int len = token.length() - 1; len < termsByLength.length; len++) {
+                    for (int t : bucket(len)) {
+                        if (editDistance(token, terms[t], Math.min(terms[t].length(), token.length()), 1) <= 1) {
+                            expansions.putIfAbsent(t, ONE_EDIT_WEIGHT);
+                        }
+                    }
+                }
+            } else {
+                int maxEdits = token.length() >= TWO_EDIT_MIN_LENGTH ? 2 : 1;
+                for (int len = token.length() - maxEdits; len <= token.length() + maxEdits; len++) {
+                    for (int t : bucket(len)) {
+                        int distance = editDistance(token, terms[t], maxEdits);
+                        if (distance <= maxEdits) {
+                            expansions.put(t, distance == 1 ? ONE_EDIT_WEIGHT : TWO_EDIT_WEIGHT);
+                        }
+                    }
+                }
+            }
+            if (expansions.size() > MAX_EXPANSIONS) {
+                List<Integer> common = new ArrayList<>(expansions.keySet());
+                common.sort(Comparator.comparingInt((Integer t) -> postings[t].length).reversed());
+                expansions.keySet().retainAll(common.subList(0, MAX_EXPANSIONS));
+            }
+        }
+        return expansions;
+    }
+
+    private int[] bucket(int length) {
+        return length >= 0 && length < termsByLength.length ? termsByLength[length] : new int[0];
+    }
+
+    private float idf(int documentFrequency) {
+        return (float) Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static void addField(Map<String, Float> weighted, String text, float weight) {
+        for (String token : Tokenizer.tokenize(text)) {
+            weighted.merge(token, weight, Float::sum);
+        }
+    }
+
+    static int editDistance(String a, String b, int max) {
+        return editDistance(a, b, b.length(), max);
+    }
+
+    /**
+     * Levenshtein distance between {@code a} and the first {@code bLength} characters of {@code b}, or
+     * {@code max + 1} as soon as it is known to exceed {@code max}.
+     */
+    static int editDistance(String a, String b, int bLength, int max) {
+        if (Math.abs(a.length() - bLength) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[bLength + 1];
+        int[] current = new int[bLength + 1];
+        for (int j = 0; j <= bLength; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= bLength; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[bLength];
+    }
+}
@@ -0,0 +1,183 @@
+package com.tickx.search;
+
+import com.tickx.cache.EventCache;
+import com.tickx.model.Event;
+import com.tickx.model.EventQuery;
+import com.tickx.model.EventSuggestion;
+import com.tickx.repository.SearchSnapshotRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Keyword search and type-ahead over an in-memory {@link SearchIndex}. The sync publishes a snapshot of the
+ * indexed documents to DynamoDB; each instance loads it on first use and picks up newer versions in the
+ * background, so queries never touch DynamoDB except to load the matched events.
+ */
+@Slf4j
+@Service
+public class SearchService {
+
+    private final SearchSnapshotRepository snapshotRepository;
+    private final EventCache eventCache;
+    private final long refreshMillis;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<Consumer<SearchIndex>> replacedListeners = new CopyOnWriteArrayList<>();
+
+    private volatile SearchIndex index;
+    private volatile long loadedVersion;
+    private volatile long checkedAt;
+
+    public SearchService(SearchSnapshotRepository snapshotRepository,
+                         EventCache eventCache,
+                         @Value("${SEARCH_INDEX_REFRESH_SECONDS:300}") long refreshSeconds) {
+        this.snapshotRepository = snapshotRepository;
+        this.eventCache = eventCache;
+        this.refreshMillis = refreshSeconds * 1000;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /** The index, loading it if this instance has none yet; empty when no index has been published. */
+    public Optional<SearchIndex> currentIndex() {
+        return index();
+    }
+
+    /** Called in the background whenever a newer index (normally from a sync) replaces the one in use. */
+    public void onIndexReplaced(Consumer<SearchIndex> listener) {
+        replacedListeners.add(listener);
+    }
+
+    /** Ranked keyword results for the query's filters, or empty when no index has been published yet. */
+    public Optional<List<Event>> search(EventQuery query) {
+        return index().map(current -> {
+            List<String> ids = current.search(query.getKeyword(), filter(query), query.getPageSize()).stream()
+                    .map(SearchDocument::id)
+                    .toList();
+            Map<String, Event> events = eventCache.getAll(ids);
+            return ids.stream().map(events::get).filter(Objects::nonNull).toList();
+        });
+    }
+
+    public List<EventSuggestion> suggest(String text, String city, int limit) {
+        Predicate<SearchDocument> filter = filter(EventQuery.builder().city(city).build());
+        return index()
+                .map(current -> current.suggest(text, filter, limit).stream()
+                        .map(document -> EventSuggestion.builder()
+                                .id(document.id())
+                                .name(document.name())
+                                .localDate(document.localDate())
+                                .venueName(document.venueName())
+                                .venueCity(document.venueCity())
+                                .category(document.category())
+                                .build())
+                        .toList())
+                .orElse(List.of());
+    }
+
+    /** Indexes the upcoming events, publishes the snapshot for other instances and swaps it in locally. */
+    public void publish(List<Event> events) {
+        String today = LocalDate.now().toString();
+        List<SearchDocument> documents = events.stream()
+                .filter(event -> event.getLocalDate() != null && event.getLocalDate().compareTo(today) >= 0)
+                .map(SearchDocument::from)
+                .toList();
+        try {
+            byte[] snapshot = SearchSnapshotCodec.encode(documents);
+            SearchSnapshotRepository.Manifest manifest = snapshotRepository.write(snapshot, documents.size());
+            install(SearchIndex.build(documents), manifest.version());
+        } catch (Exception e) {
+            log.error("Failed to publish search index: {}", e.getMessage(), e);
+        }
+    }
+
+    private Optional<SearchIndex> index() {
+        SearchIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null && System.currentTimeMillis() - checkedAt > refreshMillis) {
+                    refresh();
+                }
+                current = index;
+            }
+        } else if (System.currentTimeMillis() - checkedAt > refreshMillis) {
+            // Lambda freezes background threads between invocations, so refresh-ahead on read
+            refresher.execute(this::refresh);
+        }
+        return Optional.ofNullable(current);
+    }
+
+    private void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            checkedAt = System.currentTimeMillis();
+            Optional<SearchSnapshotRepository.Manifest> manifest = snapshotRepository.findManifest();
+            if (manifest.isEmpty() || manifest.get().version() == loadedVersion) {
+                return;
+            }
+            long start = System.nanoTime();
+            List<SearchDocument> documents = SearchSnapshotCodec.decode(snapshotRepository.read(manifest.get()));
+            install(SearchIndex.build(documents), manifest.get().version());
+            log.info("Loaded search index {} with {} documents in {} ms", manifest.get().version(), documents.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Search index refresh failed: {}", e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private synchronized void install(SearchIndex newIndex, long version) {
+        boolean replaced = index != null;
+        index = newIndex;
+        loadedVersion = version;
+        checkedAt = System.currentTimeMillis();
+        if (replaced && !replacedListeners.isEmpty()) {
+            refresher.execute(() -> replacedListeners.forEach(listener -> listener.accept(newIndex)));
+        }
+    }
+
+    private static Predicate<SearchDocument> filter(EventQuery query) {
+        String today = LocalDate.now().toString();
+        String from = query.getDateFrom() != null && query.getDateFrom().compareTo(today) > 0 ? query.getDateFrom() : today;
+        String city = query.getCity() != null && !query.getCity().isEmpty() ? cityKey(query.getCity()) : null;
+        String category = query.getCategory() != null && !query.getCategory().isEmpty() ? query.getCategory() : null;
+        String venueId = query.getVenueId() != null && !query.getVenueId().isEmpty() ? query.getVenueId() : null;
+        String to = query.getDateTo();
+
+        return document -> document.localDate() != null
+                && document.localDate().compareTo(from) >= 0
+                && (to == null || document.localDate().compareTo(to) <= 0)
+                && (city == null || (document.venueCity() != null && cityKey(document.venueCity()).equals(city)))
+                && (category == null || category.equals(document.category()))
+                && (venueId == null || venueId.equals(document.venueId()));
+    }
+
+    private static String cityKey(String city) {
+        return city.toLowerCase().replace(" ", "_");
+    }
+}
@@ -0,0 +1,87 @@
+package com.tickx.search;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact binary form of the indexed documents: a gzipped stream of length-prefixed UTF-8 fields. Only the
+ * documents are stored; the postings are rebuilt on load, which takes milliseconds and keeps the snapshot
+ * a fraction of the size of the events' JSON.
+ */
+final class SearchSnapshotCodec {
+
+    private static final int MAGIC = 0x54585349; // "TXSI"
+    private static final int FORMAT_VERSION = 1;
+
+    private SearchSnapshotCodec() {
+        // Utility class - prevent instantiation
+    }
+
+    static byte[] encode(List<SearchDocument> documents) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(documents.size());
+            for (SearchDocument document : documents) {
+                writeString(out, document.id());
+                writeString(out, document.name());
+                out.writeShort(document.attractions().size());
+                for (String attraction : document.attractions()) {
+                    writeString(out, attraction);
+                }
+                writeString(out, document.venueId());
+                writeString(out, document.venueName());
+                writeString(out, document.venueCity());
+                writeString(out, document.category());
+                writeString(out, document.genre());
+                writeString(out, document.subGenre());
+                writeString(out, document.localDate());
+                writeString(out, document.localTime());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<SearchDocument> decode(byte[] snapshot) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(snapshot)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a search index snapshot");
+            }
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported search index snapshot version " + version);
+            }
+
+            int count = in.readInt();
+            List<SearchDocument> documents = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String id = readString(in);
+                String name = readString(in);
+                int attractionCount = in.readUnsignedShort();
+                List<String> attractions = new ArrayList<>(attractionCount);
+                for (int a = 0; a < attractionCount; a++) {
+                    attractions.add(readString(in));
+                }
+                documents.add(new SearchDocument(id, name, attractions, readString(in), readString(in), readString(in),
+                        readString(in), readString(in), readString(in), readString(in), readString(in)));
+            }
+            return documents;
+        }
+    }
+
+    // writeUTF cannot encode null, so a leading flag distinguishes null from ""
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
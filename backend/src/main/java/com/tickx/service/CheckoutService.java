@@ -0,0 +1,267 @@
+package com.tickx.service;
+
+import com.tickx.model.Listing;
+import com.tickx.model.SeatHold;
+import com.tickx.model.Transaction;
+import com.tickx.push.ListingTopicRegistry;
+import com.tickx.repository.ListingRepository;
+import com.tickx.repository.TransactionRepository;
+import com.tickx.repository.TransactionRepository.IdempotentPurchase;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+
+import static com.tickx.constants.DynamoDbConstants.*;
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Buys seats at a listing's ask. Each purchase is keyed by the buyer's idempotency token, claimed before anything
+ * else is written: a retry with the same token is answered from the stored key with a single read and never
+ * charges twice, and one that arrives while the first attempt is still running is told so rather than failing on
+ * that attempt's hold. A purchase buys the buyer's seat hold, or holds the requested seats itself first, and
+ * commits the transaction row, fees, listing and seats in one transaction (see {@link TransactionRepository}).
+ */
+@Slf4j
+@Service
+public class CheckoutService {
+
+    private static final int MAX_TOKEN_LENGTH = 255;
+    private static final int MAX_LISTING_ATTEMPTS = 3;
+
+    private final TransactionRepository transactionRepository;
+    private final ListingRepository listingRepository;
+    private final SeatHoldService seatHoldService;
+    private final EventListingStatsService statsService;
+    private final ListingTopicRegistry topicRegistry;
+    private final MeterRegistry meterRegistry;
+    private final double buyerFeeRate;
+    private final double sellerFeeRate;
+
+    public CheckoutService(TransactionRepository transactionRepository,
+                           ListingRepository listingRepository,
+                           SeatHoldService seatHoldService,
+                           EventListingStatsService statsService,
+                           ListingTopicRegistry topicRegistry,
+                           MeterRegistry meterRegistry,
+                           @Value("${BUYER_FEE_RATE:0.10}") double buyerFeeRate,
+                           @Value("${SELLER_FEE_RATE:0.10}") double sellerFeeRate) {
+        this.transactionRepository = transactionRepository;
+        this.listingRepository = listingRepository;
+        this.seatHoldService = seatHoldService;
+        this.statsService = statsService;
+        this.topicRegistry = topicRegistry;
+        this.meterRegistry = meterRegistry;
+        this.buyerFeeRate = buyerFeeRate;
+        this.sellerFeeRate = sellerFeeRate;
+    }
+
+    /** A purchase, and whether it was replayed from an earlier request with the same token. */
+    public record Checkout(Transaction transaction, boolean replayed) {}
+
+    public Optional<Transaction> getTransaction(String transactionId) {
+        return transactionRepository.findById(transactionId);
+    }
+
+    /**
+     * Buys the request's hold ({@code holdId}), or its {@code seats} or {@code quantity} (by default every unsold
+     * seat) of the listing. Empty if the listing does not exist.
+     *
+     * @throws IllegalArgumentException if the request is incomplete, or the token was used for another request
+     * @throws IllegalStateException if the listing cannot be bought at its ask or the seats are no longer available
+     */
+    public Optional<Checkout> purchase(Transaction request, String idempotencyToken) {
+        if (request.getListingId() == null || request.getBuyerId() == null || request.getBuyerId().isBlank()) {
+            throw new IllegalArgumentException("listingId and buyerId are required");
+        }
+        if (idempotencyToken == null || idempotencyToken.isBlank() || idempotencyToken.length() > MAX_TOKEN_LENGTH) {
+            throw new IllegalArgumentException("An idempotency key of up to " + MAX_TOKEN_LENGTH + " characters is required");
+        }
+        // Tokens are scoped to the buyer, so one buyer's token can never replay another's purchase
+        String idempotencyKey = request.getBuyerId() + "#" + idempotencyToken;
+        String fingerprint = fingerprint(request);
+        Optional<Checkout> replay = replay(idempotencyKey, fingerprint);
+        if (replay.isPresent()) {
+            return replay;
+        }
+
+        String claimId = UUID.randomUUID().toString();
+        if (!transactionRepository.claim(idempotencyKey, fingerprint, claimId, Instant.now().getEpochSecond())) {
+            // It may have committed since the first read
+            return Optional.of(replay(idempotencyKey, fingerprint)
+                    .orElseThrow(() -> new IllegalStateException("Purchase is already in progress")));
+        }
+        boolean purchased = false;
+        try {
+            Optional<Checkout> checkout = purchase(request, idempotencyKey, claimId, fingerprint);
+            purchased = checkout.isPresent();
+            return checkout;
+        } finally {
+            if (!purchased) {
+                releaseClaimQuietly(idempotencyKey, claimId);
+            }
+        }
+    }
+
+    private Optional<Checkout> purchase(Transaction request, String idempotencyKey, String claimId, String fingerprint) {
+        Optional<Listing> found = listingRepository.findById(request.getListingId());
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Listing listing = found.get();
+        if (!STATUS_ACTIVE.equals(listing.getStatus())) {
+            throw new IllegalStateException("Listing is not active");
+        }
+        if (EventListingStatsService.ask(listing) == null) {
+            throw new IllegalStateException("Listing has no buy-now price");
+        }
+
+        SeatHold hold;
+        boolean ownHold = request.getHoldId() == null;
+        if (ownHold) {
+            Optional<SeatHold> placed = seatHoldService.hold(SeatHold.builder()
+                    .listingId(listing.getListingId())
+                    .buyerId(request.getBuyerId())
+                    .seats(request.getSeats())
+                    .quantity(request.getQuantity() != null ? request.getQuantity() : unsold(listing))
+                    .build());
+            if (placed.isEmpty()) {
+                return Optional.empty();
+            }
+            hold = placed.get();
+        } else {
+            hold = seatHoldService.getHold(request.getHoldId())
+                    .filter(h -> h.getBuyerId().equals(request.getBuyerId()))
+                    .filter(h -> h.getListingId().equals(listing.getListingId()))
+                    .orElseThrow(() -> new IllegalArgumentException("Hold not found for this buyer and listing"));
+            if (!HOLD_STATUS_HELD.equals(hold.getStatus())) {
+                throw new IllegalStateException("Hold is no longer active");
+            }
+        }
+
+        boolean bought = false;
+        try {
+            Checkout checkout = commit(idempotencyKey, claimId, fingerprint, listing, hold);
+            bought = !checkout.replayed();
+            return Optional.of(checkout);
+        } finally {
+            if (ownHold && !bought) {
+                releaseQuietly(hold);
+            }
+        }
+    }
+
+    private Checkout commit(String idempotencyKey, String claimId, String fingerprint, Listing listing, SeatHold hold) {
+        for (int attempt = 1; ; attempt++) {
+            Instant now = Instant.now();
+            double price = EventListingStatsService.ask(listing);
+            int quantity = hold.getSeats().size();
+            double amount = round(price * quantity);
+            Transaction transaction = Transaction.builder()
+                    .transactionId(UUID.randomUUID().toString())
+                    .listingId(listing.getListingId())
+                    .sellerId(listing.getSellerId())
+                    .buyerId(hold.getBuyerId())
+                    .holdId(hold.getHoldId())
+                    .seats(hold.getSeats())
+                    .quantity(quantity)
+                    .amount(amount)
+                    .buyerFee(round(amount * buyerFeeRate))
+                    .sellerFee(round(amount * sellerFeeRate))
+                    .status(TRANSACTION_STATUS_PENDING_PAYMENT)
+                    .createdAt(now.toString())
+                    .build();
+            int totalSeats = SeatHoldService.seatsOf(listing).size();
+
+            switch (transactionRepository.purchase(idempotencyKey, claimId, fingerprint, transaction, listing,
+                    totalSeats, hold, now.getEpochSecond())) {
+                case COMMITTED -> {
+                    meterRegistry.counter(PURCHASES, TAG_RESULT, RESULT_COMMITTED).increment();
+                    onPurchased(listing, transaction, totalSeats);
+                    return new Checkout(transaction, false);
+                }
+                case DUPLICATE -> {
+                    // This attempt outlived its claim, and a retry with the same token took the key over
+                    return replay(idempotencyKey, fingerprint)
+                            .orElseThrow(() -> new IllegalStateException("Purchase is already in progress"));
+                }
+                case HOLD_LOST -> {
+                    meterRegistry.counter(PURCHASES, TAG_RESULT, RESULT_CONFLICT).increment();
+                    throw new IllegalStateException("Hold is no longer active");
+                }
+                case LISTING_CHANGED -> {
+                    meterRegistry.counter(PURCHASES, TAG_RESULT, RESULT_CONFLICT).increment();
+                    // Usually another buyer's seats sold in between; re-read and try again at the same price
+                    Listing current = listingRepository.findById(listing.getListingId()).orElse(null);
+                    if (attempt == MAX_LISTING_ATTEMPTS || current == null
+                            || !Objects.equals(EventListingStatsService.ask(current), price)) {
+                        throw new IllegalStateException("Listing is no longer available at " + price);
+                    }
+                    listing = current;
+                }
+            }
+        }
+    }
+
+    private Optional<Checkout> replay(String idempotencyKey, String fingerprint) {
+        Optional<IdempotentPurchase> stored = transactionRepository.findByIdempotencyKey(idempotencyKey);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!stored.get().request().equals(fingerprint)) {
+            throw new IllegalArgumentException("Idempotency key was already used for a different purchase");
+        }
+        if (stored.get().transaction() == null) {
+            return Optional.empty();
+        }
+        meterRegistry.counter(PURCHASES, TAG_RESULT, RESULT_REPLAYED).increment();
+        return Optional.of(new Checkout(stored.get().transaction(), true));
+    }
+
+    private void onPurchased(Listing before, Transaction transaction, int totalSeats) {
+        int sold = Objects.requireNonNullElse(before.getQuantitySold(), 0) + transaction.getQuantity();
+        Listing after = before.toBuilder()
+                .quantitySold(sold)
+                .status(sold >= totalSeats ? STATUS_SOLD : before.getStatus())
+                .updatedAt(transaction.getCreatedAt())
+                .build();
+        statsService.onListingChanged(before, after);
+        topicRegistry.publish(after);
+    }
+
+    private void releaseClaimQuietly(String idempotencyKey, String claimId) {
+        try {
+            transactionRepository.releaseClaim(idempotencyKey, claimId);
+        } catch (RuntimeException e) {
+            // It expires on its own
+            log.debug("Could not release idempotency key {} after a failed purchase: {}", idempotencyKey, e.getMessage());
+        }
+    }
+
+    private void releaseQuietly(SeatHold hold) {
+        try {
+            seatHoldService.release(hold.getHoldId(), hold.getBuyerId());
+        } catch (RuntimeException e) {
+            // It lapses on its own
+            log.debug("Could not release hold {} after a failed purchase: {}", hold.getHoldId(), e.getMessage());
+        }
+    }
+
+    /** What the token is bound to: a retry must ask for the same purchase. */
+    private static String fingerprint(Transaction request) {
+        return request.getListingId() + "|" + Objects.requireNonNullElse(request.getHoldId(), "")
+                + "|" + (request.getSeats() != null ? String.join(",", request.getSeats()) : "")
+                + "|" + Objects.requireNonNullElse(request.getQuantity(), 0);
+    }
+
+    private static int unsold(Listing listing) {
+        return SeatHoldService.seatsOf(listing).size() - Objects.requireNonNullElse(listing.getQuantitySold(), 0);
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+}
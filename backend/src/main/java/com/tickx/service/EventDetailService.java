@@ -0,0 +1,54 @@
+package com.tickx.service;
+
+import com.tickx.model.Event;
+import com.tickx.model.EventDetail;
+import com.tickx.model.Listing;
+import com.tickx.model.Venue;
+import com.tickx.repository.EventRepository;
+import com.tickx.repository.ListingRepository;
+import com.tickx.repository.VenueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventDetailService {
+
+    private final EventRepository eventRepository;
+    private final VenueRepository venueRepository;
+    private final ListingRepository listingRepository;
+
+    public CompletableFuture<Optional<EventDetail>> getEventDetail(String eventId, boolean includeVenue,
+                                                                   boolean includeListings) {
+        // Listings only need the eventId, so they are fetched concurrently with the event;
+        // the venue needs the event's venueId and is chained onto the event read.
+        CompletableFuture<Optional<Event>> eventFuture = eventRepository.findByIdAsync(eventId);
+
+        CompletableFuture<Optional<Venue>> venueFuture = includeVenue
+                ? eventFuture.thenCompose(event -> event.map(Event::getVenueId)
+                        .map(venueRepository::findByIdAsync)
+                        .orElse(CompletableFuture.completedFuture(Optional.empty())))
+                : CompletableFuture.completedFuture(Optional.empty());
+
+        CompletableFuture<List<Listing>> listingsFuture = includeListings
+                ? listingRepository.findByEventIdAsync(eventId)
+                        .exceptionally(e -> {
+                            log.error("Error fetching listings for event {}: {}", eventId, e.getMessage());
+                            return List.of();
+                        })
+                : CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.allOf(eventFuture, venueFuture, listingsFuture)
+                .thenApply(ignored -> eventFuture.join().map(event -> EventDetail.builder()
+                        .event(event)
+                        .venue(venueFuture.join().orElse(null))
+                        .listings(listingsFuture.join())
+                        .build()));
+    }
+}
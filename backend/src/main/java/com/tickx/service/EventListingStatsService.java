@@ -0,0 +1,141 @@
+package com.tickx.service;
+
+import com.tickx.cache.EventCache;
+import com.tickx.model.Listing;
+import com.tickx.repository.EventListingStatsRepository;
+import com.tickx.repository.EventListingStatsRepository.PriceBounds;
+import com.tickx.repository.ListingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.tickx.constants.DynamoDbConstants.LISTING_TYPE_AUCTION;
+import static com.tickx.constants.DynamoDbConstants.STATUS_ACTIVE;
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Keeps each event's listing count, lowest ask and highest bid in step with listing writes, so event pages and
+ * cards can show "N listings from $X" without reading the listings.
+ *
+ * <p>Only active listings count. A listing's ask is its buy-now price, or its current price unless it is a
+ * pure auction; its bid is the current price once it has bids. When the listing holding a bound closes or
+ * moves away from it, the bound is recomputed from the event's listings.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventListingStatsService {
+
+    private final EventListingStatsRepository statsRepository;
+    private final ListingRepository listingRepository;
+    private final EventCache eventCache;
+    private final MeterRegistry meterRegistry;
+
+    /** Applies one listing write: {@code before} is null for a create, {@code after} null for a delete. */
+    public void onListingChanged(Listing before, Listing after) {
+        if (before != null && after != null && !Objects.equals(before.getEventId(), after.getEventId())) {
+            // Moving a listing between events closes it on one and opens it on the other
+            onListingChanged(before, null);
+            onListingChanged(null, after);
+            return;
+        }
+        String eventId = after != null ? after.getEventId() : before != null ? before.getEventId() : null;
+        if (eventId == null) {
+            return;
+        }
+
+        try {
+            int delta = (isOpen(after) ? 1 : 0) - (isOpen(before) ? 1 : 0);
+            if (delta != 0) {
+                statsRepository.addListings(eventId, delta);
+            }
+
+            Double oldAsk = ask(before);
+            Double newAsk = ask(after);
+            Double oldBid = bid(before);
+            Double newBid = bid(after);
+            if (newAsk != null) {
+                statsRepository.offerLowestAsk(eventId, newAsk);
+            }
+            if (newBid != null) {
+                statsRepository.offerHighestBid(eventId, newBid);
+            }
+
+            boolean askReleased = oldAsk != null && (newAsk == null || newAsk > oldAsk);
+            boolean bidReleased = oldBid != null && (newBid == null || newBid < oldBid);
+            if (askReleased || bidReleased) {
+                recompute(eventId, before, after, askReleased ? oldAsk : null, bidReleased ? oldBid : null);
+            }
+
+            eventCache.invalidate(eventId);
+            meterRegistry.counter(EVENT_STATS_UPDATES, TAG_RESULT, RESULT_APPLIED).increment();
+        } catch (Exception e) {
+            // The listing write has already succeeded; a missed update only leaves the aggregates stale
+            log.warn("Failed to update listing stats for event {}: {}", eventId, e.getMessage());
+            meterRegistry.counter(EVENT_STATS_UPDATES, TAG_RESULT, RESULT_FAILED).increment();
+        }
+    }
+
+    private void recompute(String eventId, Listing before, Listing after, Double releasedAsk, Double releasedBid) {
+        PriceBounds stored = statsRepository.findPriceBounds(eventId).orElse(null);
+        if (stored == null) {
+            return;
+        }
+        boolean askHeld = releasedAsk != null && releasedAsk.equals(stored.lowestAsk());
+        boolean bidHeld = releasedBid != null && releasedBid.equals(stored.highestBid());
+        if (!askHeld && !bidHeld) {
+            return;
+        }
+
+        // The index is eventually consistent, so the written listing is taken from this write, not the read
+        String listingId = after != null ? after.getListingId() : before.getListingId();
+        List<Listing> listings = Stream.concat(
+                        listingRepository.findByEventId(eventId).stream()
+                                .filter(listing -> !listing.getListingId().equals(listingId)),
+                        Stream.ofNullable(after))
+                .toList();
+
+        if (askHeld) {
+            statsRepository.replaceLowestAsk(eventId, releasedAsk, bound(listings, EventListingStatsService::ask, true));
+        }
+        if (bidHeld) {
+            statsRepository.replaceHighestBid(eventId, releasedBid, bound(listings, EventListingStatsService::bid, false));
+        }
+        meterRegistry.counter(EVENT_STATS_UPDATES, TAG_RESULT, RESULT_RECOMPUTED).increment();
+    }
+
+    private static Double bound(List<Listing> listings, Function<Listing, Double> price, boolean lowest) {
+        return listings.stream()
+                .map(price)
+                .filter(Objects::nonNull)
+                .reduce(lowest ? Math::min : Math::max)
+                .orElse(null);
+    }
+
+    private static boolean isOpen(Listing listing) {
+        return listing != null && STATUS_ACTIVE.equals(listing.getStatus());
+    }
+
+    public static Double ask(Listing listing) {
+        if (!isOpen(listing)) {
+            return null;
+        }
+        if (listing.getBuyNowPrice() != null) {
+            return listing.getBuyNowPrice();
+        }
+        return LISTING_TYPE_AUCTION.equals(listing.getListingType()) ? null : listing.getCurrentPrice();
+    }
+
+    static Double bid(Listing listing) {
+        if (!isOpen(listing) || listing.getBidCount() == null || listing.getBidCount() == 0) {
+            return null;
+        }
+        return listing.getCurrentPrice();
+    }
+}
@@ -1,22 +1,35 @@
 package com.tickx.service;
 
+import com.tickx.cache.EventCache;
+import com.tickx.model.Event;
+import com.tickx.model.EventSummary;
+import com.tickx.model.ExpandedListing;
 import com.tickx.model.Listing;
+import com.tickx.push.ListingTopicRegistry;
 import com.tickx.repository.ListingRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
 import static com.tickx.constants.DynamoDbConstants.STATUS_ACTIVE;
+import static com.tickx.constants.DynamoDbConstants.STATUS_SOLD;
 
 @Service
 @RequiredArgsConstructor
 public class ListingService {
 
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
     private final ListingRepository listingRepository;
+    private final EventCache eventCache;
+    private final ListingTopicRegistry topicRegistry;
+    private final EventListingStatsService statsService;
 
     public Listing createListing(Listing listing) {
         String now = Instant.now().toString();
@@ -28,28 +41,50 @@ public class ListingService {
         listing.setWatcherCount(0);
         listing.setViewCount(0);
         
-        return listingRepository.save(listing);
+        Listing saved = listingRepository.save(listing);
+        statsService.onListingChanged(null, saved);
+        return saved;
     }
 
     public Optional<Listing> getListingById(String listingId) {
         return listingRepository.findById(listingId);
     }
 
+    /**
+     * Replaces the listing with the seller's edit. Sales are kept as stored: purchases own {@code quantitySold}
+     * and the flip to sold, and an edit that races one is re-applied on top of it.
+     *
+     * @throws IllegalStateException if purchases kept landing between the read and the write
+     */
     public Listing updateListing(String listingId, Listing updatedListing) {
-        Optional<Listing> existing = listingRepository.findById(listingId);
-        if (existing.isEmpty()) {
-            throw new RuntimeException("Listing not found: " + listingId);
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            Optional<Listing> existing = listingRepository.findById(listingId);
+            if (existing.isEmpty()) {
+                throw new RuntimeException("Listing not found: " + listingId);
+            }
+
+            updatedListing.setListingId(listingId);
+            updatedListing.setUpdatedAt(Instant.now().toString());
+            updatedListing.setCreatedAt(existing.get().getCreatedAt());
+            updatedListing.setQuantitySold(existing.get().getQuantitySold());
+            if (STATUS_SOLD.equals(existing.get().getStatus())) {
+                updatedListing.setStatus(STATUS_SOLD);
+            }
+
+            if (listingRepository.saveIfSalesUnchanged(updatedListing, existing.get().getQuantitySold(),
+                    existing.get().getStatus())) {
+                statsService.onListingChanged(existing.get(), updatedListing);
+                topicRegistry.publish(updatedListing);
+                return updatedListing;
+            }
         }
-        
-        updatedListing.setListingId(listingId);
-        updatedListing.setUpdatedAt(Instant.now().toString());
-        updatedListing.setCreatedAt(existing.get().getCreatedAt());
-        
-        return listingRepository.save(updatedListing);
+        throw new IllegalStateException("Listing " + listingId + " changed while it was being updated");
     }
 
     public void deleteListing(String listingId) {
-        listingRepository.deleteById(listingId);
+        listingRepository.deleteById(listingId)
+                .ifPresent(removed -> statsService.onListingChanged(removed, null));
+        topicRegistry.close(listingId);
     }
 
     public List<Listing> getListingsBySeller(String sellerId) {
@@ -67,4 +102,21 @@ public class ListingService {
     public List<Listing> getActiveListings() {
         return listingRepository.findByStatus(STATUS_ACTIVE);
     }
-}
\ No newline at end of file
+
+    public List<ExpandedListing> expandEvents(List<Listing> listings) {
+        // Resolve all distinct events in one batched read instead of one lookup per listing
+        List<String> eventIds = listings.stream()
+                .map(Listing::getEventId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<String, Event> events = eventCache.getAll(eventIds);
+
+        return listings.stream()
+                .map(listing -> {
+                    Event event = listing.getEventId() != null ? events.get(listing.getEventId()) : null;
+                    return new ExpandedListing(listing, event != null ? EventSummary.from(event) : null);
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.tickx.service;
+
+import com.tickx.model.Event;
+import com.tickx.model.Venue;
+import com.tickx.repository.EventRepository;
+import com.tickx.repository.VenueRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class NearbyEventService {
+
+    private static final Comparator<Event> BY_DATE = Comparator
+            .comparing(Event::getLocalDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Event::getLocalTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final VenueRepository venueRepository;
+    private final EventRepository eventRepository;
+
+    // Bounds the per-venue fan-out in dense areas; the nearest venues win
+    @Value("${NEARBY_MAX_VENUES:50}")
+    private int maxVenues;
+
+    /**
+     * Upcoming events at venues within {@code radiusKm}, soonest first. Each venue's GSI3 query already returns
+     * its events in date order, so reading {@code pageSize} per venue is enough to fill the merged page.
+     */
+    public CompletableFuture<List<Event>> findNear(double latitude, double longitude, double radiusKm,
+                                                   String dateFrom, String dateTo, int pageSize) {
+        return venueRepository.findNearAsync(latitude, longitude, radiusKm, maxVenues)
+                .thenCompose(venues -> {
+                    List<CompletableFuture<List<Event>>> venueEvents = venues.stream()
+                            .map(Venue::getId)
+                            .map(venueId -> eventRepository.findByVenueAsync(venueId, dateFrom, dateTo, pageSize, null))
+                            .toList();
+
+                    return CompletableFuture.allOf(venueEvents.toArray(CompletableFuture[]::new))
+                            .thenApply(ignored -> venueEvents.stream()
+                                    .flatMap(future -> future.join().stream())
+                                    .sorted(BY_DATE)
+                                    .limit(pageSize)
+                                    .collect(Collectors.toList()));
+                });
+    }
+}
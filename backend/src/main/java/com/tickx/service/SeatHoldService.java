@@ -0,0 +1,162 @@
+package com.tickx.service;
+
+import com.tickx.model.Listing;
+import com.tickx.model.SeatHold;
+import com.tickx.repository.ListingRepository;
+import com.tickx.repository.SeatHoldRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static com.tickx.constants.DynamoDbConstants.*;
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Places and releases seat holds for buyers, including several buyers of a group claiming seats from one
+ * listing at once. A hold names its seats or asks for any {@code quantity}; in the latter case free seats are
+ * picked from a fresh read and the pick is retried if another buyer claims one of them first.
+ */
+@Slf4j
+@Service
+public class SeatHoldService {
+
+    // A transaction takes at most 100 items; buying a hold adds the hold, listing, transaction and idempotency key
+    private static final int MAX_SEATS_PER_HOLD = 96;
+    private static final int MAX_PICK_ATTEMPTS = 3;
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final ListingRepository listingRepository;
+    private final MeterRegistry meterRegistry;
+    private final long holdSeconds;
+
+    public SeatHoldService(SeatHoldRepository seatHoldRepository,
+                           ListingRepository listingRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${SEAT_HOLD_SECONDS:600}") long holdSeconds) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.listingRepository = listingRepository;
+        this.meterRegistry = meterRegistry;
+        this.holdSeconds = holdSeconds;
+    }
+
+    /**
+     * Holds the requested seats for {@code SEAT_HOLD_SECONDS}. Empty if the listing does not exist.
+     *
+     * @throws IllegalArgumentException if the request is incomplete or breaks the listing's split rules
+     * @throws IllegalStateException if the listing is not active or the seats are held by someone else
+     */
+    public Optional<SeatHold> hold(SeatHold request) {
+        if (request.getListingId() == null || request.getBuyerId() == null || request.getBuyerId().isBlank()) {
+            throw new IllegalArgumentException("listingId and buyerId are required");
+        }
+        Optional<Listing> found = listingRepository.findById(request.getListingId());
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Listing listing = found.get();
+        if (!STATUS_ACTIVE.equals(listing.getStatus())) {
+            throw new IllegalStateException("Listing is not active");
+        }
+
+        List<String> listingSeats = seatsOf(listing);
+        List<String> named = request.getSeats() != null && !request.getSeats().isEmpty()
+                ? List.copyOf(new LinkedHashSet<>(request.getSeats())) : null;
+        int quantity = named != null ? named.size() : Objects.requireNonNullElse(request.getQuantity(), 0);
+        validate(listing, listingSeats, named, quantity);
+
+        for (int attempt = 1; ; attempt++) {
+            long now = Instant.now().getEpochSecond();
+            List<String> seats = named != null ? named : pickFreeSeats(listing.getListingId(), listingSeats, quantity, now);
+            SeatHold hold = SeatHold.builder()
+                    .holdId(UUID.randomUUID().toString())
+                    .listingId(listing.getListingId())
+                    .buyerId(request.getBuyerId())
+                    .seats(seats)
+                    .status(HOLD_STATUS_HELD)
+                    .createdAt(Instant.ofEpochSecond(now).toString())
+                    .expiresAt(now + holdSeconds)
+                    .build();
+            List<String> unavailable = seatHoldRepository.create(hold, now);
+            if (unavailable.isEmpty()) {
+                meterRegistry.counter(SEAT_HOLDS, TAG_RESULT, RESULT_HELD).increment();
+                return Optional.of(hold);
+            }
+            meterRegistry.counter(SEAT_HOLDS, TAG_RESULT, RESULT_CONFLICT).increment();
+            if (named != null || attempt == MAX_PICK_ATTEMPTS) {
+                log.debug("Hold on listing {} lost seats {}", listing.getListingId(), unavailable);
+                throw new IllegalStateException("Seats no longer available: " + String.join(", ", unavailable));
+            }
+        }
+    }
+
+    /** The hold, reported as expired once it has lapsed unreleased. */
+    public Optional<SeatHold> getHold(String holdId) {
+        return seatHoldRepository.findById(holdId).map(SeatHoldService::withCurrentStatus);
+    }
+
+    /**
+     * Releases the buyer's hold early. Empty if there is no such hold for that buyer.
+     *
+     * @throws IllegalStateException if it was already released or has lapsed
+     */
+    public Optional<SeatHold> release(String holdId, String buyerId) {
+        Optional<SeatHold> found = seatHoldRepository.findById(holdId)
+                .filter(hold -> hold.getBuyerId().equals(buyerId));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        SeatHold hold = found.get();
+        if (!HOLD_STATUS_HELD.equals(withCurrentStatus(hold).getStatus()) || !seatHoldRepository.release(hold)) {
+            throw new IllegalStateException("Hold is no longer active");
+        }
+        meterRegistry.counter(SEAT_HOLDS, TAG_RESULT, RESULT_RELEASED).increment();
+        hold.setStatus(HOLD_STATUS_RELEASED);
+        return Optional.of(hold);
+    }
+
+    private void validate(Listing listing, List<String> listingSeats, List<String> seats, int quantity) {
+        if (quantity < 1 || quantity > Math.min(listingSeats.size(), MAX_SEATS_PER_HOLD)) {
+            throw new IllegalArgumentException("Hold between 1 and " + Math.min(listingSeats.size(), MAX_SEATS_PER_HOLD)
+                    + " seats");
+        }
+        if (seats != null && !listingSeats.containsAll(seats)) {
+            throw new IllegalArgumentException("Seats must belong to the listing");
+        }
+        if (Boolean.FALSE.equals(listing.getAllowSplitting()) && quantity != listingSeats.size()) {
+            throw new IllegalArgumentException("Listing must be bought as a whole");
+        }
+        if (listing.getMinQuantity() != null && quantity < listing.getMinQuantity()) {
+            throw new IllegalArgumentException("Hold at least " + listing.getMinQuantity() + " seats");
+        }
+    }
+
+    private List<String> pickFreeSeats(String listingId, List<String> listingSeats, int quantity, long now) {
+        Set<String> held = seatHoldRepository.findHeldSeats(listingId, now);
+        List<String> free = listingSeats.stream().filter(seat -> !held.contains(seat)).limit(quantity).toList();
+        if (free.size() < quantity) {
+            throw new IllegalStateException("Only " + free.size() + " seats left");
+        }
+        return free;
+    }
+
+    /** The listing's seat numbers, or positions 1..quantity when it does not name them. */
+    static List<String> seatsOf(Listing listing) {
+        if (listing.getSeats() != null && !listing.getSeats().isEmpty()) {
+            return listing.getSeats();
+        }
+        int quantity = Objects.requireNonNullElse(listing.getQuantity(), 0);
+        return IntStream.rangeClosed(1, quantity).mapToObj(String::valueOf).toList();
+    }
+
+    private static SeatHold withCurrentStatus(SeatHold hold) {
+        if (HOLD_STATUS_HELD.equals(hold.getStatus()) && hold.getExpiresAt() <= Instant.now().getEpochSecond()) {
+            hold.setStatus(HOLD_STATUS_EXPIRED);
+        }
+        return hold;
+    }
+}
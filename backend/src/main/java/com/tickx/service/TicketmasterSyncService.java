@@ -1,20 +1,24 @@
 package com.tickx.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.tickx.cache.ParameterCache;
 import com.tickx.model.Event;
 import com.tickx.model.Venue;
 import com.tickx.repository.EventRepository;
 import com.tickx.repository.VenueRepository;
 import com.tickx.client.TicketmasterClient;
+import com.tickx.search.SearchService;
 import com.tickx.transformer.TicketmasterTransformer;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.ssm.SsmClient;
-import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.tickx.constants.MetricsConstants.*;
 
 @Slf4j
 @Service
@@ -25,11 +29,17 @@ public class TicketmasterSyncService {
     private final TicketmasterTransformer transformer;
     private final EventRepository eventRepository;
     private final VenueRepository venueRepository;
-    private final SsmClient ssmClient;
+    private final ParameterCache parameterCache;
+    private final SearchService searchService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${TM_API_KEY_PARAM}")
     private String apiKeyParamName;
 
+    // Optional SSM parameter holding "City:ST,City:ST"; falls back to CITIES_TO_SYNC when unset
+    @Value("${SYNC_CITIES_PARAM:}")
+    private String citiesParamName;
+
     @Value("${SYNC_ENABLED:true}")
     private boolean syncEnabled;
 
@@ -56,21 +66,32 @@ public class TicketmasterSyncService {
 
         try {
             String apiKey = getApiKey();
+            List<Event> syncedEvents = new ArrayList<>();
+            boolean allCitiesSynced = true;
 
-            for (CityConfig cityConfig : CITIES_TO_SYNC) {
+            for (CityConfig cityConfig : getCitiesToSync()) {
                 try {
-                    CityResult cityResult = syncCity(cityConfig.city, cityConfig.stateCode, apiKey);
+                    CityResult cityResult = syncCity(cityConfig.city, cityConfig.stateCode, apiKey, syncedEvents);
                     result.cityResults.add(cityResult);
                     result.totalEventsSaved += cityResult.eventsSaved;
                     result.totalVenuesSaved += cityResult.venuesSaved;
                 } catch (Exception e) {
                     log.error("Failed to sync {}, {}: {}", cityConfig.city, cityConfig.stateCode, e.getMessage());
+                    allCitiesSynced = false;
                     result.cityResults.add(new CityResult(
                             cityConfig.city + ", " + cityConfig.stateCode, 0, 0, 0, 0, 0
                     ));
                 }
             }
 
+            // A partial snapshot would drop the failed cities from search, so keep serving the previous one.
+            // Each instance warms its caches from the new snapshot when it picks it up (see CacheWarmer).
+            if (allCitiesSynced) {
+                searchService.publish(syncedEvents);
+            } else {
+                log.warn("Skipping search index publish after a partial sync");
+            }
+
             result.durationMs = System.currentTimeMillis() - startTime;
             result.success = true;
 
@@ -84,10 +105,12 @@ public class TicketmasterSyncService {
             result.durationMs = System.currentTimeMillis() - startTime;
         }
 
+        meterRegistry.timer(SYNC_DURATION, TAG_OUTCOME, result.success ? OUTCOME_SUCCESS : OUTCOME_ERROR)
+                .record(result.durationMs, TimeUnit.MILLISECONDS);
         return result;
     }
 
-    private CityResult syncCity(String city, String stateCode, String apiKey) throws Exception {
+    private CityResult syncCity(String city, String stateCode, String apiKey, List<Event> syncedEvents) throws Exception {
         log.info("Syncing {}, {}", city, stateCode);
 
         List<JsonNode> tmEvents = ticketmasterClient.getAllEventsForCity(city, stateCode, apiKey);
@@ -130,6 +153,7 @@ public class TicketmasterSyncService {
             eventRepository.saveBatch(events);
             log.info("Saved {} events", events.size());
         }
+        syncedEvents.addAll(events);
 
         return new CityResult(
                 city + ", " + stateCode,
@@ -143,18 +167,26 @@ public class TicketmasterSyncService {
 
     private String getApiKey() {
         try {
-            return ssmClient.getParameter(GetParameterRequest.builder()
-                            .name(apiKeyParamName)
-                            .withDecryption(true)
-                            .build())
-                    .parameter()
-                    .value();
+            return parameterCache.get(apiKeyParamName)
+                    .orElseThrow(() -> new IllegalStateException("Parameter not found: " + apiKeyParamName));
         } catch (Exception e) {
             log.error("Failed to get API key from SSM: {}", e.getMessage());
             throw new RuntimeException("Failed to get Ticketmaster API key", e);
         }
     }
 
+    private List<CityConfig> getCitiesToSync() {
+        if (citiesParamName == null || citiesParamName.isEmpty()) {
+            return CITIES_TO_SYNC;
+        }
+        List<CityConfig> cities = parameterCache.getList(citiesParamName).stream()
+                .map(entry -> entry.split(":"))
+                .filter(parts -> parts.length == 2)
+                .map(parts -> new CityConfig(parts[0].trim(), parts[1].trim()))
+                .toList();
+        return cities.isEmpty() ? CITIES_TO_SYNC : cities;
+    }
+
     public static class SyncResult {
         public boolean success;
         public String error;
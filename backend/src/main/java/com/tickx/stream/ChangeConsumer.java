@@ -0,0 +1,28 @@
+package com.tickx.stream;
+
+import java.util.List;
+
+/**
+ * A derived view kept up to date from table streams. Register one as a Spring bean and it receives every
+ * change to {@link #entityType()} in batches, in stream order per key.
+ *
+ * <p>A batch is redelivered when any consumer fails on it, so {@link #onChanges} has to be idempotent.
+ *
+ * <p>Consumers with side effects outside the process (writes, notifications) run once per change, from the
+ * stream Lambda. Consumers of per-task state (caches, open connections) declare {@link #perInstance()} and
+ * run on every ECS task instead.
+ */
+public interface ChangeConsumer<T> {
+
+    Class<T> entityType();
+
+    void onChanges(List<ChangeEvent<T>> changes) throws Exception;
+
+    default boolean perInstance() {
+        return false;
+    }
+
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,16 @@
+package com.tickx.stream;
+
+import java.time.Instant;
+
+/**
+ * One decoded stream record: the entity before and after the write ({@code oldImage} is null for inserts,
+ * {@code newImage} for removals). Records for the same key arrive in write order.
+ */
+public record ChangeEvent<T>(ChangeType type, String key, T oldImage, T newImage,
+                             String sequenceNumber, Instant approximateCreationTime) {
+
+    /** The entity as it is now, or as it was when removed. */
+    public T current() {
+        return newImage != null ? newImage : oldImage;
+    }
+}
@@ -0,0 +1,94 @@
+package com.tickx.stream;
+
+import com.tickx.model.Bid;
+import com.tickx.model.Event;
+import com.tickx.model.Listing;
+import com.tickx.repository.EventRepository;
+import com.tickx.repository.ListingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.Record;
+import software.amazon.awssdk.services.dynamodb.model.StreamRecord;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.tickx.constants.DynamoDbConstants.BIDS_TABLE;
+import static com.tickx.constants.DynamoDbConstants.LISTINGS_TABLE;
+
+/**
+ * Turns stream records into typed {@link ChangeEvent}s using the same item parsers as the repositories,
+ * so a stream image reads exactly like an item read from the table.
+ */
+@Slf4j
+@Component
+public class ChangeEventDecoder {
+
+    // No repository reads bids yet; fromBean is expensive, so the schema is built once
+    private static final TableSchema<Bid> BID_SCHEMA = TableSchema.fromBean(Bid.class);
+
+    private record TableDecoder(Class<?> entityType, Function<Map<String, AttributeValue>, ?> parser) {}
+
+    private final Map<String, TableDecoder> decoders;
+
+    public ChangeEventDecoder(EventRepository eventRepository,
+                              ListingRepository listingRepository,
+                              @Value("${EVENTS_TABLE}") String eventsTable) {
+        this.decoders = Map.of(
+                eventsTable, new TableDecoder(Event.class, item -> eventRepository.fromItem(item).orElse(null)),
+                LISTINGS_TABLE, new TableDecoder(Listing.class, listingRepository::fromItem),
+                BIDS_TABLE, new TableDecoder(Bid.class, BID_SCHEMA::mapToItem)
+        );
+    }
+
+    public boolean handles(String tableName) {
+        return decoders.containsKey(tableName);
+    }
+
+    public Optional<Class<?>> entityType(String tableName) {
+        return Optional.ofNullable(decoders.get(tableName)).map(TableDecoder::entityType);
+    }
+
+    /**
+     * The record as a change to its table's entity; empty for tables without a decoder and for items that
+     * are not entities (search snapshots and checkpoints in the Events table).
+     */
+    public Optional<ChangeEvent<?>> decode(String tableName, Record record) {
+        TableDecoder decoder = decoders.get(tableName);
+        StreamRecord stream = record.dynamodb();
+        if (decoder == null || stream == null) {
+            return Optional.empty();
+        }
+        Object oldImage = parse(decoder, stream.oldImage());
+        Object newImage = parse(decoder, stream.newImage());
+        if (oldImage == null && newImage == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new ChangeEvent<>(ChangeType.valueOf(record.eventNameAsString()), key(stream.keys()),
+                oldImage, newImage, stream.sequenceNumber(), stream.approximateCreationDateTime()));
+    }
+
+    private Object parse(TableDecoder decoder, Map<String, AttributeValue> image) {
+        if (image == null || image.isEmpty()) {
+            return null;
+        }
+        try {
+            return decoder.parser().apply(image);
+        } catch (Exception e) {
+            log.warn("Could not decode {} stream image: {}", decoder.entityType().getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String key(Map<String, AttributeValue> keys) {
+        return new TreeMap<>(keys).values().stream()
+                .map(value -> value.s() != null ? value.s() : value.n())
+                .collect(Collectors.joining("|"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.tickx.stream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.Record;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Decodes a batch of stream records from one table and hands the resulting changes to every
+ * {@link ChangeConsumer} registered for the table's entity. Fed by {@code StreamHandler} (Lambda event
+ * source mapping) and by {@link StreamPoller} in the ECS service.
+ */
+@Slf4j
+@Component
+public class ChangeEventDispatcher {
+
+    private final ChangeEventDecoder decoder;
+    private final List<ChangeConsumer<?>> consumers;
+    private final MeterRegistry meterRegistry;
+
+    public ChangeEventDispatcher(ChangeEventDecoder decoder,
+                                 ObjectProvider<ChangeConsumer<?>> consumers,
+                                 MeterRegistry meterRegistry) {
+        this.decoder = decoder;
+        this.consumers = consumers.orderedStream().toList();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean handles(String tableName) {
+        return decoder.handles(tableName);
+    }
+
+    /**
+     * Dispatches {@code records} (in stream order) to the consumers whose {@link ChangeConsumer#perInstance()}
+     * matches {@code perInstance}. Every consumer sees the batch even if another fails; the result is the
+     * sequence number to resume from, empty when all succeeded.
+     */
+    public Optional<String> dispatch(String tableName, List<Record> records, boolean perInstance) {
+        if (records.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Class<?>> entityType = decoder.entityType(tableName);
+        if (entityType.isEmpty()) {
+            return Optional.empty();
+        }
+        String entity = entityType.get().getSimpleName().toLowerCase();
+
+        List<ChangeEvent<?>> changes = new ArrayList<>(records.size());
+        for (Record record : records) {
+            decoder.decode(tableName, record).ifPresent(changes::add);
+        }
+        // Same tag keys as the per-consumer counts, which Prometheus requires of one meter name
+        meterRegistry.counter(STREAM_RECORDS, TAG_ENTITY, entity, TAG_CONSUMER, "none", TAG_RESULT, RESULT_SKIPPED)
+                .increment(records.size() - changes.size());
+        if (changes.isEmpty()) {
+            return Optional.empty();
+        }
+        Instant newest = changes.get(changes.size() - 1).approximateCreationTime();
+        if (newest != null) {
+            Timer.builder(STREAM_LAG).tag(TAG_ENTITY, entity).register(meterRegistry)
+                    .record(Duration.between(newest, Instant.now()));
+        }
+
+        boolean failed = false;
+        for (ChangeConsumer<?> consumer : consumers) {
+            if (consumer.entityType() != entityType.get() || consumer.perInstance() != perInstance) {
+                continue;
+            }
+            try {
+                deliver(consumer, changes);
+                meterRegistry.counter(STREAM_RECORDS, TAG_ENTITY, entity, TAG_CONSUMER, consumer.name(),
+                        TAG_RESULT, RESULT_DISPATCHED).increment(changes.size());
+            } catch (Exception e) {
+                failed = true;
+                meterRegistry.counter(STREAM_RECORDS, TAG_ENTITY, entity, TAG_CONSUMER, consumer.name(),
+                        TAG_RESULT, RESULT_FAILED).increment(changes.size());
+                log.error("Change consumer {} failed on {} {} changes: {}",
+                        consumer.name(), changes.size(), entity, e.getMessage(), e);
+            }
+        }
+        return failed ? Optional.ofNullable(records.get(0).dynamodb().sequenceNumber()) : Optional.empty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void deliver(ChangeConsumer<T> consumer, List<ChangeEvent<?>> changes) throws Exception {
+        // Every change in the batch was decoded to the consumer's entity type
+        consumer.onChanges((List<ChangeEvent<T>>) (List<?>) changes);
+    }
+}
@@ -0,0 +1,7 @@
+package com.tickx.stream;
+
+public enum ChangeType {
+    INSERT,
+    MODIFY,
+    REMOVE
+}
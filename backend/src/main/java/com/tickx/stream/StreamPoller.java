@@ -0,0 +1,263 @@
+package com.tickx.stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.DescribeStreamRequest;
+import software.amazon.awssdk.services.dynamodb.model.DescribeStreamResponse;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.ExpiredIteratorException;
+import software.amazon.awssdk.services.dynamodb.model.GetRecordsRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetRecordsResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetShardIteratorRequest;
+import software.amazon.awssdk.services.dynamodb.model.Record;
+import software.amazon.awssdk.services.dynamodb.model.Shard;
+import software.amazon.awssdk.services.dynamodb.model.ShardIteratorType;
+import software.amazon.awssdk.services.dynamodb.streams.DynamoDbStreamsClient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.tickx.constants.DynamoDbConstants.LISTINGS_TABLE;
+
+/**
+ * Reads table streams directly in the ECS service, so every task's in-memory views (event cache, listing
+ * watchers) see writes made through any task. Starts at the stream's tip and keeps no checkpoints: the
+ * views it feeds are rebuilt from the table on restart anyway. Only {@link ChangeConsumer#perInstance()}
+ * consumers run here; the rest run once per change from {@code StreamHandler}.
+ *
+ * <p>Each task is one more reader of every shard; DynamoDB throttles past two concurrent readers per shard,
+ * so beyond a couple of tasks fan out through a single consumer instead.
+ */
+@Slf4j
+@Component
+public class StreamPoller {
+
+    // Shards split and close over time; look for new ones this often even if none has closed
+    private static final long SHARD_REFRESH_MILLIS = 60_000;
+
+    private final DynamoDbClient dynamoDbClient;
+    private final DynamoDbStreamsClient streamsClient;
+    private final ChangeEventDispatcher dispatcher;
+    private final boolean enabled;
+    private final List<String> tableNames;
+    private final long pollMillis;
+    private final int batchSize;
+
+    // Keyed by stream ARN and shard id: shard ids are only unique within a stream
+    private final Map<String, ShardReader> readers = new LinkedHashMap<>();
+    private final Set<String> finishedShards = new HashSet<>();
+    private final Map<String, String> streamArns = new HashMap<>();
+    private volatile boolean running;
+    private Thread thread;
+    private long refreshedAt;
+
+    private static final class ShardReader {
+        final String table;
+        final String streamArn;
+        final String shardId;
+        final String parentShardId;
+        String iterator;
+        String lastSequenceNumber;
+
+        ShardReader(String table, String streamArn, Shard shard) {
+            this.table = table;
+            this.streamArn = streamArn;
+            this.shardId = shard.shardId();
+            this.parentShardId = shard.parentShardId();
+        }
+    }
+
+    public StreamPoller(DynamoDbClient dynamoDbClient,
+                        DynamoDbStreamsClient streamsClient,
+                        ChangeEventDispatcher dispatcher,
+                        @Value("${STREAM_POLLER_ENABLED:false}") boolean enabled,
+                        @Value("${STREAM_POLLER_TABLES:}") String tables,
+                        @Value("${EVENTS_TABLE}") String eventsTable,
+                        @Value("${STREAM_POLL_MILLIS:1000}") long pollMillis,
+                        @Value("${STREAM_POLL_BATCH_SIZE:1000}") int batchSize) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.streamsClient = streamsClient;
+        this.dispatcher = dispatcher;
+        this.enabled = enabled;
+        this.tableNames = tables.isBlank()
+                ? List.of(eventsTable, LISTINGS_TABLE)
+                : Arrays.stream(tables.split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList();
+        this.pollMillis = pollMillis;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "stream-poller");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Polling table streams for {}", tableNames);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (System.currentTimeMillis() - refreshedAt > SHARD_REFRESH_MILLIS) {
+                    refreshShards();
+                }
+                boolean fullBatch = false;
+                for (ShardReader reader : List.copyOf(readers.values())) {
+                    fullBatch |= poll(reader);
+                }
+                // GetRecords is limited to five calls per second per shard; only skip the pause while behind
+                if (!fullBatch) {
+                    Thread.sleep(pollMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Stream polling failed, retrying: {}", e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    /** True if the shard returned a full batch, i.e. there is probably more to read right away. */
+    private boolean poll(ShardReader reader) {
+        if (reader.parentShardId != null && readers.containsKey(shardKey(reader.streamArn, reader.parentShardId))) {
+            // Finish the parent first so changes to a key stay in order across a shard split
+            return false;
+        }
+        if (reader.iterator == null) {
+            reader.iterator = iterator(reader);
+        }
+
+        GetRecordsResponse response;
+        try {
+            response = streamsClient.getRecords(GetRecordsRequest.builder()
+                    .shardIterator(reader.iterator)
+                    .limit(batchSize)
+                    .build());
+        } catch (ExpiredIteratorException e) {
+            reader.iterator = null;
+            return false;
+        }
+
+        List<Record> records = response.records();
+        if (!records.isEmpty()) {
+            // A failed consumer is logged and not retried: these views are rebuilt from the table on restart
+            dispatcher.dispatch(reader.table, records, true);
+            reader.lastSequenceNumber = records.get(records.size() - 1).dynamodb().sequenceNumber();
+        }
+        reader.iterator = response.nextShardIterator();
+        if (reader.iterator == null) {
+            // Shard closed and fully read; its children are picked up on the next refresh
+            readers.remove(shardKey(reader.streamArn, reader.shardId));
+            finishedShards.add(shardKey(reader.streamArn, reader.shardId));
+            refreshedAt = 0;
+        }
+        return records.size() >= batchSize;
+    }
+
+    private String iterator(ShardReader reader) {
+        GetShardIteratorRequest.Builder request = GetShardIteratorRequest.builder()
+                .streamArn(reader.streamArn)
+                .shardId(reader.shardId);
+        if (reader.lastSequenceNumber != null) {
+            request.shardIteratorType(ShardIteratorType.AFTER_SEQUENCE_NUMBER)
+                    .sequenceNumber(reader.lastSequenceNumber);
+        } else {
+            request.shardIteratorType(ShardIteratorType.TRIM_HORIZON);
+        }
+        return streamsClient.getShardIterator(request.build()).shardIterator();
+    }
+
+    private void refreshShards() {
+        for (String table : tableNames) {
+            // Shards open when a stream is first seen are read from their tip, later ones from the start
+            boolean initial = !streamArns.containsKey(table);
+            String streamArn = initial ? latestStreamArn(table) : streamArns.get(table);
+            if (streamArn == null) {
+                continue;
+            }
+            streamArns.put(table, streamArn);
+            for (Shard shard : shards(streamArn)) {
+                String key = shardKey(streamArn, shard.shardId());
+                if (readers.containsKey(key) || finishedShards.contains(key)) {
+                    continue;
+                }
+                boolean open = shard.sequenceNumberRange() == null
+                        || shard.sequenceNumberRange().endingSequenceNumber() == null;
+                if (initial && !open) {
+                    // History from before startup
+                    finishedShards.add(key);
+                    continue;
+                }
+                ShardReader reader = new ShardReader(table, streamArn, shard);
+                if (initial) {
+                    reader.iterator = streamsClient.getShardIterator(GetShardIteratorRequest.builder()
+                            .streamArn(streamArn)
+                            .shardId(shard.shardId())
+                            .shardIteratorType(ShardIteratorType.LATEST)
+                            .build()).shardIterator();
+                }
+                readers.put(key, reader);
+            }
+        }
+        refreshedAt = System.currentTimeMillis();
+    }
+
+    private String latestStreamArn(String table) {
+        String streamArn = dynamoDbClient.describeTable(DescribeTableRequest.builder().tableName(table).build())
+                .table().latestStreamArn();
+        if (streamArn == null) {
+            log.warn("Table {} has no stream enabled; its changes will not reach this task", table);
+        }
+        return streamArn;
+    }
+
+    private List<Shard> shards(String streamArn) {
+        List<Shard> shards = new ArrayList<>();
+        String lastShardId = null;
+        do {
+            DescribeStreamResponse response = streamsClient.describeStream(DescribeStreamRequest.builder()
+                    .streamArn(streamArn)
+                    .exclusiveStartShardId(lastShardId)
+                    .build());
+            shards.addAll(response.streamDescription().shards());
+            lastShardId = response.streamDescription().lastEvaluatedShardId();
+        } while (lastShardId != null);
+        return shards;
+    }
+
+    private static String shardKey(String streamArn, String shardId) {
+        return streamArn + "/" + shardId;
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(Math.max(pollMillis, 1000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
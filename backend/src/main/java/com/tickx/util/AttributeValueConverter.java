@@ -0,0 +1,70 @@
+package com.tickx.util;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public final class AttributeValueConverter {
+
+    public static Map<String, Object> toJavaMap(Map<String, AttributeValue> attrMap) {
+        Map<String, Object> result = new HashMap<>();
+        for (Map.Entry<String, AttributeValue> entry : attrMap.entrySet()) {
+            result.put(entry.getKey(), toJavaObject(entry.getValue()));
+        }
+        return result;
+    }
+
+    public static Object toJavaObject(AttributeValue av) {
+        if (av.s() != null) return av.s();
+        if (av.n() != null) {
+            String num = av.n();
+            if (num.contains(".")) return Double.parseDouble(num);
+            return Long.parseLong(num);
+        }
+        if (av.bool() != null) return av.bool();
+        if (av.hasM() && !av.m().isEmpty()) return toJavaMap(av.m());
+        if (av.hasL() && !av.l().isEmpty()) {
+            return av.l().stream().map(AttributeValueConverter::toJavaObject).collect(Collectors.toList());
+        }
+        if (av.nul() != null && av.nul()) return null;
+        return null;
+    }
+
+    /** Converts a stream image from the Lambda event model to the SDK model the repositories parse. */
+    public static Map<String, AttributeValue> fromLambdaMap(
+            Map<String, com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue> attrMap) {
+        if (attrMap == null) {
+            return null;
+        }
+        Map<String, AttributeValue> result = new HashMap<>(attrMap.size() * 2);
+        attrMap.forEach((name, value) -> result.put(name, fromLambda(value)));
+        return result;
+    }
+
+    public static AttributeValue fromLambda(com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue av) {
+        if (av.getS() != null) return AttributeValue.builder().s(av.getS()).build();
+        if (av.getN() != null) return AttributeValue.builder().n(av.getN()).build();
+        if (av.getB() != null) return AttributeValue.builder().b(SdkBytes.fromByteBuffer(av.getB())).build();
+        if (av.getBOOL() != null) return AttributeValue.builder().bool(av.getBOOL()).build();
+        if (Boolean.TRUE.equals(av.getNULL())) return AttributeValue.builder().nul(true).build();
+        if (av.getM() != null) return AttributeValue.builder().m(fromLambdaMap(av.getM())).build();
+        if (av.getL() != null) {
+            List<AttributeValue> list = av.getL().stream().map(AttributeValueConverter::fromLambda).toList();
+            return AttributeValue.builder().l(list).build();
+        }
+        if (av.getSS() != null) return AttributeValue.builder().ss(av.getSS()).build();
+        if (av.getNS() != null) return AttributeValue.builder().ns(av.getNS()).build();
+        if (av.getBS() != null) {
+            return AttributeValue.builder().bs(av.getBS().stream().map(SdkBytes::fromByteBuffer).toList()).build();
+        }
+        return AttributeValue.builder().nul(true).build();
+    }
+
+    private AttributeValueConverter() {
+        // Utility class - prevent instantiation
+    }
+}
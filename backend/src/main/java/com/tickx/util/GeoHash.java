@@ -0,0 +1,138 @@
+package com.tickx.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Base32 geohash encoding plus the helpers needed for radius queries: the set of cells covering a circle
+ * and great-circle distance.
+ */
+public final class GeoHash {
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private GeoHash() {
+        // Utility class - prevent instantiation
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /** Returns the cell centre as {@code [latitude, longitude]}. */
+    public static double[] decode(String hash) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        boolean evenBit = true;
+
+        for (int i = 0; i < hash.length(); i++) {
+            int value = BASE32.indexOf(hash.charAt(i));
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + hash);
+            }
+            for (int mask = 16; mask > 0; mask >>= 1) {
+                boolean set = (value & mask) != 0;
+                if (evenBit) {
+                    double mid = (minLng + maxLng) / 2;
+                    if (set) minLng = mid; else maxLng = mid;
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) minLat = mid; else maxLat = mid;
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[]{(minLat + maxLat) / 2, (minLng + maxLng) / 2};
+    }
+
+    /**
+     * Cells at the given precision that together cover the circle. Walks the circle's bounding box in
+     * cell-sized steps, so every cell the box touches is included.
+     */
+    public static Set<String> coveringCells(double latitude, double longitude, double radiusKm, int precision) {
+        // The walk below would never reach a NaN or infinite bound
+        if (!Double.isFinite(latitude) || !Double.isFinite(longitude) || !Double.isFinite(radiusKm)) {
+            throw new IllegalArgumentException("Coordinates and radius must be finite");
+        }
+        double cellLat = 180 / Math.pow(2, (5 * precision) / 2);
+        double cellLng = 360 / Math.pow(2, (5 * precision + 1) / 2);
+
+        double deltaLat = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double deltaLng = Math.min(radiusKm / (KM_PER_DEGREE_LAT * cosLat), 180);
+
+        double minLat = Math.max(latitude - deltaLat, -90);
+        double maxLat = Math.min(latitude + deltaLat, 90);
+        double minLng = longitude - deltaLng;
+        double maxLng = longitude + deltaLng;
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (double lat = minLat; ; lat = Math.min(lat + cellLat, maxLat)) {
+            for (double lng = minLng; ; lng = Math.min(lng + cellLng, maxLng)) {
+                cells.add(encode(lat, normalizeLongitude(lng), precision));
+                if (lng >= maxLng) {
+                    break;
+                }
+            }
+            if (lat >= maxLat) {
+                break;
+            }
+        }
+        return cells;
+    }
+
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        if (longitude >= 180) {
+            return longitude - 360;
+        }
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude;
+    }
+}
@@ -37,6 +37,16 @@ public final class ResponseUtil {
         return createErrorResponse(HttpConstants.BAD_REQUEST, message);
     }
 
+    public static APIGatewayProxyResponseEvent createConflictResponse(String message) {
+        return createErrorResponse(HttpConstants.CONFLICT, message);
+    }
+
+    public static APIGatewayProxyResponseEvent createTooManyRequestsResponse(long retryAfterSeconds) {
+        APIGatewayProxyResponseEvent response = createErrorResponse(HttpConstants.TOO_MANY_REQUESTS, "Too many requests");
+        response.getHeaders().put(HttpConstants.RETRY_AFTER_HEADER, String.valueOf(retryAfterSeconds));
+        return response;
+    }
+
     public static APIGatewayProxyResponseEvent createMethodNotAllowedResponse() {
         return createErrorResponse(HttpConstants.METHOD_NOT_ALLOWED, "Method not allowed");
     }
@@ -0,0 +1,47 @@
+package com.tickx.watchlist;
+
+import com.tickx.model.Event;
+import com.tickx.stream.ChangeConsumer;
+import com.tickx.stream.ChangeEvent;
+import com.tickx.stream.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tickx.constants.DynamoDbConstants.WATCH_TARGET_EVENT;
+
+/**
+ * Raises alerts for watchers of an event when its lowest ask drops, whether from a cheaper new listing or a
+ * price cut on an existing one. Needs the Events table stream.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventPriceAlerts implements ChangeConsumer<Event> {
+
+    private final PriceAlertEvaluator evaluator;
+
+    @Override
+    public Class<Event> entityType() {
+        return Event.class;
+    }
+
+    @Override
+    public void onChanges(List<ChangeEvent<Event>> changes) {
+        List<PriceAlertEvaluator.PriceChange> drops = new ArrayList<>();
+        for (ChangeEvent<Event> change : changes) {
+            if (change.type() != ChangeType.MODIFY) {
+                continue;
+            }
+            Double previous = change.oldImage().getLowestAsk();
+            Double price = change.newImage().getLowestAsk();
+            if (price != null && (previous == null || price < previous)) {
+                String eventId = change.newImage().getId();
+                drops.add(new PriceAlertEvaluator.PriceChange(WATCH_TARGET_EVENT, eventId, eventId,
+                        previous, price, change.sequenceNumber()));
+            }
+        }
+        evaluator.evaluate(drops);
+    }
+}
@@ -0,0 +1,47 @@
+package com.tickx.watchlist;
+
+import com.tickx.model.Listing;
+import com.tickx.service.EventListingStatsService;
+import com.tickx.stream.ChangeConsumer;
+import com.tickx.stream.ChangeEvent;
+import com.tickx.stream.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tickx.constants.DynamoDbConstants.WATCH_TARGET_LISTING;
+
+/**
+ * Raises alerts for watchers of a listing when its asking price drops. A new listing has no watchers yet.
+ */
+@Component
+@RequiredArgsConstructor
+public class ListingPriceAlerts implements ChangeConsumer<Listing> {
+
+    private final PriceAlertEvaluator evaluator;
+
+    @Override
+    public Class<Listing> entityType() {
+        return Listing.class;
+    }
+
+    @Override
+    public void onChanges(List<ChangeEvent<Listing>> changes) {
+        List<PriceAlertEvaluator.PriceChange> drops = new ArrayList<>();
+        for (ChangeEvent<Listing> change : changes) {
+            if (change.type() != ChangeType.MODIFY) {
+                continue;
+            }
+            Double previous = EventListingStatsService.ask(change.oldImage());
+            Double price = EventListingStatsService.ask(change.newImage());
+            if (price != null && (previous == null || price < previous)) {
+                Listing listing = change.newImage();
+                drops.add(new PriceAlertEvaluator.PriceChange(WATCH_TARGET_LISTING, listing.getListingId(),
+                        listing.getEventId(), previous, price, change.sequenceNumber()));
+            }
+        }
+        evaluator.evaluate(drops);
+    }
+}
@@ -0,0 +1,95 @@
+package com.tickx.watchlist;
+
+import com.tickx.model.NotificationJob;
+import com.tickx.model.PriceAlert;
+import com.tickx.model.WatchlistEntry;
+import com.tickx.repository.NotificationJobRepository;
+import com.tickx.repository.WatchlistRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static com.tickx.constants.MetricsConstants.*;
+
+/**
+ * Turns price drops into price-drop alerts. Each drop reads only the watchers whose threshold it crossed, a
+ * range of the target's threshold-sorted index, so the cost of a change follows the alerts it fires rather
+ * than how many people watch the target. The alerts go out as notification jobs of up to
+ * {@code NOTIFICATION_JOB_MAX_ALERTS} each, for the sender to deliver.
+ */
+@Slf4j
+@Component
+public class PriceAlertEvaluator {
+
+    private static final String TYPE_PRICE_DROP = "price_drop";
+    private static final String STATUS_PENDING = "pending";
+
+    private final WatchlistRepository watchlistRepository;
+    private final NotificationJobRepository jobRepository;
+    private final MeterRegistry meterRegistry;
+    private final int maxAlertsPerJob;
+    private final Duration jobRetention;
+
+    public PriceAlertEvaluator(WatchlistRepository watchlistRepository,
+                               NotificationJobRepository jobRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${NOTIFICATION_JOB_MAX_ALERTS:100}") int maxAlertsPerJob,
+                               @Value("${NOTIFICATION_JOB_RETENTION_DAYS:7}") int retentionDays) {
+        this.watchlistRepository = watchlistRepository;
+        this.jobRepository = jobRepository;
+        this.meterRegistry = meterRegistry;
+        this.maxAlertsPerJob = maxAlertsPerJob;
+        this.jobRetention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * A target's price moving from {@code previousPrice} (null if it had none) to {@code price}. The sequence
+     * number identifies the change, so evaluating it again yields the same job IDs.
+     */
+    public record PriceChange(String targetType, String targetId, String eventId,
+                              Double previousPrice, double price, String sequenceNumber) {}
+
+    public void evaluate(List<PriceChange> changes) {
+        for (PriceChange change : changes) {
+            if (change.previousPrice() != null && change.price() >= change.previousPrice()) {
+                continue;
+            }
+            String targetKey = WatchlistEntry.targetKey(change.targetType(), change.targetId());
+            List<WatchlistEntry> crossed = watchlistRepository.findCrossedThresholds(
+                    targetKey, change.price(), change.previousPrice());
+            if (crossed.isEmpty()) {
+                continue;
+            }
+
+            List<PriceAlert> alerts = crossed.stream()
+                    .map(entry -> PriceAlert.builder()
+                            .userId(entry.getUserId())
+                            .targetType(change.targetType())
+                            .targetId(change.targetId())
+                            .eventId(change.eventId())
+                            .threshold(entry.getThreshold())
+                            .previousPrice(change.previousPrice())
+                            .price(change.price())
+                            .build())
+                    .toList();
+            Instant now = Instant.now();
+            for (int i = 0; i < alerts.size(); i += maxAlertsPerJob) {
+                jobRepository.create(NotificationJob.builder()
+                        .jobId(TYPE_PRICE_DROP + "#" + targetKey + "#" + change.sequenceNumber() + "#" + i / maxAlertsPerJob)
+                        .type(TYPE_PRICE_DROP)
+                        .status(STATUS_PENDING)
+                        .alerts(alerts.subList(i, Math.min(i + maxAlertsPerJob, alerts.size())))
+                        .createdAt(now.toString())
+                        .expiresAt(now.plus(jobRetention).getEpochSecond())
+                        .build());
+            }
+            meterRegistry.counter(WATCHLIST_ALERTS, TAG_ENTITY, change.targetType()).increment(alerts.size());
+            log.debug("Price drop on {} to {} crossed {} thresholds", targetKey, change.price(), alerts.size());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.tickx.watchlist;
+
+import com.tickx.cache.EventCache;
+import com.tickx.model.Event;
+import com.tickx.model.Listing;
+import com.tickx.model.WatchlistEntry;
+import com.tickx.repository.ListingRepository;
+import com.tickx.repository.WatchlistRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static com.tickx.constants.DynamoDbConstants.WATCH_TARGET_EVENT;
+import static com.tickx.constants.DynamoDbConstants.WATCH_TARGET_LISTING;
+
+@Service
+@RequiredArgsConstructor
+public class WatchlistService {
+
+    private final WatchlistRepository watchlistRepository;
+    private final ListingRepository listingRepository;
+    private final EventCache eventCache;
+
+    /**
+     * Adds or replaces the user's watch on an event or listing. Empty if the target does not exist.
+     *
+     * @throws IllegalArgumentException if the user, target or threshold is missing or invalid
+     */
+    public Optional<WatchlistEntry> watch(WatchlistEntry request) {
+        if (request.getUserId() == null || request.getUserId().isBlank() || request.getTargetId() == null) {
+            throw new IllegalArgumentException("userId, targetType and targetId are required");
+        }
+        if (request.getThreshold() != null && request.getThreshold() <= 0) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+
+        String eventId;
+        if (WATCH_TARGET_EVENT.equals(request.getTargetType())) {
+            eventId = eventCache.get(request.getTargetId()).map(Event::getId).orElse(null);
+        } else if (WATCH_TARGET_LISTING.equals(request.getTargetType())) {
+            eventId = listingRepository.findById(request.getTargetId()).map(Listing::getEventId).orElse(null);
+        } else {
+            throw new IllegalArgumentException("targetType must be '" + WATCH_TARGET_EVENT + "' or '"
+                    + WATCH_TARGET_LISTING + "'");
+        }
+        if (eventId == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(watchlistRepository.save(WatchlistEntry.builder()
+                .userId(request.getUserId())
+                .targetKey(WatchlistEntry.targetKey(request.getTargetType(), request.getTargetId()))
+                .targetType(request.getTargetType())
+                .targetId(request.getTargetId())
+                .eventId(eventId)
+                .threshold(request.getThreshold())
+                .createdAt(Instant.now().toString())
+                .build()));
+    }
+
+    public boolean unwatch(String userId, String targetType, String targetId) {
+        return watchlistRepository.delete(userId, WatchlistEntry.targetKey(targetType, targetId)).isPresent();
+    }
+
+    public List<WatchlistEntry> getWatchlist(String userId) {
+        return watchlistRepository.findByUserId(userId);
+    }
+}
@@ -0,0 +1,129 @@
+package com.tickx.web;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.tickx.constants.HttpConstants;
+import com.tickx.handler.EventsHandler;
+import com.tickx.handler.HoldsHandler;
+import com.tickx.handler.ListingsHandler;
+import com.tickx.handler.TransactionsHandler;
+import com.tickx.handler.VenuesHandler;
+import com.tickx.handler.WatchlistHandler;
+import com.tickx.handler.base.BaseLambdaHandler;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Serves the Lambda handlers over HTTP in the ECS deployment, so both deployments share one code path.
+ * With VIRTUAL_THREADS_ENABLED=true on Java 21, each request (and its blocking repository I/O) runs on a
+ * virtual thread.
+ */
+@RestController
+public class ApiController {
+
+    // Handlers bootstrap from the running context in their static initializers, so create them lazily
+    private final Map<String, BaseLambdaHandler> handlers = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<BaseLambdaHandler>> handlerFactories = Map.of(
+            "events", EventsHandler::new,
+            "venues", VenuesHandler::new,
+            "listings", ListingsHandler::new,
+            "watchlist", WatchlistHandler::new,
+            "holds", HoldsHandler::new,
+            "transactions", TransactionsHandler::new
+    );
+    private final Map<String, String> pathParameterNames = Map.of(
+            "events", HttpConstants.EVENT_ID_PATH,
+            "venues", HttpConstants.VENUE_ID_PATH,
+            "listings", HttpConstants.LISTING_ID_PATH,
+            "holds", HttpConstants.HOLD_ID_PATH,
+            "transactions", HttpConstants.TRANSACTION_ID_PATH
+    );
+    // Matched before path parameters, as API Gateway does for sibling static resources
+    private final Set<String> staticResources = Set.of(HttpConstants.SUGGEST_RESOURCE);
+
+    @GetMapping("/health")
+    public Map<String, String> health() {
+        return Map.of("status", "ok");
+    }
+
+    @RequestMapping({"/events", "/events/*", "/venues", "/venues/*", "/listings", "/listings/*", "/listings/*/fair-price",
+            "/watchlist", "/holds", "/holds/*", "/transactions", "/transactions/*"})
+    public ResponseEntity<String> dispatch(HttpServletRequest request,
+                                           @RequestBody(required = false) String body) {
+        String[] segments = request.getRequestURI().replaceFirst("^/", "").split("/");
+        String resource = segments[0];
+
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent()
+                .withHttpMethod(request.getMethod())
+                .withPath(request.getRequestURI())
+                .withHeaders(toHeaderMap(request))
+                .withRequestContext(toRequestContext(request))
+                .withQueryStringParameters(toQueryMap(request))
+                .withBody(body);
+        if (staticResources.contains(request.getRequestURI())) {
+            event.setResource(request.getRequestURI());
+        } else if (segments.length > 1) {
+            event.setPathParameters(Map.of(pathParameterNames.get(resource), segments[1]));
+            event.setResource("/" + resource + "/{" + pathParameterNames.get(resource) + "}"
+                    + (segments.length > 2 ? "/" + segments[2] : ""));
+        } else {
+            event.setResource("/" + resource);
+        }
+
+        APIGatewayProxyResponseEvent response = getHandler(resource).handleRequest(event, new LocalLambdaContext());
+
+        HttpHeaders headers = new HttpHeaders();
+        if (response.getHeaders() != null) {
+            response.getHeaders().forEach(headers::add);
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(headers)
+                .body(response.getBody());
+    }
+
+    private BaseLambdaHandler getHandler(String resource) {
+        BaseLambdaHandler handler = handlers.get(resource);
+        return handler != null ? handler : handlers.computeIfAbsent(resource, key -> handlerFactories.get(key).get());
+    }
+
+    private APIGatewayProxyRequestEvent.ProxyRequestContext toRequestContext(HttpServletRequest request) {
+        // Behind the load balancer the caller is the address it appended last to X-Forwarded-For;
+        // earlier entries come from the client and can be forged
+        String forwardedFor = request.getHeader(HttpConstants.FORWARDED_FOR_HEADER);
+        String sourceIp = forwardedFor != null && !forwardedFor.isBlank()
+                ? forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim()
+                : request.getRemoteAddr();
+        return new APIGatewayProxyRequestEvent.ProxyRequestContext()
+                .withIdentity(new APIGatewayProxyRequestEvent.RequestIdentity().withSourceIp(sourceIp));
+    }
+
+    private Map<String, String> toHeaderMap(HttpServletRequest request) {
+        Map<String, String> headers = new HashMap<>();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            headers.put(name, request.getHeader(name));
+        }
+        return headers;
+    }
+
+    private Map<String, String> toQueryMap(HttpServletRequest request) {
+        Map<String, String> params = new HashMap<>();
+        request.getParameterMap().forEach((name, values) -> {
+            if (values.length > 0) {
+                params.put(name, values[0]);
+            }
+        });
+        return params.isEmpty() ? null : params;
+    }
+}
@@ -0,0 +1,91 @@
+package com.tickx.web;
+
+import com.tickx.constants.HttpConstants;
+import com.tickx.push.FrameSink;
+import com.tickx.push.ListingTopicRegistry;
+import com.tickx.push.Subscription;
+import com.tickx.service.ListingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Live price updates for one listing as a server-sent event stream ({@code event: price}, then
+ * {@code event: deleted} if the listing is removed). Served by the ECS deployment only: the servlet
+ * container parks idle streams without a thread, whereas API Gateway and Lambda buffer whole responses.
+ */
+@RestController
+public class ListingStreamController {
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final ListingTopicRegistry topicRegistry;
+    private final ListingService listingService;
+    private final long streamTimeoutMillis;
+
+    public ListingStreamController(ListingTopicRegistry topicRegistry,
+                                   ListingService listingService,
+                                   @Value("${PUSH_STREAM_TIMEOUT_MILLIS:1800000}") long streamTimeoutMillis) {
+        this.topicRegistry = topicRegistry;
+        this.listingService = listingService;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+    }
+
+    @GetMapping(HttpConstants.LISTING_STREAM_PATH)
+    public ResponseEntity<ResponseBodyEmitter> stream(@PathVariable String listingId) {
+        if (topicRegistry.isFull()) {
+            return ResponseEntity.status(HttpConstants.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .header(HttpConstants.ACCESS_CONTROL_ALLOW_ORIGIN, HttpConstants.CORS_ALL_ORIGINS)
+                    .build();
+        }
+
+        // Clients reconnect on timeout, which also rebalances streams across tasks
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeoutMillis);
+        Optional<Subscription> subscription = topicRegistry.subscribe(listingId, new EmitterSink(emitter),
+                () -> listingService.getListingById(listingId));
+        if (subscription.isEmpty()) {
+            return ResponseEntity.status(HttpConstants.NOT_FOUND)
+                    .header(HttpConstants.ACCESS_CONTROL_ALLOW_ORIGIN, HttpConstants.CORS_ALL_ORIGINS)
+                    .build();
+        }
+        emitter.onCompletion(() -> topicRegistry.unsubscribe(subscription.get()));
+        emitter.onTimeout(() -> topicRegistry.unsubscribe(subscription.get()));
+        emitter.onError(e -> topicRegistry.unsubscribe(subscription.get()));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpConstants.ACCESS_CONTROL_ALLOW_ORIGIN, HttpConstants.CORS_ALL_ORIGINS)
+                // Stops proxies that honour it from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private record EmitterSink(ResponseBodyEmitter emitter) implements FrameSink {
+
+        @Override
+        public void send(byte[] frame) throws IOException {
+            emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+
+        @Override
+        public void abort() {
+            emitter.completeWithError(new IOException("Listing stream write timed out"));
+        }
+    }
+}
@@ -25,6 +25,11 @@ export class TickXApp extends App {
       listingsTable: dynamoDbStack.listingsTable,
       bidsTable: dynamoDbStack.bidsTable,
       transactionsTable: dynamoDbStack.transactionsTable,
+      watchlistTable: dynamoDbStack.watchlistTable,
+      notificationJobsTable: dynamoDbStack.notificationJobsTable,
+      priceHistoryTable: dynamoDbStack.priceHistoryTable,
+      seatHoldsTable: dynamoDbStack.seatHoldsTable,
+      idempotencyKeysTable: dynamoDbStack.idempotencyKeysTable,
     });
 
     // API Gateway Stack
@@ -33,6 +38,9 @@ export class TickXApp extends App {
       eventsLambda: serviceStack.eventsLambda,
       listingsLambda: serviceStack.listingsLambda,
       venuesLambda: serviceStack.venuesLambda,
+      watchlistLambda: serviceStack.watchlistLambda,
+      holdsLambda: serviceStack.holdsLambda,
+      transactionsLambda: serviceStack.transactionsLambda,
     });
 
     // Stack dependencies
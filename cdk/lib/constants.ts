@@ -7,6 +7,11 @@ export const DYNAMODB_USERS_TABLE = `${APP_NAME}-Users`;
 export const DYNAMODB_LISTINGS_TABLE = `${APP_NAME}-Listings`;
 export const DYNAMODB_BIDS_TABLE = `${APP_NAME}-Bids`;
 export const DYNAMODB_TRANSACTIONS_TABLE = `${APP_NAME}-Transactions`;
+export const DYNAMODB_WATCHLIST_TABLE = `${APP_NAME}-Watchlist`;
+export const DYNAMODB_NOTIFICATION_JOBS_TABLE = `${APP_NAME}-NotificationJobs`;
+export const DYNAMODB_PRICE_HISTORY_TABLE = `${APP_NAME}-PriceHistory`;
+export const DYNAMODB_SEAT_HOLDS_TABLE = `${APP_NAME}-SeatHolds`;
+export const DYNAMODB_IDEMPOTENCY_KEYS_TABLE = `${APP_NAME}-IdempotencyKeys`;
 
 // DynamoDB Keys
 export const USER_ID_KEY = 'userId';
@@ -19,6 +24,13 @@ export const STATUS_KEY = 'status';
 export const BIDDER_ID_KEY = 'bidderId';
 export const BUYER_ID_KEY = 'buyerId';
 export const CREATED_AT_KEY = 'createdAt';
+export const TARGET_KEY = 'targetKey';
+export const THRESHOLD_KEY = 'thresholdKey';
+export const JOB_ID_KEY = 'jobId';
+export const EXPIRES_AT_KEY = 'expiresAt';
+export const IDEMPOTENCY_KEY = 'idempotencyKey';
+export const PARTITION_KEY = 'PK';
+export const SORT_KEY = 'SK';
 
 // GSI Names
 export const SELLER_CREATED_AT_INDEX = 'sellerId-createdAt-index';
@@ -27,18 +39,27 @@ export const STATUS_CREATED_AT_INDEX = 'status-createdAt-index';
 export const LISTING_CREATED_AT_INDEX = 'listingId-createdAt-index';
 export const BIDDER_CREATED_AT_INDEX = 'bidderId-createdAt-index';
 export const BUYER_CREATED_AT_INDEX = 'buyerId-createdAt-index';
+export const TARGET_THRESHOLD_INDEX = 'targetKey-thresholdKey-index';
 
 // ECS Configuration
 export const ECS_TASK_MEMORY = 1024;
 export const ECS_TASK_CPU = 512;
 export const ECS_DESIRED_COUNT = 1;
 export const ECS_CONTAINER_PORT = 8080;
+// Virtual-thread request execution is opt-in and needs the Java 21 image
+export const ECS_JAVA_VERSION = '17';
+export const ECS_VIRTUAL_THREADS_ENABLED = 'false';
+// Each listing stream is an open socket; the Fargate default soft limit (1024) would cap watchers per task
+export const ECS_NOFILE_LIMIT = 65536;
 
 // Load Balancer
 export const LOAD_BALANCER_PORT = 80;
+// Must exceed PUSH_HEARTBEAT_MILLIS so idle listing streams aren't cut
+export const LOAD_BALANCER_IDLE_TIMEOUT_SECONDS = 120;
 
 // SSM Parameters
 export const SSM_TICKETMASTER_API_KEY = '/tickx/ticketmaster-api-key';
+export const SSM_LOG_LEVEL = '/tickx/log-level';
 
 // VPC Configuration
 export const VPC_MAX_AZS = 2;
@@ -64,8 +85,21 @@ export const DYNAMODB_ACTIONS = [
   'dynamodb:BatchWriteItem',
 ];
 
+// Stream reads for the ECS change poller (Lambda consumers get these from their event source mappings)
+export const DYNAMODB_STREAM_ACTIONS = [
+  'dynamodb:DescribeTable',
+  'dynamodb:DescribeStream',
+  'dynamodb:GetRecords',
+  'dynamodb:GetShardIterator',
+];
+
+// Stream consumer Lambda batching
+export const STREAM_BATCH_SIZE = 100;
+export const STREAM_MAX_BATCHING_WINDOW_SECONDS = 1;
+export const STREAM_RETRY_ATTEMPTS = 10;
+
 // SSM Actions
-export const SSM_ACTIONS = ['ssm:GetParameter'];
+export const SSM_ACTIONS = ['ssm:GetParameter', 'ssm:GetParameters'];
 
 // Health Check Configuration
 export const HEALTH_CHECK_PATH = '/health';
@@ -8,6 +8,9 @@ interface ApiGatewayStackProps extends StackProps {
   eventsLambda: Function;
   listingsLambda: Function;
   venuesLambda: Function;
+  watchlistLambda: Function;
+  holdsLambda: Function;
+  transactionsLambda: Function;
 }
 
 export class ApiGatewayStack extends Stack {
@@ -26,7 +29,7 @@ export class ApiGatewayStack extends Stack {
     const corsOptions = {
       allowOrigins: Cors.ALL_ORIGINS,
       allowMethods: ['GET', 'POST', 'PUT', 'DELETE', 'OPTIONS'],
-      allowHeaders: ['Content-Type', 'X-Amz-Date', 'Authorization', 'X-Api-Key', 'X-Amz-Security-Token'],
+      allowHeaders: ['Content-Type', 'X-Amz-Date', 'Authorization', 'X-Api-Key', 'X-Amz-Security-Token', 'Idempotency-Key'],
     };
 
     // API Gateway routes
@@ -35,6 +38,7 @@ export class ApiGatewayStack extends Stack {
     });
     events.addMethod('GET', new LambdaIntegration(props.eventsLambda));
     events.addResource('{eventId}').addMethod('GET', new LambdaIntegration(props.eventsLambda));
+    events.addResource('suggest').addMethod('GET', new LambdaIntegration(props.eventsLambda));
 
     const venues = this.api.root.addResource('venues', {
       defaultCorsPreflightOptions: corsOptions,
@@ -53,5 +57,34 @@ export class ApiGatewayStack extends Stack {
     listingById.addMethod('GET', new LambdaIntegration(props.listingsLambda));
     listingById.addMethod('PUT', new LambdaIntegration(props.listingsLambda));
     listingById.addMethod('DELETE', new LambdaIntegration(props.listingsLambda));
+
+    const fairPrice = listingById.addResource('fair-price', {
+      defaultCorsPreflightOptions: corsOptions,
+    });
+    fairPrice.addMethod('GET', new LambdaIntegration(props.listingsLambda));
+
+    const watchlist = this.api.root.addResource('watchlist', {
+      defaultCorsPreflightOptions: corsOptions,
+    });
+    watchlist.addMethod('GET', new LambdaIntegration(props.watchlistLambda));
+    watchlist.addMethod('POST', new LambdaIntegration(props.watchlistLambda));
+    watchlist.addMethod('DELETE', new LambdaIntegration(props.watchlistLambda));
+
+    const holds = this.api.root.addResource('holds', {
+      defaultCorsPreflightOptions: corsOptions,
+    });
+    holds.addMethod('POST', new LambdaIntegration(props.holdsLambda));
+
+    const holdById = holds.addResource('{holdId}', {
+      defaultCorsPreflightOptions: corsOptions,
+    });
+    holdById.addMethod('GET', new LambdaIntegration(props.holdsLambda));
+    holdById.addMethod('DELETE', new LambdaIntegration(props.holdsLambda));
+
+    const transactions = this.api.root.addResource('transactions', {
+      defaultCorsPreflightOptions: corsOptions,
+    });
+    transactions.addMethod('POST', new LambdaIntegration(props.transactionsLambda));
+    transactions.addResource('{transactionId}').addMethod('GET', new LambdaIntegration(props.transactionsLambda));
   }
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 import { Stack, StackProps } from 'aws-cdk-lib';
-import { Table, ITable, AttributeType, BillingMode } from 'aws-cdk-lib/aws-dynamodb';
+import { Table, ITable, AttributeType, BillingMode, StreamViewType } from 'aws-cdk-lib/aws-dynamodb';
 import { Construct } from 'constructs';
 import {
   DYNAMODB_EVENTS_TABLE,
@@ -8,6 +8,11 @@ import {
   DYNAMODB_LISTINGS_TABLE,
   DYNAMODB_BIDS_TABLE,
   DYNAMODB_TRANSACTIONS_TABLE,
+  DYNAMODB_WATCHLIST_TABLE,
+  DYNAMODB_NOTIFICATION_JOBS_TABLE,
+  DYNAMODB_PRICE_HISTORY_TABLE,
+  DYNAMODB_SEAT_HOLDS_TABLE,
+  DYNAMODB_IDEMPOTENCY_KEYS_TABLE,
   USER_ID_KEY,
   LISTING_ID_KEY,
   BID_ID_KEY,
@@ -18,12 +23,20 @@ import {
   BIDDER_ID_KEY,
   BUYER_ID_KEY,
   CREATED_AT_KEY,
+  TARGET_KEY,
+  THRESHOLD_KEY,
+  JOB_ID_KEY,
+  EXPIRES_AT_KEY,
+  IDEMPOTENCY_KEY,
+  PARTITION_KEY,
+  SORT_KEY,
   SELLER_CREATED_AT_INDEX,
   EVENT_CREATED_AT_INDEX,
   STATUS_CREATED_AT_INDEX,
   LISTING_CREATED_AT_INDEX,
   BIDDER_CREATED_AT_INDEX,
   BUYER_CREATED_AT_INDEX,
+  TARGET_THRESHOLD_INDEX,
 } from '../constants';
 
 export class DynamoDbStack extends Stack {
@@ -33,14 +46,24 @@ export class DynamoDbStack extends Stack {
   public readonly listingsTable: Table;
   public readonly bidsTable: Table;
   public readonly transactionsTable: Table;
+  public readonly watchlistTable: Table;
+  public readonly notificationJobsTable: Table;
+  public readonly priceHistoryTable: Table;
+  public readonly seatHoldsTable: Table;
+  public readonly idempotencyKeysTable: Table;
 
   constructor(scope: Construct, id: string, props?: StackProps) {
     super(scope, id, props);
 
-    // Import existing tables
-    this.eventsTable = Table.fromTableName(
-      this, 'EventsTable', DYNAMODB_EVENTS_TABLE
-    );
+    // Import existing tables. The Events table's stream is enabled outside CDK; pass its ARN
+    // (-c eventsTableStreamArn=...) to have the stream consumer subscribe to it
+    const eventsTableStreamArn = this.node.tryGetContext('eventsTableStreamArn');
+    this.eventsTable = eventsTableStreamArn
+      ? Table.fromTableAttributes(this, 'EventsTable', {
+          tableName: DYNAMODB_EVENTS_TABLE,
+          tableStreamArn: eventsTableStreamArn,
+        })
+      : Table.fromTableName(this, 'EventsTable', DYNAMODB_EVENTS_TABLE);
 
     this.venuesTable = Table.fromTableName(
       this, 'VenuesTable', DYNAMODB_VENUES_TABLE
@@ -58,6 +81,7 @@ export class DynamoDbStack extends Stack {
       tableName: DYNAMODB_LISTINGS_TABLE,
       partitionKey: { name: LISTING_ID_KEY, type: AttributeType.STRING },
       billingMode: BillingMode.PAY_PER_REQUEST,
+      stream: StreamViewType.NEW_AND_OLD_IMAGES,
     });
 
     // GSI1: sellerId-createdAt (seller's listings)
@@ -86,6 +110,7 @@ export class DynamoDbStack extends Stack {
       tableName: DYNAMODB_BIDS_TABLE,
       partitionKey: { name: BID_ID_KEY, type: AttributeType.STRING },
       billingMode: BillingMode.PAY_PER_REQUEST,
+      stream: StreamViewType.NEW_AND_OLD_IMAGES,
     });
 
     // GSI1: listingId-createdAt (listing bids)
@@ -122,5 +147,55 @@ export class DynamoDbStack extends Stack {
       partitionKey: { name: BUYER_ID_KEY, type: AttributeType.STRING },
       sortKey: { name: CREATED_AT_KEY, type: AttributeType.STRING },
     });
+
+    // Watchlist table: a user's watches, keyed by target (EVENT#id / LISTING#id)
+    this.watchlistTable = new Table(this, 'WatchlistTable', {
+      tableName: DYNAMODB_WATCHLIST_TABLE,
+      partitionKey: { name: USER_ID_KEY, type: AttributeType.STRING },
+      sortKey: { name: TARGET_KEY, type: AttributeType.STRING },
+      billingMode: BillingMode.PAY_PER_REQUEST,
+    });
+
+    // GSI1: targetKey-thresholdKey (a target's price-alert watchers sorted by threshold; sparse)
+    this.watchlistTable.addGlobalSecondaryIndex({
+      indexName: TARGET_THRESHOLD_INDEX,
+      partitionKey: { name: TARGET_KEY, type: AttributeType.STRING },
+      sortKey: { name: THRESHOLD_KEY, type: AttributeType.STRING },
+    });
+
+    // Notification jobs: batches of alerts for the sender, which follows the table's stream
+    this.notificationJobsTable = new Table(this, 'NotificationJobsTable', {
+      tableName: DYNAMODB_NOTIFICATION_JOBS_TABLE,
+      partitionKey: { name: JOB_ID_KEY, type: AttributeType.STRING },
+      billingMode: BillingMode.PAY_PER_REQUEST,
+      timeToLiveAttribute: EXPIRES_AT_KEY,
+      stream: StreamViewType.NEW_IMAGE,
+    });
+
+    // Price history: raw points per event and day (EVENT#id#date) and rollups per event (ROLLUP#id)
+    this.priceHistoryTable = new Table(this, 'PriceHistoryTable', {
+      tableName: DYNAMODB_PRICE_HISTORY_TABLE,
+      partitionKey: { name: PARTITION_KEY, type: AttributeType.STRING },
+      sortKey: { name: SORT_KEY, type: AttributeType.STRING },
+      billingMode: BillingMode.PAY_PER_REQUEST,
+      timeToLiveAttribute: EXPIRES_AT_KEY,
+    });
+
+    // Seat holds: one claim per held seat (LISTING#id / SEAT#seat) and one item per hold (HOLD#id)
+    this.seatHoldsTable = new Table(this, 'SeatHoldsTable', {
+      tableName: DYNAMODB_SEAT_HOLDS_TABLE,
+      partitionKey: { name: PARTITION_KEY, type: AttributeType.STRING },
+      sortKey: { name: SORT_KEY, type: AttributeType.STRING },
+      billingMode: BillingMode.PAY_PER_REQUEST,
+      timeToLiveAttribute: EXPIRES_AT_KEY,
+    });
+
+    // Purchase idempotency keys (buyerId#token), each with a copy of the transaction it created
+    this.idempotencyKeysTable = new Table(this, 'IdempotencyKeysTable', {
+      tableName: DYNAMODB_IDEMPOTENCY_KEYS_TABLE,
+      partitionKey: { name: IDEMPOTENCY_KEY, type: AttributeType.STRING },
+      billingMode: BillingMode.PAY_PER_REQUEST,
+      timeToLiveAttribute: EXPIRES_AT_KEY,
+    });
   }
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 import { Stack, StackProps, CfnOutput, Duration, RemovalPolicy } from 'aws-cdk-lib';
 import { IVpc } from 'aws-cdk-lib/aws-ec2';
-import { Cluster, ContainerImage, LogDrivers } from 'aws-cdk-lib/aws-ecs';
+import { Cluster, ContainerImage, LogDrivers, UlimitName } from 'aws-cdk-lib/aws-ecs';
 import { ApplicationLoadBalancedFargateService } from 'aws-cdk-lib/aws-ecs-patterns';
 import { ITable } from 'aws-cdk-lib/aws-dynamodb';
 import { PolicyStatement, Effect } from 'aws-cdk-lib/aws-iam';
@@ -12,15 +12,25 @@ import {
   ECS_TASK_CPU, 
   ECS_DESIRED_COUNT, 
   ECS_CONTAINER_PORT,
+  ECS_JAVA_VERSION,
+  ECS_VIRTUAL_THREADS_ENABLED,
+  ECS_NOFILE_LIMIT,
   LOAD_BALANCER_PORT,
+  LOAD_BALANCER_IDLE_TIMEOUT_SECONDS,
   DYNAMODB_ACTIONS,
+  DYNAMODB_STREAM_ACTIONS,
   DYNAMODB_EVENTS_TABLE, 
   DYNAMODB_VENUES_TABLE,
   DYNAMODB_USERS_TABLE,
   DYNAMODB_LISTINGS_TABLE,
   DYNAMODB_BIDS_TABLE,
   DYNAMODB_TRANSACTIONS_TABLE,
+  DYNAMODB_WATCHLIST_TABLE,
+  DYNAMODB_PRICE_HISTORY_TABLE,
+  DYNAMODB_SEAT_HOLDS_TABLE,
+  DYNAMODB_IDEMPOTENCY_KEYS_TABLE,
   SSM_ACTIONS,
+  SSM_LOG_LEVEL,
   SSM_TICKETMASTER_API_KEY,
   HEALTH_CHECK_PATH,
   HEALTH_CHECK_INTERVAL_SECONDS,
@@ -60,6 +70,7 @@ export class EcsServiceStack extends Stack {
       taskImageOptions: {
         image: ContainerImage.fromAsset('../backend', {
           platform: Platform.LINUX_AMD64,
+          buildArgs: { JAVA_VERSION: ECS_JAVA_VERSION },
         }),
         containerPort: ECS_CONTAINER_PORT,
         environment: {
@@ -71,7 +82,13 @@ export class EcsServiceStack extends Stack {
           BIDS_TABLE: DYNAMODB_BIDS_TABLE,
           TRANSACTIONS_TABLE: DYNAMODB_TRANSACTIONS_TABLE,
           TM_API_KEY_PARAM: SSM_TICKETMASTER_API_KEY,
+          LOG_LEVEL_PARAM: SSM_LOG_LEVEL,
           SYNC_ENABLED: 'true',
+          STREAM_POLLER_ENABLED: 'true',
+          CACHE_WARMUP_ON_START: 'true',
+          VIRTUAL_THREADS_ENABLED: ECS_VIRTUAL_THREADS_ENABLED,
+          SPRING_PROFILES_ACTIVE: 'ecs',
+          SSM_PRELOAD_PARAMS: [SSM_TICKETMASTER_API_KEY, SSM_LOG_LEVEL].join(','),
         },
         logDriver: LogDrivers.awsLogs({
           streamPrefix: APP_NAME.toLocaleLowerCase(),
@@ -102,6 +119,17 @@ export class EcsServiceStack extends Stack {
         unhealthyThresholdCount: HEALTH_CHECK_UNHEALTHY_THRESHOLD,
       });
 
+    // Listing streams: one open socket per watcher, kept alive by heartbeats
+    this.fargateService.taskDefinition.defaultContainer?.addUlimits({
+      name: UlimitName.NOFILE,
+      softLimit: ECS_NOFILE_LIMIT,
+      hardLimit: ECS_NOFILE_LIMIT,
+    });
+    this.fargateService.loadBalancer.setAttribute(
+      'idle_timeout.timeout_seconds',
+      String(LOAD_BALANCER_IDLE_TIMEOUT_SECONDS),
+    );
+
     // Add DynamoDB permissions
     this.fargateService.taskDefinition.taskRole.addToPrincipalPolicy(
       new PolicyStatement({
@@ -120,6 +148,25 @@ export class EcsServiceStack extends Stack {
           `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_BIDS_TABLE}/index/*`,
           `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_TRANSACTIONS_TABLE}`,
           `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_TRANSACTIONS_TABLE}/index/*`,
+          `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_WATCHLIST_TABLE}`,
+          `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_WATCHLIST_TABLE}/index/*`,
+          `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_PRICE_HISTORY_TABLE}`,
+          `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_SEAT_HOLDS_TABLE}`,
+          `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_IDEMPOTENCY_KEYS_TABLE}`,
+        ],
+      })
+    );
+
+    // Stream poller: every task reads the Events and Listings streams for its in-memory views
+    this.fargateService.taskDefinition.taskRole.addToPrincipalPolicy(
+      new PolicyStatement({
+        effect: Effect.ALLOW,
+        actions: DYNAMODB_STREAM_ACTIONS,
+        resources: [
+          `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_EVENTS_TABLE}`,
+          `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_EVENTS_TABLE}/stream/*`,
+          `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_LISTINGS_TABLE}`,
+          `arn:aws:dynamodb:${this.region}:${this.account}:table/${DYNAMODB_LISTINGS_TABLE}/stream/*`,
         ],
       })
     );
@@ -131,6 +178,7 @@ export class EcsServiceStack extends Stack {
         actions: SSM_ACTIONS,
         resources: [
           `arn:aws:ssm:${this.region}:${this.account}:parameter${SSM_TICKETMASTER_API_KEY}`,
+          `arn:aws:ssm:${this.region}:${this.account}:parameter${SSM_LOG_LEVEL}`,
         ],
       })
     );
@@ -1,11 +1,20 @@
 import { Stack, StackProps, Duration } from 'aws-cdk-lib';
 import { Construct } from 'constructs';
-import { Function, Runtime, Code } from 'aws-cdk-lib/aws-lambda';
+import { Function, Runtime, Code, StartingPosition } from 'aws-cdk-lib/aws-lambda';
+import { DynamoEventSource } from 'aws-cdk-lib/aws-lambda-event-sources';
 import { Table, ITable } from 'aws-cdk-lib/aws-dynamodb';
 import { PolicyStatement, Effect } from 'aws-cdk-lib/aws-iam';
 import { Rule, Schedule } from 'aws-cdk-lib/aws-events';
 import { LambdaFunction } from 'aws-cdk-lib/aws-events-targets';
-import { APP_NAME } from '../constants';
+import {
+  APP_NAME,
+  SSM_ACTIONS,
+  SSM_LOG_LEVEL,
+  SSM_TICKETMASTER_API_KEY,
+  STREAM_BATCH_SIZE,
+  STREAM_MAX_BATCHING_WINDOW_SECONDS,
+  STREAM_RETRY_ATTEMPTS,
+} from '../constants';
 
 interface ServiceStackProps extends StackProps {
   eventsTable: ITable;
@@ -14,13 +23,23 @@ interface ServiceStackProps extends StackProps {
   listingsTable: ITable;
   bidsTable: ITable;
   transactionsTable: ITable;
+  watchlistTable: ITable;
+  notificationJobsTable: ITable;
+  priceHistoryTable: ITable;
+  seatHoldsTable: ITable;
+  idempotencyKeysTable: ITable;
 }
 
 export class ServiceStack extends Stack {
   public readonly eventsLambda: Function;
   public readonly listingsLambda: Function;
   public readonly venuesLambda: Function;
+  public readonly watchlistLambda: Function;
+  public readonly holdsLambda: Function;
+  public readonly transactionsLambda: Function;
   public readonly syncLambda: Function;
+  public readonly backfillLambda: Function;
+  public readonly streamLambda: Function;
 
   constructor(scope: Construct, id: string, props: ServiceStackProps) {
     super(scope, id, props);
@@ -33,7 +52,10 @@ export class ServiceStack extends Stack {
       LISTINGS_TABLE: props.listingsTable.tableName,
       BIDS_TABLE: props.bidsTable.tableName,
       TRANSACTIONS_TABLE: props.transactionsTable.tableName,
-      TM_API_KEY_PARAM: '/tickx/ticketmaster-api-key',
+      TM_API_KEY_PARAM: SSM_TICKETMASTER_API_KEY,
+      LOG_LEVEL_PARAM: SSM_LOG_LEVEL,
+      // Loaded during init so the first request does not wait on SSM for the log level
+      SSM_PRELOAD_PARAMS: SSM_LOG_LEVEL,
       SYNC_ENABLED: 'false',
     };
 
@@ -69,17 +91,87 @@ export class ServiceStack extends Stack {
       description: `Venues handler - deployed ${new Date().toISOString()}`,
     });
 
+    // Watchlist Lambda
+    this.watchlistLambda = new Function(this, 'WatchlistLambda', {
+      ...lambdaConfig,
+      handler: 'com.tickx.handler.WatchlistHandler',
+      code: Code.fromAsset('../backend/build/libs/tickx-backend-0.0.1-SNAPSHOT-lambda.jar'),
+      description: `Watchlist handler - deployed ${new Date().toISOString()}`,
+    });
+
+    // Holds Lambda
+    this.holdsLambda = new Function(this, 'HoldsLambda', {
+      ...lambdaConfig,
+      handler: 'com.tickx.handler.HoldsHandler',
+      code: Code.fromAsset('../backend/build/libs/tickx-backend-0.0.1-SNAPSHOT-lambda.jar'),
+      description: `Seat holds handler - deployed ${new Date().toISOString()}`,
+    });
+
+    // Transactions Lambda
+    this.transactionsLambda = new Function(this, 'TransactionsLambda', {
+      ...lambdaConfig,
+      handler: 'com.tickx.handler.TransactionsHandler',
+      code: Code.fromAsset('../backend/build/libs/tickx-backend-0.0.1-SNAPSHOT-lambda.jar'),
+      description: `Transactions handler - deployed ${new Date().toISOString()}`,
+    });
+
     // Sync Lambda
     this.syncLambda = new Function(this, 'SyncLambda', {
       ...lambdaConfig,
       timeout: Duration.minutes(5),
+      environment: {
+        ...lambdaEnvironment,
+        SSM_PRELOAD_PARAMS: [SSM_TICKETMASTER_API_KEY, SSM_LOG_LEVEL].join(','),
+      },
       handler: 'com.tickx.handler.SyncHandler',
       code: Code.fromAsset('../backend/build/libs/tickx-backend-0.0.1-SNAPSHOT-lambda.jar'),
       description: `Sync handler - deployed ${new Date().toISOString()}`,
     });
 
+    // Backfill Lambda (invoked manually; resumes from its checkpoints on each invocation)
+    this.backfillLambda = new Function(this, 'BackfillLambda', {
+      ...lambdaConfig,
+      timeout: Duration.minutes(15),
+      memorySize: 1024,
+      handler: 'com.tickx.handler.BackfillHandler',
+      code: Code.fromAsset('../backend/build/libs/tickx-backend-0.0.1-SNAPSHOT-lambda.jar'),
+      description: `Backfill handler - deployed ${new Date().toISOString()}`,
+    });
+
+    // Stream Lambda: feeds table changes to the in-process change consumers
+    this.streamLambda = new Function(this, 'StreamLambda', {
+      ...lambdaConfig,
+      timeout: Duration.minutes(1),
+      handler: 'com.tickx.handler.StreamHandler',
+      code: Code.fromAsset('../backend/build/libs/tickx-backend-0.0.1-SNAPSHOT-lambda.jar'),
+      description: `Stream handler - deployed ${new Date().toISOString()}`,
+    });
+    const streamTables = [props.listingsTable, props.bidsTable, props.eventsTable]
+      .filter(table => table.tableStreamArn !== undefined);
+    streamTables.forEach(table => {
+      this.streamLambda.addEventSource(new DynamoEventSource(table, {
+        startingPosition: StartingPosition.LATEST,
+        batchSize: STREAM_BATCH_SIZE,
+        maxBatchingWindow: Duration.seconds(STREAM_MAX_BATCHING_WINDOW_SECONDS),
+        // A failing batch is retried from the reported record, then split to isolate a bad one
+        reportBatchItemFailures: true,
+        bisectBatchOnError: true,
+        retryAttempts: STREAM_RETRY_ATTEMPTS,
+      }));
+    });
+
     // Grant DynamoDB permissions to all Lambdas
-    const lambdas = [this.eventsLambda, this.listingsLambda, this.venuesLambda, this.syncLambda];
+    const lambdas = [
+      this.eventsLambda,
+      this.listingsLambda,
+      this.venuesLambda,
+      this.watchlistLambda,
+      this.holdsLambda,
+      this.transactionsLambda,
+      this.syncLambda,
+      this.backfillLambda,
+      this.streamLambda,
+    ];
     const tables = [
       props.eventsTable,
       props.venuesTable,
@@ -87,6 +179,11 @@ export class ServiceStack extends Stack {
       props.listingsTable,
       props.bidsTable,
       props.transactionsTable,
+      props.watchlistTable,
+      props.notificationJobsTable,
+      props.priceHistoryTable,
+      props.seatHoldsTable,
+      props.idempotencyKeysTable,
     ];
 
     lambdas.forEach(lambda => {
@@ -103,7 +200,7 @@ export class ServiceStack extends Stack {
       // Grant SSM parameter access
       lambda.addToRolePolicy(new PolicyStatement({
         effect: Effect.ALLOW,
-        actions: ['ssm:GetParameter'],
+        actions: SSM_ACTIONS,
         resources: [`arn:aws:ssm:${this.region}:${this.account}:parameter/tickx/*`],
       }));
     });
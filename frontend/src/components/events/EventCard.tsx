@@ -24,6 +24,9 @@ export const EventCard: React.FC<EventCardProps> = ({
     }).format(price);
   };
 
+  // Prefer what TickX sellers are asking; fall back to the face-value range from Ticketmaster
+  const fromPrice = event.lowestAsk ?? event.minPrice;
+
   const getCategoryLabel = (category: string): string => {
     const labels: Record<string, string> = {
       concert: 'Concert',
@@ -70,10 +73,10 @@ export const EventCard: React.FC<EventCardProps> = ({
           </div>
         </div>
 
-        {event.minPrice && (
+        {fromPrice && (
           <div className={styles.pricing}>
             <span className={styles.priceLabel}>From</span>
-            <span className={styles.price}>{formatPrice(event.minPrice)}</span>
+            <span className={styles.price}>{formatPrice(fromPrice)}</span>
             {event.listingCount && event.listingCount > 0 && (
               <span className={styles.listingCount}>
                 {event.listingCount} listing{event.listingCount !== 1 ? 's' : ''}
@@ -1,3 +1,3 @@
 export { useCountdown } from './useCountdown';
-export { useEvents, useEvent, useVenues, useVenue, useSearch } from './useEvents';
+export { useEvents, useEvent, useVenues, useVenue, useSearch, useSuggestions } from './useEvents';
 export { useCreateListing, useListing, useSellerListings, useEventListings } from './useListings';
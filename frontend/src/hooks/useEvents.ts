@@ -10,9 +10,11 @@ import {
   getVenues,
   getVenue,
   searchEvents,
+  suggestEvents,
   transformApiEvent,
   transformApiVenue,
   type EventSearchParams,
+  type ApiEventSuggestion,
 } from '../services/api';
 
 // =============================================================================
@@ -294,3 +296,46 @@ export function useSearch(options: UseSearchOptions = {}): UseSearchResult {
 
   return { events, loading, error, totalResults, search, clear };
 }
+
+// =============================================================================
+// useSuggestions Hook (type-ahead)
+// =============================================================================
+
+interface UseSuggestionsOptions {
+  city?: string;
+  limit?: number;
+  debounceMs?: number;
+}
+
+export function useSuggestions(text: string, options: UseSuggestionsOptions = {}): ApiEventSuggestion[] {
+  const [suggestions, setSuggestions] = useState<ApiEventSuggestion[]>([]);
+
+  const { city, limit = 8, debounceMs = 150 } = options;
+
+  useEffect(() => {
+    const trimmed = text.trim();
+    if (trimmed.length < 2) {
+      setSuggestions([]);
+      return;
+    }
+
+    // Ignore responses that arrive after the input has changed again
+    let cancelled = false;
+    const timer = setTimeout(() => {
+      suggestEvents(trimmed, { city, limit })
+        .then(results => {
+          if (!cancelled) setSuggestions(results);
+        })
+        .catch(() => {
+          if (!cancelled) setSuggestions([]);
+        });
+    }, debounceMs);
+
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [text, city, limit, debounceMs]);
+
+  return suggestions;
+}
@@ -4,6 +4,7 @@ import {
   getListing, 
   getSellerListings,
   getEventListings,
+  streamListing,
   transformApiListing,
   type CreateListingRequest
 } from '../services/listingApi';
@@ -56,6 +57,22 @@ export function useListing(listingId: string | undefined) {
     fetchListing();
   }, [listingId]);
 
+  // Live price updates; without a stream endpoint (Lambda deployment) the browser just closes the source
+  useEffect(() => {
+    if (!listingId) return;
+
+    return streamListing(listingId, (update) => {
+      setListing(prev => prev && {
+        ...prev,
+        status: (update.status ?? prev.status) as Listing['status'],
+        currentPrice: update.currentPrice ?? prev.currentPrice,
+        bidCount: update.bidCount ?? prev.bidCount,
+        reserveMet: update.reserveMet ?? prev.reserveMet,
+        auctionEndTime: update.auctionEndTime ?? prev.auctionEndTime,
+      });
+    });
+  }, [listingId]);
+
   return { listing, isLoading, error };
 }
 
@@ -1,9 +1,9 @@
 import { useEffect, useState } from 'react';
-import { useSearchParams, Link } from 'react-router-dom';
+import { useSearchParams, useNavigate, Link } from 'react-router-dom';
 import { Search as SearchIcon, MapPin } from 'lucide-react';
 import { EventCard } from '../components/events';
 import { Button } from '../components/common';
-import { useSearch } from '../hooks';
+import { useSearch, useSuggestions } from '../hooks';
 import styles from './Search.module.css';
 
 const cities = [
@@ -19,6 +19,12 @@ export const Search: React.FC = () => {
 
   const [inputValue, setInputValue] = useState(query);
   const [selectedCity, setSelectedCity] = useState(cityParam);
+  const [showSuggestions, setShowSuggestions] = useState(false);
+  const navigate = useNavigate();
+
+  const suggestions = useSuggestions(showSuggestions ? inputValue : '', {
+    city: selectedCity || undefined,
+  });
 
   const { events, loading, error, totalResults, search } = useSearch({
     city: selectedCity || undefined,
@@ -39,6 +45,7 @@ export const Search: React.FC = () => {
 
   const handleSearch = (e: React.FormEvent) => {
     e.preventDefault();
+    setShowSuggestions(false);
     if (inputValue.trim()) {
       const params: Record<string, string> = { q: inputValue.trim() };
       if (selectedCity) params.city = selectedCity;
@@ -67,7 +74,12 @@ export const Search: React.FC = () => {
                 type="text"
                 placeholder="Search events, artists, teams..."
                 value={inputValue}
-                onChange={(e) => setInputValue(e.target.value)}
+                onChange={(e) => {
+                  setInputValue(e.target.value);
+                  setShowSuggestions(true);
+                }}
+                onBlur={() => setShowSuggestions(false)}
+                onKeyDown={(e) => e.key === 'Escape' && setShowSuggestions(false)}
                 className={styles.searchInput}
                 autoFocus
               />
@@ -75,6 +87,31 @@ export const Search: React.FC = () => {
                 Search
               </Button>
             </div>
+            {showSuggestions && suggestions.length > 0 && (
+              <ul className={styles.typeahead}>
+                {suggestions.map((suggestion) => (
+                  <li key={suggestion.id}>
+                    {/* onMouseDown fires before the input's blur closes the list */}
+                    <button
+                      type="button"
+                      className={styles.typeaheadItem}
+                      onMouseDown={(e) => {
+                        e.preventDefault();
+                        setShowSuggestions(false);
+                        navigate(`/events/${suggestion.id}`);
+                      }}
+                    >
+                      <span className={styles.typeaheadName}>{suggestion.name}</span>
+                      <span className={styles.typeaheadMeta}>
+                        {suggestion.localDate}
+                        {suggestion.venueName && ` · ${suggestion.venueName}`}
+                        {suggestion.venueCity && `, ${suggestion.venueCity}`}
+                      </span>
+                    </button>
+                  </li>
+                ))}
+              </ul>
+            )}
           </form>
 
           {/* Filters */}
@@ -84,6 +84,15 @@ export interface EventSearchParams {
   keyword?: string;
 }
 
+export interface ApiEventSuggestion {
+  id: string;
+  name: string;
+  localDate: string;
+  venueName?: string;
+  venueCity?: string;
+  category?: EventCategory;
+}
+
 export interface VenueSearchParams {
   city?: string;
   pageSize?: number;
@@ -169,6 +178,20 @@ export async function searchEvents(
   };
 }
 
+/**
+ * Type-ahead suggestions for a partial search term
+ */
+export async function suggestEvents(
+  text: string,
+  params: { city?: string; limit?: number } = {}
+): Promise<ApiEventSuggestion[]> {
+  return fetchApi<ApiEventSuggestion[]>('/events/suggest', {
+    q: text,
+    city: params.city,
+    limit: params.limit?.toString(),
+  });
+}
+
 /**
  * Get a single event by ID
  */
@@ -25,6 +25,21 @@ export interface CreateListingRequest {
   bidIncrement: number;
 }
 
+export interface ApiEventSummary {
+  id: string;
+  name: string;
+  category: string;
+  status: string;
+  eventDate: string;
+  localDate: string;
+  venueId: string;
+  venueName: string;
+  venueCity: string;
+  venueStateCode: string;
+  imageUrl: string;
+  thumbnailUrl?: string;
+}
+
 export interface ApiListing {
   listingId: string;
   sellerId: string;
@@ -50,6 +65,7 @@ export interface ApiListing {
   viewCount?: number;
   createdAt: string;
   updatedAt: string;
+  event?: ApiEventSummary;
 }
 
 async function fetchApi<T>(endpoint: string, options: RequestInit = {}): Promise<T> {
@@ -90,6 +106,36 @@ export async function getListing(listingId: string): Promise<{ data: ApiListing
   return { data: result };
 }
 
+export interface ApiListingPriceUpdate {
+  listingId: string;
+  status?: string;
+  currentPrice?: number;
+  bidCount?: number;
+  reserveMet?: boolean;
+  auctionEndTime?: string;
+  updatedAt?: string;
+}
+
+/**
+ * Subscribe to live price updates for a listing (server-sent events, ECS deployment only).
+ * Returns a function that closes the stream.
+ */
+export function streamListing(
+  listingId: string,
+  onUpdate: (update: ApiListingPriceUpdate) => void,
+  onDeleted?: () => void
+): () => void {
+  const source = new EventSource(`${API_BASE_URL}/listings/${listingId}/stream`);
+  source.addEventListener('price', (event) => {
+    onUpdate(JSON.parse((event as MessageEvent).data));
+  });
+  source.addEventListener('deleted', () => {
+    source.close();
+    onDeleted?.();
+  });
+  return () => source.close();
+}
+
 /**
  * Update an existing listing
  */
@@ -110,10 +156,10 @@ export async function deleteListing(listingId: string): Promise<void> {
 }
 
 /**
- * Get listings by seller (for dashboard)
+ * Get listings by seller (for dashboard), with event summaries embedded
  */
 export async function getSellerListings(sellerId: string): Promise<{ data: ApiListing[] }> {
-  const listings = await fetchApi<ApiListing[]>(`/listings?sellerId=${sellerId}`);
+  const listings = await fetchApi<ApiListing[]>(`/listings?sellerId=${sellerId}&expand=event`);
   return { data: listings };
 }
 
@@ -137,8 +183,8 @@ export async function getActiveListings(): Promise<{ data: ApiListing[] }> {
  * Transform API listing to frontend Listing type
  */
 export function transformApiListing(apiListing: ApiListing): Listing {
-  // This would need to be implemented with proper event/user data
-  // For now, return a partial transformation
+  // Seller data is not available yet; event data comes from the expanded summary when present
+  const event = apiListing.event;
   return {
     id: apiListing.listingId,
     sellerId: apiListing.sellerId,
@@ -153,20 +199,21 @@ export function transformApiListing(apiListing: ApiListing): Listing {
     eventId: apiListing.eventId,
     event: {
       id: apiListing.eventId,
-      name: 'Event',
-      category: 'concert',
+      name: event?.name ?? 'Event',
+      category: (event?.category ?? 'concert') as any,
       venue: {
-        id: '',
-        name: 'Venue',
+        id: event?.venueId ?? '',
+        name: event?.venueName ?? 'Venue',
         address: '',
-        city: '',
-        state: '',
+        city: event?.venueCity ?? '',
+        state: event?.venueStateCode ?? '',
         zip: '',
         capacity: 0,
       },
-      eventDate: new Date().toISOString(), // Use current date as fallback
-      imageUrl: '',
-      status: 'scheduled',
+      eventDate: event?.eventDate ?? new Date().toISOString(), // Use current date as fallback
+      imageUrl: event?.imageUrl ?? '',
+      thumbnailUrl: event?.thumbnailUrl,
+      status: (event?.status ?? 'scheduled') as any,
     },
     listingType: apiListing.listingType as any,
     status: apiListing.status as any,
@@ -73,6 +73,8 @@ export interface Event {
   minPrice?: number;
   maxPrice?: number;
   listingCount?: number;
+  lowestAsk?: number;
+  highestBid?: number;
   isFeatured?: boolean;
   artists?: string[];
   tags?: string[];
@@ -123,7 +123,9 @@ export interface Event {
 
   // TickX specific
   isFeatured?: boolean;
-  listingCount?: number;         // Number of TickX listings
+  listingCount?: number;         // Number of active TickX listings
+  lowestAsk?: number;            // Cheapest buy-now / fixed price among them
+  highestBid?: number;           // Highest current auction bid among them
 
   // DynamoDB metadata
   createdAt: string;